@@ -0,0 +1,102 @@
+package edu.uci.ics.amber.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.uci.ics.amber.engine.common.amberfield.FieldType;
+import edu.uci.ics.amber.engine.common.tuple.advanced.CompactTuple;
+import edu.uci.ics.amber.engine.common.tuple.amber.AmberTuple;
+import scala.Enumeration;
+
+/**
+ * Measures the time to compress a tuple with mixed field types into a CompactTuple, and to decompress it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CompactTupleBenchmark {
+
+    private static final int TUPLE_COUNT = 1024;
+
+    @Param({"8", "32"})
+    public int fieldCount;
+
+    private Enumeration.Value[] fieldTypes;
+    private AmberTuple[] tuples;
+    private CompactTuple[] compactTuples;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(TUPLE_COUNT);
+        Enumeration.Value[] types = {
+                FieldType.Int(), FieldType.Long(), FieldType.Double(), FieldType.String(), FieldType.Boolean() };
+        fieldTypes = new Enumeration.Value[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fieldTypes[i] = types[i % types.length];
+        }
+
+        tuples = new AmberTuple[TUPLE_COUNT];
+        compactTuples = new CompactTuple[TUPLE_COUNT];
+        for (int i = 0; i < TUPLE_COUNT; i++) {
+            Object[] fields = new Object[fieldCount];
+            for (int j = 0; j < fieldCount; j++) {
+                // one field out of ten is null
+                if (random.nextInt(10) == 0) {
+                    continue;
+                }
+                switch (j % types.length) {
+                case 0:
+                    fields[j] = random.nextInt();
+                    break;
+                case 1:
+                    fields[j] = random.nextLong();
+                    break;
+                case 2:
+                    fields[j] = random.nextDouble();
+                    break;
+                case 3:
+                    fields[j] = Long.toString(random.nextLong(), 36);
+                    break;
+                default:
+                    fields[j] = random.nextBoolean();
+                }
+            }
+            tuples[i] = new AmberTuple(fields);
+            compactTuples[i] = CompactTuple.apply(tuples[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TUPLE_COUNT)
+    public void compress(Blackhole blackhole) {
+        for (AmberTuple tuple : tuples) {
+            blackhole.consume(CompactTuple.apply(tuple));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TUPLE_COUNT)
+    public void decompress(Blackhole blackhole) {
+        for (CompactTuple compactTuple : compactTuples) {
+            blackhole.consume(compactTuple.decompress(fieldTypes));
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package edu.uci.ics.amber.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import edu.uci.ics.amber.engine.architecture.receivesemantics.FIFOAccessPort;
+import edu.uci.ics.amber.engine.common.ambertag.LayerTag;
+import edu.uci.ics.amber.engine.common.tuple.ITuple;
+import edu.uci.ics.amber.engine.common.tuple.amber.AmberTuple;
+
+/**
+ * Measures the time FIFOAccessPort.preCheck takes to accept one data message,
+ * when the messages of the senders arrive in order, and when they arrive in reverse order and are stashed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FIFOAccessPortBenchmark {
+
+    // the number of messages sent in reverse order by a sender
+    private static final int WINDOW = 8;
+
+    @Param({"1", "16"})
+    public int senderCount;
+
+    private ActorSystem system;
+    private ActorRef[] senders;
+    private FIFOAccessPort port;
+    private long[] sequenceNumbers;
+    private int nextSender;
+    private ITuple[] payload;
+
+    @Setup
+    public void setUp() {
+        system = ActorSystem.create("FIFOAccessPortBenchmark");
+        LayerTag from = new LayerTag("benchmark", "from", "main");
+        port = new FIFOAccessPort();
+        senders = new ActorRef[senderCount];
+        for (int i = 0; i < senderCount; i++) {
+            senders[i] = system.actorOf(Props.empty(), "sender" + i);
+            port.addSender(senders[i], from);
+        }
+        sequenceNumbers = new long[senderCount];
+        payload = new ITuple[] { new AmberTuple(new Object[] { "key", 0 }) };
+    }
+
+    @TearDown
+    public void tearDown() {
+        system.terminate();
+    }
+
+    @Benchmark
+    public void inOrder(Blackhole blackhole) {
+        int sender = nextSender();
+        blackhole.consume(port.preCheck(sequenceNumbers[sender]++, payload, senders[sender]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WINDOW)
+    public void reversed(Blackhole blackhole) {
+        int sender = nextSender();
+        long first = sequenceNumbers[sender];
+        for (long seq = first + WINDOW - 1; seq >= first; seq--) {
+            blackhole.consume(port.preCheck(seq, payload, senders[sender]));
+        }
+        sequenceNumbers[sender] += WINDOW;
+    }
+
+    private int nextSender() {
+        int sender = nextSender;
+        nextSender = (nextSender + 1) % senderCount;
+        return sender;
+    }
+
+}
@@ -0,0 +1,103 @@
+package edu.uci.ics.amber.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Attribute;
+import edu.uci.ics.texera.workflow.common.tuple.schema.AttributeType;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
+import edu.uci.ics.texera.workflow.operators.filter.ComparisonType;
+import edu.uci.ics.texera.workflow.operators.filter.FilterEvaluator;
+import edu.uci.ics.texera.workflow.operators.filter.FilterPredicate;
+import edu.uci.ics.texera.workflow.operators.filter.FilterPredicateGroup;
+
+/**
+ * Measures the time to evaluate two filter predicates in AND on a tuple, comparing the string-based
+ * evaluation the filter used before with the evaluator compiled for the schema.
+ * The tuples are generated in memory, FilterCsvScanBenchmark measures a scan of a CSV file followed by the filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FilterBenchmark {
+
+    private static final int TUPLE_COUNT = 1024;
+
+    private List<FilterPredicate> predicates;
+    private FilterEvaluator evaluator;
+    private Tuple[] tuples;
+
+    @Setup
+    public void setUp() {
+        Schema schema = Schema.newBuilder().add(Arrays.asList(
+                new Attribute("id", AttributeType.INTEGER),
+                new Attribute("score", AttributeType.DOUBLE),
+                new Attribute("name", AttributeType.STRING))).build();
+        predicates = Arrays.asList(
+                predicate("id", ComparisonType.GREATER_THAN_OR_EQUAL_TO, "500000"),
+                predicate("score", ComparisonType.LESS_THAN, "50.5"));
+        FilterPredicateGroup group = new FilterPredicateGroup();
+        group.predicates = predicates;
+        group.matchAll = true;
+        evaluator = group.compile(schema);
+
+        Random random = new Random(TUPLE_COUNT);
+        tuples = new Tuple[TUPLE_COUNT];
+        for (int i = 0; i < TUPLE_COUNT; i++) {
+            tuples[i] = new Tuple(schema, random.nextInt(1000000), random.nextInt(10000) / 100.0, "name" + i);
+        }
+    }
+
+    private static FilterPredicate predicate(String attribute, ComparisonType condition, String value) {
+        FilterPredicate predicate = new FilterPredicate();
+        predicate.attribute = attribute;
+        predicate.condition = condition;
+        predicate.value = value;
+        return predicate;
+    }
+
+    /**
+     * The evaluation of the filter before the predicates were compiled:
+     * every field is converted to a trimmed string and compared ignoring case.
+     */
+    @Benchmark
+    @OperationsPerInvocation(TUPLE_COUNT)
+    public void stringComparison(Blackhole blackhole) {
+        for (Tuple tuple : tuples) {
+            boolean matches = true;
+            for (FilterPredicate predicate : predicates) {
+                String field = tuple.getField(predicate.attribute).toString().trim();
+                matches = matches && predicate.condition.matches(field.compareToIgnoreCase(predicate.value));
+            }
+            blackhole.consume(matches);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TUPLE_COUNT)
+    public void compiledEvaluator(Blackhole blackhole) {
+        for (Tuple tuple : tuples) {
+            blackhole.consume(evaluator.evaluate(tuple));
+        }
+    }
+
+}
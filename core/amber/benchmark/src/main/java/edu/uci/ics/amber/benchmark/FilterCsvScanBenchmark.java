@@ -0,0 +1,152 @@
+package edu.uci.ics.amber.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple;
+import edu.uci.ics.texera.workflow.common.tuple.schema.AttributeType;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
+import edu.uci.ics.texera.workflow.operators.filter.ComparisonType;
+import edu.uci.ics.texera.workflow.operators.filter.FilterPredicate;
+import edu.uci.ics.texera.workflow.operators.filter.SpecializedFilterOpDesc;
+import edu.uci.ics.texera.workflow.operators.filter.SpecializedFilterOpExec;
+import edu.uci.ics.texera.workflow.operators.localscan.CsvBlockScanner;
+import edu.uci.ics.texera.workflow.operators.localscan.LocalCsvFileScanOpDesc;
+
+/**
+ * Measures the time of one pass of a CSV file scan followed by a filter, in a single thread,
+ * comparing the string-based evaluation the filter used before with the evaluator compiled for the schema.
+ * The throughput in tuples per second is rowCount divided by the score.
+ * <p>
+ * The file is generated once per fork, with a fixed seed. The records are read the way LocalCsvScanSourceOpExec
+ * reads them, and the compiled evaluation goes through SpecializedFilterOpExec.
+ * To run it on the default 10M rows in a single fork:
+ * sbt "benchmark/runMain org.openjdk.jmh.Main FilterCsvScanBenchmark -f 1"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FilterCsvScanBenchmark {
+
+    @Param({"10000000"})
+    public int rowCount;
+
+    private File file;
+    private Schema schema;
+    private AttributeType[] attributeTypes;
+    private List<FilterPredicate> predicates;
+    private SpecializedFilterOpExec filter;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("filter-csv-scan-benchmark-", ".csv");
+        Random random = new Random(rowCount);
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("id,score,name\n");
+            for (int i = 0; i < rowCount; i++) {
+                writer.write(random.nextInt(1000000) + "," + random.nextInt(10000) / 100.0 + ",name" + i + "\n");
+            }
+        }
+
+        LocalCsvFileScanOpDesc scanDesc = new LocalCsvFileScanOpDesc();
+        scanDesc.filePath = file.getPath();
+        scanDesc.delimiter = ",";
+        scanDesc.header = true;
+        schema = scanDesc.sourceSchema();
+        attributeTypes = schema.getAttributes().stream().map(attribute -> attribute.getType())
+                .toArray(AttributeType[]::new);
+
+        predicates = Arrays.asList(
+                predicate("id", ComparisonType.GREATER_THAN_OR_EQUAL_TO, "500000"),
+                predicate("score", ComparisonType.LESS_THAN, "50.5"));
+        SpecializedFilterOpDesc filterDesc = new SpecializedFilterOpDesc();
+        filterDesc.predicates = predicates;
+        filterDesc.matchAll = true;
+        filter = new SpecializedFilterOpExec(filterDesc);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    private static FilterPredicate predicate(String attribute, ComparisonType condition, String value) {
+        FilterPredicate predicate = new FilterPredicate();
+        predicate.attribute = attribute;
+        predicate.condition = condition;
+        predicate.value = value;
+        return predicate;
+    }
+
+    private Tuple readTuple(CsvBlockScanner scanner) {
+        Object[] fields = new Object[attributeTypes.length];
+        for (int i = 0; i < attributeTypes.length; i++) {
+            fields[i] = scanner.getField(i, attributeTypes[i]);
+        }
+        return new Tuple(schema, fields);
+    }
+
+    /**
+     * The evaluation of the filter before the predicates were compiled:
+     * every field is converted to a trimmed string and compared ignoring case.
+     */
+    @Benchmark
+    public long stringComparison() throws IOException {
+        long matched = 0;
+        try (CsvBlockScanner scanner = new CsvBlockScanner(file.getPath(), 0, Long.MAX_VALUE, ',')) {
+            // skip the header line
+            scanner.nextRecord();
+            while (scanner.nextRecord()) {
+                Tuple tuple = readTuple(scanner);
+                boolean matches = true;
+                for (FilterPredicate predicate : predicates) {
+                    String field = tuple.getField(predicate.attribute).toString().trim();
+                    matches = matches && predicate.condition.matches(field.compareToIgnoreCase(predicate.value));
+                }
+                if (matches) {
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    public long compiledEvaluator() throws IOException {
+        long matched = 0;
+        try (CsvBlockScanner scanner = new CsvBlockScanner(file.getPath(), 0, Long.MAX_VALUE, ',')) {
+            // skip the header line
+            scanner.nextRecord();
+            while (scanner.nextRecord()) {
+                if (filter.filterFunc(readTuple(scanner))) {
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+
+}
@@ -0,0 +1,118 @@
+package edu.uci.ics.amber.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import akka.actor.ActorContext;
+import akka.actor.ActorRef;
+import akka.event.LoggingAdapter;
+import akka.event.NoLogging;
+import akka.util.Timeout;
+import edu.uci.ics.amber.engine.architecture.sendsemantics.datatransferpolicy.HashBasedShufflePolicy;
+import edu.uci.ics.amber.engine.architecture.sendsemantics.routees.BaseRoutee;
+import edu.uci.ics.amber.engine.common.ambermessage.WorkerMessage.DataMessage;
+import edu.uci.ics.amber.engine.common.ambermessage.WorkerMessage.EndSending;
+import edu.uci.ics.amber.engine.common.ambertag.LayerTag;
+import edu.uci.ics.amber.engine.common.ambertag.LinkTag;
+import edu.uci.ics.amber.engine.common.tuple.ITuple;
+import edu.uci.ics.amber.engine.common.tuple.amber.AmberTuple;
+import scala.concurrent.ExecutionContext;
+
+/**
+ * Measures the time HashBasedShufflePolicy.accept takes to route one tuple to its batch,
+ * including building the data messages of the full batches. The messages are counted and dropped by the routees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HashBasedShufflePolicyBenchmark {
+
+    private static final int TUPLE_COUNT = 4096;
+
+    @Param({"1", "4", "16"})
+    public int receiverCount;
+
+    @Param({"1", "400"})
+    public int batchSize;
+
+    private HashBasedShufflePolicy policy;
+    private ITuple[] tuples;
+
+    @Setup
+    public void setUp() {
+        policy = new HashBasedShufflePolicy(batchSize, tuple -> tuple.get(0).hashCode());
+        BaseRoutee[] routees = new BaseRoutee[receiverCount];
+        for (int i = 0; i < receiverCount; i++) {
+            routees[i] = new DiscardingRoutee();
+        }
+        LayerTag from = new LayerTag("benchmark", "from", "main");
+        LayerTag to = new LayerTag("benchmark", "to", "main");
+        policy.initialize(new LinkTag(from, to, 0), routees, null, null, null, null, NoLogging.getInstance());
+
+        tuples = new ITuple[TUPLE_COUNT];
+        for (int i = 0; i < TUPLE_COUNT; i++) {
+            tuples[i] = new AmberTuple(new Object[] { "key" + i, i });
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TUPLE_COUNT)
+    public void accept() {
+        for (ITuple tuple : tuples) {
+            policy.accept(tuple, ActorRef.noSender());
+        }
+    }
+
+    private static class DiscardingRoutee extends BaseRoutee {
+
+        DiscardingRoutee() {
+            super(null);
+        }
+
+        @Override
+        public void initialize(LinkTag tag, ActorContext ac, ActorRef sender, Timeout timeout, ExecutionContext ec,
+                LoggingAdapter log) {
+        }
+
+        @Override
+        public void schedule(DataMessage msg, ActorRef sender) {
+            countSent(msg);
+        }
+
+        @Override
+        public void schedule(EndSending msg, ActorRef sender) {
+        }
+
+        @Override
+        public void pause() {
+        }
+
+        @Override
+        public void resume(ActorRef sender) {
+        }
+
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+
+}
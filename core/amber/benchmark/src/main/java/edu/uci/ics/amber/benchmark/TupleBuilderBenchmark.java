@@ -0,0 +1,81 @@
+package edu.uci.ics.amber.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Attribute;
+import edu.uci.ics.texera.workflow.common.tuple.schema.AttributeType;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
+
+/**
+ * Measures the time to build a tuple with the name-based Tuple.Builder, which resolves the schema on every build,
+ *   and with the positional builder of an interned schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TupleBuilderBenchmark {
+
+    private static final int TUPLE_COUNT = 1024;
+
+    private Attribute[] attributes;
+    private Tuple.PositionalBuilder positionalBuilder;
+    private String[] names;
+
+    @Setup
+    public void setUp() {
+        attributes = new Attribute[] {
+                new Attribute("id", AttributeType.INTEGER),
+                new Attribute("score", AttributeType.DOUBLE),
+                new Attribute("name", AttributeType.STRING),
+                new Attribute("valid", AttributeType.BOOLEAN) };
+        positionalBuilder = Tuple.newBuilder(new Schema(attributes));
+        names = new String[TUPLE_COUNT];
+        for (int i = 0; i < TUPLE_COUNT; i++) {
+            names[i] = "name" + i;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TUPLE_COUNT)
+    public void nameBasedBuilder(Blackhole blackhole) {
+        for (int i = 0; i < TUPLE_COUNT; i++) {
+            blackhole.consume(Tuple.newBuilder()
+                    .add(attributes[0], i)
+                    .add(attributes[1], i * 0.5)
+                    .add(attributes[2], names[i])
+                    .add(attributes[3], i % 2 == 0)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TUPLE_COUNT)
+    public void positionalBuilder(Blackhole blackhole) {
+        for (int i = 0; i < TUPLE_COUNT; i++) {
+            blackhole.consume(positionalBuilder
+                    .add(i)
+                    .add(i * 0.5)
+                    .add(names[i])
+                    .add(i % 2 == 0)
+                    .build());
+        }
+    }
+
+}
@@ -182,6 +182,7 @@ class Controller(
   val principalInCurrentStage = new mutable.HashSet[ActorRef]()
   val principalStates = new mutable.AnyRefMap[ActorRef, PrincipalState.Value]
   val principalStatisticsMap = new mutable.AnyRefMap[ActorRef, PrincipalStatistics]
+  val operatorMetricsRegistry = new OperatorMetricsRegistry(tag.workflow)
   val principalSinkResultMap = new mutable.HashMap[String, List[ITuple]]
   val edges = new mutable.AnyRefMap[LinkTag, OperatorLink]
   val frontier = new mutable.HashSet[OperatorIdentifier]
@@ -289,6 +290,20 @@ class Controller(
     context.become(pausing)
   }
 
+  def updatePrincipalStatistics(principal: ActorRef, statistics: PrincipalStatistics): Unit = {
+    principalStatisticsMap.update(principal, statistics)
+    val operator = this.principalBiMap.inverse().get(principal)
+    if (operator != null) {
+      operatorMetricsRegistry.update(operator.operator, statistics)
+    }
+    triggerStatusUpdateEvent()
+  }
+
+  override def postStop(): Unit = {
+    operatorMetricsRegistry.unregisterAll()
+    super.postStop()
+  }
+
   def triggerStatusUpdateEvent(): Unit = {
     if (
       this.eventListener.workflowStatusUpdateListener != null
@@ -305,8 +320,7 @@ class Controller(
     case QueryStatistics =>
     // do nothing, not initialized yet
     case PrincipalMessage.ReportStatistics(statistics) =>
-      principalStatisticsMap.update(sender, statistics)
-      triggerStatusUpdateEvent();
+      updatePrincipalStatistics(sender, statistics)
     case AckedControllerInitialization =>
       val nodes = availableNodes
       log.info("start initialization --------cluster have " + nodes.length + " nodes---------")
@@ -522,8 +536,7 @@ class Controller(
     case QueryStatistics =>
       this.principalBiMap.values().forEach(principal => principal ! QueryStatistics)
     case PrincipalMessage.ReportStatistics(statistics) =>
-      principalStatisticsMap.update(sender, statistics)
-      triggerStatusUpdateEvent();
+      updatePrincipalStatistics(sender, statistics)
     case Start =>
       log.info("received start signal")
       if (!timer.isRunning) {
@@ -585,8 +598,7 @@ class Controller(
     case QueryStatistics =>
       this.principalBiMap.values().forEach(principal => principal ! QueryStatistics)
     case PrincipalMessage.ReportStatistics(statistics) =>
-      principalStatisticsMap.update(sender, statistics)
-      triggerStatusUpdateEvent();
+      updatePrincipalStatistics(sender, statistics)
     case PrincipalMessage.ReportState(state) =>
       principalStates(sender) = state
       state match {
@@ -692,8 +704,7 @@ class Controller(
     case QueryStatistics =>
       this.principalBiMap.values().forEach(principal => principal ! QueryStatistics)
     case PrincipalMessage.ReportStatistics(statistics) =>
-      principalStatisticsMap.update(sender, statistics)
-      triggerStatusUpdateEvent();
+      updatePrincipalStatistics(sender, statistics)
     case EnforceStateCheck =>
       frontier.flatMap(workflow.inLinks(_)).foreach(principalBiMap.get(_) ! QueryState)
     case reportCurrentProcessingTuple: ReportCurrentProcessingTuple =>
@@ -761,8 +772,7 @@ class Controller(
     case QueryStatistics =>
       this.principalBiMap.values().forEach(principal => principal ! QueryStatistics)
     case PrincipalMessage.ReportStatistics(statistics) =>
-      principalStatisticsMap.update(sender, statistics)
-      triggerStatusUpdateEvent();
+      updatePrincipalStatistics(sender, statistics)
     case Resume =>
       workflow.endOperators.foreach(principalBiMap.get(_) ! Resume)
       frontier ++= workflow.endOperators.flatMap(workflow.inLinks(_))
@@ -814,8 +824,7 @@ class Controller(
     case QueryStatistics =>
       this.principalBiMap.values().forEach(principal => principal ! QueryStatistics)
     case PrincipalMessage.ReportStatistics(statistics) =>
-      principalStatisticsMap.update(sender, statistics)
-      triggerStatusUpdateEvent();
+      updatePrincipalStatistics(sender, statistics)
     case EnforceStateCheck =>
       frontier.flatMap(workflow.outLinks(_)).foreach(principalBiMap.get(_) ! QueryState)
     case PrincipalMessage.ReportState(state) =>
@@ -860,8 +869,7 @@ class Controller(
       this.principalBiMap.values().forEach(principal => principal ! QueryStatistics)
       this.exitIfCompleted
     case PrincipalMessage.ReportStatistics(statistics) =>
-      principalStatisticsMap.update(sender, statistics)
-      triggerStatusUpdateEvent();
+      updatePrincipalStatistics(sender, statistics)
     case PrincipalMessage.ReportOutputResult(sinkResults) =>
       val operatorID = this.principalBiMap.inverse().get(sender()).operator
       this.principalSinkResultMap(operatorID) = sinkResults
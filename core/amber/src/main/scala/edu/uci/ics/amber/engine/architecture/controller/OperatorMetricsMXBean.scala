@@ -0,0 +1,102 @@
+package edu.uci.ics.amber.engine.architecture.controller
+
+import java.lang.management.ManagementFactory
+
+import edu.uci.ics.amber.engine.architecture.principal.{PrincipalMetrics, PrincipalStatistics}
+import javax.management.ObjectName
+
+import scala.collection.mutable
+
+/**
+  * The latest statistics of an operator, exported via JMX
+  * as "edu.uci.ics.amber:type=Operator,workflow=...,operator=...".
+  */
+trait OperatorMetricsMXBean {
+  def getOperatorState: String
+  def getInputRowCount: Long
+  def getOutputRowCount: Long
+  def getInputTuplesPerSecond: Double
+  def getOutputTuplesPerSecond: Double
+  def getBusyTimeMs: Long
+  def getIdleTimeMs: Long
+  def getBusyRatio: Double
+  def getMaxProcessingQueueDepth: Int
+  def getSentTupleCount: Long
+  def getReceivedTupleCount: Long
+  def getWindowSize: Int
+  def getBatchCount: Long
+  def getBatchLatencyMeanMs: Double
+  def getBatchLatencyP50Ms: Double
+  def getBatchLatencyP90Ms: Double
+  def getBatchLatencyP99Ms: Double
+  def getBatchLatencyMaxMs: Double
+}
+
+class OperatorMetrics extends OperatorMetricsMXBean {
+  @volatile var statistics: PrincipalStatistics = _
+
+  private def metrics: PrincipalMetrics =
+    if (statistics == null) PrincipalMetrics.empty else statistics.metrics
+
+  override def getOperatorState: String = if (statistics == null) "" else statistics.operatorState.toString
+  override def getInputRowCount: Long = if (statistics == null) 0 else statistics.aggregatedInputRowCount
+  override def getOutputRowCount: Long = if (statistics == null) 0 else statistics.aggregatedOutputRowCount
+  override def getInputTuplesPerSecond: Double = metrics.inputTuplesPerSecond
+  override def getOutputTuplesPerSecond: Double = metrics.outputTuplesPerSecond
+  override def getBusyTimeMs: Long = metrics.busyTimeMs
+  override def getIdleTimeMs: Long = metrics.idleTimeMs
+  override def getBusyRatio: Double = metrics.busyRatio
+  override def getMaxProcessingQueueDepth: Int = metrics.maxProcessingQueueDepth
+  override def getSentTupleCount: Long = metrics.outputLinks.values.map(_.tupleCount).sum
+  override def getReceivedTupleCount: Long = metrics.inputLinks.values.map(_.tupleCount).sum
+  override def getWindowSize: Int = metrics.outputLinks.values.map(_.windowSize).sum
+  override def getBatchCount: Long = metrics.batchCount
+  override def getBatchLatencyMeanMs: Double = metrics.batchLatencyMeanMs
+  override def getBatchLatencyP50Ms: Double = metrics.batchLatencyP50Ms
+  override def getBatchLatencyP90Ms: Double = metrics.batchLatencyP90Ms
+  override def getBatchLatencyP99Ms: Double = metrics.batchLatencyP99Ms
+  override def getBatchLatencyMaxMs: Double = metrics.batchLatencyMaxMs
+}
+
+/**
+  * Registers the operators of a workflow to the platform MBean server, they are unregistered when the workflow stops.
+  */
+class OperatorMetricsRegistry(workflow: String) {
+  private val operatorMetrics = new mutable.HashMap[String, OperatorMetrics]
+
+  def update(operator: String, statistics: PrincipalStatistics): Unit = {
+    operatorMetrics
+      .getOrElseUpdate(
+        operator, {
+          val metrics = new OperatorMetrics()
+          val server = ManagementFactory.getPlatformMBeanServer
+          val name = objectName(operator)
+          // a rerun of the same workflow replaces the metrics of the previous run
+          if (server.isRegistered(name)) {
+            server.unregisterMBean(name)
+          }
+          server.registerMBean(metrics, name)
+          metrics
+        }
+      )
+      .statistics = statistics
+  }
+
+  def unregisterAll(): Unit = {
+    val server = ManagementFactory.getPlatformMBeanServer
+    operatorMetrics.keys.foreach { operator =>
+      val name = objectName(operator)
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name)
+      }
+    }
+    operatorMetrics.clear()
+  }
+
+  private def objectName(operator: String): ObjectName = {
+    new ObjectName(
+      "edu.uci.ics.amber:type=Operator,workflow=" + ObjectName.quote(workflow) +
+        ",operator=" + ObjectName.quote(operator)
+    )
+  }
+}
@@ -28,7 +28,9 @@ class OperatorLink(val from: (OpExecConfig, ActorRef), val to: (OpExecConfig, Ac
     val inputNum = to._1.getInputNum(from._1.tag)
     if (linkStrategy == null) {
       //TODO: use type matching to generate a 'smarter' strategy based on the operators
-      if (to._1.requiredShuffle) {
+      if (to._1.requiredBroadcast(from._1.tag)) {
+        linkStrategy = new AllBroadcast(sender, receiver, Constants.defaultBatchSize, inputNum)
+      } else if (to._1.requiredShuffle) {
         linkStrategy = new HashBasedShuffle(
           sender,
           receiver,
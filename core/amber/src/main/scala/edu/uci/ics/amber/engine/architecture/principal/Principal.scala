@@ -5,7 +5,7 @@ import edu.uci.ics.amber.engine.architecture.breakpoint.FaultedTuple
 import edu.uci.ics.amber.engine.architecture.breakpoint.globalbreakpoint.GlobalBreakpoint
 import edu.uci.ics.amber.engine.architecture.deploysemantics.layer.ActorLayer
 import edu.uci.ics.amber.engine.architecture.linksemantics.LinkStrategy
-import edu.uci.ics.amber.engine.architecture.worker.{WorkerState, WorkerStatistics}
+import edu.uci.ics.amber.engine.architecture.worker.{WorkerMetrics, WorkerState, WorkerStatistics}
 import edu.uci.ics.amber.engine.common.amberexception.AmberException
 import edu.uci.ics.amber.engine.common.ambermessage.PrincipalMessage.{AssignBreakpoint, _}
 import edu.uci.ics.amber.engine.common.ambermessage.StateMessage._
@@ -24,6 +24,7 @@ import akka.util.Timeout
 import akka.pattern.after
 import akka.pattern.ask
 import com.google.common.base.Stopwatch
+import org.HdrHistogram.Histogram
 
 import scala.collection.mutable
 import scala.collection.mutable.ArrayBuffer
@@ -46,6 +47,8 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
   var layerDependencies: mutable.HashMap[String, mutable.HashSet[String]] = _
   var workerStateMap: mutable.AnyRefMap[ActorRef, WorkerState.Value] = _
   var workerStatisticsMap: mutable.AnyRefMap[ActorRef, WorkerStatistics] = _
+  // the batch latencies reported by the workers so far, each report only holds the latencies since the previous one
+  val batchLatency: Histogram = WorkerMetrics.newLatencyHistogram()
   var workerSinkResultMap = new mutable.AnyRefMap[ActorRef, List[ITuple]]
   var layerMetadata: Array[TableMetadata] = _
   var isUserPaused = false
@@ -72,6 +75,7 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
 
   private def setWorkerStatistics(worker: ActorRef, workerStatistics: WorkerStatistics): Unit = {
     workerStatisticsMap.update(worker, workerStatistics)
+    batchLatency.add(workerStatistics.metrics.batchLatency)
   }
 
   private def aggregateWorkerInputRowCount(): Long = {
@@ -82,6 +86,10 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
     workerStatisticsMap.values.map(s => s.outputRowCount).sum
   }
 
+  private def aggregateWorkerMetrics(): PrincipalMetrics = {
+    PrincipalMetrics.aggregate(workerStatisticsMap.values.map(s => s.metrics), batchLatency)
+  }
+
   private def setWorkerState(worker: ActorRef, state: WorkerState.Value): Boolean = {
     assert(workerStateMap.contains(worker))
     //only set when state changes.
@@ -168,7 +176,8 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
         PrincipalStatistics(
           PrincipalState.Ready,
           aggregateWorkerInputRowCount(),
-          aggregateWorkerOutputRowCount()
+          aggregateWorkerOutputRowCount(),
+          aggregateWorkerMetrics()
         )
       )
     case StashOutput =>
@@ -285,7 +294,8 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
         PrincipalStatistics(
           PrincipalState.Running,
           aggregateWorkerInputRowCount(),
-          aggregateWorkerOutputRowCount()
+          aggregateWorkerOutputRowCount(),
+          aggregateWorkerMetrics()
         )
       )
     case Pause =>
@@ -392,7 +402,8 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
         PrincipalStatistics(
           PrincipalState.Pausing,
           aggregateWorkerInputRowCount(),
-          aggregateWorkerOutputRowCount()
+          aggregateWorkerOutputRowCount(),
+          aggregateWorkerMetrics()
         )
       )
     case QueryState => sender ! ReportState(PrincipalState.Pausing)
@@ -450,7 +461,8 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
         PrincipalStatistics(
           PrincipalState.CollectingBreakpoints,
           aggregateWorkerInputRowCount(),
-          aggregateWorkerOutputRowCount()
+          aggregateWorkerOutputRowCount(),
+          aggregateWorkerMetrics()
         )
       )
     case ReportedTriggeredBreakpoints(bps) =>
@@ -533,7 +545,8 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
         PrincipalStatistics(
           PrincipalState.Resuming,
           aggregateWorkerInputRowCount(),
-          aggregateWorkerOutputRowCount()
+          aggregateWorkerOutputRowCount(),
+          aggregateWorkerMetrics()
         )
       )
     case QueryState => sender ! ReportState(PrincipalState.Resuming)
@@ -585,7 +598,8 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
         PrincipalStatistics(
           PrincipalState.Paused,
           aggregateWorkerInputRowCount(),
-          aggregateWorkerOutputRowCount()
+          aggregateWorkerOutputRowCount(),
+          aggregateWorkerMetrics()
         )
       )
     case msg =>
@@ -625,7 +639,8 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
         PrincipalStatistics(
           PrincipalState.Completed,
           aggregateWorkerInputRowCount(),
-          aggregateWorkerOutputRowCount()
+          aggregateWorkerOutputRowCount(),
+          aggregateWorkerMetrics()
         )
       )
     case CollectSinkResults =>
@@ -673,7 +688,7 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
       workerStatisticsMap = mutable.AnyRefMap(
         workerLayers
           .flatMap(x => x.layer)
-          .map((_, WorkerStatistics(WorkerState.Uninitialized, 0, 0)))
+          .map((_, WorkerStatistics(WorkerState.Uninitialized, 0, 0, WorkerMetrics.empty)))
           .toMap
           .toSeq: _*
       )
@@ -698,7 +713,8 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
         PrincipalStatistics(
           PrincipalState.Uninitialized,
           aggregateWorkerInputRowCount(),
-          aggregateWorkerOutputRowCount()
+          aggregateWorkerOutputRowCount(),
+          aggregateWorkerMetrics()
         )
       )
     case msg =>
@@ -738,7 +754,8 @@ class Principal(val metadata: OpExecConfig) extends Actor with ActorLogging with
         PrincipalStatistics(
           PrincipalState.Initializing,
           aggregateWorkerInputRowCount(),
-          aggregateWorkerOutputRowCount()
+          aggregateWorkerOutputRowCount(),
+          aggregateWorkerMetrics()
         )
       )
     case msg =>
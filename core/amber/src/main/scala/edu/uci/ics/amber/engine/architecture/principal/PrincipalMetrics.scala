@@ -0,0 +1,71 @@
+package edu.uci.ics.amber.engine.architecture.principal
+
+import edu.uci.ics.amber.engine.architecture.worker.{LinkMetrics, WorkerMetrics}
+import org.HdrHistogram.Histogram
+
+/**
+  * The execution metrics of an operator, aggregated over its workers.
+  * The tuple rates, times and links are summed, the queue depth is the deepest queue of a worker,
+  * and the batch latency percentiles are computed over the batches of all the workers since the operator started.
+  * busyRatio is the fraction of the time the data processing threads were busy,
+  * an operator whose workers are always busy while its upstream workers wait is a bottleneck.
+  */
+case class PrincipalMetrics(
+    inputTuplesPerSecond: Double,
+    outputTuplesPerSecond: Double,
+    busyTimeMs: Long,
+    idleTimeMs: Long,
+    busyRatio: Double,
+    maxProcessingQueueDepth: Int,
+    inputLinks: Map[String, LinkMetrics],
+    outputLinks: Map[String, LinkMetrics],
+    batchCount: Long,
+    batchLatencyMeanMs: Double,
+    batchLatencyP50Ms: Double,
+    batchLatencyP90Ms: Double,
+    batchLatencyP99Ms: Double,
+    batchLatencyMaxMs: Double
+)
+
+object PrincipalMetrics {
+
+  def empty: PrincipalMetrics = aggregate(Iterable.empty, WorkerMetrics.newLatencyHistogram())
+
+  /**
+    * Aggregates the last metrics of the workers.
+    * batchLatency is the running total of the batch latencies (in microseconds) that the principal keeps,
+    * the workers only report the latencies recorded since their previous snapshot.
+    */
+  def aggregate(workerMetrics: Iterable[WorkerMetrics], batchLatency: Histogram): PrincipalMetrics = {
+    val busyTimeMs = workerMetrics.map(_.busyTimeMs).sum
+    val idleTimeMs = workerMetrics.map(_.idleTimeMs).sum
+    PrincipalMetrics(
+      workerMetrics.map(_.inputTuplesPerSecond).sum,
+      workerMetrics.map(_.outputTuplesPerSecond).sum,
+      busyTimeMs,
+      idleTimeMs,
+      if (busyTimeMs + idleTimeMs == 0) 0 else busyTimeMs.toDouble / (busyTimeMs + idleTimeMs),
+      if (workerMetrics.isEmpty) 0 else workerMetrics.map(_.processingQueueDepth).max,
+      aggregateLinks(workerMetrics.map(_.inputLinks)),
+      aggregateLinks(workerMetrics.map(_.outputLinks)),
+      batchLatency.getTotalCount,
+      batchLatency.getMean / 1e3,
+      batchLatency.getValueAtPercentile(50) / 1e3,
+      batchLatency.getValueAtPercentile(90) / 1e3,
+      batchLatency.getValueAtPercentile(99) / 1e3,
+      batchLatency.getMaxValue / 1e3
+    )
+  }
+
+  private def aggregateLinks(links: Iterable[Map[String, LinkMetrics]]): Map[String, LinkMetrics] = {
+    links.flatten.groupBy(_._1).map {
+      case (link, metrics) =>
+        link -> LinkMetrics(
+          metrics.map(_._2.tupleCount).sum,
+          metrics.map(_._2.batchCount).sum,
+          metrics.map(_._2.windowSize).sum
+        )
+    }
+  }
+
+}
@@ -0,0 +1,82 @@
+package edu.uci.ics.amber.engine.architecture.sendsemantics.datatransferpolicy
+
+import edu.uci.ics.amber.engine.architecture.sendsemantics.routees.BaseRoutee
+import edu.uci.ics.amber.engine.common.ambermessage.WorkerMessage.{DataMessage, EndSending}
+import edu.uci.ics.amber.engine.common.ambertag.LinkTag
+import edu.uci.ics.amber.engine.common.tuple.ITuple
+import akka.actor.{ActorContext, ActorRef}
+import akka.event.LoggingAdapter
+import akka.util.Timeout
+
+import scala.concurrent.ExecutionContext
+
+/**
+  * Sends every tuple to all the receivers, the same batch is shared by all of them.
+  */
+class BroadcastPolicy(batchSize: Int) extends DataTransferPolicy(batchSize) {
+  var routees: Array[BaseRoutee] = _
+  var sequenceNum: Long = 0
+  var batch: Array[ITuple] = _
+  var currentSize = 0
+
+  override def noMore()(implicit sender: ActorRef): Unit = {
+    if (currentSize > 0) {
+      val lastBatch = batch.slice(0, currentSize)
+      routees.foreach(_.schedule(DataMessage(sequenceNum, lastBatch)))
+      sequenceNum += 1
+    }
+    routees.foreach(_.schedule(EndSending(sequenceNum)))
+  }
+
+  override def pause(): Unit = {
+    for (i <- routees) {
+      i.pause()
+    }
+  }
+
+  override def resume()(implicit sender: ActorRef): Unit = {
+    for (i <- routees) {
+      i.resume()
+    }
+  }
+
+  override def accept(tuple: ITuple)(implicit sender: ActorRef): Unit = {
+    batch(currentSize) = tuple
+    currentSize += 1
+    if (currentSize == batchSize) {
+      currentSize = 0
+      var i = 0
+      while (i < routees.length) {
+        routees(i).schedule(DataMessage(sequenceNum, batch))
+        i += 1
+      }
+      sequenceNum += 1
+      batch = new Array[ITuple](batchSize)
+    }
+  }
+
+  override def initialize(tag: LinkTag, next: Array[BaseRoutee])(implicit
+      ac: ActorContext,
+      sender: ActorRef,
+      timeout: Timeout,
+      ec: ExecutionContext,
+      log: LoggingAdapter
+  ): Unit = {
+    super.initialize(tag, next)
+    assert(next != null)
+    routees = next
+    routees.foreach(_.initialize(tag))
+    batch = new Array[ITuple](batchSize)
+  }
+
+  override def dispose(): Unit = {
+    routees.foreach(_.dispose())
+  }
+
+  override def reset(): Unit = {
+    routees.foreach(_.reset())
+    batch = new Array[ITuple](batchSize)
+    sequenceNum = 0
+    currentSize = 0
+  }
+}
@@ -1,6 +1,7 @@
 package edu.uci.ics.amber.engine.architecture.sendsemantics.datatransferpolicy
 
 import edu.uci.ics.amber.engine.architecture.sendsemantics.routees.BaseRoutee
+import edu.uci.ics.amber.engine.architecture.worker.LinkMetrics
 import edu.uci.ics.amber.engine.common.ambertag.LinkTag
 import edu.uci.ics.amber.engine.common.tuple.ITuple
 import akka.actor.{Actor, ActorContext, ActorRef}
@@ -11,6 +12,7 @@ import scala.concurrent.ExecutionContext
 
 abstract class DataTransferPolicy(var batchSize: Int) extends Serializable {
   var tag: LinkTag = _
+  var receivers: Array[BaseRoutee] = Array()
 
   def accept(tuple: ITuple)(implicit sender: ActorRef = Actor.noSender): Unit
 
@@ -28,9 +30,21 @@ abstract class DataTransferPolicy(var batchSize: Int) extends Serializable {
       log: LoggingAdapter
   ): Unit = {
     this.tag = linkTag
+    this.receivers = next
     next.foreach(x => log.info("link: {}", x))
   }
 
+  /**
+    * @return the data sent to all the receivers, the window size is the sum of their flow control windows
+    */
+  def getLinkMetrics: LinkMetrics = {
+    LinkMetrics(
+      receivers.map(_.sentTupleCount).sum,
+      receivers.map(_.sentBatchCount).sum,
+      receivers.map(_.windowSize).sum
+    )
+  }
+
   def dispose(): Unit
 
   def reset(): Unit
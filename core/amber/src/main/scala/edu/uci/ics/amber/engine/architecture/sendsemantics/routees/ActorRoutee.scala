@@ -30,6 +30,7 @@ abstract class ActorRoutee(receiver: ActorRef) extends BaseRoutee(receiver) {
   }
 
   override def schedule(msg: DataMessage)(implicit sender: ActorRef): Unit = {
+    countSent(msg)
     if (isPaused) {
       stash.append(msg)
     } else {
@@ -10,6 +10,20 @@ import scala.concurrent.ExecutionContext
 
 abstract class BaseRoutee(val receiver: ActorRef) extends Serializable {
 
+  // the data messages scheduled to the receiver, reported in the metrics of the sending worker
+  @volatile var sentTupleCount = 0L
+  @volatile var sentBatchCount = 0L
+
+  protected def countSent(msg: DataMessage): Unit = {
+    sentTupleCount += msg.payload.length
+    sentBatchCount += 1
+  }
+
+  /**
+    * @return the current flow control window, 0 if the routee doesn't control the flow
+    */
+  def windowSize: Int = 0
+
   def initialize(tag: LinkTag)(implicit
       ac: ActorContext,
       sender: ActorRef,
@@ -15,6 +15,7 @@ class DirectRoutee(receiver: ActorRef) extends BaseRoutee(receiver) {
   val stash = new ArrayBuffer[Any]
   var isPaused = false
   override def schedule(msg: DataMessage)(implicit sender: ActorRef): Unit = {
+    countSent(msg)
     if (isPaused) {
       stash.append(msg)
     } else {
@@ -7,10 +7,14 @@ import akka.actor.{ActorContext, ActorRef}
 import akka.event.LoggingAdapter
 import akka.util.Timeout
 
+import java.util.concurrent.atomic.AtomicInteger
+
 import scala.concurrent.ExecutionContext
 
 class FlowControlRoutee(receiver: ActorRef) extends ActorRoutee(receiver) {
   var context: ActorContext = _
+  // updated by the sender actor
+  val windowSizeGauge = new AtomicInteger()
 
   override def initialize(tag: LinkTag)(implicit
       ac: ActorContext,
@@ -19,7 +23,7 @@ class FlowControlRoutee(receiver: ActorRef) extends ActorRoutee(receiver) {
       ec: ExecutionContext,
       log: LoggingAdapter
   ): Unit = {
-    senderActor = ac.actorOf(FlowControlSenderActor.props(receiver))
+    senderActor = ac.actorOf(FlowControlSenderActor.props(receiver, windowSizeGauge))
     context = ac
     AdvancedMessageSending.blockingAskWithRetry(
       receiver,
@@ -28,10 +32,12 @@ class FlowControlRoutee(receiver: ActorRef) extends ActorRoutee(receiver) {
     )
   }
 
+  override def windowSize: Int = windowSizeGauge.get()
+
   override def toString: String = s"FlowControlRoutee($receiver)"
 
   override def reset(): Unit = {
     super.reset()
-    senderActor = context.actorOf(FlowControlSenderActor.props(receiver))
+    senderActor = context.actorOf(FlowControlSenderActor.props(receiver, windowSizeGauge))
   }
 }
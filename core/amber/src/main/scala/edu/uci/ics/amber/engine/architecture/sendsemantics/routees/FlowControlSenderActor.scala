@@ -11,12 +11,15 @@ import edu.uci.ics.amber.engine.common.ambermessage.WorkerMessage.{DataMessage,
 import akka.actor.{Actor, ActorRef, Cancellable, PoisonPill, Props, Stash}
 import akka.util.Timeout
 
+import java.util.concurrent.atomic.AtomicInteger
+
 import scala.collection.mutable
 import scala.concurrent.ExecutionContext
 import scala.concurrent.duration._
 
 object FlowControlSenderActor {
-  def props(receiver: ActorRef): Props = Props(new FlowControlSenderActor(receiver))
+  def props(receiver: ActorRef, windowSizeGauge: AtomicInteger = new AtomicInteger()): Props =
+    Props(new FlowControlSenderActor(receiver, windowSizeGauge))
 
   final val maxWindowSize = 64
   final val minWindowSize = 2
@@ -29,7 +32,9 @@ object FlowControlSenderActor {
   final case class MessageTimedOut(seq: Long)
 }
 
-class FlowControlSenderActor(val receiver: ActorRef) extends Actor with Stash {
+class FlowControlSenderActor(val receiver: ActorRef, val windowSizeGauge: AtomicInteger)
+    extends Actor
+    with Stash {
   import FlowControlSenderActor._
 
   implicit val timeout: Timeout = 1.second
@@ -38,6 +43,7 @@ class FlowControlSenderActor(val receiver: ActorRef) extends Actor with Stash {
   var exactlyCount = 0
   var ssThreshold = 16
   var windowSize = 2
+  windowSizeGauge.set(windowSize)
   var maxSentSequenceNumber = 0L
   var handleOfEndSending: (Long, Cancellable) = _
 //  var backPressureActivated = false
@@ -79,13 +85,13 @@ class FlowControlSenderActor(val receiver: ActorRef) extends Actor with Stash {
         messagesOnTheWay.remove(seq)
         if (maxSentSequenceNumber - seq < logicalTimeGap) {
           if (windowSize < ssThreshold) {
-            windowSize = Math.min(windowSize * 2, ssThreshold)
+            setWindowSize(Math.min(windowSize * 2, ssThreshold))
           } else {
-            windowSize += 1
+            setWindowSize(windowSize + 1)
           }
         } else {
           ssThreshold /= 2
-          windowSize = Math.max(minWindowSize, Math.min(ssThreshold, maxWindowSize))
+          setWindowSize(Math.max(minWindowSize, Math.min(ssThreshold, maxWindowSize)))
         }
         if (messagesOnTheWay.size < windowSize && messagesToBeSent.nonEmpty) {
           val msg = messagesToBeSent.dequeue()
@@ -132,6 +138,11 @@ class FlowControlSenderActor(val receiver: ActorRef) extends Actor with Stash {
     case Pause  => context.become(paused)
   }
 
+  private def setWindowSize(size: Int): Unit = {
+    windowSize = size
+    windowSizeGauge.set(size)
+  }
+
   final def paused: Receive = {
     case Pause =>
     case Resume =>
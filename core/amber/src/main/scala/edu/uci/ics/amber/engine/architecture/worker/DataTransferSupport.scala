@@ -102,6 +102,10 @@ trait DataTransferSupport extends BreakpointSupport {
     }
   }
 
+  def getOutputLinkMetrics: Map[String, LinkMetrics] = {
+    output.map(policy => policy.tag.getGlobalIdentity -> policy.getLinkMetrics).toMap
+  }
+
   def resetOutput(): Unit = {
     output.foreach {
       _.reset()
@@ -22,8 +22,6 @@ import akka.actor.{ActorLogging, Props, Stash}
 import akka.event.LoggingAdapter
 import akka.util.Timeout
 
-import scala.annotation.elidable
-import scala.annotation.elidable.INFO
 import scala.concurrent.{ExecutionContext, ExecutionContextExecutor, Future}
 import scala.util.control.Breaks
 import scala.concurrent.duration._
@@ -43,8 +41,6 @@ class Generator(var dataProducer: ISourceOperatorExecutor, val tag: WorkerTag)
   var outputIterator: Iterator[ITuple] = _
 
   var generatedCount = 0L
-  @elidable(INFO) var generateTime = 0L
-  @elidable(INFO) var generateStart = 0L
 
   override def onReset(value: Any, recoveryInformation: Seq[(Long, Long)]): Unit = {
     super.onReset(value, recoveryInformation)
@@ -70,7 +66,7 @@ class Generator(var dataProducer: ISourceOperatorExecutor, val tag: WorkerTag)
       log.info(
         "completed its job. total: {} ms, generating: {} ms, generated {} tuples",
         (System.nanoTime() - startTime) / 1000000,
-        generateTime / 1000000,
+        workerMetrics.busyTimeMs,
         generatedCount
       )
     }
@@ -100,9 +96,7 @@ class Generator(var dataProducer: ISourceOperatorExecutor, val tag: WorkerTag)
       context.become(breakpointTriggered, discardOld = false)
       unstashAll()
     case QueryState =>
-      sender ! ReportStatistics(
-        WorkerStatistics(WorkerState.Pausing, generatedCount, generatedCount)
-      )
+      sender ! ReportStatistics(getWorkerStatistics(WorkerState.Pausing))
     case msg => stash()
   }
 
@@ -171,11 +165,9 @@ class Generator(var dataProducer: ISourceOperatorExecutor, val tag: WorkerTag)
       } catch {
         case e: BreakpointException =>
           self ! LocalBreakpointTriggered
-          generateTime += System.nanoTime() - generateStart
           Breaks.break()
         case e: Exception =>
           self ! ReportFailure(e)
-          generateTime += System.nanoTime() - generateStart
           Breaks.break()
       }
     }
@@ -184,13 +176,12 @@ class Generator(var dataProducer: ISourceOperatorExecutor, val tag: WorkerTag)
   private[this] def exitIfPaused(): Unit = {
     onInterrupted {
       self ! ExecutionPaused
-      generateTime += System.nanoTime() - generateStart
     }
   }
 
   private[this] def Generate(): Unit = {
+    val generateStart = System.nanoTime()
     Breaks.breakable {
-      generateStart = System.nanoTime()
       beforeGenerating()
       this.outputIterator = dataProducer.produce()
       while (outputIterator.hasNext) {
@@ -204,7 +195,6 @@ class Generator(var dataProducer: ISourceOperatorExecutor, val tag: WorkerTag)
             breakpoints(0).triggeredTuple = nextTuple
             breakpoints(0).asInstanceOf[ExceptionBreakpoint].error = e
             breakpoints(0).triggeredTupleId = generatedCount
-            generateTime += System.nanoTime() - generateStart
             Breaks.break()
         }
         try {
@@ -213,11 +203,9 @@ class Generator(var dataProducer: ISourceOperatorExecutor, val tag: WorkerTag)
         } catch {
           case e: BreakpointException =>
             self ! LocalBreakpointTriggered
-            generateTime += System.nanoTime() - generateStart
             Breaks.break()
           case e: Exception =>
             self ! ReportFailure(e)
-            generateTime += System.nanoTime() - generateStart
             Breaks.break()
         }
       }
@@ -227,14 +215,13 @@ class Generator(var dataProducer: ISourceOperatorExecutor, val tag: WorkerTag)
       } catch {
         case e: Exception =>
           self ! ReportFailure(e)
-          generateTime += System.nanoTime() - generateStart
           Breaks.break()
       }
       synchronized {
         isGeneratingFinished = true
         self ! ExecutionCompleted
       }
-      generateTime += System.nanoTime() - generateStart
     }
+    workerMetrics.recordBusyTime(System.nanoTime() - generateStart)
   }
 }
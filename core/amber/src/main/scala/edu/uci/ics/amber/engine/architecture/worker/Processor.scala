@@ -25,8 +25,6 @@ import play.api.libs.json.{JsValue, Json}
 import scala.collection.mutable
 import scala.concurrent.{ExecutionContext, ExecutionContextExecutor, Future}
 import scala.util.control.Breaks
-import scala.annotation.elidable
-import scala.annotation.elidable._
 import scala.concurrent.duration._
 
 object Processor {
@@ -43,6 +41,8 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
   val inputNumMapping = new mutable.HashMap[LayerTag,Int]
   @volatile var dPThreadState: ThreadState.Value = ThreadState.Idle
   var processingIndex = 0
+  // the time spent on the current batch by its previous runs, a run ends early on a pause or a breakpoint
+  var batchProcessingTime: Long = 0L
   var processedCount: Long = 0L
   var generatedCount: Long = 0L
   var currentInputTuple: ITuple = _
@@ -50,12 +50,10 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
     new mutable.Queue[(Long, Long, OpExecConfig)]()
   var outputIterator: Iterator[ITuple] = _
 
-  @elidable(INFO) var processTime = 0L
-  @elidable(INFO) var processStart = 0L
-
   override def onReset(value: Any, recoveryInformation: Seq[(Long, Long)]): Unit = {
     super.onReset(value, recoveryInformation)
     processingIndex = 0
+    batchProcessingTime = 0L
     processedCount = 0L
     generatedCount = 0L
     currentInputTuple = null
@@ -134,7 +132,7 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
       log.info(
         "completed its job. total: {} ms, processing: {} ms",
         (System.nanoTime() - startTime) / 1000000,
-        processTime / 1000000
+        workerMetrics.busyTimeMs
       )
     }
   }
@@ -173,6 +171,7 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
     input.preCheck(seq, payload, sender) match {
       case Some(batches) =>
         val currentEdge = input.actorToEdge(sender)
+        batches.foreach(batch => workerMetrics.recordReceived(currentEdge.getGlobalIdentity, batch.length))
         synchronized {
           for (i <- batches)
             processingQueue += ((currentEdge, i))
@@ -204,6 +203,7 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
     input.preCheck(seq, payload, sender) match {
       case Some(batches) =>
         val currentEdge = input.actorToEdge(sender)
+        batches.foreach(batch => workerMetrics.recordReceived(currentEdge.getGlobalIdentity, batch.length))
         synchronized {
           for (i <- batches)
             processingQueue += ((currentEdge, i))
@@ -255,6 +255,12 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
     this.generatedCount
   }
 
+  override def getProcessingQueueDepth(): Int = {
+    synchronized {
+      processingQueue.size
+    }
+  }
+
   final def activateWhenReceiveDataMessages: Receive = {
     case EndSending(_) | DataMessage(_, _) | RequireAck(_: EndSending) | RequireAck(
           _: DataMessage
@@ -379,11 +385,9 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
             dPThreadState = ThreadState.LocalBreakpointTriggered
           }
           self ! LocalBreakpointTriggered
-          processTime += System.nanoTime() - processStart
           Breaks.break()
         case e: Exception =>
           self ! ReportFailure(e)
-          processTime += System.nanoTime() - processStart
           Breaks.break()
       }
     }
@@ -447,13 +451,12 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
     onInterrupted {
       dPThreadState = ThreadState.Paused
       self ! ExecutionPaused
-      processTime += System.nanoTime() - processStart
     }
   }
 
   private[this] def afterFinishProcessing(): Unit = {
+    val processStart = System.nanoTime()
     Breaks.breakable {
-      processStart = System.nanoTime()
       while (outputIterator != null && outputIterator.hasNext) {
         exitIfPaused()
         var nextTuple: ITuple = null
@@ -470,7 +473,6 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
               breakpoints(0).asInstanceOf[ExceptionBreakpoint].error = e
               breakpoints(0).triggeredTupleId = generatedCount
               breakpoints(0).isInput = true
-              processTime += System.nanoTime() - processStart
               Breaks.break()
             }
         }
@@ -483,11 +485,9 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
               dPThreadState = ThreadState.LocalBreakpointTriggered
             }
             self ! LocalBreakpointTriggered
-            processTime += System.nanoTime() - processStart
             Breaks.break()
           case e: Exception =>
             self ! ReportFailure(e)
-            processTime += System.nanoTime() - processStart
             Breaks.break()
         }
       }
@@ -497,21 +497,21 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
       } catch {
         case e: Exception =>
           self ! ReportFailure(e)
-          processTime += System.nanoTime() - processStart
           Breaks.break()
       }
       synchronized {
         dPThreadState = ThreadState.Completed
       }
       self ! ExecutionCompleted
-      processTime += System.nanoTime() - processStart
     }
+    workerMetrics.recordBusyTime(System.nanoTime() - processStart)
   }
 
   private[this] def processBatch(): Unit = {
+    val processStart = System.nanoTime()
+    var batchCompleted = false
     Breaks.breakable {
       beforeProcessingBatch()
-      processStart = System.nanoTime()
       val (from, batch) = synchronized { processingQueue.front }
       //check if there is tuple left to be outputted
       while (outputIterator != null && outputIterator.hasNext) {
@@ -530,7 +530,6 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
               breakpoints(0).asInstanceOf[ExceptionBreakpoint].error = e
               breakpoints(0).triggeredTupleId = generatedCount
               breakpoints(0).isInput = true
-              processTime += System.nanoTime() - processStart
               Breaks.break()
             }
         }
@@ -543,11 +542,9 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
               dPThreadState = ThreadState.LocalBreakpointTriggered
             }
             self ! LocalBreakpointTriggered
-            processTime += System.nanoTime() - processStart
             Breaks.break()
           case e: Exception =>
             self ! ReportFailure(e)
-            processTime += System.nanoTime() - processStart
             Breaks.break()
         }
       }
@@ -579,7 +576,6 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
                 breakpoints(0).asInstanceOf[ExceptionBreakpoint].isInput = true
                 breakpoints(0).triggeredTupleId = processedCount
                 breakpoints(0).isInput = true
-                processTime += System.nanoTime() - processStart
                 Breaks.break()
               }
             case other: Any =>
@@ -604,7 +600,6 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
                   breakpoints(0).asInstanceOf[ExceptionBreakpoint].error = e
                   breakpoints(0).triggeredTupleId = generatedCount
                   breakpoints(0).isInput = true
-                  processTime += System.nanoTime() - processStart
                   Breaks.break()
                 }
             }
@@ -621,19 +616,26 @@ class Processor(var dataProcessor: IOperatorExecutor, val tag: WorkerTag) extend
                   dPThreadState = ThreadState.LocalBreakpointTriggered
                 }
                 self ! LocalBreakpointTriggered
-                processTime += System.nanoTime() - processStart
                 Breaks.break()
               case e: Exception =>
                 log.info(e.toString)
                 self ! ReportFailure(e)
-                processTime += System.nanoTime() - processStart
                 Breaks.break()
             }
           }
         }
       }
       afterProcessingBatch()
-      processTime += System.nanoTime() - processStart
+      batchCompleted = true
+    }
+    val processingTime = System.nanoTime() - processStart
+    if (batchCompleted) {
+      // the latency sample is the time of the whole batch, over all its runs
+      workerMetrics.recordBatch(processingTime, batchProcessingTime + processingTime)
+      batchProcessingTime = 0
+    } else {
+      workerMetrics.recordBusyTime(processingTime)
+      batchProcessingTime += processingTime
     }
   }
 }
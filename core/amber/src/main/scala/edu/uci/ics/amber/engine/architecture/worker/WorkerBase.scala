@@ -28,6 +28,8 @@ abstract class WorkerBase extends Actor with ActorLogging with Stash with DataTr
   val receivedRecoveryInformation: mutable.HashSet[(Long, Long)] =
     new mutable.HashSet[(Long, Long)]()
 
+  val workerMetrics = new WorkerMetricsCollector()
+
   var pausedFlag = false
   var userFixedTuple: ITuple = _
   @elidable(INFO) var startTime = 0L
@@ -51,6 +53,7 @@ abstract class WorkerBase extends Actor with ActorLogging with Stash with DataTr
   def onStart(): Unit = {
     log.info("started!")
     startTime = System.nanoTime()
+    workerMetrics.start()
     context.parent ! ReportState(WorkerState.Running)
   }
 
@@ -77,6 +80,7 @@ abstract class WorkerBase extends Actor with ActorLogging with Stash with DataTr
   }
 
   def onCompleted(): Unit = {
+    workerMetrics.stop()
     context.parent ! ReportState(WorkerState.Completed)
   }
 
@@ -101,11 +105,25 @@ abstract class WorkerBase extends Actor with ActorLogging with Stash with DataTr
 
   def getOutputRowCount(): Long
 
+  def getProcessingQueueDepth(): Int = 0
+
+  def getWorkerStatistics(state: WorkerState.Value): WorkerStatistics = {
+    val inputRowCount = getInputRowCount()
+    val outputRowCount = getOutputRowCount()
+    WorkerStatistics(
+      state,
+      inputRowCount,
+      outputRowCount,
+      workerMetrics.snapshot(inputRowCount, outputRowCount, getProcessingQueueDepth(), getOutputLinkMetrics)
+    )
+  }
+
   def onReset(value: Any, recoveryInformation: Seq[(Long, Long)]): Unit = {
 //    Thread.sleep(1000)
     receivedRecoveryInformation.clear()
     receivedRecoveryInformation ++= recoveryInformation
     userFixedTuple = null
+    workerMetrics.reset()
     receivedFaultedTupleIds.clear()
     pausedFlag = false
   }
@@ -229,9 +247,7 @@ abstract class WorkerBase extends Actor with ActorLogging with Stash with DataTr
     case QueryState =>
       sender ! ReportState(WorkerState.Uninitialized)
     case QueryStatistics =>
-      sender ! ReportStatistics(
-        WorkerStatistics(WorkerState.Uninitialized, getInputRowCount(), getOutputRowCount())
-      )
+      sender ! ReportStatistics(getWorkerStatistics(WorkerState.Uninitialized))
     case _ => stash()
   }
 
@@ -252,9 +268,7 @@ abstract class WorkerBase extends Actor with ActorLogging with Stash with DataTr
       case Resume     => context.parent ! ReportState(WorkerState.Ready)
       case QueryState => sender ! ReportState(WorkerState.Ready)
       case QueryStatistics =>
-        sender ! ReportStatistics(
-          WorkerStatistics(WorkerState.Ready, getInputRowCount(), getOutputRowCount())
-        )
+        sender ! ReportStatistics(getWorkerStatistics(WorkerState.Ready))
     } orElse discardOthers
 
   def pausedBeforeStart: Receive =
@@ -278,9 +292,7 @@ abstract class WorkerBase extends Actor with ActorLogging with Stash with DataTr
       case Pause      => context.parent ! ReportState(WorkerState.Paused)
       case QueryState => sender ! ReportState(WorkerState.Paused)
       case QueryStatistics =>
-        sender ! ReportStatistics(
-          WorkerStatistics(WorkerState.Paused, getInputRowCount(), getOutputRowCount())
-        )
+        sender ! ReportStatistics(getWorkerStatistics(WorkerState.Paused))
     } orElse discardOthers
 
   def paused: Receive =
@@ -320,9 +332,7 @@ abstract class WorkerBase extends Actor with ActorLogging with Stash with DataTr
       case Pause      => context.parent ! ReportState(WorkerState.Paused)
       case QueryState => sender ! ReportState(WorkerState.Paused)
       case QueryStatistics =>
-        sender ! ReportStatistics(
-          WorkerStatistics(WorkerState.Paused, getInputRowCount(), getOutputRowCount())
-        )
+        sender ! ReportStatistics(getWorkerStatistics(WorkerState.Paused))
       case QueryBreakpoint(id) =>
         val toReport = breakpoints.find(_.id == id)
         if (toReport.isDefined) {
@@ -367,9 +377,7 @@ abstract class WorkerBase extends Actor with ActorLogging with Stash with DataTr
       case Resume     => context.parent ! ReportState(WorkerState.Running)
       case QueryState => sender ! ReportState(WorkerState.Running)
       case QueryStatistics =>
-        sender ! ReportStatistics(
-          WorkerStatistics(WorkerState.Running, getInputRowCount(), getOutputRowCount())
-        )
+        sender ! ReportStatistics(getWorkerStatistics(WorkerState.Running))
       case CollectSinkResults =>
         sender ! WorkerMessage.ReportOutputResult(this.getResultTuples().toList)
     } orElse discardOthers
@@ -399,13 +407,7 @@ abstract class WorkerBase extends Actor with ActorLogging with Stash with DataTr
         }
       case QueryState => sender ! ReportState(WorkerState.LocalBreakpointTriggered)
       case QueryStatistics =>
-        sender ! ReportStatistics(
-          WorkerStatistics(
-            WorkerState.LocalBreakpointTriggered,
-            getInputRowCount(),
-            getOutputRowCount()
-          )
-        )
+        sender ! ReportStatistics(getWorkerStatistics(WorkerState.LocalBreakpointTriggered))
       case DataMessage(_, _) | EndSending(_) => stash()
       case Resume | Pause                    => context.parent ! ReportState(WorkerState.LocalBreakpointTriggered)
       case LocalBreakpointTriggered          => //discard this
@@ -418,9 +420,7 @@ abstract class WorkerBase extends Actor with ActorLogging with Stash with DataTr
       allowQueryBreakpoint orElse [Any, Unit] {
       case QueryState => sender ! ReportState(WorkerState.Completed)
       case QueryStatistics =>
-        sender ! ReportStatistics(
-          WorkerStatistics(WorkerState.Completed, getInputRowCount(), getOutputRowCount())
-        )
+        sender ! ReportStatistics(getWorkerStatistics(WorkerState.Completed))
       case QueryTriggeredBreakpoints => //skip this
       case ExecutionCompleted        => //skip this as well
       case CollectSinkResults =>
@@ -0,0 +1,153 @@
+package edu.uci.ics.amber.engine.architecture.worker
+
+import org.HdrHistogram.{Histogram, Recorder}
+
+import scala.collection.mutable
+
+/**
+  * The data which went through a link of a worker.
+  * windowSize is the flow control window of the link, i.e. how many batches can be in flight (0 without flow control).
+  */
+case class LinkMetrics(tupleCount: Long, batchCount: Long, windowSize: Int)
+
+/**
+  * A snapshot of the execution metrics of a worker.
+  * The tuple rates are measured since the previous snapshot,
+  * the busy and idle times are the time the data processing thread spent processing or waiting since the worker started.
+  * The links are keyed by the identity of the upstream layer (input) or of the link (output).
+  * batchLatency is the histogram of the time (in microseconds) spent on each input batch completed since the previous
+  * snapshot, the principal adds them up.
+  */
+case class WorkerMetrics(
+    inputTuplesPerSecond: Double,
+    outputTuplesPerSecond: Double,
+    busyTimeMs: Long,
+    idleTimeMs: Long,
+    processingQueueDepth: Int,
+    inputLinks: Map[String, LinkMetrics],
+    outputLinks: Map[String, LinkMetrics],
+    batchLatency: Histogram
+)
+
+object WorkerMetrics {
+  // the latency percentiles are kept within 1% of the value, the histogram grows with the largest value recorded
+  final val LatencySignificantDigits = 2
+
+  def newLatencyHistogram(): Histogram = new Histogram(LatencySignificantDigits)
+
+  def empty: WorkerMetrics = WorkerMetrics(0, 0, 0, 0, 0, Map(), Map(), newLatencyHistogram())
+}
+
+/**
+  * Collects the metrics of a worker.
+  * The processing times are recorded by the data processing thread, the rest by the actor,
+  * all the methods are synchronized.
+  */
+class WorkerMetricsCollector {
+  private var startTime = 0L
+  private var endTime = 0L
+  private var busyTime = 0L
+  private val batchLatency = new Recorder(WorkerMetrics.LatencySignificantDigits)
+  private val inputLinks = new mutable.HashMap[String, LinkMetrics]
+
+  private var lastSnapshotTime = 0L
+  private var lastInputRowCount = 0L
+  private var lastOutputRowCount = 0L
+  private var inputTuplesPerSecond = 0d
+  private var outputTuplesPerSecond = 0d
+
+  def start(): Unit =
+    synchronized {
+      if (startTime == 0) {
+        startTime = System.nanoTime()
+        lastSnapshotTime = startTime
+      }
+    }
+
+  // the idle time stops growing once the worker completes
+  def stop(): Unit =
+    synchronized {
+      if (startTime != 0 && endTime == 0) {
+        endTime = System.nanoTime()
+      }
+    }
+
+  def reset(): Unit =
+    synchronized {
+      startTime = 0L
+      endTime = 0L
+      busyTime = 0L
+      batchLatency.reset()
+      inputLinks.clear()
+      lastSnapshotTime = 0L
+      lastInputRowCount = 0L
+      lastOutputRowCount = 0L
+      inputTuplesPerSecond = 0d
+      outputTuplesPerSecond = 0d
+    }
+
+  /**
+    * Records the last run of the data processing thread on an input batch, when the batch is completed.
+    * batchTime is the time spent on the whole batch, including its runs which ended on a pause or a breakpoint.
+    * The times are in nanoseconds, the latency is recorded in microseconds.
+    */
+  def recordBatch(processingTime: Long, batchTime: Long): Unit =
+    synchronized {
+      busyTime += processingTime
+      batchLatency.recordValue(Math.max(batchTime, 0L) / 1000)
+    }
+
+  /**
+    * Records the time the data processing thread spent on anything else than an input batch,
+    * e.g. producing tuples from a source.
+    */
+  def recordBusyTime(processingTime: Long): Unit =
+    synchronized {
+      busyTime += processingTime
+    }
+
+  def recordReceived(link: String, tupleCount: Int): Unit =
+    synchronized {
+      val received = inputLinks.getOrElse(link, LinkMetrics(0, 0, 0))
+      inputLinks(link) = LinkMetrics(received.tupleCount + tupleCount, received.batchCount + 1, 0)
+    }
+
+  def snapshot(
+      inputRowCount: Long,
+      outputRowCount: Long,
+      processingQueueDepth: Int,
+      outputLinks: Map[String, LinkMetrics]
+  ): WorkerMetrics =
+    synchronized {
+      if (startTime == 0) {
+        WorkerMetrics(0, 0, 0, 0, processingQueueDepth, inputLinks.toMap, outputLinks, batchLatency.getIntervalHistogram)
+      } else {
+        val now = if (endTime != 0) endTime else System.nanoTime()
+        val interval = now - lastSnapshotTime
+        // keep the previous rates if the snapshots are too close to each other
+        if (interval >= 1000000L) {
+          inputTuplesPerSecond = (inputRowCount - lastInputRowCount) * 1e9 / interval
+          outputTuplesPerSecond = (outputRowCount - lastOutputRowCount) * 1e9 / interval
+          lastSnapshotTime = now
+          lastInputRowCount = inputRowCount
+          lastOutputRowCount = outputRowCount
+        } else if (endTime != 0) {
+          inputTuplesPerSecond = 0
+          outputTuplesPerSecond = 0
+        }
+        WorkerMetrics(
+          inputTuplesPerSecond,
+          outputTuplesPerSecond,
+          busyTime / 1000000,
+          Math.max(now - startTime - busyTime, 0) / 1000000,
+          processingQueueDepth,
+          inputLinks.toMap,
+          outputLinks,
+          batchLatency.getIntervalHistogram
+        )
+      }
+    }
+
+  def busyTimeMs: Long = synchronized { busyTime / 1000000 }
+
+}
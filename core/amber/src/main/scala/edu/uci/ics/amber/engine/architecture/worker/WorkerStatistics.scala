@@ -3,5 +3,6 @@ package edu.uci.ics.amber.engine.architecture.worker
 case class WorkerStatistics(
     workerState: WorkerState.Value,
     inputRowCount: Long,
-    outputRowCount: Long
+    outputRowCount: Long,
+    metrics: WorkerMetrics
 )
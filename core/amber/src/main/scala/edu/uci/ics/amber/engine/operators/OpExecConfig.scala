@@ -40,6 +40,11 @@ abstract class OpExecConfig(val tag: OperatorIdentifier) extends Serializable {
 
   def requiredShuffle: Boolean = false
 
+  /**
+    * Whether every worker of this operator needs all the tuples from the given upstream operator.
+    */
+  def requiredBroadcast(from: OperatorIdentifier): Boolean = false
+
   def getInputNum(from:OperatorIdentifier): Int
 
   def getShuffleHashFunction(layerTag: LayerTag): ITuple => Int = ???
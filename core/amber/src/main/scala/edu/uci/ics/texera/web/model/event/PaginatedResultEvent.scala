@@ -0,0 +1,11 @@
+package edu.uci.ics.texera.web.model.event
+
+import com.fasterxml.jackson.databind.node.ObjectNode
+
+case class PaginatedResultEvent(
+    operatorID: String,
+    pageIndex: Int,
+    pageSize: Int,
+    totalRowCount: Long,
+    table: List[ObjectNode]
+) extends TexeraWebSocketEvent
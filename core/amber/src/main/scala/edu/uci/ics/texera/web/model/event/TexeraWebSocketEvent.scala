@@ -17,7 +17,8 @@ import com.fasterxml.jackson.annotation.{JsonSubTypes, JsonTypeInfo}
     new Type(value = classOf[BreakpointTriggeredEvent]),
     new Type(value = classOf[ModifyLogicCompletedEvent]),
     new Type(value = classOf[SkipTupleResponseEvent]),
-    new Type(value = classOf[OperatorCurrentTuplesUpdateEvent])
+    new Type(value = classOf[OperatorCurrentTuplesUpdateEvent]),
+    new Type(value = classOf[PaginatedResultEvent])
   )
 )
 trait TexeraWebSocketEvent {}
@@ -2,13 +2,24 @@ package edu.uci.ics.texera.web.model.event
 
 import com.fasterxml.jackson.databind.node.ObjectNode
 import edu.uci.ics.amber.engine.architecture.controller.ControllerEvent.WorkflowCompleted
+import edu.uci.ics.amber.engine.common.ambertag.OperatorIdentifier
 import edu.uci.ics.texera.workflow.common.tuple.Tuple
 import edu.uci.ics.texera.workflow.common.workflow.WorkflowCompiler
+import edu.uci.ics.texera.workflow.operators.sink.SinkResultStore
 import edu.uci.ics.texera.workflow.operators.visualization.VisualizationOperator
 
 import scala.collection.mutable
 
-case class OperatorResult(operatorID: String, table: List[ObjectNode], chartType: String)
+/**
+  * The results of a sink operator, the table holds the results kept in memory by the sink,
+  * the other results (up to totalRowCount) can be requested by page.
+  */
+case class OperatorResult(
+    operatorID: String,
+    table: List[ObjectNode],
+    chartType: String,
+    totalRowCount: Long
+)
 
 object WorkflowCompletedEvent {
 
@@ -27,7 +38,12 @@ object WorkflowCompletedEvent {
         case _ => null
       }
 
-      resultList += OperatorResult(operatorID, table, chartType)
+      val totalRowCount = SinkResultStore
+        .get(OperatorIdentifier(workflowCompiler.context.workflowID, operatorID))
+        .map(store => store.getCount)
+        .getOrElse(table.size.toLong)
+
+      resultList += OperatorResult(operatorID, table, chartType, totalRowCount)
     })
     WorkflowCompletedEvent(resultList.toList)
   }
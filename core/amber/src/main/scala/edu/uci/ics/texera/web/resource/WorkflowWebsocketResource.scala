@@ -4,16 +4,17 @@ import java.util.concurrent.atomic.AtomicInteger
 
 import akka.actor.{ActorRef, PoisonPill}
 import edu.uci.ics.amber.engine.architecture.controller.{Controller, ControllerEventListener}
-import edu.uci.ics.amber.engine.architecture.principal.PrincipalStatistics
+import edu.uci.ics.amber.engine.architecture.principal.{PrincipalMetrics, PrincipalStatistics}
 import edu.uci.ics.amber.engine.common.ambermessage.ControlMessage._
 import edu.uci.ics.amber.engine.common.ambermessage.ControllerMessage.AckedControllerInitialization
-import edu.uci.ics.amber.engine.common.ambertag.WorkflowTag
+import edu.uci.ics.amber.engine.common.ambertag.{OperatorIdentifier, WorkflowTag}
 import edu.uci.ics.texera.web.TexeraWebApplication
 import edu.uci.ics.texera.web.model.event._
 import edu.uci.ics.texera.web.model.request._
 import edu.uci.ics.texera.workflow.common.workflow.{WorkflowCompiler, WorkflowInfo}
 import edu.uci.ics.texera.workflow.common.{Utils, WorkflowContext}
-import edu.uci.ics.texera.workflow.operators.sink.SimpleSinkOpDesc
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.operators.sink.{SimpleSinkOpDesc, SinkResultStore}
 import javax.websocket._
 import javax.websocket.server.ServerEndpoint
 
@@ -25,6 +26,8 @@ object WorkflowWebsocketResource {
 
   val sessionMap = new mutable.HashMap[String, Session]
   val sessionJobs = new mutable.HashMap[String, (WorkflowCompiler, ActorRef)]
+  // the sink operators of the last workflow executed by each session, whose results can be requested by page
+  val sessionResults = new mutable.HashMap[String, List[OperatorIdentifier]]
 
 }
 
@@ -63,6 +66,8 @@ class WorkflowWebsocketResource {
           skipTuple(session, skipTupleMsg)
         case breakpoint: AddBreakpointRequest =>
           addBreakpoint(session, breakpoint)
+        case paginationRequest: ResultPaginationRequest =>
+          getResultPage(session, paginationRequest)
       }
     } catch {
       case e: Throwable => {
@@ -79,6 +84,7 @@ class WorkflowWebsocketResource {
       println(s"session ${session.getId} disconnected, kill its controller actor")
       this.killWorkflow(session)
     }
+    releaseResults(session)
   }
 
   def send(session: Session, event: TexeraWebSocketEvent): Unit = {
@@ -91,6 +97,39 @@ class WorkflowWebsocketResource {
     compiler.addBreakpoint(controller, addBreakpoint.operatorID, addBreakpoint.breakpoint)
   }
 
+  def getResultPage(session: Session, request: ResultPaginationRequest): Unit = {
+    if (request.pageIndex < 0 || request.pageSize < 0) {
+      send(session, WorkflowErrorEvent(generalErrors = Map("exception" ->
+        ("invalid result page " + request.pageIndex + " of size " + request.pageSize))))
+      return
+    }
+    val sinkID = WorkflowWebsocketResource.sessionResults
+      .getOrElse(session.getId, List())
+      .find(id => id.operator == request.operatorID)
+    val store = sinkID.flatMap(id => SinkResultStore.get(id))
+    if (store.isEmpty) {
+      send(session, WorkflowErrorEvent(generalErrors = Map("exception" -> ("no result of operator " + request.operatorID))))
+      return
+    }
+    val page = store.get.getPage(request.pageIndex.toLong * request.pageSize, request.pageSize)
+    send(
+      session,
+      PaginatedResultEvent(
+        request.operatorID,
+        request.pageIndex,
+        request.pageSize,
+        store.get.getCount,
+        page.map(tuple => tuple.asInstanceOf[Tuple].asKeyValuePairJson()).toList
+      )
+    )
+  }
+
+  def releaseResults(session: Session): Unit = {
+    WorkflowWebsocketResource.sessionResults
+      .remove(session.getId)
+      .foreach(sinkIDs => sinkIDs.foreach(sinkID => SinkResultStore.release(sinkID)))
+  }
+
   def removeBreakpoint(session: Session, removeBreakpoint: RemoveBreakpointRequest): Unit = {
     throw new UnsupportedOperationException();
   }
@@ -145,6 +184,15 @@ class WorkflowWebsocketResource {
       return
     }
 
+    releaseResults(session)
+    WorkflowWebsocketResource.sessionResults(session.getId) = texeraWorkflowCompiler.workflowInfo.operators
+      .filter(op => op.isInstanceOf[SimpleSinkOpDesc])
+      .map(op => {
+        SinkResultStore.retain(op.operatorIdentifier)
+        op.operatorIdentifier
+      })
+      .toList
+
     val workflow = texeraWorkflowCompiler.amberWorkflow
     val workflowTag = WorkflowTag.apply(workflowID)
 
@@ -168,7 +216,8 @@ class WorkflowWebsocketResource {
           val sinkStatistics = PrincipalStatistics(
             inputStatistics.operatorState,
             inputStatistics.aggregatedOutputRowCount,
-            inputStatistics.aggregatedOutputRowCount
+            inputStatistics.aggregatedOutputRowCount,
+            PrincipalMetrics.empty
           )
           updateMutable(sinkID) = sinkStatistics
         }
@@ -11,14 +11,17 @@ import edu.uci.ics.texera.workflow.common.tuple.schema.Schema
 import edu.uci.ics.texera.workflow.common.{ConstraintViolation, WorkflowContext}
 import edu.uci.ics.texera.workflow.operators.aggregate.AverageOpDesc
 import edu.uci.ics.texera.workflow.operators.filter.SpecializedFilterOpDesc
+import edu.uci.ics.texera.workflow.operators.hashJoin.HashJoinOpDesc
 import edu.uci.ics.texera.workflow.operators.linearregression.LinearRegressionOpDesc
 import edu.uci.ics.texera.workflow.operators.localscan.LocalCsvFileScanOpDesc
+import edu.uci.ics.texera.workflow.operators.lucenesource.LuceneSourceOpDesc
 import edu.uci.ics.texera.workflow.operators.pythonUDF.PythonUDFOpDesc
 import edu.uci.ics.texera.workflow.operators.randomksampling.RandomKSamplingOpDesc
 import edu.uci.ics.texera.workflow.operators.regex.RegexOpDesc
 import edu.uci.ics.texera.workflow.operators.reservoirsampling.ReservoirSamplingOpDesc
 import edu.uci.ics.texera.workflow.operators.sentiment.SentimentAnalysisOpDesc
 import edu.uci.ics.texera.workflow.operators.sink.SimpleSinkOpDesc
+import edu.uci.ics.texera.workflow.operators.sort.SortOpDesc
 import edu.uci.ics.texera.workflow.operators.mysqlsource.MysqlSourceOpDesc
 import edu.uci.ics.texera.workflow.operators.visualization.barChart.BarChartOpDesc
 import edu.uci.ics.texera.workflow.operators.visualization.lineChart.LineChartOpDesc
@@ -46,14 +49,23 @@ import org.apache.commons.lang3.builder.{EqualsBuilder, HashCodeBuilder, ToStrin
     new Type(value = classOf[WordCloudOpDesc], name = "WordCloud"),
     new Type(value = classOf[PythonUDFOpDesc], name = "PythonUDF"),
     new Type(value = classOf[MysqlSourceOpDesc], name = "MysqlSource"),
+    new Type(value = classOf[LuceneSourceOpDesc], name = "LuceneSource"),
     new Type(value = classOf[RandomKSamplingOpDesc], name = "RandomKSampling"),
-    new Type(value = classOf[ReservoirSamplingOpDesc], name = "ReservoirSampling")
+    new Type(value = classOf[ReservoirSamplingOpDesc], name = "ReservoirSampling"),
+    new Type(value = classOf[SortOpDesc], name = "Sort"),
+    new Type(value = classOf[HashJoinOpDesc], name = "HashJoin")
   )
 )
 abstract class OperatorDescriptor extends Serializable {
 
   @JsonIgnore var context: WorkflowContext = _
 
+  /**
+    * The IDs of the upstream operators, in the order of the input ports they are linked to:
+    * the operator linked to the i-th input port of this operator is its i-th input.
+    */
+  @JsonIgnore var inputOperatorIDs: List[String] = List()
+
   @JsonProperty(PropertyNameConstants.OPERATOR_ID)
   var operatorID: String = UUID.randomUUID.toString
 
@@ -18,7 +18,12 @@ import edu.uci.ics.texera.workflow.common.tuple.Tuple
   * finalAgg: calculates final result:      average = sum / count
   *
   * Optionally, a group by function can be specified,
-  * which will cause the aggregation to be calculated per group
+  * which will cause the aggregation to be calculated per group.
+  * If the group by function only selects attributes of the tuple, the attributes can be given as groupByKeys,
+  * then the key fields are read from the tuple directly instead of calling the group by function on every tuple.
+  *
+  * Optionally, an accumulator can be specified, which keeps the partial results of all groups
+  * in a columnar form (e.g. primitive arrays), instead of one partial object per group.
   *
   * These function definitions are from
   * "Distributed Aggregation for Data-Parallel Computing: Interfaces and Implementations"
@@ -34,5 +39,9 @@ case class DistributedAggregation[P <: AnyRef](
     // PartialObject => FinalObject
     finalAgg: P => Tuple,
     // optional: group by function, calculate a group by key for a tuple
-    groupByFunc: Tuple => Tuple = null
+    groupByFunc: Tuple => Tuple = null,
+    // optional: the attributes selected by the group by function
+    groupByKeys: List[String] = null,
+    // optional: () => GroupAccumulator of the partial objects
+    accumulator: () => GroupAccumulator[P] = null
 )
@@ -6,17 +6,22 @@ import edu.uci.ics.texera.workflow.common.operators.aggregate.PartialAggregateOp
 import edu.uci.ics.texera.workflow.common.tuple.Tuple
 import edu.uci.ics.texera.workflow.common.tuple.schema.{Attribute, Schema}
 
-import scala.collection.{JavaConverters, mutable}
+import scala.collection.JavaConverters
 
+/**
+  * FinalAggregateOpExec merges the partial results of each group, and computes the final result.
+  * The partial tuples consist of the group by key fields followed by the partial object,
+  * so the groups are looked up by the leading fields of the partial tuples.
+  */
 class FinalAggregateOpExec[Partial <: AnyRef](
     val aggFunc: DistributedAggregation[Partial]
 ) extends OperatorExecutor {
 
   var groupByKeyAttributes: Array[Attribute] = _
   var schema: Schema = _
-
-  var partialObjectPerKey = new mutable.HashMap[List[AnyRef], Partial]()
-  var outputIterator: Iterator[Tuple] = _
+  var groupTable: GroupHashTable = _
+  var accumulator: GroupAccumulator[Partial] = _
+  var partialObjectIndex: Int = _
 
   override def open(): Unit = {}
   override def close(): Unit = {}
@@ -27,26 +32,29 @@ class FinalAggregateOpExec[Partial <: AnyRef](
   ): Iterator[Tuple] = {
     tuple match {
       case Left(t) =>
-        val groupByKey = if (aggFunc == null) null else aggFunc.groupByFunc(t)
-        if (groupByKeyAttributes == null) {
-          groupByKeyAttributes =
-            if (aggFunc == null) Array()
-            else groupByKey.getSchema.getAttributes.toArray(new Array[Attribute](0))
+        if (groupTable == null) {
+          partialObjectIndex = t.getSchema.getIndex(INTERNAL_AGGREGATE_PARTIAL_OBJECT)
+          groupByKeyAttributes = t.getSchema.getAttributes
+            .subList(0, partialObjectIndex)
+            .toArray(new Array[Attribute](0))
+          groupTable = new GroupHashTable((0 until partialObjectIndex).toArray)
+          accumulator =
+            if (aggFunc.accumulator != null) aggFunc.accumulator()
+            else new ObjectAccumulator[Partial](aggFunc)
         }
-        val key =
-          if (groupByKey == null) List()
-          else JavaConverters.asScalaBuffer(groupByKey.getFields).toList
-
-        val partialObject = t.getField[Partial](INTERNAL_AGGREGATE_PARTIAL_OBJECT)
-        if (!partialObjectPerKey.contains(key)) {
-          partialObjectPerKey.put(key, partialObject)
-        } else {
-          partialObjectPerKey.put(key, aggFunc.merge(partialObjectPerKey(key), partialObject))
+        val groupCount = groupTable.size
+        val group = groupTable.getOrInsert(t)
+        if (groupTable.size > groupCount) {
+          accumulator.init(group)
         }
+        accumulator.merge(group, t.get(partialObjectIndex).asInstanceOf[Partial])
         Iterator()
       case Right(_) =>
-        partialObjectPerKey.iterator.map(pair => {
-          val finalObject = aggFunc.finalAgg(pair._2)
+        if (groupTable == null) {
+          return Iterator()
+        }
+        (0 until groupTable.size).iterator.map(group => {
+          val finalObject = aggFunc.finalAgg(accumulator.get(group))
           if (schema == null) {
             schema = Schema
               .newBuilder()
@@ -55,8 +63,8 @@ class FinalAggregateOpExec[Partial <: AnyRef](
               .build()
           }
           val fields: Array[Object] =
-            (pair._1 ++ JavaConverters.asScalaBuffer(finalObject.getFields)).toArray
-          Tuple.newBuilder().add(schema, fields).build()
+            groupTable.getKey(group) ++ JavaConverters.asScalaBuffer(finalObject.getFields)
+          new Tuple(schema, fields: _*)
         })
     }
   }
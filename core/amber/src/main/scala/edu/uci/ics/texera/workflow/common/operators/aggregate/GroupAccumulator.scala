@@ -0,0 +1,55 @@
+package edu.uci.ics.texera.workflow.common.operators.aggregate
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+
+/**
+  * GroupAccumulator keeps the partial results of all the groups of a GroupHashTable, indexed by group id.
+  *
+  * init() is called once for each new group, in the order of the group ids.
+  * The partial aggregation calls iterate() with the input tuples of a group,
+  * the final aggregation calls merge() with the partial results of a group.
+  */
+trait GroupAccumulator[P <: AnyRef] extends Serializable {
+
+  def init(group: Int): Unit
+
+  def iterate(group: Int, tuple: Tuple): Unit
+
+  def merge(group: Int, partial: P): Unit
+
+  def get(group: Int): P
+
+  def clear(): Unit
+
+}
+
+/**
+  * The accumulator of any DistributedAggregation, which keeps one partial object per group.
+  */
+class ObjectAccumulator[P <: AnyRef](val aggFunc: DistributedAggregation[P])
+    extends GroupAccumulator[P] {
+
+  private var partials = new Array[AnyRef](16)
+
+  override def init(group: Int): Unit = {
+    if (group == partials.length) {
+      partials = java.util.Arrays.copyOf(partials, partials.length * 2)
+    }
+    partials(group) = aggFunc.init()
+  }
+
+  override def iterate(group: Int, tuple: Tuple): Unit = {
+    partials(group) = aggFunc.iterate(get(group), tuple)
+  }
+
+  override def merge(group: Int, partial: P): Unit = {
+    partials(group) = aggFunc.merge(get(group), partial)
+  }
+
+  override def get(group: Int): P = partials(group).asInstanceOf[P]
+
+  override def clear(): Unit = {
+    partials = new Array[AnyRef](16)
+  }
+
+}
@@ -0,0 +1,112 @@
+package edu.uci.ics.texera.workflow.common.operators.aggregate
+
+import java.util.Objects
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+
+/**
+  * GroupHashTable assigns consecutive ids (0, 1, 2, ...) to the distinct group keys of tuples.
+  * The key of a tuple is its fields at the key indexes.
+  *
+  * The table uses open addressing with linear probing, the keys are stored column by column.
+  * Looking up an existing group doesn't allocate anything: the hash is computed from the fields of the tuple,
+  * and the fields are compared with the stored key columns.
+  */
+class GroupHashTable(val keyIndexes: Array[Int]) extends Serializable {
+
+  private val INITIAL_CAPACITY = 16
+
+  // the group id in each slot, -1 if the slot is empty
+  private var slots: Array[Int] = Array.fill(INITIAL_CAPACITY * 2)(-1)
+  private var slotHashes: Array[Int] = new Array[Int](INITIAL_CAPACITY * 2)
+  private var keyColumns: Array[Array[AnyRef]] =
+    Array.fill(keyIndexes.length)(new Array[AnyRef](INITIAL_CAPACITY))
+  private var keyCapacity = INITIAL_CAPACITY
+  private var groupCount = 0
+
+  def size: Int = groupCount
+
+  /**
+    * Returns the id of the group of the tuple, a new group is created if the key is not in the table.
+    */
+  def getOrInsert(tuple: Tuple): Int = {
+    val hash = hashKey(tuple)
+    val mask = slots.length - 1
+    var slot = hash & mask
+    while (slots(slot) != -1) {
+      if (slotHashes(slot) == hash && keyEquals(slots(slot), tuple)) {
+        return slots(slot)
+      }
+      slot = (slot + 1) & mask
+    }
+
+    val group = groupCount
+    if (group == keyCapacity) {
+      keyCapacity *= 2
+      keyColumns = keyColumns.map(column => java.util.Arrays.copyOf(column, keyCapacity))
+    }
+    for (i <- keyIndexes.indices) {
+      keyColumns(i)(group) = tuple.get(keyIndexes(i))
+    }
+    slots(slot) = group
+    slotHashes(slot) = hash
+    groupCount += 1
+    if (groupCount * 2 > slots.length) {
+      rehash()
+    }
+    group
+  }
+
+  /**
+    * Returns the key fields of the group.
+    */
+  def getKey(group: Int): Array[AnyRef] = {
+    val key = new Array[AnyRef](keyIndexes.length)
+    for (i <- keyIndexes.indices) {
+      key(i) = keyColumns(i)(group)
+    }
+    key
+  }
+
+  def clear(): Unit = {
+    slots = Array.fill(INITIAL_CAPACITY * 2)(-1)
+    slotHashes = new Array[Int](INITIAL_CAPACITY * 2)
+    keyColumns = Array.fill(keyIndexes.length)(new Array[AnyRef](INITIAL_CAPACITY))
+    keyCapacity = INITIAL_CAPACITY
+    groupCount = 0
+  }
+
+  private def hashKey(tuple: Tuple): Int = {
+    var hash = 1
+    for (i <- keyIndexes.indices) {
+      hash = 31 * hash + Objects.hashCode(tuple.get(keyIndexes(i)))
+    }
+    hash ^ (hash >>> 16)
+  }
+
+  private def keyEquals(group: Int, tuple: Tuple): Boolean = {
+    for (i <- keyIndexes.indices) {
+      if (!Objects.equals(keyColumns(i)(group), tuple.get(keyIndexes(i)))) {
+        return false
+      }
+    }
+    true
+  }
+
+  private def rehash(): Unit = {
+    val oldSlots = slots
+    val oldHashes = slotHashes
+    slots = Array.fill(oldSlots.length * 2)(-1)
+    slotHashes = new Array[Int](oldSlots.length * 2)
+    val mask = slots.length - 1
+    for (i <- oldSlots.indices if oldSlots(i) != -1) {
+      var slot = oldHashes(i) & mask
+      while (slots(slot) != -1) {
+        slot = (slot + 1) & mask
+      }
+      slots(slot) = oldSlots(i)
+      slotHashes(slot) = oldHashes(i)
+    }
+  }
+
+}
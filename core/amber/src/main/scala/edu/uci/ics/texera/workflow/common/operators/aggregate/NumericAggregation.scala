@@ -0,0 +1,148 @@
+package edu.uci.ics.texera.workflow.common.operators.aggregate
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.AttributeType
+
+object NumericAggregationFunction extends Enumeration {
+  type NumericAggregationFunction = Value
+  val SUM, COUNT, AVERAGE, MIN, MAX = Value
+}
+
+import edu.uci.ics.texera.workflow.common.operators.aggregate.NumericAggregationFunction._
+
+/**
+  * The partial result of a numeric aggregation:
+  * the sum (SUM, AVERAGE), the minimum (MIN) or the maximum (MAX) of the values,
+  * and the number of non-null values.
+  */
+case class NumericPartialObj(value: Double, count: Long) extends Serializable {}
+
+/**
+  * NumericAccumulator accumulates a numeric aggregation of one attribute in primitive arrays,
+  * one element per group, so that aggregating a tuple doesn't allocate anything.
+  * Null values are ignored.
+  */
+class NumericAccumulator(val function: NumericAggregationFunction, val attribute: String)
+    extends GroupAccumulator[NumericPartialObj] {
+
+  private var values = new Array[Double](16)
+  private var counts = new Array[Long](16)
+  private var attributeIndex = -1
+
+  override def init(group: Int): Unit = {
+    if (group == values.length) {
+      values = java.util.Arrays.copyOf(values, values.length * 2)
+      counts = java.util.Arrays.copyOf(counts, counts.length * 2)
+    }
+    values(group) = 0
+    counts(group) = 0
+  }
+
+  override def iterate(group: Int, tuple: Tuple): Unit = {
+    if (attributeIndex < 0) {
+      attributeIndex = tuple.getSchema.getIndex(attribute)
+    }
+    val field = tuple.get(attributeIndex)
+    if (field == null) {
+      return
+    }
+    val value = field match {
+      case number: java.lang.Number => number.doubleValue()
+      case other                    => other.toString.toDouble
+    }
+    accumulate(group, value, 1)
+  }
+
+  override def merge(group: Int, partial: NumericPartialObj): Unit = {
+    if (partial.count > 0) {
+      accumulate(group, partial.value, partial.count)
+    }
+  }
+
+  override def get(group: Int): NumericPartialObj = NumericPartialObj(values(group), counts(group))
+
+  override def clear(): Unit = {
+    values = new Array[Double](16)
+    counts = new Array[Long](16)
+  }
+
+  private def accumulate(group: Int, value: Double, count: Long): Unit = {
+    values(group) = NumericAggregation.combine(function, values(group), counts(group), value)
+    counts(group) += count
+  }
+
+}
+
+object NumericAggregation {
+
+  /**
+    * Creates the distributed aggregation of a numeric function on an attribute,
+    * optionally grouped by some attributes.
+    * The result is an INTEGER for COUNT, and a DOUBLE for the other functions, which is null if there's no value.
+    */
+  def apply(
+      function: NumericAggregationFunction,
+      attribute: String,
+      resultAttribute: String,
+      groupByKeys: List[String]
+  ): DistributedAggregation[NumericPartialObj] = {
+    DistributedAggregation[NumericPartialObj](
+      () => NumericPartialObj(0, 0),
+      (partial, tuple) => {
+        val field: Any = tuple.getField(attribute)
+        if (field == null) partial
+        else {
+          val value = field.toString.toDouble
+          NumericPartialObj(combine(function, partial.value, partial.count, value), partial.count + 1)
+        }
+      },
+      (partial1, partial2) =>
+        if (partial2.count == 0) partial1
+        else
+          NumericPartialObj(
+            combine(function, partial1.value, partial1.count, partial2.value),
+            partial1.count + partial2.count
+          ),
+      partial => {
+        if (function == COUNT) {
+          Tuple.newBuilder.add(resultAttribute, AttributeType.INTEGER, Int.box(partial.count.toInt)).build
+        } else {
+          val value =
+            if (partial.count == 0) null
+            else if (function == AVERAGE) Double.box(partial.value / partial.count)
+            else Double.box(partial.value)
+          Tuple.newBuilder.add(resultAttribute, AttributeType.DOUBLE, value).build
+        }
+      },
+      if (groupByKeys == null || groupByKeys.isEmpty) null
+      else
+        tuple => {
+          val builder = Tuple.newBuilder()
+          groupByKeys.foreach(key =>
+            builder.add(tuple.getSchema.getAttribute(key), tuple.getField(key))
+          )
+          builder.build()
+        },
+      if (groupByKeys == null) List() else groupByKeys,
+      () => new NumericAccumulator(function, attribute)
+    )
+  }
+
+  /**
+    * Combines a value (or the value of another partial result) into the value of a partial result.
+    */
+  def combine(
+      function: NumericAggregationFunction,
+      current: Double,
+      currentCount: Long,
+      value: Double
+  ): Double = {
+    function match {
+      case SUM | AVERAGE => current + value
+      case MIN           => if (currentCount == 0 || value < current) value else current
+      case MAX           => if (currentCount == 0 || value > current) value else current
+      case COUNT         => current
+    }
+  }
+
+}
@@ -1,26 +1,33 @@
 package edu.uci.ics.texera.workflow.common.operators.aggregate
 
 import edu.uci.ics.amber.engine.common.InputExhausted
-import edu.uci.ics.amber.engine.common.tuple.ITuple
 import edu.uci.ics.texera.workflow.common.operators.OperatorExecutor
 import edu.uci.ics.texera.workflow.common.operators.aggregate.PartialAggregateOpExec.INTERNAL_AGGREGATE_PARTIAL_OBJECT
 import edu.uci.ics.texera.workflow.common.tuple.Tuple
 import edu.uci.ics.texera.workflow.common.tuple.schema.{Attribute, AttributeType, Schema}
 
-import scala.collection.{JavaConverters, mutable}
-
 object PartialAggregateOpExec {
   val INTERNAL_AGGREGATE_PARTIAL_OBJECT = "__internal_aggregate_partial_object__";
+  // the number of groups after which a worker sends its partial results to the final aggregation
+  val DEFAULT_MAX_GROUPS = 100000
 }
 
+/**
+  * PartialAggregateOpExec computes the partial results of the groups of its input tuples.
+  * The groups are kept in a GroupHashTable, and their partial results in a GroupAccumulator.
+  *
+  * When the table reaches maxGroups groups, the partial results are sent to the final aggregation
+  * and the table is cleared (pre-aggregation), the final aggregation merges all partial results of a group.
+  */
 class PartialAggregateOpExec[Partial <: AnyRef](
-    val aggFunc: DistributedAggregation[Partial]
+    val aggFunc: DistributedAggregation[Partial],
+    val maxGroups: Int = PartialAggregateOpExec.DEFAULT_MAX_GROUPS
 ) extends OperatorExecutor {
 
   var groupByKeyAttributes: Array[Attribute] = _
   var schema: Schema = _
-  var partialObjectPerKey = new mutable.HashMap[List[AnyRef], Partial]()
-  var outputIterator: Iterator[ITuple] = _
+  var groupTable: GroupHashTable = _
+  var accumulator: GroupAccumulator[Partial] = _
 
   override def open(): Unit = {}
   override def close(): Unit = {}
@@ -31,30 +38,57 @@ class PartialAggregateOpExec[Partial <: AnyRef](
   ): scala.Iterator[Tuple] = {
     tuple match {
       case Left(t) =>
-        val groupByKey = if (aggFunc == null) null else aggFunc.groupByFunc(t)
         if (schema == null) {
-          groupByKeyAttributes =
-            if (aggFunc == null) Array()
-            else groupByKey.getSchema.getAttributes.toArray(new Array[Attribute](0))
-          schema = Schema
-            .newBuilder()
-            .add(groupByKeyAttributes.toArray: _*)
-            .add(INTERNAL_AGGREGATE_PARTIAL_OBJECT, AttributeType.ANY)
-            .build()
+          initialize(t)
         }
-        val key =
-          if (groupByKey == null) List()
-          else JavaConverters.asScalaBuffer(groupByKey.getFields).toList
-
-        val partialObject = aggFunc.iterate(partialObjectPerKey.getOrElse(key, aggFunc.init()), t)
-        partialObjectPerKey.put(key, partialObject)
-        Iterator()
+        // read the key fields from the tuple itself if the group by attributes are known
+        val keyTuple =
+          if (aggFunc.groupByFunc == null || aggFunc.groupByKeys != null) t
+          else aggFunc.groupByFunc(t)
+        val groupCount = groupTable.size
+        val group = groupTable.getOrInsert(keyTuple)
+        if (groupTable.size > groupCount) {
+          accumulator.init(group)
+        }
+        accumulator.iterate(group, t)
+        if (groupTable.size >= maxGroups) flush() else Iterator()
       case Right(_) =>
-        partialObjectPerKey.iterator.map(pair => {
-          val fields: Array[Object] = (pair._1 :+ pair._2).toArray
-          Tuple.newBuilder().add(schema, fields).build()
-        })
+        if (schema == null) Iterator() else flush()
     }
   }
 
+  private def initialize(t: Tuple): Unit = {
+    groupByKeyAttributes =
+      if (aggFunc.groupByFunc == null) Array()
+      else if (aggFunc.groupByKeys != null)
+        aggFunc.groupByKeys.map(key => t.getSchema.getAttribute(key)).toArray
+      else aggFunc.groupByFunc(t).getSchema.getAttributes.toArray(new Array[Attribute](0))
+    schema = Schema
+      .newBuilder()
+      .add(groupByKeyAttributes.toArray: _*)
+      .add(INTERNAL_AGGREGATE_PARTIAL_OBJECT, AttributeType.ANY)
+      .build()
+    val keyIndexes =
+      if (aggFunc.groupByFunc != null && aggFunc.groupByKeys != null)
+        aggFunc.groupByKeys.map(key => t.getSchema.getIndex(key).intValue()).toArray
+      else groupByKeyAttributes.indices.toArray
+    groupTable = new GroupHashTable(keyIndexes)
+    accumulator =
+      if (aggFunc.accumulator != null) aggFunc.accumulator()
+      else new ObjectAccumulator[Partial](aggFunc)
+  }
+
+  /*
+   * Outputs the partial results of all the groups, and clears the table.
+   */
+  private def flush(): Iterator[Tuple] = {
+    val partialTuples = (0 until groupTable.size).map(group => {
+      val fields: Array[Object] = groupTable.getKey(group) :+ accumulator.get(group)
+      new Tuple(schema, fields: _*)
+    })
+    groupTable.clear()
+    accumulator.clear()
+    partialTuples.iterator
+  }
+
 }
@@ -0,0 +1,43 @@
+package edu.uci.ics.texera.workflow.common.operators.mlmodel
+
+import edu.uci.ics.amber.engine.common.InputExhausted
+import edu.uci.ics.texera.workflow.common.operators.OperatorExecutor
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+
+/**
+  * MLModelAveragingOpExec combines the models trained by the workers of the training layer:
+  * the parameters of the models are averaged, weighted by the number of rows each worker was trained on,
+  * and the averaged model is output as a single tuple.
+  */
+class MLModelAveragingOpExec(val model: MLModelOpExec) extends OperatorExecutor {
+
+  var parameterSums: Array[Double] = _
+  var rowCount: Int = 0
+
+  override def open(): Unit = {}
+
+  override def close(): Unit = {}
+
+  override def processTexeraTuple(tuple: Either[Tuple, InputExhausted], input: Int): Iterator[Tuple] = {
+    tuple match {
+      case Left(t) =>
+        val workerModel = t.getField[MLModelParameters](MLModelOpExec.INTERNAL_MODEL_PARAMETERS)
+        if (parameterSums == null) {
+          parameterSums = new Array[Double](workerModel.parameters.length)
+        }
+        for (i <- parameterSums.indices) {
+          parameterSums(i) += workerModel.parameters(i) * workerModel.rowCount
+        }
+        rowCount += workerModel.rowCount
+        Iterator()
+      case Right(_) =>
+        if (rowCount > 0) {
+          model.setParameters(parameterSums.map(sum => sum / rowCount))
+          Iterator(MLModelOpExec.modelTuple(model.getParameterNames, model.getParameters, rowCount))
+        } else {
+          Iterator()
+        }
+    }
+  }
+
+}
@@ -8,8 +8,7 @@ abstract class MLModelOpDesc extends OperatorDescriptor {
 
   override def getOutputSchema(schemas: Array[Schema]): Schema = {
     Preconditions.checkArgument(schemas.length == 1)
-//    Schema.newBuilder().build()
-    schemas(0)
+    MLModelOpExec.modelSchema(operatorExecutor.opExec().getParameterNames)
   }
 
   override def operatorExecutor: MLModelOpExecConfig
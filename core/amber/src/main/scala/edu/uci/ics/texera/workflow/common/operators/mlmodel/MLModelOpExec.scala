@@ -1,25 +1,77 @@
 package edu.uci.ics.texera.workflow.common.operators.mlmodel
 
 import edu.uci.ics.amber.engine.common.InputExhausted
-import edu.uci.ics.amber.engine.common.tuple.ITuple
 import edu.uci.ics.texera.workflow.common.operators.OperatorExecutor
+import edu.uci.ics.texera.workflow.common.operators.mlmodel.MLModelOpExec.INTERNAL_MODEL_PARAMETERS
 import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.{AttributeType, Schema}
 
-import scala.collection.mutable.ListBuffer
+object MLModelOpExec {
+  val INTERNAL_MODEL_PARAMETERS = "__internal_model_parameters__"
+  val ROW_COUNT = "row count"
+  val parametersSchema: Schema =
+    Schema.newBuilder().add(INTERNAL_MODEL_PARAMETERS, AttributeType.ANY).build()
 
+  /**
+    * The schema of the trained model output by the operator:
+    * one DOUBLE attribute per parameter, and the number of rows the model was trained on.
+    */
+  def modelSchema(parameterNames: Array[String]): Schema = {
+    val builder = Schema.newBuilder()
+    parameterNames.foreach(name => builder.add(name, AttributeType.DOUBLE))
+    builder.add(ROW_COUNT, AttributeType.INTEGER).build()
+  }
+
+  def modelTuple(parameterNames: Array[String], parameters: Array[Double], rowCount: Int): Tuple = {
+    val fields: Array[AnyRef] = parameters.map(Double.box) :+ Int.box(rowCount)
+    new Tuple(modelSchema(parameterNames), fields: _*)
+  }
+}
+
+/**
+  * The parameters of a model trained by one worker, and the number of rows it was trained on.
+  */
+case class MLModelParameters(parameters: Array[Double], rowCount: Int) extends Serializable {}
+
+/**
+  * MLModelOpExec trains a model by mini-batch gradient descent.
+  *
+  * The attributes used by the model (getColumnAttributes) are materialized into primitive
+  * double columns when the tuples arrive, a mini-batch is a range of rows of these columns.
+  *
+  * Each training step is one call to next() of the output iterator, so that the worker
+  * can be paused between steps.
+  * The trained model is output as the last tuple, see MLModelOpExec.modelSchema().
+  * If outputParameters is set (training on multiple workers), the last tuple holds the internal parameters
+  * instead, to be averaged by an MLModelAveragingOpExec.
+  */
 abstract class MLModelOpExec() extends OperatorExecutor with Serializable {
 
-  var allData: ListBuffer[Tuple] = ListBuffer()
+  var columns: Array[Array[Double]] = _
+  var rowCount: Int = 0
+  var columnIndexes: Array[Int] = _
 
   var currentEpoch: Int = 0
   var nextMiniBatchStartIdx: Int = 0
-  var minibatch: Array[Tuple] = _
+  var minibatchStart: Int = 0
+  var minibatchEnd: Int = 0
   var MINIBATCH_SIZE: Int = 1000
   var nextOperation: String = "predict"
   var hasMoreIterations: Boolean = true
+  var outputParameters: Boolean = false
 
   def getTotalEpochsCount: Int
 
+  /**
+    * The attributes read by the model, in the order of the columns.
+    */
+  def getColumnAttributes: Array[String]
+
+  /**
+    * The names of the parameters returned by getParameters, in the same order.
+    */
+  def getParameterNames: Array[String]
+
   override def open(): Unit = {}
 
   override def close(): Unit = {}
@@ -27,39 +79,72 @@ abstract class MLModelOpExec() extends OperatorExecutor with Serializable {
   override def processTexeraTuple(tuple: Either[Tuple, InputExhausted], input: Int): Iterator[Tuple] = {
     tuple match {
       case Left(t)  =>
-        allData += t
+        addRow(t)
         Iterator()
       case Right(_) =>
         getIterativeTrainingIterator()
     }
   }
 
+  private def addRow(t: Tuple): Unit = {
+    if (columns == null) {
+      columnIndexes = getColumnAttributes.map(attribute => t.getSchema.getIndex(attribute).intValue())
+      columns = Array.fill(columnIndexes.length)(new Array[Double](1024))
+    }
+    if (rowCount == columns(0).length) {
+      columns = columns.map(column => java.util.Arrays.copyOf(column, column.length * 2))
+    }
+    var i = 0
+    while (i < columnIndexes.length) {
+      columns(i)(rowCount) = t.get(columnIndexes(i)) match {
+        case number: java.lang.Number => number.doubleValue()
+        case other                    => other.toString.toDouble
+      }
+      i += 1
+    }
+    rowCount += 1
+  }
+
   def getIterativeTrainingIterator(): Iterator[Tuple] = {
     return new Iterator[Tuple] {
+      var modelOutput: Boolean = false
+
       override def hasNext(): Boolean = {
-        hasMoreIterations
+        hasMoreIterations || !modelOutput
       }
 
       override def next(): Tuple = {
+        if (!hasMoreIterations) {
+          modelOutput = true
+          if (outputParameters) {
+            return new Tuple(
+              MLModelOpExec.parametersSchema,
+              MLModelParameters(getParameters, rowCount)
+            )
+          }
+          return MLModelOpExec.modelTuple(getParameterNames, getParameters, rowCount)
+        }
         if(nextOperation.equalsIgnoreCase("predict")) {
           // set the miniBatch
-          if(nextMiniBatchStartIdx + MINIBATCH_SIZE <= allData.size) {
-            minibatch = allData.slice(nextMiniBatchStartIdx,nextMiniBatchStartIdx + MINIBATCH_SIZE).toArray
-            nextMiniBatchStartIdx = nextMiniBatchStartIdx + MINIBATCH_SIZE
-          } else if(nextMiniBatchStartIdx < allData.size) {
+          if(nextMiniBatchStartIdx + MINIBATCH_SIZE <= rowCount) {
+            minibatchStart = nextMiniBatchStartIdx
+            minibatchEnd = nextMiniBatchStartIdx + MINIBATCH_SIZE
+            nextMiniBatchStartIdx = if (minibatchEnd == rowCount) 0 else minibatchEnd
+          } else if(nextMiniBatchStartIdx < rowCount) {
             // remaining data is less than MINIBATCH_SIZE
-            minibatch = allData.slice(nextMiniBatchStartIdx, allData.size).toArray
+            minibatchStart = nextMiniBatchStartIdx
+            minibatchEnd = rowCount
             nextMiniBatchStartIdx = 0
           } else {
-            // will reach if no data present in allData
+            // will reach if no data present
             hasMoreIterations = false
             return null
           }
 
-          predict(minibatch)
+          predict(minibatchStart, minibatchEnd)
           nextOperation = "calculateLossGradient"
         } else if(nextOperation.equalsIgnoreCase("calculateLossGradient")) {
-          calculateLossGradient(minibatch)
+          calculateLossGradient(minibatchStart, minibatchEnd)
           nextOperation = "readjustWeight"
         }else if(nextOperation.equalsIgnoreCase("readjustWeight")) {
           readjustWeight()
@@ -78,8 +163,14 @@ abstract class MLModelOpExec() extends OperatorExecutor with Serializable {
     }
   }
 
-  def predict(minibatch: Array[Tuple]): Unit
-  def calculateLossGradient(minibatch: Array[Tuple]): Unit
+  /**
+    * Predicts the rows [from, until) of the columns.
+    */
+  def predict(from: Int, until: Int): Unit
+  def calculateLossGradient(from: Int, until: Int): Unit
   def readjustWeight(): Unit
 
+  def getParameters: Array[Double]
+  def setParameters(parameters: Array[Double]): Unit
+
 }
@@ -4,35 +4,71 @@ import akka.actor.ActorRef
 import akka.event.LoggingAdapter
 import akka.util.Timeout
 import edu.uci.ics.amber.engine.architecture.breakpoint.globalbreakpoint.GlobalBreakpoint
-import edu.uci.ics.amber.engine.architecture.deploysemantics.deploymentfilter.FollowPrevious
-import edu.uci.ics.amber.engine.architecture.deploysemantics.deploystrategy.RoundRobinDeployment
+import edu.uci.ics.amber.engine.architecture.deploysemantics.deploymentfilter.{FollowPrevious, ForceLocal}
+import edu.uci.ics.amber.engine.architecture.deploysemantics.deploystrategy.{RandomDeployment, RoundRobinDeployment}
 import edu.uci.ics.amber.engine.architecture.deploysemantics.layer.{ActorLayer, ProcessorWorkerLayer}
+import edu.uci.ics.amber.engine.architecture.linksemantics.AllToOne
 import edu.uci.ics.amber.engine.architecture.worker.WorkerState
 import edu.uci.ics.amber.engine.common.Constants
 import edu.uci.ics.amber.engine.common.ambertag.{LayerTag, OperatorIdentifier}
 import edu.uci.ics.amber.engine.operators.OpExecConfig
-import edu.uci.ics.texera.workflow.common.operators.OperatorExecutor
 
 import scala.collection.mutable
 import scala.concurrent.ExecutionContext
 
+/**
+  * With one worker, the model is trained on all the input by a single layer.
+  * With multiple workers, each worker of the "train" layer trains a model on its partition of the input,
+  * and the "average" layer averages the parameters of these models.
+  */
 class MLModelOpExecConfig(override val tag: OperatorIdentifier, val numWorkers: Int, val opExec: () => MLModelOpExec)
   extends OpExecConfig(tag) {
 
   override lazy val topology: Topology = {
-    new Topology(
-      Array(
-        new ProcessorWorkerLayer(
-          LayerTag(tag, "main"),
-          _ => opExec(),
-          numWorkers,
-          FollowPrevious(),
-          RoundRobinDeployment()
-        )
-      ),
-      Array(),
-      Map()
-    )
+    if (numWorkers <= 1) {
+      new Topology(
+        Array(
+          new ProcessorWorkerLayer(
+            LayerTag(tag, "main"),
+            _ => opExec(),
+            numWorkers,
+            FollowPrevious(),
+            RoundRobinDeployment()
+          )
+        ),
+        Array(),
+        Map()
+      )
+    } else {
+      val trainLayer = new ProcessorWorkerLayer(
+        LayerTag(tag, "train"),
+        _ => {
+          val exec = opExec()
+          exec.outputParameters = true
+          exec
+        },
+        numWorkers,
+        FollowPrevious(),
+        RoundRobinDeployment()
+      )
+      val averageLayer = new ProcessorWorkerLayer(
+        LayerTag(tag, "average"),
+        _ => new MLModelAveragingOpExec(opExec()),
+        1,
+        ForceLocal(),
+        RandomDeployment()
+      )
+      new Topology(
+        Array(
+          trainLayer,
+          averageLayer
+        ),
+        Array(
+          new AllToOne(trainLayer, averageLayer, Constants.defaultBatchSize, 0)
+        ),
+        Map()
+      )
+    }
   }
   override def assignBreakpoint(
                                  topology: Array[ActorLayer],
@@ -46,6 +46,14 @@ public class Tuple implements ITuple, Serializable {
         this.fields = new ArrayList<>(fields);
     }
 
+    /*
+     * Creates a tuple from fields that are already checked against the schema, the list is not copied.
+     */
+    private Tuple(Schema schema, ArrayList<Object> fields, boolean checked) {
+        this.schema = schema;
+        this.fields = fields;
+    }
+
     @Override
     @JsonIgnore
     public int length() {
@@ -187,6 +195,88 @@ public class Tuple implements ITuple, Serializable {
         return new Tuple.Builder();
     }
 
+    /**
+     * Creates a builder that sets the fields of a tuple by position, for a schema known in advance.
+     */
+    public static Tuple.PositionalBuilder newBuilder(Schema schema) {
+        return new Tuple.PositionalBuilder(schema);
+    }
+
+    /**
+     * Tuple.PositionalBuilder builds tuples of one schema, the fields are written by position
+     *   into an array preallocated for the schema, so building a tuple doesn't look up attribute names.
+     * <p>
+     * The schema is interned, and the builder can be reused: build() resets it for the next tuple.
+     */
+    public static class PositionalBuilder {
+
+        private final Schema schema;
+        private final List<Attribute> attributes;
+        private Object[] fields;
+        private int nextIndex = 0;
+
+        public PositionalBuilder(Schema schema) {
+            checkNotNull(schema);
+            this.schema = Schema.intern(schema);
+            this.attributes = this.schema.getAttributes();
+            this.fields = new Object[attributes.size()];
+        }
+
+        public Schema getSchema() {
+            return schema;
+        }
+
+        /**
+         * Sets the field at an index of the schema.
+         *
+         * @throws RuntimeException, if the attribute and field type don't match,
+         *   the fields set so far are then dropped so the builder can start the next tuple.
+         */
+        public PositionalBuilder set(int index, Object field) {
+            try {
+                checkAttributeMatchesField(attributes.get(index), field);
+            } catch (RuntimeException e) {
+                reset();
+                throw e;
+            }
+            fields[index] = field;
+            return this;
+        }
+
+        /**
+         * Sets the field after the last field added.
+         */
+        public PositionalBuilder add(Object field) {
+            set(nextIndex, field);
+            nextIndex++;
+            return this;
+        }
+
+        /**
+         * Adds all the fields of a tuple, in the order of its schema.
+         */
+        public PositionalBuilder add(Tuple tuple) {
+            for (Object field : tuple.fields) {
+                add(field);
+            }
+            return this;
+        }
+
+        /**
+         * Builds a tuple of the fields set so far, the fields not set are null.
+         */
+        public Tuple build() {
+            ArrayList<Object> fieldList = new ArrayList<>(Arrays.asList(fields));
+            reset();
+            return new Tuple(schema, fieldList, true);
+        }
+
+        private void reset() {
+            Arrays.fill(fields, null);
+            nextIndex = 0;
+        }
+    }
+
     /**
      * Tuple.Builder is a helper class for creating immutable Tuple instances.
      * <p>
@@ -0,0 +1,237 @@
+package edu.uci.ics.texera.workflow.common.tuple
+
+import java.io._
+import java.nio.channels.Channels
+import java.nio.charset.StandardCharsets
+import java.nio.file.{Files, Path}
+
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema
+
+import scala.collection.mutable
+import scala.collection.mutable.ArrayBuffer
+
+object TupleSpillFile {
+  // the file offset of every INDEX_INTERVAL-th tuple is kept, to start reading from any tuple
+  val INDEX_INTERVAL = 1000
+
+  private val NULL: Byte = 0
+  private val STRING: Byte = 1
+  private val INTEGER: Byte = 2
+  private val DOUBLE: Byte = 3
+  private val BOOLEAN: Byte = 4
+  private val LONG: Byte = 5
+  // any other value, written with java serialization
+  private val OBJECT: Byte = 6
+}
+
+/**
+  * TupleSpillFile is a temporary file that operators use to move tuples out of the heap
+  * when their in-memory state exceeds a memory budget.
+  *
+  * Each tuple is written in binary, prefixed with its length in bytes, so that a reader can skip it without decoding it.
+  * The schemas are kept in memory and a tuple only writes the index of its schema, then its fields,
+  * each field being a type tag followed by the value.
+  *
+  * Tuples are appended with write(), a reader sees the tuples written before it was opened.
+  * The file is removed by delete().
+  */
+class TupleSpillFile(prefix: String = "texera-spill-") {
+
+  import TupleSpillFile._
+
+  val path: Path = Files.createTempFile(prefix, ".bin")
+  private var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))
+  private var bytesWritten = 0L
+  private var count = 0L
+  private val indexOffsets = new ArrayBuffer[Long]()
+
+  private val schemas = new ArrayBuffer[Schema]()
+  private val schemaIndexes = new mutable.HashMap[Schema, Int]()
+  private var lastSchema: Schema = _
+  private var lastSchemaIndex = 0
+
+  // the fields of a tuple are encoded here first, to write the length of the tuple in front of them
+  private val tupleBytes = new ByteArrayOutputStream()
+  private val tupleOutput = new DataOutputStream(tupleBytes)
+
+  def size: Long = count
+
+  def write(tuple: Tuple): Unit = {
+    if (count % INDEX_INTERVAL == 0) {
+      indexOffsets += bytesWritten
+    }
+    tupleBytes.reset()
+    tupleOutput.writeInt(schemaIndex(tuple.getSchema))
+    var i = 0
+    while (i < tuple.length()) {
+      writeField(tuple.get(i))
+      i += 1
+    }
+    tupleOutput.flush()
+    output.writeInt(tupleBytes.size())
+    tupleBytes.writeTo(output)
+    bytesWritten += 4 + tupleBytes.size()
+    count += 1
+  }
+
+  /**
+    * Opens a reader over the tuples written so far, starting from the tuple at position from.
+    * The reader is closed when it reaches the last tuple, or by close().
+    */
+  def iterator(from: Long = 0): Reader = {
+    output.flush()
+    val start = Math.min(Math.max(from, 0), count)
+    val input = new RandomAccessFile(path.toFile, "r")
+    val indexed = (start / INDEX_INTERVAL).toInt
+    if (indexed < indexOffsets.size) {
+      input.seek(indexOffsets(indexed))
+    }
+    val reader = new Reader(
+      new DataInputStream(new BufferedInputStream(Channels.newInputStream(input.getChannel))),
+      input,
+      count - indexed.toLong * INDEX_INTERVAL
+    )
+    reader.skip(start - indexed.toLong * INDEX_INTERVAL)
+    reader
+  }
+
+  /**
+    * Reads at most limit tuples, starting from the tuple at position from.
+    */
+  def read(from: Long, limit: Int): Array[Tuple] = {
+    val reader = iterator(from)
+    try {
+      reader.take(limit).toArray
+    } finally {
+      reader.close()
+    }
+  }
+
+  def delete(): Unit = {
+    if (output != null) {
+      output.close()
+      output = null
+    }
+    Files.deleteIfExists(path)
+  }
+
+  private def schemaIndex(schema: Schema): Int = {
+    if (schema ne lastSchema) {
+      lastSchemaIndex = schemaIndexes.getOrElseUpdate(schema, {
+        schemas += schema
+        schemas.size - 1
+      })
+      lastSchema = schema
+    }
+    lastSchemaIndex
+  }
+
+  private def writeField(value: Any): Unit = {
+    value match {
+      case null =>
+        tupleOutput.writeByte(NULL)
+      case s: String =>
+        tupleOutput.writeByte(STRING)
+        val bytes = s.getBytes(StandardCharsets.UTF_8)
+        tupleOutput.writeInt(bytes.length)
+        tupleOutput.write(bytes)
+      case i: java.lang.Integer =>
+        tupleOutput.writeByte(INTEGER)
+        tupleOutput.writeInt(i)
+      case d: java.lang.Double =>
+        tupleOutput.writeByte(DOUBLE)
+        tupleOutput.writeDouble(d)
+      case b: java.lang.Boolean =>
+        tupleOutput.writeByte(BOOLEAN)
+        tupleOutput.writeBoolean(b)
+      case l: java.lang.Long =>
+        tupleOutput.writeByte(LONG)
+        tupleOutput.writeLong(l)
+      case other =>
+        tupleOutput.writeByte(OBJECT)
+        val objectBytes = new ByteArrayOutputStream()
+        val objectOutput = new ObjectOutputStream(objectBytes)
+        objectOutput.writeObject(other)
+        objectOutput.close()
+        tupleOutput.writeInt(objectBytes.size())
+        objectBytes.writeTo(tupleOutput)
+    }
+  }
+
+  class Reader private[TupleSpillFile] (input: DataInputStream, file: RandomAccessFile, private var remaining: Long)
+      extends Iterator[Tuple]
+      with Closeable {
+
+    if (remaining == 0) {
+      close()
+    }
+
+    override def hasNext: Boolean = remaining > 0
+
+    override def next(): Tuple = {
+      if (remaining <= 0) {
+        throw new NoSuchElementException()
+      }
+      input.readInt()
+      val schema = schemas(input.readInt())
+      val fields = new java.util.ArrayList[Object](schema.getAttributes.size())
+      for (_ <- 0 until schema.getAttributes.size()) {
+        fields.add(readField())
+      }
+      remaining -= 1
+      if (remaining == 0) {
+        close()
+      }
+      new Tuple(schema, fields)
+    }
+
+    /**
+      * Skips the next n tuples without decoding them.
+      */
+    def skip(n: Long): Unit = {
+      var skipped = 0L
+      while (skipped < n && remaining > 0) {
+        val length = input.readInt()
+        var bytes = 0
+        while (bytes < length) {
+          val step = input.skipBytes(length - bytes)
+          if (step <= 0) {
+            throw new EOFException("unexpected end of spill file " + path)
+          }
+          bytes += step
+        }
+        skipped += 1
+        remaining -= 1
+      }
+      if (remaining == 0) {
+        close()
+      }
+    }
+
+    override def close(): Unit = {
+      remaining = 0
+      input.close()
+      file.close()
+    }
+
+    private def readField(): Object = {
+      input.readByte() match {
+        case NULL => null
+        case STRING =>
+          val bytes = new Array[Byte](input.readInt())
+          input.readFully(bytes)
+          new String(bytes, StandardCharsets.UTF_8)
+        case INTEGER => Int.box(input.readInt())
+        case DOUBLE  => Double.box(input.readDouble())
+        case BOOLEAN => Boolean.box(input.readBoolean())
+        case LONG    => Long.box(input.readLong())
+        case OBJECT =>
+          val bytes = new Array[Byte](input.readInt())
+          input.readFully(bytes)
+          new ObjectInputStream(new ByteArrayInputStream(bytes)).readObject()
+        case tag => throw new IOException("unknown field tag " + tag + " in spill file " + path)
+      }
+    }
+  }
+
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 
 import java.io.Serializable;
 import java.util.*;
@@ -15,6 +17,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * A schema is a list of attributes that describe all the columns of a table.
  */
 public class Schema implements Serializable {
+    // the canonical instance of each schema returned by intern(), it is released once no tuple or operator uses it
+    private static final Interner<Schema> internedSchemas = Interners.newWeakInterner();
+
     private final ArrayList<Attribute> attributes;
     private final HashMap<String, Integer> attributeIndex;
 
@@ -35,6 +40,16 @@ public class Schema implements Serializable {
         this.attributeIndex = new HashMap<>(attributeIndexTemp);
     }
 
+    /**
+     * Returns the canonical instance of a schema: equal schemas are interned to the same instance,
+     *   so operators can resolve a schema once and compare schemas of later tuples by reference.
+     * The schemas are interned weakly, a schema which is no longer referenced can be garbage collected.
+     */
+    public static Schema intern(Schema schema) {
+        checkNotNull(schema);
+        return internedSchemas.intern(schema);
+    }
+
     @JsonProperty(value = "attributes")
     public List<Attribute> getAttributes() {
         return attributes;
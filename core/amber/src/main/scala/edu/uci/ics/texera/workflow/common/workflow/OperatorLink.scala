@@ -2,7 +2,12 @@ package edu.uci.ics.texera.workflow.common.workflow
 
 import scala.beans.BeanProperty
 
+/**
+  * A link from the origin operator to the input port of the destination operator,
+  * the port is the index of the input, 0 for the first input.
+  */
 case class OperatorLink(
     @BeanProperty origin: String,
-    @BeanProperty destination: String
+    @BeanProperty destination: String,
+    @BeanProperty destinationPort: Int = 0
 )
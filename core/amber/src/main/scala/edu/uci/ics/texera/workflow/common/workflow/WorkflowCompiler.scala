@@ -23,8 +23,19 @@ class WorkflowCompiler(val workflowInfo: WorkflowInfo, val context: WorkflowCont
 
   def initOperator(operator: OperatorDescriptor): Unit = {
     operator.context = context
+    operator.inputOperatorIDs = getInputOperatorIDs(operator)
   }
 
+  /**
+    * The input operators of an operator, ordered by the input port they are linked to.
+    */
+  def getInputOperatorIDs(operator: OperatorDescriptor): List[String] =
+    this.workflowInfo.links
+      .filter(link => link.destination == operator.operatorID)
+      .sortBy(link => link.destinationPort)
+      .map(_.origin)
+      .toList
+
   def validate: Map[String, Set[ConstraintViolation]] =
     this.workflowInfo.operators
       .map(o => {
@@ -129,9 +140,9 @@ class WorkflowCompiler(val workflowInfo: WorkflowInfo, val context: WorkflowCont
 
     // a map from an operator to the list of its input schema
     val inputSchemaMap = new mutable.HashMap[OperatorDescriptor, List[Option[Schema]]]()
+    val outputSchemaMap = new mutable.HashMap[String, Option[Schema]]()
 
     // propagate output schema following topological order
-    // TODO: introduce the concept of port in TexeraOperatorDescriptor and propagate schema according to port
     val topologicalOrderIterator = workflowDag.iterator()
     topologicalOrderIterator.forEachRemaining(op => {
       val outputSchema: Option[Schema] = {
@@ -154,12 +165,16 @@ class WorkflowCompiler(val workflowInfo: WorkflowInfo, val context: WorkflowCont
           }
         }
       }
+      outputSchemaMap.put(op.operatorID, outputSchema)
+      // the input schemas of a downstream operator are ordered by its input ports, once all of them are known
       JavaConverters
         .asScalaSet(workflowDag.outgoingEdgesOf(op))
         .map(e => workflowDag.getEdgeTarget(e))
         .foreach(downstream => {
-          inputSchemaMap
-            .put(downstream, inputSchemaMap.getOrElse(downstream, List()) :+ outputSchema)
+          val inputs = getInputOperatorIDs(downstream)
+          if (inputs.forall(outputSchemaMap.contains)) {
+            inputSchemaMap.put(downstream, inputs.map(outputSchemaMap))
+          }
         })
     })
 
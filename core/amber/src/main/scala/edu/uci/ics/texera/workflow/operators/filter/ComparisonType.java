@@ -27,4 +27,25 @@ public enum ComparisonType {
         return this.name;
     }
 
+    /**
+     * Returns if the result of compareTo() between a value and the compared value satisfies this comparison.
+     */
+    public boolean matches(int comparison) {
+        switch (this) {
+            case EQUAL_TO:
+                return comparison == 0;
+            case GREATER_THAN:
+                return comparison > 0;
+            case GREATER_THAN_OR_EQUAL_TO:
+                return comparison >= 0;
+            case LESS_THAN:
+                return comparison < 0;
+            case LESS_THAN_OR_EQUAL_TO:
+                return comparison <= 0;
+            case NOT_EQUAL_TO:
+                return comparison != 0;
+        }
+        return false;
+    }
+
 }
@@ -0,0 +1,41 @@
+package edu.uci.ics.texera.workflow.operators.filter;
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * FilterEvaluator is a filter condition compiled for one schema, see FilterPredicate.compile().
+ * Evaluators are combined into AND/OR trees, see FilterPredicateGroup.compile().
+ */
+@FunctionalInterface
+public interface FilterEvaluator extends Serializable {
+
+    boolean evaluate(Tuple tuple);
+
+    static FilterEvaluator and(List<FilterEvaluator> evaluators) {
+        FilterEvaluator[] children = evaluators.toArray(new FilterEvaluator[0]);
+        return tuple -> {
+            for (FilterEvaluator child : children) {
+                if (!child.evaluate(tuple)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    static FilterEvaluator or(List<FilterEvaluator> evaluators) {
+        FilterEvaluator[] children = evaluators.toArray(new FilterEvaluator[0]);
+        return tuple -> {
+            for (FilterEvaluator child : children) {
+                if (child.evaluate(tuple)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+}
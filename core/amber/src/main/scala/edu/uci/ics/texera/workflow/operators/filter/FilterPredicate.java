@@ -2,8 +2,8 @@ package edu.uci.ics.texera.workflow.operators.filter;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import edu.uci.ics.texera.workflow.common.WorkflowContext;
-import edu.uci.ics.texera.workflow.common.tuple.Tuple;
+import edu.uci.ics.texera.workflow.common.tuple.schema.AttributeType;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
 
 public class FilterPredicate {
 
@@ -16,25 +16,81 @@ public class FilterPredicate {
     @JsonProperty(value = "value", required = true)
     public String value;
 
-
+    /**
+     * Compiles the predicate into an evaluator for tuples of the schema.
+     * The index of the attribute is resolved once, and the value is parsed once into the type of the attribute,
+     * so that INTEGER, DOUBLE and BOOLEAN attributes are compared as numbers and booleans.
+     * STRING attributes, and values that can't be parsed into the attribute type, are compared as trimmed strings,
+     * ignoring case. A null field never satisfies the predicate.
+     */
     @JsonIgnore
-    public boolean evaluate(Tuple tuple, WorkflowContext context) {
-        String tupleValue = tuple.getField(attribute).toString().trim();
-        switch (condition) {
-            case EQUAL_TO:
-                return tupleValue.equalsIgnoreCase(value);
-            case GREATER_THAN:
-                return tupleValue.compareToIgnoreCase(value) > 0;
-            case GREATER_THAN_OR_EQUAL_TO:
-                return tupleValue.compareToIgnoreCase(value) >= 0;
-            case LESS_THAN:
-                return tupleValue.compareToIgnoreCase(value) < 0;
-            case LESS_THAN_OR_EQUAL_TO:
-                return tupleValue.compareToIgnoreCase(value) <= 0;
-            case NOT_EQUAL_TO:
-                return !tupleValue.equalsIgnoreCase(value);
+    public FilterEvaluator compile(Schema schema) {
+        int index = schema.getIndex(attribute);
+        ComparisonType condition = this.condition;
+        AttributeType type = schema.getAttribute(attribute).getType();
+        String trimmedValue = value.trim();
+
+        switch (type) {
+            case INTEGER:
+                try {
+                    long longValue = Long.parseLong(trimmedValue);
+                    return tuple -> {
+                        Integer field = (Integer) tuple.get(index);
+                        return field != null && condition.matches(Long.compare(field, longValue));
+                    };
+                } catch (NumberFormatException e) {
+                    Double doubleValue = parseDouble(trimmedValue);
+                    if (doubleValue != null) {
+                        double compareTo = doubleValue;
+                        return tuple -> {
+                            Integer field = (Integer) tuple.get(index);
+                            return field != null && condition.matches(Double.compare(field, compareTo));
+                        };
+                    }
+                }
+                break;
+            case DOUBLE:
+                Double doubleValue = parseDouble(trimmedValue);
+                if (doubleValue != null) {
+                    double compareTo = doubleValue;
+                    return tuple -> {
+                        Double field = (Double) tuple.get(index);
+                        return field != null && condition.matches(Double.compare(field, compareTo));
+                    };
+                }
+                break;
+            case BOOLEAN:
+                if (trimmedValue.equalsIgnoreCase("true") || trimmedValue.equalsIgnoreCase("false")) {
+                    boolean booleanValue = Boolean.parseBoolean(trimmedValue);
+                    return tuple -> {
+                        Boolean field = (Boolean) tuple.get(index);
+                        return field != null && condition.matches(Boolean.compare(field, booleanValue));
+                    };
+                }
+                break;
+            case STRING:
+                String stringValue = value;
+                return tuple -> {
+                    String field = (String) tuple.get(index);
+                    return field != null && condition.matches(field.trim().compareToIgnoreCase(stringValue));
+                };
+            default:
+                break;
+        }
+
+        String stringValue = value;
+        return tuple -> {
+            Object field = tuple.get(index);
+            return field != null && condition.matches(field.toString().trim().compareToIgnoreCase(stringValue));
+        };
+    }
+
+    private static Double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return null;
         }
-        return false;
     }
 
 }
@@ -0,0 +1,52 @@
+package edu.uci.ics.texera.workflow.operators.filter;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FilterPredicateGroup is a node of a tree of predicates: its predicates and its nested groups
+ * are combined in AND if match all is set, and in OR otherwise.
+ */
+public class FilterPredicateGroup {
+
+    @JsonProperty(value = "predicates")
+    @JsonPropertyDescription("predicates of the group")
+    public List<FilterPredicate> predicates;
+
+    @JsonProperty(value = "groups")
+    @JsonPropertyDescription("nested groups of predicates")
+    public List<FilterPredicateGroup> groups;
+
+    @JsonProperty(value = "match all", defaultValue = "false")
+    @JsonPropertyDescription("whether a tuple must satisfy all the predicates and groups instead of any of them")
+    public Boolean matchAll;
+
+    /**
+     * Compiles the tree of predicates into one evaluator for tuples of the schema.
+     */
+    @JsonIgnore
+    public FilterEvaluator compile(Schema schema) {
+        return compile(predicates, groups, matchAll, schema);
+    }
+
+    static FilterEvaluator compile(List<FilterPredicate> predicates, List<FilterPredicateGroup> groups,
+                                   Boolean matchAll, Schema schema) {
+        List<FilterEvaluator> evaluators = new ArrayList<>();
+        if (predicates != null) {
+            predicates.forEach(predicate -> evaluators.add(predicate.compile(schema)));
+        }
+        if (groups != null) {
+            groups.forEach(group -> evaluators.add(group.compile(schema)));
+        }
+        if (evaluators.size() == 1) {
+            return evaluators.get(0);
+        }
+        return matchAll != null && matchAll ? FilterEvaluator.and(evaluators) : FilterEvaluator.or(evaluators);
+    }
+
+}
@@ -6,15 +6,31 @@ import edu.uci.ics.texera.workflow.common.metadata.OperatorGroupConstants;
 import edu.uci.ics.texera.workflow.common.metadata.OperatorInfo;
 import edu.uci.ics.texera.workflow.common.operators.OneToOneOpExecConfig;
 import edu.uci.ics.texera.workflow.common.operators.filter.FilterOpDesc;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
 
 import java.util.List;
 
 public class SpecializedFilterOpDesc extends FilterOpDesc {
 
     @JsonProperty(value = "predicates", required = true)
-    @JsonPropertyDescription("multiple predicates in OR")
+    @JsonPropertyDescription("multiple predicates in OR, or in AND if match all is set")
     public List<FilterPredicate> predicates;
 
+    @JsonProperty(value = "groups")
+    @JsonPropertyDescription("nested groups of predicates, combined with the predicates")
+    public List<FilterPredicateGroup> groups;
+
+    @JsonProperty(value = "match all", defaultValue = "false")
+    @JsonPropertyDescription("whether a tuple must satisfy all the predicates and groups instead of any of them")
+    public Boolean matchAll;
+
+    /**
+     * Compiles the predicates and the nested groups, in AND or in OR, into one evaluator for tuples of the schema.
+     */
+    public FilterEvaluator compile(Schema schema) {
+        return FilterPredicateGroup.compile(predicates, groups, matchAll, schema);
+    }
+
     @Override
     public OneToOneOpExecConfig operatorExecutor() {
         return new OneToOneOpExecConfig(this.operatorIdentifier(),
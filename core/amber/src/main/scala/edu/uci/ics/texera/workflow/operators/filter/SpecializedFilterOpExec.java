@@ -2,6 +2,7 @@ package edu.uci.ics.texera.workflow.operators.filter;
 
 import edu.uci.ics.texera.workflow.common.operators.filter.FilterOpExec;
 import edu.uci.ics.texera.workflow.common.tuple.Tuple;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
 import scala.Function1;
 import scala.Serializable;
 
@@ -9,6 +10,11 @@ public class SpecializedFilterOpExec extends FilterOpExec {
 
     private final SpecializedFilterOpDesc opDesc;
 
+    // the predicates compiled for the schema of the last tuple,
+    //   tuples with an equal schema object adopt it so that the next tuples only compare references
+    private Schema compiledSchema = null;
+    private FilterEvaluator evaluator = null;
+
     public SpecializedFilterOpExec(SpecializedFilterOpDesc opDesc) {
         this.opDesc = opDesc;
         setFilterFunc(
@@ -17,13 +23,14 @@ public class SpecializedFilterOpExec extends FilterOpExec {
     }
 
     public Boolean filterFunc(Tuple tuple) {
-        boolean satisfy = false;
-        for (FilterPredicate predicate : opDesc.predicates) {
-            satisfy = satisfy || predicate.evaluate(tuple, opDesc.context());
+        Schema schema = tuple.getSchema();
+        if (schema != compiledSchema) {
+            if (!schema.equals(compiledSchema)) {
+                evaluator = opDesc.compile(schema);
+            }
+            compiledSchema = schema;
         }
-        return satisfy;
+        return evaluator.evaluate(tuple);
     }
 
-    ;
-
 }
@@ -0,0 +1,79 @@
+package edu.uci.ics.texera.workflow.operators.hashJoin
+
+import com.fasterxml.jackson.annotation.{JsonProperty, JsonPropertyDescription}
+import com.google.common.base.Preconditions
+import edu.uci.ics.amber.engine.common.Constants
+import edu.uci.ics.amber.engine.common.ambertag.OperatorIdentifier
+import edu.uci.ics.texera.workflow.common.metadata.{OperatorGroupConstants, OperatorInfo}
+import edu.uci.ics.texera.workflow.common.operators.OperatorDescriptor
+import edu.uci.ics.texera.workflow.common.tuple.schema.{Attribute, Schema}
+
+import scala.collection.JavaConverters._
+
+/**
+  * The operator linked to the first input port of the join is the build input,
+  * the one linked to the second input port is the probe input.
+  */
+class HashJoinOpDesc extends OperatorDescriptor {
+
+  @JsonProperty(value = "build attribute", required = true)
+  @JsonPropertyDescription("attribute of the build input (first port) to join on")
+  var buildAttribute: String = _
+
+  @JsonProperty(value = "probe attribute", required = true)
+  @JsonPropertyDescription("attribute of the probe input (second port) to join on")
+  var probeAttribute: String = _
+
+  @JsonProperty(value = "broadcast build input", defaultValue = "false")
+  @JsonPropertyDescription("send the whole build input to every worker instead of shuffling both inputs")
+  var broadcastBuild: Boolean = false
+
+  override def operatorExecutor: HashJoinOpExecConfig = {
+    Preconditions.checkArgument(inputOperatorIDs.size == 2)
+    new HashJoinOpExecConfig(
+      this.operatorIdentifier,
+      Constants.defaultNumWorkers,
+      OperatorIdentifier(this.context.workflowID, inputOperatorIDs.head),
+      buildAttribute,
+      probeAttribute,
+      broadcastBuild
+    )
+  }
+
+  override def operatorInfo: OperatorInfo =
+    OperatorInfo(
+      userFriendlyName = "Hash Join",
+      operatorDescription = "Join the tuples of two inputs that have the same value of an attribute",
+      operatorGroupName = OperatorGroupConstants.JOIN_GROUP,
+      numInputPorts = 2,
+      numOutputPorts = 1
+    )
+
+  override def getOutputSchema(schemas: Array[Schema]): Schema = {
+    Preconditions.checkArgument(schemas.length == 2)
+    Schema.checkAttributeExists(schemas(0), buildAttribute)
+    Schema.checkAttributeExists(schemas(1), probeAttribute)
+    HashJoinOpDesc.joinSchema(schemas(0), schemas(1), probeAttribute)
+  }
+}
+
+object HashJoinOpDesc {
+
+  /**
+    * The attributes of the build input, followed by the attributes of the probe input except its join attribute.
+    * A probe attribute with the same name as a build attribute is renamed with a "#@1" suffix.
+    */
+  def joinSchema(buildSchema: Schema, probeSchema: Schema, probeAttribute: String): Schema = {
+    val builder = Schema.newBuilder().add(buildSchema)
+    probeSchema.getAttributes.asScala
+      .filter(attribute => !attribute.getName.equalsIgnoreCase(probeAttribute))
+      .foreach(attribute => {
+        if (buildSchema.containsAttribute(attribute.getName)) {
+          builder.add(new Attribute(attribute.getName + "#@1", attribute.getType))
+        } else {
+          builder.add(attribute)
+        }
+      })
+    builder.build()
+  }
+}
@@ -0,0 +1,292 @@
+package edu.uci.ics.texera.workflow.operators.hashJoin
+
+import edu.uci.ics.amber.engine.common.InputExhausted
+import edu.uci.ics.texera.workflow.common.operators.OperatorExecutor
+import edu.uci.ics.texera.workflow.common.tuple.{Tuple, TupleSpillFile}
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema
+
+import scala.collection.mutable.ArrayBuffer
+
+object HashJoinOpExec {
+  val BUILD_INPUT = 0
+  val PROBE_INPUT = 1
+  // the number of partitions of the build input, each of them is spilled as a whole
+  val NUM_PARTITIONS = 16
+  // the number of tuples a worker keeps in memory before spilling a partition
+  val DEFAULT_MAX_IN_MEMORY_TUPLES = 1000000
+  // the number of times a spilled partition larger than the memory budget is split again
+  val MAX_PARTITION_LEVEL = 4
+
+  /**
+    * The partition of a join key hash at a partitioning level. Level 0 partitions by the top bits of the hash,
+    * the next levels mix the hash with a different seed, so that the keys of one partition spread over
+    * the partitions of the next level.
+    */
+  def partition(hash: Int, level: Int): Int = {
+    val h = if (level == 0) hash else scala.util.hashing.byteswap32(hash ^ (level * 0x9e3779b9))
+    (h >>> 28) & (NUM_PARTITIONS - 1)
+  }
+}
+
+/**
+  * HashJoinOpExec joins the tuples of the probe input (input 1) with the tuples of the build input (input 0)
+  * that have the same join key. Tuples with a null key don't join.
+  *
+  * The build tuples are inserted into the hash tables of NUM_PARTITIONS partitions.
+  * When the worker holds more than maxInMemoryTuples tuples, the largest partition is spilled to a file,
+  * and the later build and probe tuples of that partition go to files as well (grace hash join).
+  * Each spilled partition is joined on its own once both inputs are exhausted. A spilled partition with more
+  * build tuples than maxInMemoryTuples is split again, with a differently seeded hash, before it's loaded.
+  *
+  * Probe tuples arriving before the build input is exhausted are buffered, and spilled to a file
+  * when they exceed the memory budget.
+  */
+class HashJoinOpExec(
+    val buildAttribute: String,
+    val probeAttribute: String,
+    val maxInMemoryTuples: Int = HashJoinOpExec.DEFAULT_MAX_IN_MEMORY_TUPLES
+) extends OperatorExecutor {
+
+  import HashJoinOpExec._
+
+  val tables = new Array[JoinHashTable](NUM_PARTITIONS) // null if the partition is spilled
+  val buildFiles = new Array[TupleSpillFile](NUM_PARTITIONS)
+  val probeFiles = new Array[TupleSpillFile](NUM_PARTITIONS)
+  var inMemoryTuples = 0
+  var buildKeyIndex = -1
+  var probeKeyIndex = -1
+  var buildExhausted = false
+  var probeExhausted = false
+  val pendingProbeTuples = new ArrayBuffer[Tuple]()
+  var pendingProbeFile: TupleSpillFile = _
+  // the files of the partitions split again when joining the spilled partitions
+  val subPartitionFiles = new ArrayBuffer[TupleSpillFile]()
+  var outputBuilder: Tuple.PositionalBuilder = _
+
+  override def open(): Unit = {}
+
+  override def close(): Unit = {
+    (buildFiles ++ probeFiles ++ subPartitionFiles :+ pendingProbeFile)
+      .filter(_ != null)
+      .foreach(file => file.delete())
+  }
+
+  override def processTexeraTuple(
+      tuple: Either[Tuple, InputExhausted],
+      input: Int
+  ): Iterator[Tuple] = {
+    tuple match {
+      case Left(t) =>
+        if (input == BUILD_INPUT) {
+          build(t)
+          Iterator()
+        } else if (buildExhausted) {
+          probe(t)
+        } else {
+          bufferProbe(t)
+          Iterator()
+        }
+      case Right(_) =>
+        if (input == BUILD_INPUT) {
+          buildExhausted = true
+          if (probeExhausted) probePending() ++ joinSpilledPartitions() else probePending()
+        } else {
+          probeExhausted = true
+          if (buildExhausted) joinSpilledPartitions() else Iterator()
+        }
+    }
+  }
+
+  private def build(tuple: Tuple): Unit = {
+    if (buildKeyIndex < 0) {
+      buildKeyIndex = tuple.getSchema.getIndex(buildAttribute)
+    }
+    val key = tuple.get(buildKeyIndex)
+    if (key == null) {
+      return
+    }
+    val hash = JoinHashTable.hash(key)
+    val p = partition(hash, 0)
+    if (buildFiles(p) != null) {
+      buildFiles(p).write(tuple)
+      return
+    }
+    if (tables(p) == null) {
+      tables(p) = new JoinHashTable(buildKeyIndex)
+    }
+    tables(p).insert(hash, tuple)
+    inMemoryTuples += 1
+    if (inMemoryTuples + pendingProbeTuples.size > maxInMemoryTuples) {
+      spillLargestPartition()
+    }
+  }
+
+  private def spillLargestPartition(): Unit = {
+    val inMemoryPartitions = tables.indices.filter(p => tables(p) != null)
+    if (inMemoryPartitions.isEmpty) {
+      return
+    }
+    val p = inMemoryPartitions.maxBy(p => tables(p).size)
+    val file = new TupleSpillFile("texera-join-")
+    tables(p).iterator.foreach(t => file.write(t))
+    buildFiles(p) = file
+    inMemoryTuples -= tables(p).size
+    tables(p) = null
+  }
+
+  private def bufferProbe(tuple: Tuple): Unit = {
+    if (pendingProbeFile != null) {
+      pendingProbeFile.write(tuple)
+      return
+    }
+    pendingProbeTuples += tuple
+    if (inMemoryTuples + pendingProbeTuples.size > maxInMemoryTuples) {
+      pendingProbeFile = new TupleSpillFile("texera-join-")
+      pendingProbeTuples.foreach(t => pendingProbeFile.write(t))
+      pendingProbeTuples.clear()
+    }
+  }
+
+  /**
+    * Joins the probe tuples that arrived before the build input was exhausted.
+    */
+  private def probePending(): Iterator[Tuple] = {
+    val pending = pendingProbeTuples.iterator ++
+      (if (pendingProbeFile == null) Iterator() else pendingProbeFile.iterator())
+    pending.flatMap(t => probe(t)) ++ {
+      // evaluated lazily, once all the pending tuples are joined
+      pendingProbeTuples.clear()
+      if (pendingProbeFile != null) {
+        pendingProbeFile.delete()
+        pendingProbeFile = null
+      }
+      Iterator()
+    }
+  }
+
+  private def probe(tuple: Tuple): Iterator[Tuple] = {
+    if (probeKeyIndex < 0) {
+      probeKeyIndex = tuple.getSchema.getIndex(probeAttribute)
+    }
+    val key = tuple.get(probeKeyIndex)
+    if (key == null) {
+      return Iterator()
+    }
+    val hash = JoinHashTable.hash(key)
+    val p = partition(hash, 0)
+    if (buildFiles(p) != null) {
+      if (probeFiles(p) == null) {
+        probeFiles(p) = new TupleSpillFile("texera-join-")
+      }
+      probeFiles(p).write(tuple)
+      Iterator()
+    } else if (tables(p) == null) {
+      Iterator()
+    } else {
+      tables(p).probe(hash, key).map(buildTuple => join(buildTuple, tuple))
+    }
+  }
+
+  private def joinSpilledPartitions(): Iterator[Tuple] = {
+    (0 until NUM_PARTITIONS).iterator.flatMap(p => {
+      val buildFile = buildFiles(p)
+      val probeFile = probeFiles(p)
+      buildFiles(p) = null
+      probeFiles(p) = null
+      if (buildFile == null) Iterator() else joinPartition(buildFile, probeFile, 1)
+    })
+  }
+
+  /**
+    * Joins the probe tuples of a spilled partition with its build tuples.
+    * The build tuples are loaded into memory if they fit in the memory budget, otherwise both files are split
+    * into the partitions of the next level, and each of them is joined on its own.
+    * A partition whose build tuples all have the same key can't be split, it's loaded as a whole.
+    */
+  private def joinPartition(
+      buildFile: TupleSpillFile,
+      probeFile: TupleSpillFile,
+      level: Int
+  ): Iterator[Tuple] = {
+    if (probeFile == null) {
+      buildFile.delete()
+      return Iterator()
+    }
+    if (buildFile.size > maxInMemoryTuples && level <= MAX_PARTITION_LEVEL) {
+      val buildPartitions = split(buildFile, buildKeyIndex, level)
+      val nonEmpty = buildPartitions.filter(_ != null)
+      if (nonEmpty.length == 1 && hasSingleKey(nonEmpty(0))) {
+        return joinPartition(nonEmpty(0), probeFile, MAX_PARTITION_LEVEL + 1)
+      }
+      val probePartitions = split(probeFile, probeKeyIndex, level)
+      return (0 until NUM_PARTITIONS).iterator.flatMap(p => {
+        if (buildPartitions(p) == null) {
+          if (probePartitions(p) != null) {
+            probePartitions(p).delete()
+          }
+          Iterator()
+        } else {
+          joinPartition(buildPartitions(p), probePartitions(p), level + 1)
+        }
+      })
+    }
+    val table = new JoinHashTable(buildKeyIndex)
+    buildFile.iterator().foreach(t => table.insert(JoinHashTable.hash(t.get(buildKeyIndex)), t))
+    buildFile.delete()
+    probeFile.iterator().flatMap(t => {
+      val key = t.get(probeKeyIndex)
+      table.probe(JoinHashTable.hash(key), key).map(buildTuple => join(buildTuple, t))
+    }) ++ {
+      probeFile.delete()
+      Iterator()
+    }
+  }
+
+  private def hasSingleKey(file: TupleSpillFile): Boolean = {
+    val reader = file.iterator()
+    try {
+      val firstKey = reader.next().get(buildKeyIndex)
+      reader.forall(t => t.get(buildKeyIndex) == firstKey)
+    } finally {
+      reader.close()
+    }
+  }
+
+  /**
+    * Splits the tuples of a file into the partitions of a level, null if a partition has no tuple.
+    * The file is deleted.
+    */
+  private def split(file: TupleSpillFile, keyIndex: Int, level: Int): Array[TupleSpillFile] = {
+    val partitions = new Array[TupleSpillFile](NUM_PARTITIONS)
+    file.iterator().foreach(t => {
+      val p = partition(JoinHashTable.hash(t.get(keyIndex)), level)
+      if (partitions(p) == null) {
+        partitions(p) = new TupleSpillFile("texera-join-")
+        subPartitionFiles += partitions(p)
+      }
+      partitions(p).write(t)
+    })
+    file.delete()
+    partitions
+  }
+
+  private def join(buildTuple: Tuple, probeTuple: Tuple): Tuple = {
+    if (outputBuilder == null) {
+      outputBuilder = Tuple.newBuilder(
+        Schema.intern(
+          HashJoinOpDesc.joinSchema(buildTuple.getSchema, probeTuple.getSchema, probeAttribute)
+        )
+      )
+    }
+    outputBuilder.add(buildTuple)
+    var i = 0
+    while (i < probeTuple.length()) {
+      if (i != probeKeyIndex) {
+        outputBuilder.add(probeTuple.get(i))
+      }
+      i += 1
+    }
+    outputBuilder.build()
+  }
+
+}
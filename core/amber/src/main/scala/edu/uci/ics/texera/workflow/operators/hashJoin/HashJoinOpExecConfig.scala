@@ -0,0 +1,75 @@
+package edu.uci.ics.texera.workflow.operators.hashJoin
+
+import akka.actor.ActorRef
+import akka.event.LoggingAdapter
+import akka.util.Timeout
+import edu.uci.ics.amber.engine.architecture.breakpoint.globalbreakpoint.GlobalBreakpoint
+import edu.uci.ics.amber.engine.architecture.deploysemantics.deploymentfilter.UseAll
+import edu.uci.ics.amber.engine.architecture.deploysemantics.deploystrategy.RoundRobinDeployment
+import edu.uci.ics.amber.engine.architecture.deploysemantics.layer.{ActorLayer, ProcessorWorkerLayer}
+import edu.uci.ics.amber.engine.architecture.worker.WorkerState
+import edu.uci.ics.amber.engine.common.ambertag.{LayerTag, OperatorIdentifier}
+import edu.uci.ics.amber.engine.common.tuple.ITuple
+import edu.uci.ics.amber.engine.operators.OpExecConfig
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+
+import scala.collection.mutable
+import scala.concurrent.ExecutionContext
+
+/**
+  * Both inputs are hash-shuffled on their join key to the workers,
+  * or, with broadcastBuild, the whole build input is sent to every worker and the probe input isn't shuffled.
+  */
+class HashJoinOpExecConfig(
+    tag: OperatorIdentifier,
+    val numWorkers: Int,
+    val buildOperator: OperatorIdentifier,
+    val buildAttribute: String,
+    val probeAttribute: String,
+    val broadcastBuild: Boolean
+) extends OpExecConfig(tag) {
+
+  override lazy val topology: Topology = {
+    new Topology(
+      Array(
+        new ProcessorWorkerLayer(
+          LayerTag(tag, "main"),
+          _ => new HashJoinOpExec(buildAttribute, probeAttribute),
+          numWorkers,
+          UseAll(),
+          RoundRobinDeployment()
+        )
+      ),
+      Array(),
+      Map()
+    )
+  }
+
+  override def requiredShuffle: Boolean = !broadcastBuild
+
+  override def requiredBroadcast(from: OperatorIdentifier): Boolean =
+    broadcastBuild && from == buildOperator
+
+  override def getShuffleHashFunction(layerTag: LayerTag): ITuple => Int = {
+    val attribute =
+      if (layerTag.workflow == buildOperator.workflow && layerTag.operator == buildOperator.operator)
+        buildAttribute
+      else probeAttribute
+    tuple => {
+      val key: Any = tuple.asInstanceOf[Tuple].getField(attribute)
+      if (key == null) 0 else key.##
+    }
+  }
+
+  override def getInputNum(from: OperatorIdentifier): Int =
+    if (from == buildOperator) HashJoinOpExec.BUILD_INPUT else HashJoinOpExec.PROBE_INPUT
+
+  override def assignBreakpoint(
+      topology: Array[ActorLayer],
+      states: mutable.AnyRefMap[ActorRef, WorkerState.Value],
+      breakpoint: GlobalBreakpoint
+  )(implicit timeout: Timeout, ec: ExecutionContext, log: LoggingAdapter): Unit = {
+    breakpoint.partition(topology(0).layer.filter(states(_) != WorkerState.Completed))
+  }
+
+}
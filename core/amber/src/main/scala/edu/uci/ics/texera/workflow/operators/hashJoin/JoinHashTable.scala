@@ -0,0 +1,79 @@
+package edu.uci.ics.texera.workflow.operators.hashJoin
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+  * JoinHashTable is a hash multimap from a join key to the build tuples with that key.
+  * The chains are kept in primitive arrays (the bucket heads, the next entry and the hash of each entry),
+  * so inserting a tuple doesn't allocate a node, and most mismatches are rejected by comparing hashes.
+  */
+class JoinHashTable(val keyIndex: Int) {
+
+  private var buckets = new Array[Int](JoinHashTable.INITIAL_CAPACITY) // entry index + 1, 0 if empty
+  private var nextEntries = new Array[Int](JoinHashTable.INITIAL_CAPACITY)
+  private var hashes = new Array[Int](JoinHashTable.INITIAL_CAPACITY)
+  private val tuples = new ArrayBuffer[Tuple]()
+
+  def size: Int = tuples.size
+
+  def iterator: Iterator[Tuple] = tuples.iterator
+
+  def insert(hash: Int, tuple: Tuple): Unit = {
+    val entry = tuples.size
+    if (entry == hashes.length) {
+      hashes = java.util.Arrays.copyOf(hashes, entry * 2)
+      nextEntries = java.util.Arrays.copyOf(nextEntries, entry * 2)
+    }
+    if (entry >= buckets.length * JoinHashTable.LOAD_FACTOR) {
+      rehash(buckets.length * 2)
+    }
+    tuples += tuple
+    hashes(entry) = hash
+    val bucket = hash & (buckets.length - 1)
+    nextEntries(entry) = buckets(bucket)
+    buckets(bucket) = entry + 1
+  }
+
+  /**
+    * Returns the build tuples whose key equals the given key.
+    */
+  def probe(hash: Int, key: Any): Iterator[Tuple] = {
+    var entry = buckets(hash & (buckets.length - 1))
+    val matches = new ArrayBuffer[Tuple](1)
+    while (entry != 0) {
+      if (hashes(entry - 1) == hash) {
+        val tuple = tuples(entry - 1)
+        if (tuple.get(keyIndex) == key) {
+          matches += tuple
+        }
+      }
+      entry = nextEntries(entry - 1)
+    }
+    matches.iterator
+  }
+
+  private def rehash(capacity: Int): Unit = {
+    buckets = new Array[Int](capacity)
+    var entry = 0
+    while (entry < tuples.size) {
+      val bucket = hashes(entry) & (capacity - 1)
+      nextEntries(entry) = buckets(bucket)
+      buckets(bucket) = entry + 1
+      entry += 1
+    }
+  }
+
+}
+
+object JoinHashTable {
+  val INITIAL_CAPACITY = 16
+  val LOAD_FACTOR = 0.75
+
+  /**
+    * Hashes a join key. Numerically equal keys of different types (e.g. an INTEGER and a LONG) get the same hash,
+    * and the bits are mixed so that the keys of a hash-shuffled partition still spread over the buckets.
+    */
+  def hash(key: Any): Int = scala.util.hashing.byteswap32(key.##)
+}
@@ -1,6 +1,8 @@
 package edu.uci.ics.texera.workflow.operators.linearregression
 
 import com.fasterxml.jackson.annotation.{JsonProperty, JsonPropertyDescription}
+import com.kjetland.jackson.jsonSchema.annotations.JsonSchemaInject
+import edu.uci.ics.texera.workflow.common.ConstraintViolation
 import edu.uci.ics.texera.workflow.common.metadata.{OperatorGroupConstants, OperatorInfo}
 import edu.uci.ics.texera.workflow.common.operators.OneToOneOpExecConfig
 import edu.uci.ics.texera.workflow.common.operators.mlmodel.{MLModelOpDesc, MLModelOpExecConfig}
@@ -20,7 +22,20 @@ class LinearRegressionOpDesc extends MLModelOpDesc {
   @JsonPropertyDescription("Learning Rate")
   var learningRate: Double = _
 
-  override def operatorExecutor = new MLModelOpExecConfig(this.operatorIdentifier, 1, () => new LinearRegressionOpExec(xAttr, yAttr, learningRate))
+  @JsonProperty(value = "workers", required = false, defaultValue = "1")
+  @JsonPropertyDescription("number of workers, each trains on a partition of the data and the models are averaged")
+  @JsonSchemaInject(json = """{"minimum": 1}""")
+  var numWorkers: Int = 1
+
+  override def operatorExecutor = new MLModelOpExecConfig(this.operatorIdentifier, numWorkers, () => new LinearRegressionOpExec(xAttr, yAttr, learningRate))
 
   override def operatorInfo = OperatorInfo("Linear Regression", "Trains a Linear Regression model", OperatorGroupConstants.UTILITY_GROUP, 1, 1)
+
+  override def validate(): Array[ConstraintViolation] = {
+    if (numWorkers < 1) {
+      Array(ConstraintViolation("the number of workers must be at least 1, but it is " + numWorkers, "workers"))
+    } else {
+      Array()
+    }
+  }
 }
@@ -1,8 +1,6 @@
 package edu.uci.ics.texera.workflow.operators.linearregression;
 
 import edu.uci.ics.texera.workflow.common.operators.mlmodel.MLModelOpExec;
-import edu.uci.ics.texera.workflow.common.tuple.Tuple;
-import scala.collection.immutable.List;
 
 public class LinearRegressionOpExec extends MLModelOpExec{
 
@@ -13,7 +11,7 @@ public class LinearRegressionOpExec extends MLModelOpExec{
   private double b_current = 0;
   private double w_current = 0;
 
-  private Double[] results = null;
+  private double[] results = null;
   private double w_gradient = 0;
   private double b_gradient = 0;
 
@@ -29,29 +27,32 @@ public class LinearRegressionOpExec extends MLModelOpExec{
   }
 
   @Override
-  public void predict(Tuple[] minibatch) {
-    results = new Double[minibatch.length];
+  public String[] getColumnAttributes() {
+    return new String[] {xAttr, yAttr};
+  }
 
-    int tIdx = 0;
-    for(Tuple t: minibatch) {
-      Double x = Double.valueOf(t.getField(xAttr));
-      results[tIdx] = (w_current * x) + b_current;
-      tIdx++;
+  @Override
+  public void predict(int from, int until) {
+    if (results == null || results.length < until - from) {
+      results = new double[MINIBATCH_SIZE()];
+    }
+    double[] x = columns()[0];
+    for (int i = from; i < until; i++) {
+      results[i - from] = (w_current * x[i]) + b_current;
     }
   }
 
   @Override
-  public void calculateLossGradient(Tuple[] minibatch) {
-    double n = minibatch.length * 1.0;
+  public void calculateLossGradient(int from, int until) {
+    double n = (until - from) * 1.0;
+    double[] x = columns()[0];
+    double[] y = columns()[1];
     w_gradient = 0;
     b_gradient = 0;
-    int tIdx = 0;
-    for(Double result: results) {
-      Double x = Double.valueOf(minibatch[tIdx].getField(xAttr));
-      Double y = Double.valueOf(minibatch[tIdx].getField(yAttr));
-      w_gradient += x * (y - result);
-      b_gradient += (y - result);
-      tIdx++;
+    for (int i = from; i < until; i++) {
+      double result = results[i - from];
+      w_gradient += x[i] * (y[i] - result);
+      b_gradient += (y[i] - result);
     }
     w_gradient = (-2.0/n) * Math.round(w_gradient*100.0)/100.0;
     b_gradient = (-2.0/n) * Math.round(b_gradient*100.0)/100.0;
@@ -68,4 +69,20 @@ public class LinearRegressionOpExec extends MLModelOpExec{
 
     System.out.println("Epoch "+ currentEpoch() + " Learning Rate " + learningRate + ", Current w and b values are : " + w_current + " " + b_current);
   }
+
+  @Override
+  public String[] getParameterNames() {
+    return new String[] {"w", "b"};
+  }
+
+  @Override
+  public double[] getParameters() {
+    return new double[] {w_current, b_current};
+  }
+
+  @Override
+  public void setParameters(double[] parameters) {
+    w_current = parameters[0];
+    b_current = parameters[1];
+  }
 }
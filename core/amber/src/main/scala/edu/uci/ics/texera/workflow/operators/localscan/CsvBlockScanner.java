@@ -0,0 +1,439 @@
+package edu.uci.ics.texera.workflow.operators.localscan;
+
+import edu.uci.ics.texera.workflow.common.tuple.schema.AttributeType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * CsvBlockScanner reads the CSV records that start in the byte range [startOffset, endOffset) of a file.
+ * The file is memory-mapped in windows of at most 1 GB, and the fields of each record are located
+ * in the mapped bytes without copying them. Numeric fields are parsed directly from the bytes,
+ * only string fields are decoded into Strings.
+ * <p>
+ * Fields are quoted as in RFC 4180: a field starting with a double quote may contain delimiters,
+ * line breaks and escaped double quotes (""). Records end with "\n" or "\r\n".
+ * <p>
+ * The start offset of a scanner must be the start of a record. The ranges of the workers are found by
+ * findRecordStarts(), which reads the file once from its start and follows the quotes with the same rules
+ * as nextRecord(), so that it finds exactly the records nextRecord() reads. A record belongs to the range
+ * its first byte is in, so that the ranges of all workers cover every record exactly once.
+ */
+public class CsvBlockScanner implements Closeable {
+
+    private static final long MAX_WINDOW_SIZE = 1L << 30;
+    private static final int SCAN_CHUNK_SIZE = 1 << 16;
+    private static final byte QUOTE = '"';
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    // the states of findRecordStarts() within a record
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    // a quote in a quoted field, which either closes the field or is the first quote of an escaped quote
+    private static final int QUOTE_IN_QUOTED = 3;
+    private static final int AFTER_QUOTED = 4;
+
+    // powers of ten that are exactly representable as doubles
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long endOffset;
+    private final byte delimiter;
+    private final Charset charset = Charset.defaultCharset();
+
+    private MappedByteBuffer window = null;
+    private long windowStart = 0;
+    private int windowSize = 0;
+    private long recordStart = -1;
+    private long nextRecordStart;
+
+    // the fields of the current record, positions are relative to the window
+    private int fieldCount = 0;
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private boolean[] fieldQuoted = new boolean[16];
+    private boolean[] fieldEscaped = new boolean[16];
+
+    private byte[] scratch = new byte[256];
+
+    public CsvBlockScanner(String filePath, long startOffset, long endOffset, char delimiter) throws IOException {
+        this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.endOffset = Math.min(endOffset, fileSize);
+        this.delimiter = (byte) delimiter;
+        this.nextRecordStart = startOffset;
+    }
+
+    /**
+     * Returns the start of the first record at or after each offset, the offsets must be in ascending order.
+     * The file is read once, up to the record start of the last offset.
+     * <p>
+     * A quote only opens a quoted field at the start of a field, and a quoted field ends at a quote which
+     * isn't followed by another quote, as in parseRecord(). A quote anywhere else is literal text,
+     * and a line break ends a record unless it is inside a quoted field.
+     */
+    public static long[] findRecordStarts(String filePath, long[] offsets, char delimiter) throws IOException {
+        byte delimiterByte = (byte) delimiter;
+        long[] recordStarts = new long[offsets.length];
+        int next = 0;
+        while (next < offsets.length && offsets[next] <= 0) {
+            recordStarts[next++] = 0;
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            byte[] chunk = new byte[SCAN_CHUNK_SIZE];
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            int state = FIELD_START;
+            long position = 0;
+            int length;
+            while (next < offsets.length && (length = channel.read(buffer)) > 0) {
+                for (int i = 0; i < length && next < offsets.length; i++) {
+                    byte b = chunk[i];
+                    if (state == QUOTED) {
+                        if (b == QUOTE) {
+                            state = QUOTE_IN_QUOTED;
+                        }
+                        continue;
+                    }
+                    if (state == QUOTE_IN_QUOTED) {
+                        if (b == QUOTE) {
+                            state = QUOTED;
+                            continue;
+                        }
+                        state = AFTER_QUOTED;
+                    }
+                    if (b == LF) {
+                        state = FIELD_START;
+                        // a record starts after the line break, it is the record start of the offsets up to it
+                        while (next < offsets.length && offsets[next] <= position + i + 1) {
+                            recordStarts[next++] = position + i + 1;
+                        }
+                    } else if (b == delimiterByte) {
+                        state = FIELD_START;
+                    } else if (state == FIELD_START) {
+                        state = b == QUOTE ? QUOTED : UNQUOTED;
+                    }
+                }
+                position += length;
+                buffer.clear();
+            }
+            while (next < offsets.length) {
+                recordStarts[next++] = channel.size();
+            }
+        }
+        return recordStarts;
+    }
+
+    /**
+     * Moves to the next record in the range, returns false if there's no more records.
+     */
+    public boolean nextRecord() throws IOException {
+        if (nextRecordStart >= endOffset) {
+            fieldCount = 0;
+            return false;
+        }
+        recordStart = nextRecordStart;
+        if (window == null || recordStart < windowStart || recordStart >= windowStart + windowSize) {
+            mapWindow(recordStart);
+        }
+        while (true) {
+            int recordEnd = parseRecord((int) (recordStart - windowStart));
+            if (recordEnd >= 0) {
+                nextRecordStart = windowStart + recordEnd;
+                return true;
+            }
+            // the record continues after the window, map a window starting at the record
+            if (windowStart == recordStart && windowSize == MAX_WINDOW_SIZE) {
+                throw new IOException("CSV record at offset " + recordStart + " is larger than "
+                        + MAX_WINDOW_SIZE + " bytes");
+            }
+            mapWindow(recordStart);
+        }
+    }
+
+    /**
+     * Returns the byte offset of the current record in the file.
+     */
+    public long getRecordStart() {
+        return recordStart;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns true if the field is missing or empty and not quoted.
+     */
+    public boolean isNull(int field) {
+        return field >= fieldCount || (!fieldQuoted[field] && fieldStarts[field] == fieldEnds[field]);
+    }
+
+    /**
+     * Returns the field as the given type, or null if the field is null or can't be parsed as the type.
+     */
+    public Object getField(int field, AttributeType type) {
+        switch (type) {
+            case INTEGER:
+                return getInteger(field);
+            case DOUBLE:
+                return getDouble(field);
+            case BOOLEAN:
+                return isNull(field) ? null : Boolean.valueOf(getString(field).trim());
+            default:
+                return getString(field);
+        }
+    }
+
+    public String getString(int field) {
+        if (isNull(field)) {
+            return null;
+        }
+        int start = fieldStarts[field];
+        int length = fieldEnds[field] - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        if (!fieldEscaped[field]) {
+            for (int i = 0; i < length; i++) {
+                scratch[i] = window.get(start + i);
+            }
+            return new String(scratch, 0, length, charset);
+        }
+        int unescapedLength = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = window.get(start + i);
+            scratch[unescapedLength++] = b;
+            if (b == QUOTE) {
+                // skip the second quote of an escaped quote
+                i++;
+            }
+        }
+        return new String(scratch, 0, unescapedLength, charset);
+    }
+
+    /**
+     * Parses the field as an integer, returns null if it isn't one or if it doesn't fit in an int.
+     */
+    public Integer getInteger(int field) {
+        if (isNull(field) || fieldEscaped[field]) {
+            return null;
+        }
+        int position = skipSpaces(fieldStarts[field], fieldEnds[field]);
+        int end = trimSpaces(position, fieldEnds[field]);
+        boolean negative = false;
+        if (position < end && (window.get(position) == '-' || window.get(position) == '+')) {
+            negative = window.get(position) == '-';
+            position++;
+        }
+        if (position == end) {
+            return null;
+        }
+        long value = 0;
+        for (; position < end; position++) {
+            int digit = window.get(position) - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return null;
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            return null;
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parses the field as a double, returns null if it isn't one.
+     * Plain decimals with at most 15 significant digits are parsed directly from the bytes,
+     * which is exact since both the digits and the power of ten are exactly representable.
+     * Other numbers, such as numbers with exponents, are parsed by Double.parseDouble().
+     */
+    public Double getDouble(int field) {
+        if (isNull(field) || fieldEscaped[field]) {
+            return null;
+        }
+        int start = skipSpaces(fieldStarts[field], fieldEnds[field]);
+        int end = trimSpaces(start, fieldEnds[field]);
+        int position = start;
+        boolean negative = false;
+        if (position < end && (window.get(position) == '-' || window.get(position) == '+')) {
+            negative = window.get(position) == '-';
+            position++;
+        }
+        long mantissa = 0;
+        boolean hasDigit = false;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; position < end; position++) {
+            byte b = window.get(position);
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                hasDigit = true;
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (position == end && hasDigit && digits <= 15 && fractionDigits < POWERS_OF_TEN.length) {
+            double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            return negative ? -value : value;
+        }
+        if (end == start) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(new String(getBytes(start, end), StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private void mapWindow(long start) throws IOException {
+        windowStart = start;
+        windowSize = (int) Math.min(MAX_WINDOW_SIZE, fileSize - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+    }
+
+    /*
+     * Locates the fields of the record starting at the position in the window,
+     * returns the position after the record, or -1 if the record doesn't end in the window.
+     */
+    private int parseRecord(int position) {
+        boolean isLastWindow = windowStart + windowSize == fileSize;
+        int limit = windowSize;
+        fieldCount = 0;
+        while (true) {
+            if (position >= limit) {
+                // a delimiter right before the end of the file
+                if (!isLastWindow) {
+                    return -1;
+                }
+                addField(position, position, false, false);
+                return position;
+            }
+            if (window.get(position) == QUOTE) {
+                int start = position + 1;
+                boolean escaped = false;
+                position = start;
+                while (position < limit) {
+                    if (window.get(position) == QUOTE) {
+                        if (position + 1 < limit && window.get(position + 1) == QUOTE) {
+                            escaped = true;
+                            position += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    position++;
+                }
+                if (position + 1 >= limit && !isLastWindow) {
+                    return -1;
+                }
+                int end = Math.min(position, limit);
+                // ignore anything between the closing quote and the next delimiter
+                position = Math.min(end + 1, limit);
+                while (position < limit && window.get(position) != delimiter && window.get(position) != LF) {
+                    position++;
+                }
+                if (position >= limit && !isLastWindow) {
+                    return -1;
+                }
+                addField(start, end, true, escaped);
+            } else {
+                int start = position;
+                while (position < limit && window.get(position) != delimiter && window.get(position) != LF) {
+                    position++;
+                }
+                if (position >= limit && !isLastWindow) {
+                    return -1;
+                }
+                int end = position;
+                if (end > start && window.get(end - 1) == CR) {
+                    end--;
+                }
+                addField(start, end, false, false);
+            }
+            if (position >= limit) {
+                return position;
+            }
+            if (window.get(position) == LF) {
+                return position + 1;
+            }
+            // skip the delimiter
+            position++;
+        }
+    }
+
+    private void addField(int start, int end, boolean quoted, boolean escaped) {
+        if (fieldCount == fieldStarts.length) {
+            int capacity = fieldCount * 2;
+            fieldStarts = Arrays.copyOf(fieldStarts, capacity);
+            fieldEnds = Arrays.copyOf(fieldEnds, capacity);
+            fieldQuoted = Arrays.copyOf(fieldQuoted, capacity);
+            fieldEscaped = Arrays.copyOf(fieldEscaped, capacity);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldQuoted[fieldCount] = quoted;
+        fieldEscaped[fieldCount] = escaped;
+        fieldCount++;
+    }
+
+    private int skipSpaces(int start, int end) {
+        while (start < end && window.get(start) == ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private int trimSpaces(int start, int end) {
+        while (end > start && window.get(end - 1) == ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private byte[] getBytes(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = start; i < end; i++) {
+            bytes[i - start] = window.get(i);
+        }
+        return bytes;
+    }
+
+}
@@ -2,7 +2,6 @@ package edu.uci.ics.texera.workflow.operators.localscan;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
-import com.google.common.io.Files;
 import edu.uci.ics.amber.engine.common.Constants;
 import edu.uci.ics.amber.engine.operators.OpExecConfig;
 import edu.uci.ics.texera.workflow.common.metadata.OperatorGroupConstants;
@@ -15,14 +14,14 @@ import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.charset.Charset;
-import java.util.Arrays;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 
 public class LocalCsvFileScanOpDesc extends SourceOperatorDescriptor {
 
+    private static final int INFER_SAMPLE_SIZE = 1000;
+
     @JsonProperty(value = "file path", required = true)
     @JsonPropertyDescription("local file path")
     public String filePath;
@@ -45,9 +44,10 @@ public class LocalCsvFileScanOpDesc extends SourceOperatorDescriptor {
             this.header = true;
         }
         try {
-            String headerLine = Files.asCharSource(new File(filePath), Charset.defaultCharset()).readFirstLine();
-            return new LocalCsvFileScanOpExecConfig(this.operatorIdentifier(), Constants.defaultNumWorkers(),
-                    filePath, delimiter.charAt(0), this.inferSchema(headerLine), header != null && header);
+            int numWorkers = Constants.defaultNumWorkers();
+            return new LocalCsvFileScanOpExecConfig(this.operatorIdentifier(), numWorkers,
+                    filePath, splitRecords(filePath, numWorkers, delimiter.charAt(0)), delimiter.charAt(0),
+                    this.inferSchema(), header != null && header);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -68,28 +68,85 @@ public class LocalCsvFileScanOpDesc extends SourceOperatorDescriptor {
             return null;
         }
         try {
-            String headerLine = Files.asCharSource(new File(filePath), Charset.defaultCharset()).readFirstLine();
             if (header == null) {
                 return null;
             }
-            return inferSchema(headerLine);
+            return inferSchema();
         } catch (IOException e) {
             return null;
         }
     }
 
-    private Schema inferSchema(String headerLine) {
+    /**
+     * Splits the file into numWorkers ranges of about the same size, range i is [bounds[i], bounds[i + 1]).
+     * Each bound is moved to the start of the next record, the file is read once here for all the workers.
+     */
+    static long[] splitRecords(String filePath, int numWorkers, char delimiter) throws IOException {
+        return CsvBlockScanner.findRecordStarts(filePath,
+                splitOffsets(new File(filePath).length(), numWorkers), delimiter);
+    }
+
+    /**
+     * Splits the file into numWorkers byte ranges of about the same size, range i is [offsets[i], offsets[i + 1]).
+     */
+    static long[] splitOffsets(long totalBytes, int numWorkers) {
+        long[] offsets = new long[numWorkers + 1];
+        for (int i = 0; i < numWorkers; i++) {
+            offsets[i] = totalBytes / numWorkers * i;
+        }
+        offsets[numWorkers] = totalBytes;
+        return offsets;
+    }
+
+    /**
+     * Infers the schema from the header line and the first INFER_SAMPLE_SIZE records.
+     * A column is INTEGER if all its non-empty sampled values are integers, DOUBLE if they are all numbers,
+     * and STRING otherwise.
+     * A later value that doesn't parse as the inferred type is read as null, see LocalCsvScanSourceOpExec.
+     */
+    private Schema inferSchema() throws IOException {
         if (delimiter == null) {
             return null;
         }
-        if (header != null && header) {
-            return Schema.newBuilder().add(Arrays.stream(headerLine.split(delimiter)).map(c -> c.trim())
-                    .map(c -> new Attribute(c, AttributeType.STRING)).collect(Collectors.toList())).build();
-        } else {
-            return Schema.newBuilder().add(IntStream.range(0, headerLine.split(delimiter).length).
-                    mapToObj(i -> new Attribute("column" + i, AttributeType.STRING))
+        try (CsvBlockScanner scanner = new CsvBlockScanner(filePath, 0, Long.MAX_VALUE, delimiter.charAt(0))) {
+            if (!scanner.nextRecord()) {
+                return null;
+            }
+            int columnCount = scanner.getFieldCount();
+            String[] columnNames = new String[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                String columnName = header != null && header ? scanner.getString(i) : null;
+                columnNames[i] = columnName == null || columnName.trim().isEmpty() ? "column" + i : columnName.trim();
+            }
+
+            // null means no non-empty value is sampled yet
+            AttributeType[] columnTypes = new AttributeType[columnCount];
+            if (header == null || !header) {
+                updateColumnTypes(scanner, columnTypes);
+            }
+            for (int i = 0; i < INFER_SAMPLE_SIZE && scanner.nextRecord(); i++) {
+                updateColumnTypes(scanner, columnTypes);
+            }
+
+            return Schema.newBuilder().add(IntStream.range(0, columnCount)
+                    .mapToObj(i -> new Attribute(columnNames[i], columnTypes[i] == null ? AttributeType.STRING : columnTypes[i]))
                     .collect(Collectors.toList())).build();
         }
     }
 
+    private static void updateColumnTypes(CsvBlockScanner scanner, AttributeType[] columnTypes) {
+        for (int i = 0; i < columnTypes.length; i++) {
+            if (scanner.isNull(i) || columnTypes[i] == AttributeType.STRING) {
+                continue;
+            }
+            if ((columnTypes[i] == null || columnTypes[i] == AttributeType.INTEGER) && scanner.getInteger(i) != null) {
+                columnTypes[i] = AttributeType.INTEGER;
+            } else if (scanner.getDouble(i) != null) {
+                columnTypes[i] = AttributeType.DOUBLE;
+            } else {
+                columnTypes[i] = AttributeType.STRING;
+            }
+        }
+    }
+
 }
@@ -1,7 +1,5 @@
 package edu.uci.ics.texera.workflow.operators.localscan
 
-import java.io.File
-
 import akka.actor.ActorRef
 import akka.event.LoggingAdapter
 import akka.util.Timeout
@@ -21,24 +19,21 @@ class LocalCsvFileScanOpExecConfig(
     tag: OperatorIdentifier,
     numWorkers: Int,
     filePath: String,
+    offsets: Array[Long],
     delimiter: Char,
     schema: Schema,
     header: Boolean
 ) extends OpExecConfig(tag) {
-  val totalBytes: Long = new File(filePath).length()
-
   override lazy val topology: Topology = {
     new Topology(
       Array(
         new GeneratorWorkerLayer(
           LayerTag(tag, "main"),
           i => {
-            val endOffset =
-              if (i != numWorkers - 1) totalBytes / numWorkers * (i + 1) else totalBytes
             new LocalCsvScanSourceOpExec(
               filePath,
-              totalBytes / numWorkers * i,
-              endOffset,
+              offsets(i),
+              offsets(i + 1),
               delimiter,
               schema,
               header
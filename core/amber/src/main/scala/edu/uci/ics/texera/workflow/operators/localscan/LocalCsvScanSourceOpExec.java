@@ -1,47 +1,35 @@
 package edu.uci.ics.texera.workflow.operators.localscan;
 
 
-import com.google.common.base.Verify;
-import edu.uci.ics.amber.engine.faulttolerance.scanner.BufferedBlockReader;
 import edu.uci.ics.texera.workflow.common.operators.source.SourceOperatorExecutor;
 import edu.uci.ics.texera.workflow.common.tuple.Tuple;
+import edu.uci.ics.texera.workflow.common.tuple.schema.AttributeType;
 import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
-import org.apache.commons.lang3.ArrayUtils;
-import org.tukaani.xz.SeekableFileInputStream;
 import scala.collection.Iterator;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.Arrays;
-import java.util.Objects;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
+import java.util.NoSuchElementException;
 
 
 public class LocalCsvScanSourceOpExec implements SourceOperatorExecutor {
 
     private final String localPath;
     private final char separator;
-    private BufferedBlockReader reader = null;
+    private CsvBlockScanner scanner = null;
     private final long startOffset;
     private final long endOffset;
-    private Schema schema;
+    private final Schema schema;
+    private final AttributeType[] attributeTypes;
     private final boolean header;
 
-
-    private String[] shrinkStringArray(String[] array, int[] indicesToKeep) {
-        String[] res = new String[indicesToKeep.length];
-        for (int i = 0; i < indicesToKeep.length; ++i)
-            res[i] = array[indicesToKeep[i]];
-        return res;
-    }
-
     LocalCsvScanSourceOpExec(String localPath, long startOffset, long endOffset, char delimiter, Schema schema, boolean header) {
         this.localPath = localPath;
         this.separator = delimiter;
         this.startOffset = startOffset;
         this.endOffset = endOffset;
         this.schema = schema;
+        this.attributeTypes = schema.getAttributes().stream().map(attr -> attr.getType()).toArray(AttributeType[]::new);
         this.header = header;
     }
 
@@ -49,54 +37,63 @@ public class LocalCsvScanSourceOpExec implements SourceOperatorExecutor {
     public Iterator<Tuple> produceTexeraTuple() {
         return new Iterator<Tuple>() {
 
+            private Tuple nextTuple = null;
+
             @Override
             public boolean hasNext() {
-                try {
-                    return reader.hasNext();
-                } catch (IOException e) {
-                    throw new UncheckedIOException(e);
+                if (nextTuple == null) {
+                    nextTuple = readTuple();
                 }
+                return nextTuple != null;
             }
 
             @Override
             public Tuple next() {
-                try {
-                    String[] res = reader.readLine();
-                    if (res == null || Arrays.stream(res).noneMatch(Objects::nonNull)) {
-                        // discard tuple if it's null or it only contains null
-                        // which means it will always discard Tuple(null) from readLine()
-                        return null;
-                    }
-                    Verify.verify(schema != null);
-                    if (res.length != schema.getAttributes().size()) {
-                        res = Stream.concat(Arrays.stream(res),
-                                IntStream.range(0, schema.getAttributes().size() - res.length).mapToObj(i -> null))
-                                .toArray(String[]::new);
-                    }
-
-                    return Tuple.newBuilder().add(schema, res).build();
-                } catch (IOException e) {
-                    throw new UncheckedIOException(e);
-                } catch(Exception e){
-                    throw e;
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
                 }
+                Tuple tuple = nextTuple;
+                nextTuple = null;
+                return tuple;
             }
 
         };
     }
 
+    /*
+     * Reads the next record into a tuple, missing fields are filled with null.
+     * Records that only contain null are discarded.
+     * The types of the schema are inferred from a sample of the file, a later value that doesn't parse
+     *   as the type of its column, such as "N/A" in a numeric column, is read as null.
+     */
+    private Tuple readTuple() {
+        try {
+            while (scanner.nextRecord()) {
+                Object[] fields = new Object[attributeTypes.length];
+                boolean allNull = true;
+                for (int i = 0; i < attributeTypes.length; i++) {
+                    fields[i] = scanner.getField(i, attributeTypes[i]);
+                    allNull = allNull && fields[i] == null;
+                }
+                if (!allNull) {
+                    return new Tuple(schema, fields);
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Override
     public void open() {
         try {
-            SeekableFileInputStream stream = new SeekableFileInputStream(localPath);
-            stream.seek(startOffset);
-            reader = new BufferedBlockReader(stream, endOffset - startOffset, separator, null);
-            // skip line if this worker reads from middle of a file
-            if (startOffset > 0)
-                reader.readLine();
-            // skip line if this worker reads the start of a file, and the file has a header line
+            // the range of this worker is from the record starting at startOffset up to the record at endOffset,
+            //   where the range of the next worker starts
+            scanner = new CsvBlockScanner(localPath, startOffset, endOffset, separator);
+            // skip the header line if this worker reads the start of a file, and the file has a header line
             if (startOffset == 0 && header) {
-                reader.readLine();
+                scanner.nextRecord();
             }
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -106,7 +103,7 @@ public class LocalCsvScanSourceOpExec implements SourceOperatorExecutor {
     @Override
     public void close() {
         try {
-            reader.close();
+            scanner.close();
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -0,0 +1,135 @@
+package edu.uci.ics.texera.workflow.operators.lucenesource;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import edu.uci.ics.amber.engine.common.Constants;
+import edu.uci.ics.amber.engine.operators.OpExecConfig;
+import edu.uci.ics.texera.api.exception.StorageException;
+import edu.uci.ics.texera.storage.RelationManager;
+import edu.uci.ics.texera.workflow.common.metadata.OperatorGroupConstants;
+import edu.uci.ics.texera.workflow.common.metadata.OperatorInfo;
+import edu.uci.ics.texera.workflow.common.operators.source.SourceOperatorDescriptor;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Attribute;
+import edu.uci.ics.texera.workflow.common.tuple.schema.AttributeType;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+public class LuceneSourceOpDesc extends SourceOperatorDescriptor {
+
+    @JsonProperty(value = "table name", required = true)
+    @JsonPropertyDescription("name of a table created in Texera")
+    public String tableName;
+
+    /**
+     * The table is read from the latest commit of its index when the workflow starts,
+     *   the documents of the commit are split into one range of doc ids per worker.
+     */
+    @Override
+    public OpExecConfig operatorExecutor() {
+        Schema schema = this.sourceSchema();
+        if (schema == null) {
+            throw new RuntimeException("Lucene Source can't find the table " + tableName);
+        }
+        String tableDirectory = RelationManager.getInstance().getTableDirectory(tableName.trim());
+        try (Directory directory = FSDirectory.open(Paths.get(tableDirectory));
+             DirectoryReader reader = DirectoryReader.open(directory)) {
+            long commitGeneration = reader.getIndexCommit().getGeneration();
+            List<LeafReaderContext> leaves = reader.leaves();
+            int[] segmentStarts = new int[leaves.size()];
+            for (int i = 0; i < leaves.size(); i++) {
+                segmentStarts[i] = leaves.get(i).docBase;
+            }
+            int numWorkers = Math.max(1, Math.min(Constants.defaultNumWorkers(), reader.maxDoc()));
+            int[] bounds = splitDocIds(reader.maxDoc(), segmentStarts, numWorkers);
+            return new LuceneSourceOpExecConfig(this.operatorIdentifier(), numWorkers, worker -> {
+                int i = (Integer) worker;
+                return new LuceneSourceOpExec(schema, tableDirectory, commitGeneration, bounds[i], bounds[i + 1]);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * splits [0, maxDoc) into numWorkers even ranges, range i is [bounds[i], bounds[i + 1]).
+     * A bound is moved to the closest segment start if it's within a quarter of a range,
+     *   so that a segment is read by one worker when the segments are about as large as the ranges.
+     */
+    static int[] splitDocIds(int maxDoc, int[] segmentStarts, int numWorkers) {
+        int tolerance = maxDoc / numWorkers / 4;
+        int[] bounds = new int[numWorkers + 1];
+        bounds[numWorkers] = maxDoc;
+        for (int i = 1; i < numWorkers; i++) {
+            int evenBound = (int) ((long) maxDoc * i / numWorkers);
+            int segment = Arrays.binarySearch(segmentStarts, evenBound);
+            if (segment < 0) {
+                // the bound is between two segment starts, or after the last one
+                int next = -segment - 1;
+                int closest = next == segmentStarts.length
+                        || (next > 0 && evenBound - segmentStarts[next - 1] <= segmentStarts[next] - evenBound)
+                        ? segmentStarts[next - 1] : segmentStarts[next];
+                bounds[i] = Math.abs(closest - evenBound) <= tolerance ? closest : evenBound;
+            } else {
+                bounds[i] = evenBound;
+            }
+        }
+        return bounds;
+    }
+
+    @Override
+    public OperatorInfo operatorInfo() {
+        return new OperatorInfo(
+                "Lucene Source",
+                "Scan all the documents of a table indexed by Texera",
+                OperatorGroupConstants.SOURCE_GROUP(),
+                0, 1);
+    }
+
+    @Override
+    public Schema sourceSchema() {
+        if (this.tableName == null || this.tableName.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return convertSchema(RelationManager.getInstance().getTableSchema(tableName.trim()));
+        } catch (StorageException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts the schema of a Texera table, the text, date and id attributes are strings.
+     * List attributes are not stored in the index, they are left out.
+     */
+    static Schema convertSchema(edu.uci.ics.texera.api.schema.Schema tableSchema) {
+        Schema.Builder builder = Schema.newBuilder();
+        for (edu.uci.ics.texera.api.schema.Attribute attribute : tableSchema.getAttributes()) {
+            switch (attribute.getType()) {
+                case INTEGER:
+                    builder.add(new Attribute(attribute.getName(), AttributeType.INTEGER));
+                    break;
+                case DOUBLE:
+                    builder.add(new Attribute(attribute.getName(), AttributeType.DOUBLE));
+                    break;
+                case BOOLEAN:
+                    builder.add(new Attribute(attribute.getName(), AttributeType.BOOLEAN));
+                    break;
+                case LIST:
+                    break;
+                default:
+                    builder.add(new Attribute(attribute.getName(), AttributeType.STRING));
+            }
+        }
+        return builder.build();
+    }
+
+}
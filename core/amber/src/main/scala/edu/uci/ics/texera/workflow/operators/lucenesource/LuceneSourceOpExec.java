@@ -0,0 +1,287 @@
+package edu.uci.ics.texera.workflow.operators.lucenesource;
+
+import edu.uci.ics.texera.workflow.common.operators.source.SourceOperatorExecutor;
+import edu.uci.ics.texera.workflow.common.tuple.Tuple;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Attribute;
+import edu.uci.ics.texera.workflow.common.tuple.schema.AttributeType;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.IndexCommit;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFieldVisitor;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import scala.collection.Iterator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * LuceneSourceOpExec reads the documents whose doc ids are in [startDoc, endDoc) in a commit of a table's index.
+ * All the workers open the same commit, so that the doc ids of their ranges are the same documents.
+ *
+ * The segments of the range are read one after another, the deleted documents are skipped.
+ * The stored fields of a document are decoded by a StoredFieldVisitor straight into the fields of the tuple,
+ *   without creating a Lucene Document.
+ */
+public class LuceneSourceOpExec implements SourceOperatorExecutor {
+
+    private final Schema schema;
+    private final String tableDirectory;
+    private final long commitGeneration;
+    private final int startDoc;
+    private final int endDoc;
+    private final Map<String, Integer> attributeIndexes = new HashMap<>();
+    private final AttributeType[] attributeTypes;
+
+    private Directory directory;
+    private DirectoryReader reader;
+    private List<LeafReaderContext> leaves;
+    private int leafIndex;
+    private LeafReader leaf;
+    private Bits liveDocs;
+    private int doc;
+    private int leafEndDoc;
+    private TupleVisitor visitor;
+
+    LuceneSourceOpExec(Schema schema, String tableDirectory, long commitGeneration, int startDoc, int endDoc) {
+        this.schema = schema;
+        this.tableDirectory = tableDirectory;
+        this.commitGeneration = commitGeneration;
+        this.startDoc = startDoc;
+        this.endDoc = endDoc;
+        List<Attribute> attributes = schema.getAttributes();
+        this.attributeTypes = new AttributeType[attributes.size()];
+        for (int i = 0; i < attributes.size(); i++) {
+            attributeIndexes.put(attributes.get(i).getName(), i);
+            attributeTypes[i] = attributes.get(i).getType();
+        }
+    }
+
+    @Override
+    public Iterator<Tuple> produceTexeraTuple() {
+        return new Iterator<Tuple>() {
+
+            private Tuple nextTuple = null;
+
+            @Override
+            public boolean hasNext() {
+                if (nextTuple == null) {
+                    nextTuple = readTuple();
+                }
+                return nextTuple != null;
+            }
+
+            @Override
+            public Tuple next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Tuple tuple = nextTuple;
+                nextTuple = null;
+                return tuple;
+            }
+
+        };
+    }
+
+    /*
+     * Reads the next live document of the range, null if there's no more documents.
+     */
+    private Tuple readTuple() {
+        try {
+            while (true) {
+                if (leaf == null || doc >= leafEndDoc) {
+                    if (!nextLeaf()) {
+                        return null;
+                    }
+                    continue;
+                }
+                int currentDoc = doc++;
+                if (liveDocs != null && !liveDocs.get(currentDoc)) {
+                    continue;
+                }
+                leaf.document(currentDoc, visitor);
+                return visitor.build();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Moves to the next segment which overlaps the range, returns false if there's no more segments.
+     */
+    private boolean nextLeaf() {
+        while (leafIndex < leaves.size()) {
+            LeafReaderContext context = leaves.get(leafIndex++);
+            int docBase = context.docBase;
+            int maxDoc = context.reader().maxDoc();
+            if (docBase + maxDoc <= startDoc || docBase >= endDoc) {
+                continue;
+            }
+            leaf = context.reader();
+            liveDocs = leaf.getLiveDocs();
+            doc = Math.max(startDoc - docBase, 0);
+            leafEndDoc = Math.min(endDoc - docBase, maxDoc);
+            visitor.setLeaf(leaf);
+            return true;
+        }
+        leaf = null;
+        return false;
+    }
+
+    @Override
+    public void open() {
+        try {
+            directory = FSDirectory.open(Paths.get(tableDirectory));
+            IndexCommit commit = null;
+            for (IndexCommit indexCommit : DirectoryReader.listCommits(directory)) {
+                if (indexCommit.getGeneration() == commitGeneration) {
+                    commit = indexCommit;
+                }
+            }
+            if (commit == null) {
+                throw new RuntimeException("Lucene Source failed to read " + tableDirectory
+                        + ", the table was modified after the workflow started");
+            }
+            reader = DirectoryReader.open(commit);
+            leaves = reader.leaves();
+            leafIndex = 0;
+            leaf = null;
+            visitor = new TupleVisitor();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (reader != null) {
+                reader.close();
+                reader = null;
+            }
+            if (directory != null) {
+                directory.close();
+                directory = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Decodes the stored fields of the schema into a tuple builder.
+     * The attribute of each field is looked up by the field number of the segment, the other fields are skipped,
+     *   and the visitor stops once all the attributes are read.
+     */
+    private class TupleVisitor extends StoredFieldVisitor {
+
+        private final Tuple.PositionalBuilder tupleBuilder = Tuple.newBuilder(schema);
+        // the attribute index of each field number of the segment, -1 if the field isn't an attribute
+        private int[] fieldAttributes = new int[0];
+        private int remaining;
+
+        void setLeaf(LeafReader leaf) {
+            int fieldCount = 0;
+            for (FieldInfo fieldInfo : leaf.getFieldInfos()) {
+                fieldCount = Math.max(fieldCount, fieldInfo.number + 1);
+            }
+            fieldAttributes = new int[fieldCount];
+            Arrays.fill(fieldAttributes, -1);
+            for (FieldInfo fieldInfo : leaf.getFieldInfos()) {
+                Integer attributeIndex = attributeIndexes.get(fieldInfo.name);
+                if (attributeIndex != null) {
+                    fieldAttributes[fieldInfo.number] = attributeIndex;
+                }
+            }
+            remaining = attributeTypes.length;
+        }
+
+        Tuple build() {
+            remaining = attributeTypes.length;
+            return tupleBuilder.build();
+        }
+
+        @Override
+        public Status needsField(FieldInfo fieldInfo) {
+            if (remaining == 0) {
+                return Status.STOP;
+            }
+            return attributeIndex(fieldInfo) >= 0 ? Status.YES : Status.NO;
+        }
+
+        @Override
+        public void stringField(FieldInfo fieldInfo, byte[] value) {
+            int attributeIndex = attributeIndex(fieldInfo);
+            String field = new String(value, StandardCharsets.UTF_8);
+            switch (attributeTypes[attributeIndex]) {
+                case INTEGER:
+                    set(attributeIndex, Integer.valueOf(field));
+                    break;
+                case DOUBLE:
+                    set(attributeIndex, Double.valueOf(field));
+                    break;
+                case BOOLEAN:
+                    set(attributeIndex, Boolean.valueOf(field));
+                    break;
+                default:
+                    set(attributeIndex, field);
+            }
+        }
+
+        @Override
+        public void intField(FieldInfo fieldInfo, int value) {
+            setNumber(attributeIndex(fieldInfo), value);
+        }
+
+        @Override
+        public void longField(FieldInfo fieldInfo, long value) {
+            setNumber(attributeIndex(fieldInfo), value);
+        }
+
+        @Override
+        public void floatField(FieldInfo fieldInfo, float value) {
+            setNumber(attributeIndex(fieldInfo), value);
+        }
+
+        @Override
+        public void doubleField(FieldInfo fieldInfo, double value) {
+            setNumber(attributeIndex(fieldInfo), value);
+        }
+
+        private int attributeIndex(FieldInfo fieldInfo) {
+            return fieldInfo.number < fieldAttributes.length ? fieldAttributes[fieldInfo.number] : -1;
+        }
+
+        private void setNumber(int attributeIndex, Number value) {
+            switch (attributeTypes[attributeIndex]) {
+                case INTEGER:
+                    set(attributeIndex, value.intValue());
+                    break;
+                case DOUBLE:
+                    set(attributeIndex, value.doubleValue());
+                    break;
+                default:
+                    set(attributeIndex, value.toString());
+            }
+        }
+
+        private void set(int attributeIndex, Object field) {
+            tupleBuilder.set(attributeIndex, field);
+            remaining--;
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package edu.uci.ics.texera.workflow.operators.mysqlsource;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import edu.uci.ics.amber.engine.common.Constants;
 import edu.uci.ics.amber.engine.operators.OpExecConfig;
 import edu.uci.ics.texera.workflow.common.metadata.OperatorGroupConstants;
 import edu.uci.ics.texera.workflow.common.metadata.OperatorInfo;
@@ -10,7 +11,10 @@ import edu.uci.ics.texera.workflow.common.tuple.schema.Attribute;
 import edu.uci.ics.texera.workflow.common.tuple.schema.AttributeType;
 import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
 
+import java.math.BigInteger;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class MysqlSourceOpDesc extends SourceOperatorDescriptor {
 
@@ -54,21 +58,57 @@ public class MysqlSourceOpDesc extends SourceOperatorDescriptor {
     @JsonPropertyDescription("search terms in boolean expression")
     public String keywords;
 
+    @JsonProperty(value = "partition column")
+    @JsonPropertyDescription("integer column to split the table across workers, the primary key if empty")
+    public String partitionColumn;
+
+    /**
+     * The table is split across the workers by ranges of the partition column, computed from
+     *   its minimum and maximum value, if there's no limit or offset.
+     * Otherwise, the table is read by one worker, using keyset pagination on the primary key
+     *   if it's a single integer column.
+     */
     @Override
     public OpExecConfig operatorExecutor() {
-        return new MysqlSourceOpExecConfig(this.operatorIdentifier(), worker -> new MysqlSourceOpExec(
-                this.querySchema(),
-                host,
-                port,
-                database,
-                table,
-                username,
-                password,
-                limit,
-                offset,
-                column,
-                keywords
-        ));
+        Schema schema = this.querySchema();
+        String keyColumn = this.queryIntegerPrimaryKey();
+        String splitColumn = this.partitionColumn == null || this.partitionColumn.trim().isEmpty()
+                ? keyColumn : this.partitionColumn.trim();
+        long[] keyRange = (limit == null && offset == null && splitColumn != null) ?
+                this.queryKeyRange(splitColumn) : null;
+        if (keyRange == null) {
+            return new MysqlSourceOpExecConfig(this.operatorIdentifier(), 1, worker -> new MysqlSourceOpExec(
+                    schema, host, port, database, table, username, password, limit, offset, column, keywords,
+                    null, null, null, keyColumn
+            ));
+        }
+        int numWorkers = Constants.defaultNumWorkers();
+        long[] bounds = splitRange(keyRange[0], keyRange[1], numWorkers);
+        return new MysqlSourceOpExecConfig(this.operatorIdentifier(), numWorkers, worker -> {
+            int i = (Integer) worker;
+            // the first and last ranges are unbounded, to include the rows inserted after the probe
+            return new MysqlSourceOpExec(
+                    schema, host, port, database, table, username, password, limit, offset, column, keywords,
+                    splitColumn,
+                    i == 0 ? null : Long.valueOf(bounds[i]),
+                    i == numWorkers - 1 ? null : Long.valueOf(bounds[i + 1]),
+                    null
+            );
+        });
+    }
+
+    /**
+     * splits [min, max] into numWorkers ranges, range i is [bounds[i], bounds[i + 1])
+     */
+    static long[] splitRange(long min, long max, int numWorkers) {
+        BigInteger span = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min)).add(BigInteger.ONE);
+        long[] bounds = new long[numWorkers + 1];
+        for (int i = 0; i <= numWorkers; i++) {
+            bounds[i] = BigInteger.valueOf(min)
+                    .add(span.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(numWorkers)))
+                    .min(BigInteger.valueOf(Long.MAX_VALUE)).longValue();
+        }
+        return bounds;
     }
 
     @Override
@@ -103,15 +143,94 @@ public class MysqlSourceOpDesc extends SourceOperatorDescriptor {
      * @return
      * @throws Exception
      */
+    protected Connection connect() throws SQLException, InstantiationException, IllegalAccessException, ClassNotFoundException {
+        Class.forName("com.mysql.cj.jdbc.Driver").newInstance();
+        String url = "jdbc:mysql://" + this.host.trim() + ":" + this.port.trim() + "/"
+                + this.database.trim() + "?autoReconnect=true&useSSL=true";
+        Connection connection = DriverManager.getConnection(url, this.username.trim(), this.password);
+        // set to readonly to improve efficiency
+        connection.setReadOnly(true);
+        return connection;
+    }
+
+    /**
+     * @return the primary key of the table if it's a single integer column, null otherwise
+     */
+    private String queryIntegerPrimaryKey() {
+        try (Connection connection = connect()) {
+            List<String> keyColumns = new ArrayList<>();
+            try (ResultSet primaryKeys = connection.getMetaData().getPrimaryKeys(null, null, this.table.trim())) {
+                while (primaryKeys.next()) {
+                    keyColumns.add(primaryKeys.getString("COLUMN_NAME"));
+                }
+            }
+            if (keyColumns.size() != 1) {
+                return null;
+            }
+            Integer dataType = queryColumnType(connection, keyColumns.get(0));
+            return dataType != null && isIntegerType(dataType) ? keyColumns.get(0) : null;
+        } catch (SQLException | InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+            throw new RuntimeException("Mysql Source failed to query the primary key." + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the JDBC type of a column of the table, null if the table has no such column
+     */
+    private Integer queryColumnType(Connection connection, String columnName) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(null, null, this.table.trim(), columnName)) {
+            return columns.next() ? columns.getInt("DATA_TYPE") : null;
+        }
+    }
+
+    private static boolean isIntegerType(int dataType) {
+        switch (dataType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return the minimum and maximum value of the column, null if the table is empty
+     * @throws RuntimeException if the column doesn't exist or isn't an integer column
+     */
+    long[] queryKeyRange(String keyColumn) {
+        try (Connection connection = connect()) {
+            Integer dataType = queryColumnType(connection, keyColumn);
+            if (dataType == null) {
+                throw new RuntimeException("Mysql Source: partition column " + keyColumn
+                        + " does not exist in table " + this.table.trim() + ".");
+            }
+            if (!isIntegerType(dataType)) {
+                throw new RuntimeException("Mysql Source: partition column " + keyColumn
+                        + " must be an integer column, but its type is " + JDBCType.valueOf(dataType).getName() + ".");
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(
+                         "select min(" + keyColumn + "), max(" + keyColumn + ") from " + this.table.trim() + ";")) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                long min = resultSet.getLong(1);
+                if (resultSet.wasNull()) {
+                    return null;
+                }
+                return new long[]{min, resultSet.getLong(2)};
+            }
+        } catch (SQLException | InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+            throw new RuntimeException("Mysql Source failed to query the range of " + keyColumn + "." + e.getMessage());
+        }
+    }
+
     private Schema querySchema() {
         Schema.Builder schemaBuilder = Schema.newBuilder();
         try {
-            Class.forName("com.mysql.cj.jdbc.Driver").newInstance();
-            String url = "jdbc:mysql://" + this.host + ":" + this.port + "/"
-                    + this.database + "?autoReconnect=true&useSSL=true";
-            Connection connection = DriverManager.getConnection(url, this.username, this.password);
-            // set to readonly to improve efficiency
-            connection.setReadOnly(true);
+            Connection connection = connect();
             DatabaseMetaData databaseMetaData = connection.getMetaData();
             ResultSet columns = databaseMetaData.getColumns(null, null, this.table, null);
             while (columns.next()) {
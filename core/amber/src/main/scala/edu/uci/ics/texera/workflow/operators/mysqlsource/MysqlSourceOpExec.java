@@ -9,7 +9,22 @@ import scala.collection.Iterator;
 
 import java.sql.*;
 
+/**
+ * MysqlSourceOpExec reads the rows of a table, optionally matching a full text search.
+ *
+ * When the table is read by multiple workers, each worker reads the rows whose partition column
+ *   is in [lowerBound, upperBound), a null bound is unbounded.
+ *
+ * When limit or offset is set and the table has a numeric primary key (keyColumn), the rows are read
+ *   in batches ordered by the key, each batch continues after the last key of the previous one (keyset pagination),
+ *   so only the first batch skips the offset rows.
+ *
+ * Rows are streamed from the server with a forward-only, read-only result set, FETCH_SIZE rows at a time.
+ */
 public class MysqlSourceOpExec implements SourceOperatorExecutor {
+    public static final int FETCH_SIZE = 1000;
+    public static final int KEYSET_BATCH_SIZE = 10000;
+
     private final Schema schema;
     private final String host;
     private final String port;
@@ -21,6 +36,12 @@ public class MysqlSourceOpExec implements SourceOperatorExecutor {
     private final Integer offset;
     private final String column;
     private final String keywords;
+    private final String partitionColumn;
+    private final Long lowerBound;
+    private final Long upperBound;
+    private final String keyColumn;
+
+    private Tuple.PositionalBuilder tupleBuilder;
 
     private Connection connection;
     private PreparedStatement preparedStatement;
@@ -28,8 +49,21 @@ public class MysqlSourceOpExec implements SourceOperatorExecutor {
     private boolean querySent = false;
     private boolean hasNext = true;
 
+    // state of keyset pagination
+    private long remaining;
+    private Long lastKey = null;
+    private int batchLimit;
+    private int batchRowCount;
+
     MysqlSourceOpExec(Schema schema, String host, String port, String database, String table, String username,
                       String password, Integer limit, Integer offset, String column, String keywords) {
+        this(schema, host, port, database, table, username, password, limit, offset, column, keywords,
+                null, null, null, null);
+    }
+
+    MysqlSourceOpExec(Schema schema, String host, String port, String database, String table, String username,
+                      String password, Integer limit, Integer offset, String column, String keywords,
+                      String partitionColumn, Long lowerBound, Long upperBound, String keyColumn) {
         this.schema = schema;
         this.host = host.trim();
         this.port = port.trim();
@@ -39,8 +73,16 @@ public class MysqlSourceOpExec implements SourceOperatorExecutor {
         this.password = password;
         this.limit = limit;
         this.offset = offset;
-        this.column = column.trim();
-        this.keywords = keywords.trim();
+        this.column = column == null ? null : column.trim();
+        this.keywords = keywords == null ? null : keywords.trim();
+        this.partitionColumn = partitionColumn;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.keyColumn = keyColumn;
+    }
+
+    private boolean isKeysetPagination() {
+        return keyColumn != null && (limit != null || offset != null);
     }
 
     /**
@@ -68,39 +110,46 @@ public class MysqlSourceOpExec implements SourceOperatorExecutor {
             @Override
             public Tuple next() {
                 try {
-                    if (resultSet.next()) {
-                        Tuple.Builder tupleBuilder = Tuple.newBuilder();
-                        for (Attribute attr : schema.getAttributes()) {
-                            String columnName = attr.getName();
-                            AttributeType columnType = attr.getType();
-                            String value = resultSet.getString(columnName);
-                            if (value == null) {
-                                tupleBuilder.add(attr,null);
-                                continue;
-                            }
-                            switch (columnType) {
-                                case INTEGER:
-                                    tupleBuilder.add(attr, Integer.valueOf(value));
-                                    break;
-                                case DOUBLE:
-                                    tupleBuilder.add(attr, Double.valueOf(value));
-                                    break;
-                                case BOOLEAN:
-                                    tupleBuilder.add(attr, !value.equals("0"));
-                                    break;
-                                case STRING:
-                                    tupleBuilder.add(attr, value);
-                                    break;
-                                case ANY:
-                                default:
-                                    throw new RuntimeException("MySQL Source: unhandled attribute type: " + columnType);
-                            }
+                    while (!resultSet.next()) {
+                        if (isKeysetPagination() && batchRowCount == batchLimit && remaining > 0) {
+                            executeNextBatch();
+                        } else {
+                            hasNext = false;
+                            return null;
                         }
-                        return tupleBuilder.build();
-                    } else {
-                        hasNext = false;
-                        return null;
                     }
+                    if (isKeysetPagination()) {
+                        lastKey = resultSet.getLong(keyColumn);
+                        batchRowCount++;
+                        remaining--;
+                    }
+                    for (Attribute attr : schema.getAttributes()) {
+                        String columnName = attr.getName();
+                        AttributeType columnType = attr.getType();
+                        String value = resultSet.getString(columnName);
+                        if (value == null) {
+                            tupleBuilder.add(null);
+                            continue;
+                        }
+                        switch (columnType) {
+                            case INTEGER:
+                                tupleBuilder.add(Integer.valueOf(value));
+                                break;
+                            case DOUBLE:
+                                tupleBuilder.add(Double.valueOf(value));
+                                break;
+                            case BOOLEAN:
+                                tupleBuilder.add(!value.equals("0"));
+                                break;
+                            case STRING:
+                                tupleBuilder.add(value);
+                                break;
+                            case ANY:
+                            default:
+                                throw new RuntimeException("MySQL Source: unhandled attribute type: " + columnType);
+                        }
+                    }
+                    return tupleBuilder.build();
                 } catch (SQLException e) {
                     throw new RuntimeException(e);
                 }
@@ -120,26 +169,33 @@ public class MysqlSourceOpExec implements SourceOperatorExecutor {
     public void open() {
         try {
             if (!querySent) {
-                Class.forName("com.mysql.cj.jdbc.Driver").newInstance();
-                String url = "jdbc:mysql://" + this.host + ":" + this.port + "/"
-                        + this.database + "?autoReconnect=true&useSSL=true";
-                this.connection = DriverManager.getConnection(url, this.username, this.password);
+                tupleBuilder = Tuple.newBuilder(schema);
+                this.connection = connect();
                 // set to readonly to improve efficiency
                 connection.setReadOnly(true);
-                preparedStatement = this.connection.prepareStatement(generateSqlQuery());
-                int curIndex = 1;
-                if (this.column != null && this.keywords != null) {
-                    preparedStatement.setString(curIndex, this.keywords);
-                    curIndex += 1;
-                }
-                if (this.limit != null) {
-                    preparedStatement.setInt(curIndex, this.limit);
-                    curIndex += 1;
-                }
-                if (this.offset != null) {
-                    preparedStatement.setObject(curIndex, this.offset, Types.INTEGER);
+                if (isKeysetPagination()) {
+                    remaining = limit == null ? Long.MAX_VALUE : limit;
+                    executeNextBatch();
+                } else {
+                    prepareStatement(generateSqlQuery());
+                    int curIndex = setKeywordsParameter(1);
+                    if (this.lowerBound != null) {
+                        preparedStatement.setLong(curIndex, this.lowerBound);
+                        curIndex += 1;
+                    }
+                    if (this.upperBound != null) {
+                        preparedStatement.setLong(curIndex, this.upperBound);
+                        curIndex += 1;
+                    }
+                    if (this.limit != null) {
+                        preparedStatement.setInt(curIndex, this.limit);
+                        curIndex += 1;
+                    }
+                    if (this.offset != null) {
+                        preparedStatement.setObject(curIndex, this.offset, Types.INTEGER);
+                    }
+                    this.resultSet = preparedStatement.executeQuery();
                 }
-                this.resultSet = preparedStatement.executeQuery();
                 querySent = true;
             }
         } catch (Exception e) {
@@ -148,6 +204,55 @@ public class MysqlSourceOpExec implements SourceOperatorExecutor {
 
     }
 
+    protected Connection connect() throws SQLException, InstantiationException, IllegalAccessException, ClassNotFoundException {
+        Class.forName("com.mysql.cj.jdbc.Driver").newInstance();
+        // useCursorFetch makes the server send the rows FETCH_SIZE at a time
+        String url = "jdbc:mysql://" + this.host + ":" + this.port + "/"
+                + this.database + "?autoReconnect=true&useSSL=true&useCursorFetch=true";
+        return DriverManager.getConnection(url, this.username, this.password);
+    }
+
+    private void prepareStatement(String query) throws SQLException {
+        if (resultSet != null) {
+            resultSet.close();
+        }
+        if (preparedStatement != null) {
+            preparedStatement.close();
+        }
+        preparedStatement = this.connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        preparedStatement.setFetchSize(FETCH_SIZE);
+    }
+
+    private int setKeywordsParameter(int curIndex) throws SQLException {
+        if (this.column != null && this.keywords != null) {
+            preparedStatement.setString(curIndex, this.keywords);
+            curIndex += 1;
+        }
+        return curIndex;
+    }
+
+    /**
+     * query the next batch of keyset pagination:
+     * the first batch skips the offset rows, the next batches continue after the last key read
+     */
+    private void executeNextBatch() throws SQLException {
+        batchLimit = (int) Math.min(KEYSET_BATCH_SIZE, remaining);
+        batchRowCount = 0;
+        boolean skipOffset = lastKey == null && this.offset != null;
+        prepareStatement(generateKeysetQuery(skipOffset));
+        int curIndex = setKeywordsParameter(1);
+        if (lastKey != null) {
+            preparedStatement.setLong(curIndex, lastKey);
+            curIndex += 1;
+        }
+        preparedStatement.setInt(curIndex, batchLimit);
+        curIndex += 1;
+        if (skipOffset) {
+            preparedStatement.setObject(curIndex, this.offset, Types.INTEGER);
+        }
+        this.resultSet = preparedStatement.executeQuery();
+    }
+
     /**
      * close resultSet, preparedStatement and connection
      */
@@ -171,35 +276,72 @@ public class MysqlSourceOpExec implements SourceOperatorExecutor {
     /**
      * generate sql query string using the info provided by user. One of following
      * select * from TableName where 1 = 1 AND MATCH (ColumnName) AGAINST ( ? IN BOOLEAN MODE) LIMIT ? OFFSET ?;
-     * select * from TableName where 1 = 1 AND MATCH (ColumnName) AGAINST ( ? IN BOOLEAN MODE) LIMIT 999999999999999 OFFSET ?;
+     * select * from TableName where 1 = 1 AND MATCH (ColumnName) AGAINST ( ? IN BOOLEAN MODE) LIMIT 18446744073709551615 OFFSET ?;
      * select * from TableName where 1 = 1 AND MATCH (ColumnName) AGAINST ( ? IN BOOLEAN MODE) LIMIT ?;
      * select * from TableName where 1 = 1 AND MATCH (ColumnName) AGAINST ( ? IN BOOLEAN MODE);
      * select * from TableName where 1 = 1 LIMIT ? OFFSET ?;
-     * select * from TableName where 1 = 1 LIMIT 999999999999999 OFFSET ?;
+     * select * from TableName where 1 = 1 LIMIT 18446744073709551615 OFFSET ?;
      * select * from TableName where 1 = 1 LIMIT ?;
      * select * from TableName where 1 = 1;
+     * when the table is partitioned, the range of the worker is added to the condition:
+     * select * from TableName where 1 = 1 AND PartitionColumn >= ? AND PartitionColumn < ?;
+     * select * from TableName where 1 = 1 AND (PartitionColumn < ? OR PartitionColumn IS NULL);
      * @return string of sql query
      */
     private String generateSqlQuery() {
-        // in sql prepared statement, table name cannot be inserted using preparedstatement.setString
-        // so it has to be inserted here during sql query generation
-        String query =  "\n" + "select * from "+ this.table +" where 1 = 1 ";
-        // in sql prepared statement, column name cannot be inserted using preparedstatement.setString either
-        if(this.column != null && this.keywords != null) {
-            query += " AND  MATCH( " + this.column + " )  AGAINST ( ? IN BOOLEAN MODE)";
+        String query = generateSelectQuery();
+        if (this.lowerBound != null) {
+            query += " AND " + this.partitionColumn + " >= ?";
+        }
+        if (this.upperBound != null) {
+            // the rows whose partition column is NULL are in no range, they are read by the first worker
+            query += this.lowerBound == null
+                    ? " AND (" + this.partitionColumn + " < ? OR " + this.partitionColumn + " IS NULL)"
+                    : " AND " + this.partitionColumn + " < ?";
         }
         if(this.limit != null){
             query += " LIMIT ?";
         }
         if(this.offset != null) {
             if(this.limit == null) {
-                // if there is no limit, for OFFSET to work, a arbitrary LARGE number
+                // if there is no limit, for OFFSET to work, the maximum row count
                 // need to be manually provided
-                query += "LIMIT 999999999999999";
+                query += " LIMIT 18446744073709551615";
             }
             query += " OFFSET ?";
         }
         query+=";";
         return query;
     }
-}
\ No newline at end of file
+
+    /**
+     * generate sql query string of a batch of keyset pagination, one of following
+     * select * from TableName where 1 = 1 ORDER BY KeyColumn LIMIT ? OFFSET ?;
+     * select * from TableName where 1 = 1 AND KeyColumn > ? ORDER BY KeyColumn LIMIT ?;
+     * with the full text search condition if it's provided
+     * @return string of sql query
+     */
+    private String generateKeysetQuery(boolean skipOffset) {
+        String query = generateSelectQuery();
+        if (lastKey != null) {
+            query += " AND " + this.keyColumn + " > ?";
+        }
+        query += " ORDER BY " + this.keyColumn + " LIMIT ?";
+        if (skipOffset) {
+            query += " OFFSET ?";
+        }
+        query += ";";
+        return query;
+    }
+
+    private String generateSelectQuery() {
+        // in sql prepared statement, table name cannot be inserted using preparedstatement.setString
+        // so it has to be inserted here during sql query generation
+        String query =  "\n" + "select * from "+ this.table +" where 1 = 1 ";
+        // in sql prepared statement, column name cannot be inserted using preparedstatement.setString either
+        if(this.column != null && this.keywords != null) {
+            query += " AND  MATCH( " + this.column + " )  AGAINST ( ? IN BOOLEAN MODE)";
+        }
+        return query;
+    }
+}
@@ -17,6 +17,7 @@ import scala.concurrent.ExecutionContext
 
 class MysqlSourceOpExecConfig(
     tag: OperatorIdentifier,
+    numWorkers: Int,
     opExec: Int => SourceOperatorExecutor
 ) extends OpExecConfig(tag) {
 
@@ -26,7 +27,7 @@ class MysqlSourceOpExecConfig(
         new GeneratorWorkerLayer(
           LayerTag(tag, "main"),
           opExec,
-          1,
+          numWorkers,
           UseAll(), // it's source operator
           OneOnEach()
         )
@@ -10,6 +10,7 @@ import edu.stanford.nlp.util.CoreMap;
 import edu.uci.ics.texera.workflow.common.operators.map.MapOpExec;
 import edu.uci.ics.texera.workflow.common.tuple.Tuple;
 import edu.uci.ics.texera.workflow.common.tuple.schema.AttributeType;
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema;
 import scala.Function1;
 import scala.Serializable;
 
@@ -19,6 +20,8 @@ public class SentimentAnalysisOpExec extends MapOpExec {
 
     private final SentimentAnalysisOpDesc opDesc;
     private final StanfordCoreNLPWrapper coreNlp;
+    private transient Schema inputSchema;
+    private transient Tuple.PositionalBuilder resultBuilder;
 
     public SentimentAnalysisOpExec(SentimentAnalysisOpDesc opDesc) {
         this.opDesc = opDesc;
@@ -55,7 +58,12 @@ public class SentimentAnalysisOpExec extends MapOpExec {
             sentiment = "negative";
         }
 
-        return Tuple.newBuilder().add(t).add(opDesc.resultAttribute, AttributeType.STRING, sentiment).build();
+        if (t.getSchema() != inputSchema) {
+            inputSchema = t.getSchema();
+            resultBuilder = Tuple.newBuilder(Schema.newBuilder().add(inputSchema)
+                    .add(opDesc.resultAttribute, AttributeType.STRING).build());
+        }
+        return resultBuilder.add(t).add(sentiment).build();
     }
 
 
@@ -1,19 +1,34 @@
 package edu.uci.ics.texera.workflow.operators.sink
 
+import edu.uci.ics.amber.engine.common.ambertag.OperatorIdentifier
 import edu.uci.ics.amber.engine.common.tuple.ITuple
 import edu.uci.ics.amber.engine.common.{ITupleSinkOperatorExecutor, InputExhausted}
 
-import scala.collection.mutable
+/**
+  * SimpleSinkOpExec appends the results to the SinkResultStore retained for the sink operator,
+  * so that the results can be read by page while the workflow runs and after it completes.
+  * The results kept in memory are collected when the workflow completes.
+  *
+  * A sink without a retained store, e.g. in a workflow that isn't run from the web socket,
+  * keeps all its results in memory and collects them.
+  */
+class SimpleSinkOpExec(val sinkID: OperatorIdentifier) extends ITupleSinkOperatorExecutor {
 
-class SimpleSinkOpExec extends ITupleSinkOperatorExecutor {
-
-  val results: mutable.MutableList[ITuple] = mutable.MutableList()
+  var results: SinkResultStore = _
 
   def getResultTuples(): Array[ITuple] = {
-    results.toArray
+    if (results == null) Array[ITuple]() else results.getPage(0, results.maxInMemoryTuples)
   }
 
-  override def open(): Unit = {}
+  override def open(): Unit = {
+    results = SinkResultStore.get(sinkID) match {
+      case Some(store) =>
+        // drop the results of a previous run of the worker
+        store.release()
+        store
+      case None => new SinkResultStore(Int.MaxValue)
+    }
+  }
 
   override def close(): Unit = {}
 
@@ -23,7 +38,7 @@ class SimpleSinkOpExec extends ITupleSinkOperatorExecutor {
   ): scala.Iterator[ITuple] = {
     tuple match {
       case Left(t) =>
-        this.results += t
+        this.results.append(t)
         Iterator()
       case Right(_) =>
         Iterator()
@@ -19,7 +19,7 @@ class SimpleSinkOpExecConfig(tag: OperatorIdentifier) extends SinkOpExecConfig(t
     Array(
       new ProcessorWorkerLayer(
         LayerTag(tag, "main"),
-        _ => new SimpleSinkOpExec(),
+        _ => new SimpleSinkOpExec(tag),
         1,
         ForceLocal(),
         RandomDeployment()
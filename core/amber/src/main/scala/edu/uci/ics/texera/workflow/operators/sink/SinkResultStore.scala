@@ -0,0 +1,105 @@
+package edu.uci.ics.texera.workflow.operators.sink
+
+import java.util.concurrent.ConcurrentHashMap
+
+import edu.uci.ics.amber.engine.common.ambertag.OperatorIdentifier
+import edu.uci.ics.amber.engine.common.tuple.ITuple
+import edu.uci.ics.texera.workflow.common.tuple.{Tuple, TupleSpillFile}
+
+import scala.collection.mutable.ArrayBuffer
+
+object SinkResultStore {
+  // the number of result tuples kept in memory, the rest are spilled to a local file
+  val DEFAULT_MAX_IN_MEMORY_TUPLES = 10000
+
+  // the result stores of the sinks whose results are served by page, kept until they are released
+  private val stores = new ConcurrentHashMap[OperatorIdentifier, SinkResultStore]()
+
+  /**
+    * Creates the result store of a sink before its workflow runs, so that its results are served by page.
+    * The sinks without a retained store keep all their results in memory, and nothing is left to release.
+    */
+  def retain(sinkID: OperatorIdentifier): SinkResultStore = {
+    val store = new SinkResultStore()
+    val previous = stores.put(sinkID, store)
+    if (previous != null) {
+      previous.release()
+    }
+    store
+  }
+
+  def get(sinkID: OperatorIdentifier): Option[SinkResultStore] =
+    if (sinkID == null) None else Option(stores.get(sinkID))
+
+  def release(sinkID: OperatorIdentifier): Unit = {
+    val store = stores.remove(sinkID)
+    if (store != null) {
+      store.release()
+    }
+  }
+}
+
+/**
+  * SinkResultStore keeps the result tuples of a sink:
+  * the first maxInMemoryTuples tuples are kept in memory, the following ones are spilled to a TupleSpillFile,
+  * which a page of results starts reading from its nearest indexed tuple.
+  *
+  * Tuples are appended by the sink worker while pages are read by the web server, so all the methods are synchronized.
+  */
+class SinkResultStore(val maxInMemoryTuples: Int = SinkResultStore.DEFAULT_MAX_IN_MEMORY_TUPLES) {
+
+  private val inMemoryTuples = new ArrayBuffer[ITuple]()
+  private var spillFile: TupleSpillFile = _
+
+  def append(tuple: ITuple): Unit =
+    synchronized {
+      if (inMemoryTuples.size < maxInMemoryTuples) {
+        inMemoryTuples += tuple
+      } else {
+        if (spillFile == null) {
+          spillFile = new TupleSpillFile("texera-sink-")
+        }
+        spillFile.write(tuple.asInstanceOf[Tuple])
+      }
+    }
+
+  /**
+    * The number of result tuples appended so far.
+    */
+  def getCount: Long =
+    synchronized {
+      inMemoryTuples.size + (if (spillFile == null) 0L else spillFile.size)
+    }
+
+  /**
+    * Returns the result tuples in [offset, offset + limit).
+    * A negative offset is read from 0, a negative limit returns no tuples.
+    */
+  def getPage(offset: Long, limit: Int): Array[ITuple] =
+    synchronized {
+      val from = Math.max(offset, 0)
+      val until = Math.min(from + Math.max(limit, 0), getCount)
+      val page = new ArrayBuffer[ITuple]()
+      if (from < inMemoryTuples.size) {
+        page ++= inMemoryTuples.slice(from.toInt, Math.min(until, inMemoryTuples.size).toInt)
+      }
+      val spilledFrom = Math.max(from, inMemoryTuples.size)
+      if (spilledFrom < until) {
+        page ++= spillFile.read(spilledFrom - inMemoryTuples.size, (until - spilledFrom).toInt)
+      }
+      page.toArray
+    }
+
+  /**
+    * Drops the result tuples and deletes the spill file.
+    */
+  def release(): Unit =
+    synchronized {
+      inMemoryTuples.clear()
+      if (spillFile != null) {
+        spillFile.delete()
+        spillFile = null
+      }
+    }
+
+}
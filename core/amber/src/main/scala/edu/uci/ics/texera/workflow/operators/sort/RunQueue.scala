@@ -0,0 +1,76 @@
+package edu.uci.ics.texera.workflow.operators.sort
+
+import edu.uci.ics.texera.workflow.common.tuple.{Tuple, TupleSpillFile}
+
+import scala.collection.mutable
+
+/**
+  * RunQueue queues the tuples of one sorted run in SortFinalOpExec, in order.
+  *
+  * At most maxInMemoryTuples tuples are kept in memory, the later ones are appended to a spill file.
+  * Once the tuples in memory are consumed, the spill file is read back, and the tuples arriving
+  * in the meantime go to a new spill file. The queue is empty only when no tuple is spilled.
+  */
+class RunQueue(val maxInMemoryTuples: Int) {
+
+  private val inMemoryTuples = mutable.Queue[Tuple]()
+  // the spill file being read back, its tuples come after the ones in memory
+  private var readFile: TupleSpillFile = _
+  private var reader: TupleSpillFile#Reader = _
+  // the spill file being written, its tuples come after the ones of readFile
+  private var writeFile: TupleSpillFile = _
+
+  def isEmpty: Boolean = inMemoryTuples.isEmpty
+
+  def nonEmpty: Boolean = inMemoryTuples.nonEmpty
+
+  def head: Tuple = inMemoryTuples.head
+
+  def enqueue(tuple: Tuple): Unit = {
+    if (reader == null && writeFile == null && inMemoryTuples.size < maxInMemoryTuples) {
+      inMemoryTuples.enqueue(tuple)
+    } else {
+      if (writeFile == null) {
+        writeFile = new TupleSpillFile("texera-sort-")
+      }
+      writeFile.write(tuple)
+    }
+  }
+
+  def dequeue(): Tuple = {
+    val tuple = inMemoryTuples.dequeue()
+    if (inMemoryTuples.isEmpty) {
+      refill()
+    }
+    tuple
+  }
+
+  def clear(): Unit = {
+    inMemoryTuples.clear()
+    if (reader != null) {
+      reader.close()
+      reader = null
+    }
+    Seq(readFile, writeFile).filter(_ != null).foreach(file => file.delete())
+    readFile = null
+    writeFile = null
+  }
+
+  private def refill(): Unit = {
+    while (inMemoryTuples.size < maxInMemoryTuples && (reader != null || writeFile != null)) {
+      if (reader == null) {
+        readFile = writeFile
+        writeFile = null
+        reader = readFile.iterator()
+      }
+      if (reader.hasNext) {
+        inMemoryTuples.enqueue(reader.next())
+      } else {
+        readFile.delete()
+        readFile = null
+        reader = null
+      }
+    }
+  }
+
+}
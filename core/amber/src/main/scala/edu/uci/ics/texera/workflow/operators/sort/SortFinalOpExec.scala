@@ -0,0 +1,102 @@
+package edu.uci.ics.texera.workflow.operators.sort
+
+import edu.uci.ics.amber.engine.common.InputExhausted
+import edu.uci.ics.texera.workflow.common.operators.OperatorExecutor
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema
+
+object SortFinalOpExec {
+  // the number of tuples of each run kept in memory, the following ones are spilled until they can be merged
+  val DEFAULT_MAX_QUEUED_TUPLES = 10000
+}
+
+/**
+  * SortFinalOpExec merges the sorted runs of the SortPartialOpExec workers as they arrive.
+  *
+  * The tuples of each run are queued, and the smallest head of the queues is output as soon as
+  * every run that hasn't ended has a queued tuple, so only the tuples that can't be ordered yet are kept.
+  * A run queue keeps maxQueuedTuples tuples in memory and spills the others, as a whole run
+  * may arrive before the first tuple of another one.
+  * With a limit k, the merge stops after k tuples.
+  */
+class SortFinalOpExec(
+    val numRuns: Int,
+    val sortAttributes: List[String],
+    val descending: Boolean,
+    val limit: Option[Int],
+    val maxQueuedTuples: Int = SortFinalOpExec.DEFAULT_MAX_QUEUED_TUPLES
+) extends OperatorExecutor {
+
+  val queues: Array[RunQueue] = Array.fill(numRuns)(new RunQueue(maxQueuedTuples))
+  val ended: Array[Boolean] = Array.fill(numRuns)(false)
+  var ordering: TupleOrdering = _
+  var outputBuilder: Tuple.PositionalBuilder = _
+  var outputCount: Int = 0
+
+  override def open(): Unit = {}
+
+  override def close(): Unit = {
+    queues.foreach(queue => queue.clear())
+  }
+
+  override def processTexeraTuple(
+      tuple: Either[Tuple, InputExhausted],
+      input: Int
+  ): Iterator[Tuple] = {
+    tuple match {
+      case Left(t) =>
+        val run = t.get(t.length() - 1).asInstanceOf[Integer].intValue()
+        if (SortPartialOpExec.isEndMarker(t)) {
+          ended(run) = true
+        } else if (!isLimitReached) {
+          if (ordering == null) {
+            initialize(t.getSchema)
+          }
+          queues(run).enqueue(t)
+        }
+        merge()
+      case Right(_) =>
+        ended.indices.foreach(i => ended(i) = true)
+        merge()
+    }
+  }
+
+  private def initialize(schema: Schema): Unit = {
+    ordering = new TupleOrdering(sortAttributes.map(a => schema.getIndex(a).intValue()).toArray, descending)
+    val attributes = schema.getAttributes
+    outputBuilder = Tuple.newBuilder(new Schema(attributes.subList(0, attributes.size() - 1)))
+  }
+
+  private def isLimitReached: Boolean = limit.exists(k => outputCount >= k)
+
+  /*
+   * Outputs the tuples that can be ordered, lazily: the output is consumed before the next input tuple,
+   * so the tuples of the spilled runs are read back as they are output.
+   */
+  private def merge(): Iterator[Tuple] =
+    new Iterator[Tuple] {
+      override def hasNext: Boolean =
+        !isLimitReached && queues.exists(queue => queue.nonEmpty) &&
+          queues.indices.forall(i => ended(i) || queues(i).nonEmpty)
+
+      override def next(): Tuple = {
+        // the number of runs is the number of workers, the smallest head is found by a scan
+        var min = -1
+        for (i <- queues.indices) {
+          if (queues(i).nonEmpty && (min < 0 || ordering.lt(queues(i).head, queues(min).head))) {
+            min = i
+          }
+        }
+        val tuple = queues(min).dequeue()
+        for (i <- 0 until tuple.length() - 1) {
+          outputBuilder.add(tuple.get(i))
+        }
+        outputCount += 1
+        if (isLimitReached) {
+          queues.foreach(queue => queue.clear())
+        }
+        outputBuilder.build()
+      }
+    }
+
+}
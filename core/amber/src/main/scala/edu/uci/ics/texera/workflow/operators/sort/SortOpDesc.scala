@@ -0,0 +1,47 @@
+package edu.uci.ics.texera.workflow.operators.sort
+
+import com.fasterxml.jackson.annotation.{JsonProperty, JsonPropertyDescription}
+import com.google.common.base.Preconditions
+import edu.uci.ics.amber.engine.common.Constants
+import edu.uci.ics.texera.workflow.common.metadata.{OperatorGroupConstants, OperatorInfo}
+import edu.uci.ics.texera.workflow.common.operators.OperatorDescriptor
+import edu.uci.ics.texera.workflow.common.tuple.schema.Schema
+
+class SortOpDesc extends OperatorDescriptor {
+
+  @JsonProperty(value = "sort attributes", required = true)
+  @JsonPropertyDescription("attributes to sort by, in order of precedence")
+  var sortAttributes: List[String] = _
+
+  @JsonProperty(value = "descending", defaultValue = "false")
+  @JsonPropertyDescription("sort in descending order")
+  var descending: Boolean = false
+
+  @JsonProperty(value = "limit")
+  @JsonPropertyDescription("only output the first k tuples (top-k), leave empty to sort all tuples")
+  var limit: Integer = _
+
+  override def operatorExecutor: SortOpExecConfig = {
+    new SortOpExecConfig(
+      this.operatorIdentifier,
+      Constants.defaultNumWorkers,
+      sortAttributes,
+      descending,
+      if (limit == null) None else Some(limit.intValue())
+    )
+  }
+
+  override def operatorInfo: OperatorInfo =
+    OperatorInfo(
+      userFriendlyName = "Sort",
+      operatorDescription = "Sort the tuples by attributes, or keep the top k tuples",
+      operatorGroupName = OperatorGroupConstants.UTILITY_GROUP,
+      numInputPorts = 1,
+      numOutputPorts = 1
+    )
+
+  override def getOutputSchema(schemas: Array[Schema]): Schema = {
+    Preconditions.checkArgument(schemas.length == 1)
+    schemas(0)
+  }
+}
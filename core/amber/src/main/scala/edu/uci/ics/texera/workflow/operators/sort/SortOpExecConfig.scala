@@ -0,0 +1,67 @@
+package edu.uci.ics.texera.workflow.operators.sort
+
+import akka.actor.ActorRef
+import akka.event.LoggingAdapter
+import akka.util.Timeout
+import edu.uci.ics.amber.engine.architecture.breakpoint.globalbreakpoint.GlobalBreakpoint
+import edu.uci.ics.amber.engine.architecture.deploysemantics.deploymentfilter.{FollowPrevious, ForceLocal}
+import edu.uci.ics.amber.engine.architecture.deploysemantics.deploystrategy.{RandomDeployment, RoundRobinDeployment}
+import edu.uci.ics.amber.engine.architecture.deploysemantics.layer.{ActorLayer, ProcessorWorkerLayer}
+import edu.uci.ics.amber.engine.architecture.linksemantics.AllToOne
+import edu.uci.ics.amber.engine.architecture.worker.WorkerState
+import edu.uci.ics.amber.engine.common.Constants
+import edu.uci.ics.amber.engine.common.ambertag.{LayerTag, OperatorIdentifier}
+import edu.uci.ics.amber.engine.operators.OpExecConfig
+
+import scala.collection.mutable
+import scala.concurrent.ExecutionContext
+
+/**
+  * Each worker of the "localSort" layer sorts its partition into one sorted run (or keeps its top k tuples),
+  * the single worker of the "globalSort" layer merges the runs of all the workers.
+  */
+class SortOpExecConfig(
+    tag: OperatorIdentifier,
+    val numWorkers: Int,
+    val sortAttributes: List[String],
+    val descending: Boolean,
+    val limit: Option[Int]
+) extends OpExecConfig(tag) {
+
+  override lazy val topology: Topology = {
+    val partialLayer = new ProcessorWorkerLayer(
+      LayerTag(tag, "localSort"),
+      i => new SortPartialOpExec(i, sortAttributes, descending, limit),
+      numWorkers,
+      FollowPrevious(),
+      RoundRobinDeployment()
+    )
+    val finalLayer = new ProcessorWorkerLayer(
+      LayerTag(tag, "globalSort"),
+      _ => new SortFinalOpExec(numWorkers, sortAttributes, descending, limit),
+      1,
+      ForceLocal(),
+      RandomDeployment()
+    )
+    new Topology(
+      Array(
+        partialLayer,
+        finalLayer
+      ),
+      Array(
+        new AllToOne(partialLayer, finalLayer, Constants.defaultBatchSize, 0)
+      ),
+      Map()
+    )
+  }
+
+  override def assignBreakpoint(
+      topology: Array[ActorLayer],
+      states: mutable.AnyRefMap[ActorRef, WorkerState.Value],
+      breakpoint: GlobalBreakpoint
+  )(implicit timeout: Timeout, ec: ExecutionContext, log: LoggingAdapter): Unit = {
+    breakpoint.partition(topology(0).layer.filter(states(_) != WorkerState.Completed))
+  }
+
+  override def getInputNum(from: OperatorIdentifier): Int = 0
+}
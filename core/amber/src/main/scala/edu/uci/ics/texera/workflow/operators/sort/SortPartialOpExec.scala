@@ -0,0 +1,138 @@
+package edu.uci.ics.texera.workflow.operators.sort
+
+import edu.uci.ics.amber.engine.common.InputExhausted
+import edu.uci.ics.texera.workflow.common.operators.OperatorExecutor
+import edu.uci.ics.texera.workflow.common.tuple.{Tuple, TupleSpillFile}
+import edu.uci.ics.texera.workflow.common.tuple.schema.{AttributeType, Schema}
+import edu.uci.ics.texera.workflow.operators.sort.SortPartialOpExec.INTERNAL_SORT_RUN
+
+import scala.collection.mutable
+import scala.collection.mutable.ArrayBuffer
+
+object SortPartialOpExec {
+  val INTERNAL_SORT_RUN = "__internal_sort_run__"
+  // the number of tuples a worker sorts in memory before spilling a sorted run
+  val DEFAULT_MAX_IN_MEMORY_TUPLES = 1000000
+
+  // the last tuple a worker sends, marking the end of its sorted run
+  val endMarkerSchema: Schema = Schema.newBuilder().add(INTERNAL_SORT_RUN, AttributeType.INTEGER).build()
+
+  def isEndMarker(tuple: Tuple): Boolean = tuple.length() == 1 && tuple.getSchema == endMarkerSchema
+}
+
+/**
+  * SortPartialOpExec sorts the partition of one worker into a single sorted run.
+  *
+  * Without a limit, the tuples are sorted in memory, the sorted runs of maxInMemoryTuples tuples
+  * are spilled to files, and the runs are merged when the input is exhausted.
+  * With a limit k, only the k first tuples are kept, in a heap.
+  *
+  * The output tuples carry the index of the worker in INTERNAL_SORT_RUN, and the run ends
+  * with an end marker, so that SortFinalOpExec can merge the runs of all the workers as they arrive.
+  */
+class SortPartialOpExec(
+    val worker: Int,
+    val sortAttributes: List[String],
+    val descending: Boolean,
+    val limit: Option[Int],
+    val maxInMemoryTuples: Int = SortPartialOpExec.DEFAULT_MAX_IN_MEMORY_TUPLES
+) extends OperatorExecutor {
+
+  var ordering: TupleOrdering = _
+  var outputBuilder: Tuple.PositionalBuilder = _
+  val buffer = new ArrayBuffer[Tuple]()
+  // the k first tuples, the last of them at the head of the heap
+  var topK: mutable.PriorityQueue[Tuple] = _
+  val runs = new ArrayBuffer[TupleSpillFile]()
+
+  override def open(): Unit = {}
+
+  override def close(): Unit = {
+    runs.foreach(run => run.delete())
+    runs.clear()
+  }
+
+  override def processTexeraTuple(
+      tuple: Either[Tuple, InputExhausted],
+      input: Int
+  ): Iterator[Tuple] = {
+    tuple match {
+      case Left(t) =>
+        if (ordering == null) {
+          initialize(t.getSchema)
+        }
+        limit match {
+          case Some(k) =>
+            if (topK.size < k) {
+              topK.enqueue(t)
+            } else if (k > 0 && ordering.lt(t, topK.head)) {
+              topK.dequeue()
+              topK.enqueue(t)
+            }
+          case None =>
+            buffer += t
+            if (buffer.size >= maxInMemoryTuples) {
+              spillRun()
+            }
+        }
+        Iterator()
+      case Right(_) =>
+        val endMarker = new Tuple(SortPartialOpExec.endMarkerSchema, Int.box(worker))
+        if (ordering == null) {
+          return Iterator(endMarker)
+        }
+        sortedTuples().map(t => outputBuilder.add(t).add(Int.box(worker)).build()) ++ Iterator(endMarker)
+    }
+  }
+
+  private def initialize(schema: Schema): Unit = {
+    ordering = new TupleOrdering(sortAttributes.map(a => schema.getIndex(a).intValue()).toArray, descending)
+    outputBuilder = Tuple.newBuilder(
+      Schema.newBuilder().add(schema).add(INTERNAL_SORT_RUN, AttributeType.INTEGER).build()
+    )
+    topK = mutable.PriorityQueue.empty[Tuple](ordering)
+  }
+
+  private def spillRun(): Unit = {
+    val run = new TupleSpillFile("texera-sort-")
+    buffer.sorted(ordering).foreach(t => run.write(t))
+    runs += run
+    buffer.clear()
+  }
+
+  private def sortedTuples(): Iterator[Tuple] = {
+    if (limit.isDefined) {
+      return topK.dequeueAll.reverseIterator
+    }
+    if (runs.isEmpty) {
+      return buffer.sorted(ordering).iterator
+    }
+    if (buffer.nonEmpty) {
+      spillRun()
+    }
+    mergeRuns(runs.map(run => run.iterator().buffered))
+  }
+
+  /*
+   * Merges sorted iterators, the iterator with the smallest head is at the head of the heap.
+   */
+  private def mergeRuns(iterators: Seq[BufferedIterator[Tuple]]): Iterator[Tuple] = {
+    val heap = mutable.PriorityQueue.empty[BufferedIterator[Tuple]](
+      Ordering.by[BufferedIterator[Tuple], Tuple](it => it.head)(ordering).reverse
+    )
+    iterators.filter(it => it.hasNext).foreach(it => heap.enqueue(it))
+    new Iterator[Tuple] {
+      override def hasNext: Boolean = heap.nonEmpty
+
+      override def next(): Tuple = {
+        val it = heap.dequeue()
+        val tuple = it.next()
+        if (it.hasNext) {
+          heap.enqueue(it)
+        }
+        tuple
+      }
+    }
+  }
+
+}
@@ -0,0 +1,31 @@
+package edu.uci.ics.texera.workflow.operators.sort
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+
+/**
+  * Orders tuples by the fields at sortIndexes, in order of precedence. Null fields are ordered last.
+  */
+class TupleOrdering(val sortIndexes: Array[Int], val descending: Boolean) extends Ordering[Tuple] {
+
+  override def compare(left: Tuple, right: Tuple): Int = {
+    var i = 0
+    while (i < sortIndexes.length) {
+      val result = compareFields(left.get(sortIndexes(i)), right.get(sortIndexes(i)))
+      if (result != 0) {
+        return result
+      }
+      i += 1
+    }
+    0
+  }
+
+  private def compareFields(left: Any, right: Any): Int = {
+    if (left == null || right == null) {
+      // nulls are last in both orders
+      if (left == null && right == null) 0 else if (left == null) 1 else -1
+    } else {
+      val result = left.asInstanceOf[Comparable[Any]].compareTo(right)
+      if (descending) -result else result
+    }
+  }
+}
@@ -13,6 +13,9 @@ import java.util.List;
 public class LineChartOpExec extends MapOpExec {
 
     private final LineChartOpDesc opDesc;
+    private transient Schema inputSchema;
+    private transient int[] resultIndexes;
+    private transient Tuple.PositionalBuilder resultBuilder;
 
     public LineChartOpExec(LineChartOpDesc opDesc) {
         this.opDesc = opDesc;
@@ -20,18 +23,29 @@ public class LineChartOpExec extends MapOpExec {
     }
 
     public Tuple processTuple(Tuple t) {
-        List<Object> resultObjects = new ArrayList<>();
-        List<Attribute> resultAttributes = new ArrayList<>();
-
-        Schema inputSchema = t.getSchema();
-
-        resultObjects.add(t.getField(opDesc.nameColumn));
-        resultAttributes.add(inputSchema.getAttribute(opDesc.nameColumn));
+        if (t.getSchema() != inputSchema) {
+            resolveSchema(t.getSchema());
+        }
+        for (int index : resultIndexes) {
+            resultBuilder.add(t.get(index));
+        }
+        return resultBuilder.build();
+    }
 
+    /*
+     * Resolves the indexes of the name and data columns and the result schema once for each input schema.
+     */
+    private void resolveSchema(Schema schema) {
+        List<Attribute> resultAttributes = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        indexes.add(schema.getIndex(opDesc.nameColumn));
+        resultAttributes.add(schema.getAttribute(opDesc.nameColumn));
         for(String s : opDesc.dataColumns) {
-            resultObjects.add(t.getField(s));
-            resultAttributes.add(inputSchema.getAttribute(s));
+            indexes.add(schema.getIndex(s));
+            resultAttributes.add(schema.getAttribute(s));
         }
-        return Tuple.newBuilder().add(resultAttributes, resultObjects).build();
+        inputSchema = schema;
+        resultIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+        resultBuilder = Tuple.newBuilder(new Schema(resultAttributes));
     }
 }
@@ -21,6 +21,8 @@ public class PieChartOpPartialExec implements OperatorExecutor {
     private final String nameColumn;
     private final String dataColumn;
     private List<Tuple> result;
+    private Schema inputSchema;
+    private Tuple.PositionalBuilder resultBuilder;
 
     public PieChartOpPartialExec(String nameColumn, String dataColumn) {
         this.nameColumn = nameColumn;
@@ -53,9 +55,12 @@ public class PieChartOpPartialExec implements OperatorExecutor {
                 data = inputTuple.getField(dataColumn);
             }
             Schema oldSchema = tuple.left().get().getSchema();
-            Attribute dataAttribute = new Attribute(oldSchema.getAttribute(dataColumn).getName(), AttributeType.DOUBLE);
-            Schema newSchema = new Schema(Arrays.asList(oldSchema.getAttribute(nameColumn), dataAttribute));
-            result.add(Tuple.newBuilder().add(newSchema, Arrays.asList(name, data)).build());
+            if (oldSchema != inputSchema) {
+                inputSchema = oldSchema;
+                Attribute dataAttribute = new Attribute(oldSchema.getAttribute(dataColumn).getName(), AttributeType.DOUBLE);
+                resultBuilder = Tuple.newBuilder(new Schema(Arrays.asList(oldSchema.getAttribute(nameColumn), dataAttribute)));
+            }
+            result.add(resultBuilder.add(name).add(data).build());
             return JavaConverters.asScalaIterator(Iterators.emptyIterator());
         }
         else {
@@ -8,11 +8,16 @@ import org.apache.lucene.analysis.ngram.NGramTokenizerFactory;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 
 import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * LuceneAnalyzerConstants contains helper functions specifically
  *   used when dealing with different Lucene analyzers.
  *
+ * The analyzers are created once per analyzer string and shared by all the workers:
+ *   an analyzer is thread-safe and reuses the token stream of each thread.
+ * A shared analyzer must not be closed by its users.
+ *
  * @author Zuozhi Wang
  *
  */
@@ -21,6 +26,8 @@ public class LuceneAnalyzerConstants {
 
     public static final String CHINESE_ANALYZER = "chinese";
 
+    private static final ConcurrentHashMap<String, Analyzer> analyzers = new ConcurrentHashMap<>();
+
     public static String standardAnalyzerString() {
         return STANDARD_ANALYZER;
     }
@@ -41,14 +48,27 @@ public class LuceneAnalyzerConstants {
      * @throws Exception, if the luceneAnalyzerString is invalid
      */
     public static Analyzer getLuceneAnalyzer(String luceneAnalyzerString) throws Exception {
+        Analyzer luceneAnalyzer = analyzers.get(luceneAnalyzerString);
+        if (luceneAnalyzer == null) {
+            // an invalid analyzer string isn't added, putIfAbsent keeps the analyzer created first
+            Analyzer created = createLuceneAnalyzer(luceneAnalyzerString);
+            luceneAnalyzer = analyzers.putIfAbsent(luceneAnalyzerString, created);
+            if (luceneAnalyzer == null) {
+                luceneAnalyzer = created;
+            }
+        }
+        return luceneAnalyzer;
+    }
+
+    private static Analyzer createLuceneAnalyzer(String luceneAnalyzerString) throws Exception {
         if (luceneAnalyzerString.equals("standard")) {
-            return LuceneAnalyzerConstants.getStandardAnalyzer();
+            return new StandardAnalyzer();
         }
         else if (luceneAnalyzerString.endsWith("-gram")) {
             try {
                 int gramNum = Integer.parseInt(
                         luceneAnalyzerString.substring(0, luceneAnalyzerString.indexOf('-')));
-                return getNGramAnalyzer(gramNum);
+                return createNGramAnalyzer(gramNum);
             } catch (NumberFormatException e) {
                 throw new Exception(luceneAnalyzerString + " is not a valid lucene analyzer");
             }
@@ -58,14 +78,18 @@ public class LuceneAnalyzerConstants {
         throw new Exception(luceneAnalyzerString + " is not a valid lucene analyzer");
     }
 
-    public static Analyzer getStandardAnalyzer() {
-        return new StandardAnalyzer();
+    public static Analyzer getStandardAnalyzer() throws Exception {
+        return getLuceneAnalyzer(STANDARD_ANALYZER);
     }
 
     /**
      * @return a n-gram analyzer that tokenizes the text into grams of length n.
      */
     public static Analyzer getNGramAnalyzer(int gramNum) throws Exception {
+        return getLuceneAnalyzer(gramNum + "-gram");
+    }
+
+    private static Analyzer createNGramAnalyzer(int gramNum) throws Exception {
         try {
             return CustomAnalyzer.builder()
                     .withTokenizer(NGramTokenizerFactory.class,
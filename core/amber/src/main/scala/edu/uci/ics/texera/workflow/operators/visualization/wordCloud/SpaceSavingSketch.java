@@ -0,0 +1,111 @@
+package edu.uci.ics.texera.workflow.operators.visualization.wordCloud;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SpaceSavingSketch finds the most frequent terms of a stream in a fixed amount of memory,
+ *   using the Space-Saving algorithm (Metwally et al., "Efficient Computation of Frequent
+ *   and Top-k Elements in Data Streams").
+ *
+ * The sketch monitors at most capacity terms. A term that's not monitored replaces the term with
+ *   the minimum count m, and starts from count m + 1. The count of a monitored term overestimates
+ *   its frequency by at most the m it started from. The minimum count never exceeds (total count / capacity),
+ *   so no count is off by more than that, and every term with a frequency above it is monitored.
+ *
+ * The monitored terms are kept in a min-heap by count, so that the minimum is found in constant time.
+ */
+class SpaceSavingSketch implements Serializable {
+
+    private final int capacity;
+    // heap of the monitored terms, ordered by count
+    private final String[] terms;
+    private final int[] counts;
+    private final Map<String, Integer> heapIndexes = new HashMap<>();
+    private int size = 0;
+
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.terms = new String[capacity];
+        this.counts = new int[capacity];
+    }
+
+    public void add(String term) {
+        Integer index = heapIndexes.get(term);
+        if (index != null) {
+            counts[index]++;
+            siftDown(index);
+        } else if (size < capacity) {
+            terms[size] = term;
+            counts[size] = 1;
+            heapIndexes.put(term, size);
+            siftUp(size);
+            size++;
+        } else {
+            // replace the term with the minimum count
+            heapIndexes.remove(terms[0]);
+            terms[0] = term;
+            counts[0]++;
+            heapIndexes.put(term, 0);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Returns the n terms with the highest counts, in descending order of count.
+     */
+    public List<Map.Entry<String, Integer>> getTop(int n) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new HashMap.SimpleEntry<>(terms[i], counts[i]));
+        }
+        entries.sort(Collections.reverseOrder(Map.Entry.comparingByValue()));
+        return entries.subList(0, Math.min(n, entries.size()));
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (counts[parent] <= counts[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        String term = terms[i];
+        terms[i] = terms[j];
+        terms[j] = term;
+        int count = counts[i];
+        counts[i] = counts[j];
+        counts[j] = count;
+        heapIndexes.put(terms[i], i);
+        heapIndexes.put(terms[j], j);
+    }
+
+}
@@ -0,0 +1,75 @@
+package edu.uci.ics.texera.workflow.operators.visualization.wordCloud;
+
+import java.io.Serializable;
+
+/**
+ * TermFrequencyMap counts the frequency of terms in an open addressing hash table,
+ *   the counts are kept in a primitive int array, so counting a term that's already
+ *   in the map doesn't allocate anything.
+ *
+ * The terms are iterated by slot: for slot in [0, capacity()), getTerm(slot) is null for empty slots.
+ */
+class TermFrequencyMap implements Serializable {
+
+    private String[] terms = new String[1024];
+    private int[] counts = new int[1024];
+    private int size = 0;
+
+    public void add(String term, int count) {
+        int mask = terms.length - 1;
+        int slot = mix(term.hashCode()) & mask;
+        while (terms[slot] != null) {
+            if (terms[slot].equals(term)) {
+                counts[slot] += count;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        terms[slot] = term;
+        counts[slot] = count;
+        size++;
+        if (size * 2 > terms.length) {
+            rehash();
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return terms.length;
+    }
+
+    public String getTerm(int slot) {
+        return terms[slot];
+    }
+
+    public int getCount(int slot) {
+        return counts[slot];
+    }
+
+    private void rehash() {
+        String[] oldTerms = terms;
+        int[] oldCounts = counts;
+        terms = new String[oldTerms.length * 2];
+        counts = new int[oldCounts.length * 2];
+        int mask = terms.length - 1;
+        for (int i = 0; i < oldTerms.length; i++) {
+            if (oldTerms[i] != null) {
+                int slot = mix(oldTerms[i].hashCode()) & mask;
+                while (terms[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                terms[slot] = oldTerms[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+}
@@ -1,6 +1,7 @@
 package edu.uci.ics.texera.workflow.operators.visualization.wordCloud;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
 import edu.uci.ics.amber.engine.common.Constants;
 import edu.uci.ics.amber.engine.operators.OpExecConfig;
 import edu.uci.ics.texera.workflow.common.metadata.OperatorGroupConstants;
@@ -25,6 +26,10 @@ public class WordCloudOpDesc extends VisualizationOperator {
     @JsonProperty(value = "lucene analyzer name", required = true, defaultValue = "standard")
     public String luceneAnalyzerName;
 
+    @JsonProperty(value = "top N words")
+    @JsonPropertyDescription("only show the N most frequent words, counted approximately, leave empty to show all words")
+    public Integer topN;
+
     @Override
     public String chartType() {
         return VisualizationConstants.WORD_CLOUD;
@@ -32,7 +37,7 @@ public class WordCloudOpDesc extends VisualizationOperator {
 
     @Override
     public OpExecConfig operatorExecutor() {
-        return new WordCloudOpExecConfig(this.operatorIdentifier(), Constants.defaultNumWorkers(), textColumn, luceneAnalyzerName);
+        return new WordCloudOpExecConfig(this.operatorIdentifier(), Constants.defaultNumWorkers(), textColumn, luceneAnalyzerName, topN);
     }
 
     @Override
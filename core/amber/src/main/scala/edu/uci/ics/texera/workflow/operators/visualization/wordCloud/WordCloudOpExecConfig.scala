@@ -21,20 +21,21 @@ class WordCloudOpExecConfig(
                           tag: OperatorIdentifier,
                           val numWorkers: Int,
                           val textColumn: String,
-                          val luceneAnalyzerName: String
+                          val luceneAnalyzerName: String,
+                          val topN: Integer = null
                         ) extends OpExecConfig(tag) {
 
   override lazy val topology: Topology = {
     val partialLayer = new ProcessorWorkerLayer(
       LayerTag(tag, "localPieChartProcessor"),
-      _ => new WordCloudOpPartialExec(textColumn, luceneAnalyzerName),
+      _ => new WordCloudOpPartialExec(textColumn, luceneAnalyzerName, topN),
       numWorkers,
       UseAll(),
       RoundRobinDeployment()
     )
     val finalLayer = new ProcessorWorkerLayer(
       LayerTag(tag, "globalPieChartProcessor"),
-      _ => new WordCloudOpFinalExec(),
+      _ => new WordCloudOpFinalExec(topN),
       1,
       FollowPrevious(),
       RoundRobinDeployment()
@@ -16,18 +16,28 @@ import java.util.*;
 /**
  * Merge word count maps into a single map (termFreqMap), calculate the size of each token based on its count, and
  * output as tuples of (word, size).
+ * If topN is set, only the topN most frequent words are output.
  * @author Mingji Han, Xiaozhen Liu
  *
  */
 public class WordCloudOpFinalExec implements OperatorExecutor {
     private final int MAX_FONT_SIZE = 200;
     private final int MIN_FONT_SIZE = 50;
+    private final Integer topN;
     private HashMap<String, Integer> termFreqMap;
     private static final Schema resultSchema = Schema.newBuilder().add(
             new Attribute("word", AttributeType.STRING),
             new Attribute("size", AttributeType.INTEGER)
     ).build();
 
+    public WordCloudOpFinalExec() {
+        this(null);
+    }
+
+    public WordCloudOpFinalExec(Integer topN) {
+        this.topN = topN;
+    }
+
     @Override
     public void open() {
         this.termFreqMap = new HashMap<>();
@@ -52,10 +62,16 @@ public class WordCloudOpFinalExec implements OperatorExecutor {
            return JavaConverters.asScalaIterator(Iterators.emptyIterator());
        }
        else {
+           Collection<Map.Entry<String, Integer>> termFreqs = termFreqMap.entrySet();
+           if (topN != null && termFreqs.size() > topN) {
+               List<Map.Entry<String, Integer>> sortedTermFreqs = new ArrayList<>(termFreqs);
+               sortedTermFreqs.sort(Collections.reverseOrder(Map.Entry.comparingByValue()));
+               termFreqs = sortedTermFreqs.subList(0, topN);
+           }
            double minValue = Double.MAX_VALUE;
            double maxValue = Double.MIN_VALUE;
 
-           for (Map.Entry<String, Integer> e : termFreqMap.entrySet()) {
+           for (Map.Entry<String, Integer> e : termFreqs) {
                int frequency = e.getValue();
                minValue = Math.min(minValue, frequency);
                maxValue = Math.max(maxValue, frequency);
@@ -63,15 +79,13 @@ public class WordCloudOpFinalExec implements OperatorExecutor {
            // normalize the font size for wordcloud js
            // https://github.com/timdream/wordcloud2.js/issues/53
            List<Tuple> termFreqTuples = new ArrayList<>();
-           for (Map.Entry<String, Integer> e : termFreqMap.entrySet()) {
-               termFreqTuples.add(Tuple.newBuilder().add(
-                       resultSchema,
-                       Arrays.asList(
-                               e.getKey(),
-                               (int) ((e.getValue() - minValue) / (maxValue - minValue) *
-                                       (this.MAX_FONT_SIZE - this.MIN_FONT_SIZE) + this.MIN_FONT_SIZE)
-                       )
-               ).build());
+           Tuple.PositionalBuilder resultBuilder = Tuple.newBuilder(resultSchema);
+           for (Map.Entry<String, Integer> e : termFreqs) {
+               termFreqTuples.add(resultBuilder
+                       .add(e.getKey())
+                       .add((int) ((e.getValue() - minValue) / (maxValue - minValue) *
+                               (this.MAX_FONT_SIZE - this.MIN_FONT_SIZE) + this.MIN_FONT_SIZE))
+                       .build());
            }
            return JavaConverters.asScalaIterator(termFreqTuples.iterator());
        }
@@ -15,35 +15,47 @@ import scala.collection.Iterator;
 import scala.collection.JavaConverters;
 import scala.util.Either;
 
-import java.io.StringReader;
+import java.io.IOException;
 import java.util.*;
 
 
 /**
  * Calculate word count and output count of each word.
+ * The texts are tokenized as the tuples arrive, by one analyzer for the whole input.
+ *
+ * If topN is set, the words are counted by a SpaceSavingSketch of SKETCH_CAPACITY_FACTOR * topN words,
+ *   and only the counts of the topN most frequent words are output.
  * @author Mingji Han, Xiaozhen Liu
  *
  */
 public class WordCloudOpPartialExec implements OperatorExecutor {
+    // the number of words monitored by the sketch for each word output
+    public static final int SKETCH_CAPACITY_FACTOR = 10;
+
     private final String textColumn;
     private final String luceneAnalyzerName;
-    private List<String> textList;
+    private final Integer topN;
+    private Analyzer luceneAnalyzer;
+    private TermFrequencyMap termFreqMap;
+    private SpaceSavingSketch sketch;
     private static final Schema resultSchema = Schema.newBuilder().add(
             new Attribute("word", AttributeType.STRING),
             new Attribute("size", AttributeType.INTEGER)
     ).build();
 
     public WordCloudOpPartialExec(String textColumn, String luceneAnalyzerName) {
+        this(textColumn, luceneAnalyzerName, null);
+    }
+
+    public WordCloudOpPartialExec(String textColumn, String luceneAnalyzerName, Integer topN) {
         this.textColumn = textColumn;
         this.luceneAnalyzerName = luceneAnalyzerName;
+        this.topN = topN;
     }
 
-    private static List<Tuple> calculateWordCount(List<String> texts, String analyzerName) throws Exception {
-        HashMap<String, Integer> termFreqMap = new HashMap<>();
-
-        for (String text : texts) {
-            Analyzer luceneAnalyzer = LuceneAnalyzerConstants.getLuceneAnalyzer(analyzerName);
-            TokenStream tokenStream = luceneAnalyzer.tokenStream(null, new StringReader(text));
+    private void countWords(String text) throws IOException {
+        // the analyzer is shared, it reuses the token stream of this thread
+        try (TokenStream tokenStream = luceneAnalyzer.tokenStream(null, text)) {
             OffsetAttribute offsetAttribute = tokenStream.addAttribute(OffsetAttribute.class);
 
             tokenStream.reset();
@@ -51,27 +63,55 @@ public class WordCloudOpPartialExec implements OperatorExecutor {
                 int charStart = offsetAttribute.startOffset();
                 int charEnd = offsetAttribute.endOffset();
                 String termStr = text.substring(charStart, charEnd).toLowerCase();
-                if (!StopAnalyzer.ENGLISH_STOP_WORDS_SET.contains(termStr))
-                    termFreqMap.put(termStr, termFreqMap.get(termStr)==null ? 1 : termFreqMap.get(termStr) + 1);
+                if (!StopAnalyzer.ENGLISH_STOP_WORDS_SET.contains(termStr)) {
+                    if (sketch != null) {
+                        sketch.add(termStr);
+                    } else {
+                        termFreqMap.add(termStr, 1);
+                    }
+                }
             }
-            tokenStream.close();
+            tokenStream.end();
         }
-        List<Tuple> termFreqTuples = new ArrayList<>();
+    }
 
-        for (Map.Entry<String, Integer> e : termFreqMap.entrySet()) {
-            termFreqTuples.add(Tuple.newBuilder().add(resultSchema, Arrays.asList(e.getKey(), e.getValue())).build());
+    private List<Tuple> getWordCountTuples() {
+        List<Tuple> termFreqTuples = new ArrayList<>();
+        Tuple.PositionalBuilder resultBuilder = Tuple.newBuilder(resultSchema);
+        if (sketch != null) {
+            for (Map.Entry<String, Integer> e : sketch.getTop(topN)) {
+                termFreqTuples.add(resultBuilder.add(e.getKey()).add(e.getValue()).build());
+            }
+            return termFreqTuples;
+        }
+        for (int slot = 0; slot < termFreqMap.capacity(); slot++) {
+            if (termFreqMap.getTerm(slot) != null) {
+                termFreqTuples.add(resultBuilder.add(termFreqMap.getTerm(slot)).add(termFreqMap.getCount(slot)).build());
+            }
         }
         return termFreqTuples;
     }
 
     @Override
     public void open() {
-        textList = new ArrayList<>();
+        try {
+            luceneAnalyzer = LuceneAnalyzerConstants.getLuceneAnalyzer(luceneAnalyzerName);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        if (topN != null) {
+            sketch = new SpaceSavingSketch(Math.max(topN, 1) * SKETCH_CAPACITY_FACTOR);
+        } else {
+            termFreqMap = new TermFrequencyMap();
+        }
     }
 
     @Override
     public void close() {
-
+        // the analyzer is shared by the workers, it's not closed
+        luceneAnalyzer = null;
+        termFreqMap = null;
+        sketch = null;
     }
 
     @Override
@@ -82,15 +122,18 @@ public class WordCloudOpPartialExec implements OperatorExecutor {
     @Override
     public Iterator<Tuple> processTexeraTuple(Either<Tuple, InputExhausted> tuple, int input) {
         if(tuple.isLeft()) {
-            textList.add(tuple.left().get().getField(textColumn));
+            String text = tuple.left().get().getField(textColumn);
+            if (text != null) {
+                try {
+                    countWords(text);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
             return JavaConverters.asScalaIterator(Iterators.emptyIterator());
         }
         else {
-            try {
-                return(JavaConverters.asScalaIterator(calculateWordCount(textList, luceneAnalyzerName).iterator()));
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+            return JavaConverters.asScalaIterator(getWordCountTuples().iterator());
         }
     }
 }
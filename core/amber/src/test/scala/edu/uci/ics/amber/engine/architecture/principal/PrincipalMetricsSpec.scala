@@ -0,0 +1,66 @@
+package edu.uci.ics.amber.engine.architecture.principal
+
+import edu.uci.ics.amber.engine.architecture.worker.{LinkMetrics, WorkerMetrics}
+import org.HdrHistogram.Histogram
+import org.scalatest.FlatSpec
+
+class PrincipalMetricsSpec extends FlatSpec {
+
+  // batchLatency is in microseconds
+  private def workerMetrics(busyTimeMs: Long, queueDepth: Int, batchLatency: Long): WorkerMetrics = {
+    val histogram = WorkerMetrics.newLatencyHistogram()
+    histogram.recordValue(batchLatency)
+    WorkerMetrics(
+      100,
+      50,
+      busyTimeMs,
+      1000 - busyTimeMs,
+      queueDepth,
+      Map("upstream" -> LinkMetrics(10, 1, 0)),
+      Map("downstream" -> LinkMetrics(20, 2, 4)),
+      histogram
+    )
+  }
+
+  private def aggregate(workerMetrics: Seq[WorkerMetrics], batchLatency: Histogram): PrincipalMetrics = {
+    workerMetrics.foreach(metrics => batchLatency.add(metrics.batchLatency))
+    PrincipalMetrics.aggregate(workerMetrics, batchLatency)
+  }
+
+  "PrincipalMetrics" should "aggregate the metrics of the workers" in {
+    val metrics = aggregate(
+      Seq(workerMetrics(800, 3, 2000), workerMetrics(200, 7, 4000)),
+      WorkerMetrics.newLatencyHistogram()
+    )
+    assert(metrics.inputTuplesPerSecond == 200)
+    assert(metrics.outputTuplesPerSecond == 100)
+    assert(metrics.busyTimeMs == 1000)
+    assert(metrics.idleTimeMs == 1000)
+    assert(metrics.busyRatio == 0.5)
+    assert(metrics.maxProcessingQueueDepth == 7)
+    assert(metrics.inputLinks == Map("upstream" -> LinkMetrics(20, 2, 0)))
+    assert(metrics.outputLinks == Map("downstream" -> LinkMetrics(40, 4, 8)))
+    assert(metrics.batchCount == 2)
+    // the histogram keeps the values within 1%
+    assert(Math.abs(metrics.batchLatencyMaxMs - 4) < 0.04)
+    assert(Math.abs(metrics.batchLatencyP50Ms - 2) < 0.02)
+  }
+
+  "PrincipalMetrics" should "compute the latencies over all the reported intervals" in {
+    val batchLatency = WorkerMetrics.newLatencyHistogram()
+    aggregate(Seq(workerMetrics(100, 0, 1000)), batchLatency)
+    // the next reports only hold the batches completed since the previous one
+    val metrics = aggregate(Seq(workerMetrics(200, 0, 3000), workerMetrics(300, 0, 5000)), batchLatency)
+    assert(metrics.batchCount == 3)
+    assert(Math.abs(metrics.batchLatencyMeanMs - 3) < 0.03)
+    assert(Math.abs(metrics.batchLatencyMaxMs - 5) < 0.05)
+  }
+
+  "PrincipalMetrics of an operator without workers" should "be empty" in {
+    val metrics = PrincipalMetrics.empty
+    assert(metrics.batchCount == 0)
+    assert(metrics.busyRatio == 0)
+    assert(metrics.inputLinks.isEmpty)
+  }
+
+}
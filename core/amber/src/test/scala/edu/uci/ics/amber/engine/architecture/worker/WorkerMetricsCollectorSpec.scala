@@ -0,0 +1,59 @@
+package edu.uci.ics.amber.engine.architecture.worker
+
+import org.scalatest.FlatSpec
+
+class WorkerMetricsCollectorSpec extends FlatSpec {
+
+  private val ms = 1000000L
+
+  private def snapshot(collector: WorkerMetricsCollector): WorkerMetrics =
+    collector.snapshot(0, 0, 0, Map())
+
+  "A WorkerMetricsCollector" should "record one latency sample for a batch paused in the middle" in {
+    val collector = new WorkerMetricsCollector()
+    collector.start()
+    // the processor runs a batch for 3 ms until a pause, then for 2 ms more to complete it
+    collector.recordBusyTime(3 * ms)
+    collector.recordBatch(2 * ms, 5 * ms)
+    val metrics = snapshot(collector)
+    assert(metrics.busyTimeMs == 5)
+    assert(metrics.batchLatency.getTotalCount == 1)
+    // the latency is the time of both runs, in microseconds within 1%
+    assert(Math.abs(metrics.batchLatency.getMaxValue - 5000) <= 50)
+  }
+
+  "A WorkerMetricsCollector" should "not record a latency sample before the paused batch completes" in {
+    val collector = new WorkerMetricsCollector()
+    collector.start()
+    collector.recordBusyTime(4 * ms)
+    val paused = snapshot(collector)
+    assert(paused.busyTimeMs == 4)
+    assert(paused.batchLatency.getTotalCount == 0)
+  }
+
+  "A WorkerMetricsCollector" should "only report the batches completed since the previous snapshot" in {
+    val collector = new WorkerMetricsCollector()
+    collector.start()
+    collector.recordBatch(1 * ms, 1 * ms)
+    collector.recordBatch(2 * ms, 2 * ms)
+    assert(snapshot(collector).batchLatency.getTotalCount == 2)
+    collector.recordBatch(3 * ms, 3 * ms)
+    val metrics = snapshot(collector)
+    assert(metrics.batchLatency.getTotalCount == 1)
+    assert(Math.abs(metrics.batchLatency.getMaxValue - 3000) <= 30)
+    // the busy time is a running total
+    assert(metrics.busyTimeMs == 6)
+    assert(snapshot(collector).batchLatency.getTotalCount == 0)
+  }
+
+  "A WorkerMetricsCollector" should "drop the recorded batches on reset" in {
+    val collector = new WorkerMetricsCollector()
+    collector.start()
+    collector.recordBatch(1 * ms, 1 * ms)
+    collector.reset()
+    val metrics = snapshot(collector)
+    assert(metrics.busyTimeMs == 0)
+    assert(metrics.batchLatency.getTotalCount == 0)
+  }
+
+}
@@ -0,0 +1,108 @@
+package edu.uci.ics.texera.workflow.common.operators.aggregate
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.{Attribute, AttributeType, Schema}
+import org.scalatest.FlatSpec
+
+import scala.collection.JavaConverters._
+
+class GroupHashTableSpec extends FlatSpec {
+
+  val schema: Schema = Schema
+    .newBuilder()
+    .add(
+      List(
+        new Attribute("name", AttributeType.STRING),
+        new Attribute("id", AttributeType.INTEGER),
+        new Attribute("value", AttributeType.DOUBLE)
+      ).asJava
+    )
+    .build()
+
+  def tuple(name: String, id: Integer, value: java.lang.Double = 1.0): Tuple =
+    new Tuple(schema, name, id, value)
+
+  "A GroupHashTable" should "assign consecutive ids to distinct keys" in {
+    val table = new GroupHashTable(Array(0))
+    assert(table.getOrInsert(tuple("a", 1)) == 0)
+    assert(table.getOrInsert(tuple("b", 1)) == 1)
+    assert(table.getOrInsert(tuple("a", 2)) == 0)
+    assert(table.getOrInsert(tuple("c", 3)) == 2)
+    assert(table.size == 3)
+    assert(table.getKey(1).toSeq == Seq("b"))
+  }
+
+  "A GroupHashTable" should "keep the groups of many keys when it grows" in {
+    val table = new GroupHashTable(Array(0, 1))
+    for (i <- 0 until 10000) {
+      assert(table.getOrInsert(tuple("name" + (i % 7), i)) == i)
+    }
+    for (i <- 0 until 10000) {
+      assert(table.getOrInsert(tuple("name" + (i % 7), i)) == i)
+      assert(table.getKey(i).toSeq == Seq("name" + (i % 7), i))
+    }
+    assert(table.size == 10000)
+  }
+
+  "A GroupHashTable" should "tell apart keys with the same hash code" in {
+    // "Aa" and "BB" have the same hash code
+    assert("Aa".hashCode == "BB".hashCode)
+    val table = new GroupHashTable(Array(0))
+    assert(table.getOrInsert(tuple("Aa", 1)) == 0)
+    assert(table.getOrInsert(tuple("BB", 1)) == 1)
+    assert(table.getOrInsert(tuple("Aa", 1)) == 0)
+    assert(table.getOrInsert(tuple("BB", 1)) == 1)
+  }
+
+  "A GroupHashTable" should "group null key fields together" in {
+    val table = new GroupHashTable(Array(0, 1))
+    assert(table.getOrInsert(tuple(null, 1)) == 0)
+    assert(table.getOrInsert(tuple(null, null)) == 1)
+    assert(table.getOrInsert(tuple(null, 1)) == 0)
+    assert(table.getOrInsert(tuple(null, null)) == 1)
+    assert(table.getKey(1).toSeq == Seq(null, null))
+  }
+
+  "A GroupHashTable without keys" should "put all the tuples in one group" in {
+    val table = new GroupHashTable(Array())
+    assert(table.getOrInsert(tuple("a", 1)) == 0)
+    assert(table.getOrInsert(tuple("b", 2)) == 0)
+    assert(table.size == 1)
+  }
+
+  "A cleared GroupHashTable" should "assign ids from 0 again" in {
+    val table = new GroupHashTable(Array(0))
+    (0 until 100).foreach(i => table.getOrInsert(tuple("name" + i, i)))
+    table.clear()
+    assert(table.size == 0)
+    assert(table.getOrInsert(tuple("name50", 50)) == 0)
+  }
+
+  "A NumericAccumulator" should "aggregate the tuples and merge the partial results of each group" in {
+    val table = new GroupHashTable(Array(0))
+    val sum = new NumericAccumulator(NumericAggregationFunction.SUM, "value")
+    val max = new NumericAccumulator(NumericAggregationFunction.MAX, "value")
+    for (i <- 0 until 100) {
+      val t = tuple("name" + (i % 3), i, if (i == 99) null else Double.box(i))
+      val group = table.getOrInsert(t)
+      if (group == table.size - 1 && i < 3) {
+        sum.init(group)
+        max.init(group)
+      }
+      sum.iterate(group, t)
+      max.iterate(group, t)
+    }
+    // name0 has 0, 3, ..., 96 and a null value
+    assert(sum.get(0) == NumericPartialObj((0 until 99 by 3).sum, 33))
+    assert(max.get(0) == NumericPartialObj(96, 33))
+    assert(max.get(1) == NumericPartialObj(97, 33))
+
+    val merged = new NumericAccumulator(NumericAggregationFunction.MAX, "value")
+    merged.init(0)
+    merged.merge(0, NumericPartialObj(5, 2))
+    merged.merge(0, NumericPartialObj(0, 0))
+    merged.merge(0, NumericPartialObj(-1, 1))
+    assert(merged.get(0) == NumericPartialObj(5, 3))
+  }
+
+}
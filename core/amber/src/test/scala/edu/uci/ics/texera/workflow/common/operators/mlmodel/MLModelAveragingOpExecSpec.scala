@@ -0,0 +1,42 @@
+package edu.uci.ics.texera.workflow.common.operators.mlmodel
+
+import edu.uci.ics.amber.engine.common.InputExhausted
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import org.scalatest.FlatSpec
+
+class MLModelAveragingOpExecSpec extends FlatSpec {
+
+  class ConstantModel extends MLModelOpExec {
+    var parameters: Array[Double] = Array(0, 0)
+    override def getTotalEpochsCount: Int = 1
+    override def getColumnAttributes: Array[String] = Array()
+    override def getParameterNames: Array[String] = Array("w", "b")
+    override def predict(from: Int, until: Int): Unit = {}
+    override def calculateLossGradient(from: Int, until: Int): Unit = {}
+    override def readjustWeight(): Unit = {}
+    override def getParameters: Array[Double] = parameters
+    override def setParameters(parameters: Array[Double]): Unit = this.parameters = parameters
+  }
+
+  def parametersTuple(parameters: Array[Double], rowCount: Int): Tuple =
+    new Tuple(MLModelOpExec.parametersSchema, MLModelParameters(parameters, rowCount))
+
+  "An MLModelAveragingOpExec" should "output the parameters averaged by row count" in {
+    val exec = new MLModelAveragingOpExec(new ConstantModel)
+    assert(exec.processTexeraTuple(Left(parametersTuple(Array(1, 10), 100)), 0).isEmpty)
+    assert(exec.processTexeraTuple(Left(parametersTuple(Array(3, 20), 300)), 0).isEmpty)
+    val output = exec.processTexeraTuple(Right(InputExhausted()), 0).toList
+    assert(output.size == 1)
+    val model = output.head
+    assert(model.getSchema == MLModelOpExec.modelSchema(Array("w", "b")))
+    assert(model.getField[Double]("w") == 2.5)
+    assert(model.getField[Double]("b") == 17.5)
+    assert(model.getField[Int](MLModelOpExec.ROW_COUNT) == 400)
+  }
+
+  "An MLModelAveragingOpExec" should "output nothing without any trained rows" in {
+    val exec = new MLModelAveragingOpExec(new ConstantModel)
+    assert(exec.processTexeraTuple(Right(InputExhausted()), 0).isEmpty)
+  }
+
+}
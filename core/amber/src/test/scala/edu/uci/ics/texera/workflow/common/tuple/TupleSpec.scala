@@ -0,0 +1,40 @@
+package edu.uci.ics.texera.workflow.common.tuple
+
+import edu.uci.ics.texera.workflow.common.tuple.schema.{AttributeType, Schema}
+import org.scalatest.FlatSpec
+
+class TupleSpec extends FlatSpec {
+
+  def schema(): Schema =
+    Schema
+      .newBuilder()
+      .add("id", AttributeType.INTEGER)
+      .add("name", AttributeType.STRING)
+      .build()
+
+  "Schema.intern" should "return the same instance for equal schemas" in {
+    val interned = Schema.intern(schema())
+    assert(Schema.intern(schema()) eq interned)
+    assert(Schema.intern(interned) eq interned)
+  }
+
+  "A PositionalBuilder" should "start the next tuple after a field of the wrong type" in {
+    val builder = Tuple.newBuilder(schema())
+    builder.add(Int.box(1))
+    assertThrows[RuntimeException] {
+      builder.add(Int.box(2))
+    }
+    val tuple = builder.add(Int.box(3)).add("c").build()
+    assert(tuple == new Tuple(schema(), Int.box(3), "c"))
+  }
+
+  "A PositionalBuilder" should "start the next tuple after too many fields" in {
+    val builder = Tuple.newBuilder(schema())
+    builder.add(Int.box(1)).add("a")
+    assertThrows[RuntimeException] {
+      builder.add("b")
+    }
+    assert(builder.build() == new Tuple(schema(), Seq[AnyRef](null, null): _*))
+  }
+
+}
@@ -0,0 +1,81 @@
+package edu.uci.ics.texera.workflow.common.tuple
+
+import java.nio.file.Files
+import java.time.LocalDate
+
+import edu.uci.ics.texera.workflow.common.tuple.schema.{AttributeType, Schema}
+import org.scalatest.FlatSpec
+
+class TupleSpillFileSpec extends FlatSpec {
+
+  val schema: Schema = Schema
+    .newBuilder()
+    .add("id", AttributeType.INTEGER)
+    .add("name", AttributeType.STRING)
+    .add("score", AttributeType.DOUBLE)
+    .add("valid", AttributeType.BOOLEAN)
+    .add("other", AttributeType.ANY)
+    .build()
+
+  def tuple(id: Int): Tuple =
+    new Tuple(
+      schema,
+      Int.box(id),
+      if (id % 10 == 0) null else "name" + id,
+      Double.box(id / 2.0),
+      Boolean.box(id % 2 == 0),
+      if (id % 3 == 0) Long.box(id) else LocalDate.ofEpochDay(id)
+    )
+
+  "A TupleSpillFile" should "read back the tuples in the order they were written" in {
+    val file = new TupleSpillFile()
+    val tuples = (0 until 2 * TupleSpillFile.INDEX_INTERVAL + 17).map(tuple)
+    tuples.foreach(file.write)
+    assert(file.size == tuples.size)
+    assert(file.iterator().toList == tuples)
+    // a file can be read again
+    assert(file.iterator().toList == tuples)
+    file.delete()
+    assert(!Files.exists(file.path))
+  }
+
+  "A TupleSpillFile" should "read an empty file" in {
+    val file = new TupleSpillFile()
+    assert(!file.iterator().hasNext)
+    file.delete()
+  }
+
+  "A TupleSpillFile" should "start reading from any tuple" in {
+    val file = new TupleSpillFile()
+    val tuples = (0 until 2 * TupleSpillFile.INDEX_INTERVAL + 17).map(tuple)
+    tuples.foreach(file.write)
+    for (from <- Seq(0, 1, TupleSpillFile.INDEX_INTERVAL - 1, TupleSpillFile.INDEX_INTERVAL, 1500, tuples.size - 1)) {
+      assert(file.read(from, 10).toList == tuples.slice(from, from + 10))
+    }
+    assert(file.read(tuples.size, 10).isEmpty)
+    assert(file.read(-5, 2).toList == tuples.take(2))
+    file.delete()
+  }
+
+  "A TupleSpillFile" should "only show the tuples written before a reader was opened" in {
+    val file = new TupleSpillFile()
+    (0 until 5).map(tuple).foreach(file.write)
+    val reader = file.iterator()
+    (5 until 10).map(tuple).foreach(file.write)
+    assert(reader.toList == (0 until 5).map(tuple))
+    assert(file.iterator().toList == (0 until 10).map(tuple))
+    file.delete()
+  }
+
+  "A TupleSpillFile" should "keep the schema of each tuple" in {
+    val otherSchema = Schema.newBuilder().add("word", AttributeType.STRING).build()
+    val file = new TupleSpillFile()
+    val tuples = Seq(tuple(1), new Tuple(otherSchema, "a"), tuple(2), new Tuple(otherSchema, "b"))
+    tuples.foreach(file.write)
+    val read = file.iterator().toList
+    assert(read == tuples)
+    assert(read.map(t => t.getSchema) == tuples.map(t => t.getSchema))
+    file.delete()
+  }
+
+}
@@ -0,0 +1,32 @@
+package edu.uci.ics.texera.workflow.common.workflow
+
+import edu.uci.ics.texera.workflow.common.WorkflowContext
+import edu.uci.ics.texera.workflow.operators.hashJoin.HashJoinOpDesc
+import edu.uci.ics.texera.workflow.operators.sink.SimpleSinkOpDesc
+import org.scalatest.FlatSpec
+
+import scala.collection.mutable
+
+class WorkflowCompilerSpec extends FlatSpec {
+
+  def operator(id: String, desc: SimpleSinkOpDesc = new SimpleSinkOpDesc()): SimpleSinkOpDesc = {
+    desc.operatorID = id
+    desc
+  }
+
+  "A WorkflowCompiler" should "order the inputs of an operator by port, not by link" in {
+    val join = new HashJoinOpDesc()
+    join.operatorID = "join"
+    val links = mutable.MutableList(
+      OperatorLink("probe", "join", 1),
+      OperatorLink("build", "join", 0)
+    )
+    val compiler = new WorkflowCompiler(
+      WorkflowInfo(mutable.MutableList(operator("build"), operator("probe"), join), links, mutable.MutableList()),
+      new WorkflowContext()
+    )
+    compiler.init()
+    assert(join.inputOperatorIDs == List("build", "probe"))
+  }
+
+}
@@ -0,0 +1,86 @@
+package edu.uci.ics.texera.workflow.operators.filter
+
+import edu.uci.ics.texera.workflow.common.Utils.objectMapper
+import edu.uci.ics.texera.workflow.common.metadata.OperatorMetadataGenerator
+import edu.uci.ics.texera.workflow.common.operators.OperatorDescriptor
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.{Attribute, AttributeType, Schema}
+import org.scalatest.FlatSpec
+
+import scala.collection.JavaConverters._
+
+class SpecializedFilterOpSpec extends FlatSpec {
+
+  val schema: Schema = Schema
+    .newBuilder()
+    .add(
+      List(
+        new Attribute("id", AttributeType.INTEGER),
+        new Attribute("score", AttributeType.DOUBLE),
+        new Attribute("name", AttributeType.STRING)
+      ).asJava
+    )
+    .build()
+
+  val tuples: Seq[Tuple] = Seq(
+    new Tuple(schema, Int.box(1), Double.box(10.5), "a"),
+    new Tuple(schema, Int.box(2), Double.box(20.5), "b"),
+    new Tuple(schema, Int.box(3), Double.box(30.5), "c"),
+    new Tuple(schema, Int.box(4), Double.box(40.5), null)
+  )
+
+  def filter(json: String): Seq[Any] = {
+    val opDesc = objectMapper.readValue(json, classOf[OperatorDescriptor])
+    val opExec = new SpecializedFilterOpExec(opDesc.asInstanceOf[SpecializedFilterOpDesc])
+    tuples.filter(t => opExec.filterFunc(t)).map(_.get(0))
+  }
+
+  "A filter" should "combine the predicates in OR, or in AND if match all is set" in {
+    val predicates =
+      """[{"attribute": "id", "condition": ">", "value": "1"},
+        | {"attribute": "name", "condition": "!=", "value": "C"}]""".stripMargin
+    assert(filter(s"""{"operatorType": "Filter", "predicates": $predicates}""") == Seq(1, 2, 3, 4))
+    assert(
+      filter(s"""{"operatorType": "Filter", "predicates": $predicates, "match all": true}""") == Seq(2)
+    )
+  }
+
+  "A filter" should "evaluate nested groups of predicates" in {
+    // id = 1 OR (score > 25 AND name = "c") OR (id = 2 AND (score < 0 OR name = "b"))
+    val json =
+      """{"operatorType": "Filter",
+        | "predicates": [{"attribute": "id", "condition": "=", "value": "1"}],
+        | "groups": [
+        |   {"match all": true, "predicates": [
+        |     {"attribute": "score", "condition": ">", "value": "25"},
+        |     {"attribute": "name", "condition": "=", "value": "c"}]},
+        |   {"match all": true,
+        |    "predicates": [{"attribute": "id", "condition": "=", "value": "2"}],
+        |    "groups": [{"predicates": [
+        |      {"attribute": "score", "condition": "<", "value": "0"},
+        |      {"attribute": "name", "condition": "=", "value": "b"}]}]}
+        | ]}""".stripMargin
+    assert(filter(json) == Seq(1, 2, 3))
+  }
+
+  "A filter" should "compile again for a different schema" in {
+    val opDesc = objectMapper.readValue(
+      """{"operatorType": "Filter", "predicates": [{"attribute": "name", "condition": "=", "value": "b"}]}""",
+      classOf[OperatorDescriptor]
+    )
+    val opExec = new SpecializedFilterOpExec(opDesc.asInstanceOf[SpecializedFilterOpDesc])
+    val otherSchema = Schema
+      .newBuilder()
+      .add(List(new Attribute("name", AttributeType.STRING)).asJava)
+      .build()
+    assert(opExec.filterFunc(tuples(1)))
+    assert(opExec.filterFunc(new Tuple(otherSchema, "b")))
+    assert(!opExec.filterFunc(tuples(0)))
+  }
+
+  "The filter operator" should "have a JSON schema for its nested groups" in {
+    val jsonSchema = OperatorMetadataGenerator.generateOperatorJsonSchema(classOf[SpecializedFilterOpDesc])
+    assert(jsonSchema.toString.contains("FilterPredicateGroup"))
+  }
+
+}
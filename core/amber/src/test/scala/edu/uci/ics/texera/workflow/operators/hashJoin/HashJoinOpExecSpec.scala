@@ -0,0 +1,88 @@
+package edu.uci.ics.texera.workflow.operators.hashJoin
+
+import edu.uci.ics.amber.engine.common.InputExhausted
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.{AttributeType, Schema}
+import org.scalatest.FlatSpec
+
+class HashJoinOpExecSpec extends FlatSpec {
+
+  val buildSchema: Schema = Schema
+    .newBuilder()
+    .add("id", AttributeType.INTEGER)
+    .add("build", AttributeType.STRING)
+    .build()
+  val probeSchema: Schema = Schema
+    .newBuilder()
+    .add("id", AttributeType.INTEGER)
+    .add("probe", AttributeType.STRING)
+    .build()
+
+  def buildTuple(id: Integer, i: Int): Tuple = new Tuple(buildSchema, id, "build" + id + "-" + i)
+
+  def probeTuple(id: Integer): Tuple = new Tuple(probeSchema, id, "probe" + id)
+
+  /**
+    * Joins the build and probe tuples, the probe tuples are sent before the build input is exhausted
+    * if probeFirst is set. Returns the number of joined tuples of each key.
+    */
+  def join(
+      exec: HashJoinOpExec,
+      buildTuples: Seq[Tuple],
+      probeTuples: Seq[Tuple],
+      probeFirst: Boolean
+  ): Map[Int, Int] = {
+    val output = if (probeFirst) {
+      buildTuples.flatMap(t => exec.processTexeraTuple(Left(t), HashJoinOpExec.BUILD_INPUT)) ++
+        probeTuples.flatMap(t => exec.processTexeraTuple(Left(t), HashJoinOpExec.PROBE_INPUT)) ++
+        exec.processTexeraTuple(Right(InputExhausted()), HashJoinOpExec.BUILD_INPUT) ++
+        exec.processTexeraTuple(Right(InputExhausted()), HashJoinOpExec.PROBE_INPUT)
+    } else {
+      buildTuples.flatMap(t => exec.processTexeraTuple(Left(t), HashJoinOpExec.BUILD_INPUT)) ++
+        exec.processTexeraTuple(Right(InputExhausted()), HashJoinOpExec.BUILD_INPUT) ++
+        probeTuples.flatMap(t => exec.processTexeraTuple(Left(t), HashJoinOpExec.PROBE_INPUT)) ++
+        exec.processTexeraTuple(Right(InputExhausted()), HashJoinOpExec.PROBE_INPUT)
+    }
+    exec.close()
+    output.foreach(t => {
+      val id = t.getField[Int]("id")
+      assert(t.getField[String]("build").startsWith("build" + id + "-"))
+      assert(t.getField[String]("probe") == "probe" + id)
+    })
+    output.groupBy(t => t.getField[Int]("id")).mapValues(_.size)
+  }
+
+  "A HashJoinOpExec" should "join in memory, and skip null keys" in {
+    val exec = new HashJoinOpExec("id", "id")
+    val buildTuples = (0 until 100).map(id => buildTuple(id, 0)) :+ buildTuple(null, 0)
+    val probeTuples = (0 until 200).map(id => probeTuple(id)) :+ probeTuple(null)
+    val matches = join(exec, buildTuples, probeTuples, probeFirst = false)
+    assert(matches == (0 until 100).map(id => id -> 1).toMap)
+    assert(exec.buildFiles.forall(_ == null))
+  }
+
+  "A HashJoinOpExec" should "join the spilled partitions larger than the memory budget" in {
+    val exec = new HashJoinOpExec("id", "id", 50)
+    val buildTuples = for (i <- 0 until 3; id <- 0 until 2000) yield buildTuple(id, i)
+    val probeTuples = (0 until 3000).map(id => probeTuple(id))
+    val matches = join(exec, buildTuples, probeTuples, probeFirst = false)
+    assert(matches == (0 until 2000).map(id => id -> 3).toMap)
+  }
+
+  "A HashJoinOpExec" should "join the probe tuples received before the build input is exhausted" in {
+    val exec = new HashJoinOpExec("id", "id", 50)
+    val buildTuples = for (i <- 0 until 2; id <- 0 until 1000) yield buildTuple(id, i)
+    val probeTuples = (0 until 1000).map(id => probeTuple(id))
+    val matches = join(exec, buildTuples, probeTuples, probeFirst = true)
+    assert(matches == (0 until 1000).map(id => id -> 2).toMap)
+  }
+
+  "A HashJoinOpExec" should "load a skewed key larger than the memory budget as a whole" in {
+    val exec = new HashJoinOpExec("id", "id", 50)
+    val buildTuples = (0 until 500).map(i => buildTuple(7, i)) ++ (0 until 100).map(id => buildTuple(id, 0))
+    val probeTuples = (0 until 100).map(id => probeTuple(id))
+    val matches = join(exec, buildTuples, probeTuples, probeFirst = false)
+    assert(matches == (0 until 100).map(id => id -> (if (id == 7) 501 else 1)).toMap)
+  }
+
+}
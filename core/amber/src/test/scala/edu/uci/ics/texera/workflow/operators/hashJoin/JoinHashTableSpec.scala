@@ -0,0 +1,57 @@
+package edu.uci.ics.texera.workflow.operators.hashJoin
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.{AttributeType, Schema}
+import org.scalatest.FlatSpec
+
+class JoinHashTableSpec extends FlatSpec {
+
+  val schema: Schema = Schema
+    .newBuilder()
+    .add("id", AttributeType.INTEGER)
+    .add("name", AttributeType.STRING)
+    .build()
+
+  def tuple(id: Int, i: Int): Tuple = new Tuple(schema, Int.box(id), "name" + id + "-" + i)
+
+  def insert(table: JoinHashTable, tuple: Tuple): Unit = table.insert(JoinHashTable.hash(tuple.get(0)), tuple)
+
+  def probe(table: JoinHashTable, key: Any): List[Tuple] = table.probe(JoinHashTable.hash(key), key).toList
+
+  "A JoinHashTable" should "return all the tuples of a key, after growing" in {
+    val table = new JoinHashTable(0)
+    for (i <- 0 until 3; id <- 0 until 1000) {
+      insert(table, tuple(id, i))
+    }
+    assert(table.size == 3000)
+    for (id <- 0 until 1000) {
+      assert(probe(table, id).toSet == (0 until 3).map(i => tuple(id, i)).toSet)
+    }
+    assert(probe(table, 1000).isEmpty)
+  }
+
+  "A JoinHashTable" should "tell apart keys in the same bucket and with the same hash" in {
+    val table = new JoinHashTable(0)
+    // with 16 buckets, keys whose hashes are 16 apart share a bucket
+    val keys = (0 until 10000).filter(id => (JoinHashTable.hash(id) & 15) == 0).take(5)
+    keys.foreach(id => insert(table, tuple(id, 0)))
+    keys.foreach(id => assert(probe(table, id) == List(tuple(id, 0))))
+    // a key with the same hash but a different value doesn't match
+    val sameHash = new Tuple(schema, Int.box(keys.head), "other")
+    assert(table.probe(JoinHashTable.hash(keys.head), "not an integer").isEmpty)
+    insert(table, sameHash)
+    assert(probe(table, keys.head).toSet == Set(tuple(keys.head, 0), sameHash))
+  }
+
+  "JoinHashTable.hash" should "be the same for numerically equal keys of different types" in {
+    assert(JoinHashTable.hash(42) == JoinHashTable.hash(42L))
+    assert(JoinHashTable.hash(42) == JoinHashTable.hash(42.0))
+  }
+
+  "HashJoinOpExec.partition" should "spread the keys of a partition over the next level" in {
+    val keys = Iterator.from(0).filter(id => HashJoinOpExec.partition(JoinHashTable.hash(id), 0) == 3).take(200)
+    val nextLevel = keys.map(id => HashJoinOpExec.partition(JoinHashTable.hash(id), 1)).toSet
+    assert(nextLevel == (0 until HashJoinOpExec.NUM_PARTITIONS).toSet)
+  }
+
+}
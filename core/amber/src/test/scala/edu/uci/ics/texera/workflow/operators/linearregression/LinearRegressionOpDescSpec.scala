@@ -0,0 +1,26 @@
+package edu.uci.ics.texera.workflow.operators.linearregression
+
+import org.scalatest.FlatSpec
+
+class LinearRegressionOpDescSpec extends FlatSpec {
+
+  def desc(numWorkers: Int): LinearRegressionOpDesc = {
+    val desc = new LinearRegressionOpDesc()
+    desc.numWorkers = numWorkers
+    desc
+  }
+
+  "LinearRegressionOpDesc" should "accept a positive number of workers" in {
+    assert(desc(1).validate().isEmpty)
+    assert(desc(4).validate().isEmpty)
+  }
+
+  "LinearRegressionOpDesc" should "reject a number of workers below 1" in {
+    for (numWorkers <- Seq(0, -1)) {
+      val violations = desc(numWorkers).validate()
+      assert(violations.length == 1)
+      assert(violations(0).propertyPath == "workers")
+    }
+  }
+
+}
@@ -0,0 +1,160 @@
+package edu.uci.ics.texera.workflow.operators.localscan
+
+import java.io.File
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.AttributeType
+import org.scalatest.{BeforeAndAfterEach, FlatSpec}
+
+import scala.collection.JavaConverters._
+import scala.collection.mutable.ArrayBuffer
+
+class CsvBlockScannerSpec extends FlatSpec with BeforeAndAfterEach {
+
+  var file: File = _
+
+  override def beforeEach(): Unit = {
+    file = File.createTempFile("csv-block-scanner-", ".csv")
+  }
+
+  override def afterEach(): Unit = {
+    file.delete()
+  }
+
+  def writeFile(content: String): Unit = {
+    Files.write(file.toPath, content.getBytes(StandardCharsets.UTF_8))
+  }
+
+  def scanRange(start: Long, end: Long): Seq[Seq[String]] = {
+    val scanner = new CsvBlockScanner(file.getPath, start, end, ',')
+    val records = new ArrayBuffer[Seq[String]]()
+    while (scanner.nextRecord()) {
+      records += (0 until scanner.getFieldCount).map(scanner.getString)
+    }
+    scanner.close()
+    records
+  }
+
+  def readTuples(numWorkers: Int, header: Boolean): Seq[Tuple] = {
+    val desc = new LocalCsvFileScanOpDesc()
+    desc.filePath = file.getPath
+    desc.delimiter = ","
+    desc.header = header
+    val schema = desc.sourceSchema()
+    val offsets = LocalCsvFileScanOpDesc.splitRecords(file.getPath, numWorkers, ',')
+    (0 until numWorkers).flatMap(i => {
+      val exec = new LocalCsvScanSourceOpExec(file.getPath, offsets(i), offsets(i + 1), ',', schema, header)
+      exec.open()
+      // the iterator is implemented in Java, only hasNext and next can be called on it
+      val iterator = exec.produceTexeraTuple()
+      val tuples = new ArrayBuffer[Tuple]()
+      while (iterator.hasNext) {
+        tuples += iterator.next()
+      }
+      exec.close()
+      tuples
+    })
+  }
+
+  def scanSplits(numWorkers: Int): Seq[Seq[String]] = {
+    val bounds = LocalCsvFileScanOpDesc.splitRecords(file.getPath, numWorkers, ',')
+    assert(bounds.head == 0 && bounds.last == file.length())
+    assert(bounds.sliding(2).forall(pair => pair(0) <= pair(1)))
+    (0 until numWorkers).flatMap(i => scanRange(bounds(i), bounds(i + 1)))
+  }
+
+  "A CsvBlockScanner" should "parse quoted fields with delimiters, line breaks and escaped quotes" in {
+    writeFile("1,\"a,b\",\"line\nbreak\"\r\n2,\"say \"\"hi\"\"\",\n3")
+    assert(
+      scanRange(0, file.length()) == Seq(
+        Seq("1", "a,b", "line\nbreak"),
+        Seq("2", "say \"hi\"", null),
+        Seq("3")
+      )
+    )
+  }
+
+  "Split ranges" should "cover every record exactly once when quoted line breaks cross the bounds" in {
+    // line breaks and quotes inside the quoted fields look like record boundaries to a naive split
+    val records = (0 until 200).map(i =>
+      Seq(i.toString, "\"multi\nline\n\"\"" + i + "\"\"\n\"", "\"\n\"", "x" * (i % 7 + 1))
+    )
+    writeFile(records.map(_.mkString(",")).mkString("\n") + "\n")
+    val expected = (0 until 200).map(i => Seq(i.toString, "multi\nline\n\"" + i + "\"\n", "\n", "x" * (i % 7 + 1)))
+    for (numWorkers <- Seq(1, 2, 3, 7, 16, 64)) {
+      assert(scanSplits(numWorkers) == expected)
+    }
+  }
+
+  "Split ranges" should "not start inside a quoted field whose lines look like records" in {
+    // the lines inside the quoted field have as many fields as the records, and the field spans several bounds
+    val inner = (0 until 50).map(i => "in" + i + ",side").mkString("\n")
+    val records = Seq(Seq("before", "1"), Seq("\"" + inner + "\"", "2"), Seq("after", "3"))
+    writeFile(records.map(_.mkString(",")).mkString("\n") + "\n")
+    val expected = Seq(Seq("before", "1"), Seq(inner, "2"), Seq("after", "3"))
+    for (numWorkers <- Seq(1, 2, 3, 7, 16)) {
+      assert(scanSplits(numWorkers) == expected)
+    }
+  }
+
+  "Split ranges" should "cover every record of a file with one column" in {
+    // every line of a quoted value is a well formed record of one column
+    val values = (0 until 100).map(i => if (i % 3 == 0) "\"x" + i + "\ny" + i + "\nz\"" else "v" + i)
+    writeFile(values.mkString("\n") + "\n")
+    val expected = (0 until 100).map(i => Seq(if (i % 3 == 0) "x" + i + "\ny" + i + "\nz" else "v" + i))
+    for (numWorkers <- Seq(1, 2, 3, 7, 16, 64)) {
+      assert(scanSplits(numWorkers) == expected)
+    }
+  }
+
+  "Record starts" should "be the first record at or after each offset" in {
+    writeFile("a,b\n\"c\nd\",e\nf,g\n")
+    // "a,b\n" is [0, 4), "\"c\nd\",e\n" is [4, 12), "f,g\n" is [12, 16)
+    val starts = CsvBlockScanner.findRecordStarts(file.getPath, Array(0L, 1L, 4L, 5L, 7L, 12L, 13L, 16L), ',')
+    assert(starts.toSeq == Seq(0L, 4L, 4L, 12L, 12L, 12L, 16L, 16L))
+  }
+
+  "Record starts" should "not be shifted by a stray quote in an unquoted field" in {
+    // the quotes of 5'3" are literal text, they don't open a quoted field
+    val records = (0 until 100).map(i => i + ",5'3\",x" + i)
+    writeFile(records.mkString("\n") + "\n")
+    for (numWorkers <- Seq(2, 3, 7)) {
+      assert(scanSplits(numWorkers).map(_.mkString(",")) == records)
+    }
+  }
+
+  "A CSV File Scan" should "skip the header line only once" in {
+    writeFile("id,name\n" + (0 until 100).map(i => i + ",name" + i).mkString("\n"))
+    val tuples = readTuples(4, header = true)
+    assert(tuples.map(_.get(0)) == (0 until 100))
+    assert(tuples.head.getSchema.getAttributeNames.asScala == Seq("id", "name"))
+
+    val noHeaderTuples = readTuples(4, header = false)
+    assert(noHeaderTuples.size == 101)
+    assert(noHeaderTuples.head.getSchema.getAttributeNames.asScala == Seq("column0", "column1"))
+  }
+
+  "A CSV File Scan" should "infer integer, double and string columns" in {
+    writeFile("int,double,string,empty\n1,1.5,a,\n-2,3,4,\n,,,\n")
+    val desc = new LocalCsvFileScanOpDesc()
+    desc.filePath = file.getPath
+    desc.delimiter = ","
+    desc.header = true
+    assert(
+      desc.sourceSchema().getAttributes.asScala.map(_.getType) ==
+        Seq(AttributeType.INTEGER, AttributeType.DOUBLE, AttributeType.STRING, AttributeType.STRING)
+    )
+  }
+
+  "A CSV File Scan" should "read a value that doesn't parse as the inferred type as null, not fail" in {
+    // the values are after the records sampled for inference
+    writeFile("id,name\n" + (0 until 2000).map(i => i + ",a").mkString("\n") + "\nN/A,b\n2000,c\n")
+    val tuples = readTuples(2, header = true)
+    assert(tuples.size == 2002)
+    assert(tuples(2000).get(0) == null && tuples(2000).get(1) == "b")
+    assert(tuples(2001).get(0) == 2000)
+  }
+
+}
@@ -0,0 +1,203 @@
+package edu.uci.ics.texera.workflow.operators.lucenesource
+
+import java.nio.file.Paths
+
+import edu.uci.ics.texera.api.field.{DoubleField, IDField, IntegerField, StringField, TextField}
+import edu.uci.ics.texera.api.schema.{Attribute, AttributeType => TableAttributeType, Schema => TableSchema}
+import edu.uci.ics.texera.api.tuple.{Tuple => TableTuple}
+import edu.uci.ics.texera.api.utils.TestUtils
+import edu.uci.ics.texera.storage.RelationManager
+import edu.uci.ics.texera.storage.constants.LuceneAnalyzerConstants
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.{AttributeType, Schema}
+import org.apache.lucene.index.DirectoryReader
+import org.apache.lucene.store.FSDirectory
+import org.scalatest.{BeforeAndAfterAll, FlatSpec}
+
+import scala.collection.JavaConverters._
+import scala.collection.mutable.ArrayBuffer
+
+/**
+  * Reads a table written through the RelationManager, in several segments and with deleted documents.
+  */
+class LuceneSourceOpSpec extends FlatSpec with BeforeAndAfterAll {
+
+  val table = "lucene_source_op_spec"
+  val modifiedTable = "lucene_source_op_spec_modified"
+  val segmentCount = 3
+  val segmentSize = 40
+
+  val tableSchema = new TableSchema(
+    new Attribute("id", TableAttributeType.INTEGER),
+    new Attribute("score", TableAttributeType.DOUBLE),
+    new Attribute("name", TableAttributeType.STRING),
+    new Attribute("content", TableAttributeType.TEXT)
+  )
+
+  // every 7th document is deleted
+  def isDeleted(id: Int): Boolean = id % 7 == 0
+
+  def tableTuple(id: Int): TableTuple =
+    new TableTuple(
+      tableSchema,
+      new IntegerField(id),
+      new DoubleField(id * 0.5),
+      new StringField("name" + id),
+      new TextField("content of " + id)
+    )
+
+  // each writer commits one segment
+  def writeSegment(tableName: String, ids: Range): Seq[IDField] = {
+    val writer = RelationManager.getInstance().getTableDataWriter(tableName)
+    writer.open()
+    val idFields = ids.map(id => writer.insertTuple(tableTuple(id)))
+    writer.close()
+    idFields
+  }
+
+  def createTable(tableName: String): Unit = {
+    val relationManager = RelationManager.getInstance()
+    if (relationManager.checkTableExistence(tableName)) {
+      relationManager.deleteTable(tableName)
+    }
+    relationManager.createTable(
+      tableName,
+      TestUtils.getDefaultTestIndex.resolve(tableName),
+      tableSchema,
+      LuceneAnalyzerConstants.standardAnalyzerString()
+    )
+  }
+
+  override def beforeAll(): Unit = {
+    createTable(table)
+    val idFields = (0 until segmentCount).flatMap(segment =>
+      writeSegment(table, segment * segmentSize until (segment + 1) * segmentSize)
+    )
+    val writer = RelationManager.getInstance().getTableDataWriter(table)
+    writer.open()
+    idFields.indices.filter(isDeleted).foreach(id => writer.deleteTupleByID(idFields(id)))
+    writer.close()
+
+    createTable(modifiedTable)
+    writeSegment(modifiedTable, 0 until 10)
+  }
+
+  override def afterAll(): Unit = {
+    RelationManager.getInstance().deleteTable(table)
+    RelationManager.getInstance().deleteTable(modifiedTable)
+  }
+
+  def schema(tableName: String): Schema = {
+    val desc = new LuceneSourceOpDesc()
+    desc.tableName = tableName
+    desc.sourceSchema()
+  }
+
+  // the commit generation, the segment starts and the number of documents of the latest commit of a table
+  def latestCommit(tableName: String): (Long, Array[Int], Int) = {
+    val directory = FSDirectory.open(Paths.get(RelationManager.getInstance().getTableDirectory(tableName)))
+    val reader = DirectoryReader.open(directory)
+    try {
+      (reader.getIndexCommit.getGeneration, reader.leaves().asScala.map(_.docBase).toArray, reader.maxDoc())
+    } finally {
+      reader.close()
+      directory.close()
+    }
+  }
+
+  def readAll(exec: LuceneSourceOpExec): Seq[Tuple] = {
+    exec.open()
+    val iterator = exec.produceTexeraTuple()
+    val tuples = new ArrayBuffer[Tuple]()
+    while (iterator.hasNext) {
+      tuples += iterator.next()
+    }
+    exec.close()
+    tuples
+  }
+
+  "LuceneSourceOpDesc.splitDocIds" should "split evenly when the segments are skewed" in {
+    // a large first segment and small ones at the end, far from the even bounds
+    val bounds = LuceneSourceOpDesc.splitDocIds(1000, Array(0, 900, 950, 990), 4)
+    assert(bounds.toSeq == Seq(0, 250, 500, 750, 1000))
+  }
+
+  "LuceneSourceOpDesc.splitDocIds" should "move a bound to a segment start within a quarter of a range" in {
+    // the ranges are 250 documents wide, so the bounds are moved by at most 62 documents
+    assert(LuceneSourceOpDesc.splitDocIds(1000, Array(0, 240, 520, 800), 4).toSeq == Seq(0, 240, 520, 800, 1000))
+    assert(LuceneSourceOpDesc.splitDocIds(1000, Array(0, 188), 4).toSeq == Seq(0, 188, 500, 750, 1000))
+    assert(LuceneSourceOpDesc.splitDocIds(1000, Array(0, 187), 4).toSeq == Seq(0, 250, 500, 750, 1000))
+  }
+
+  "LuceneSourceOpDesc.splitDocIds" should "cover every document once with fewer documents than workers" in {
+    val bounds = LuceneSourceOpDesc.splitDocIds(3, Array(0), 8).toSeq
+    assert(bounds.head == 0 && bounds.last == 3)
+    assert(bounds == bounds.sorted)
+    assert(bounds.sliding(2).flatMap(pair => pair(0) until pair(1)).toSeq == (0 until 3))
+    assert(LuceneSourceOpDesc.splitDocIds(0, Array(), 1).toSeq == Seq(0, 0))
+  }
+
+  "LuceneSourceOpDesc.convertSchema" should "read text as string and leave out list attributes" in {
+    val converted = LuceneSourceOpDesc.convertSchema(
+      new TableSchema(
+        new Attribute("id", TableAttributeType.INTEGER),
+        new Attribute("score", TableAttributeType.DOUBLE),
+        new Attribute("content", TableAttributeType.TEXT),
+        new Attribute("spans", TableAttributeType.LIST),
+        new Attribute("day", TableAttributeType.DATE)
+      )
+    )
+    assert(
+      converted == Schema
+        .newBuilder()
+        .add("id", AttributeType.INTEGER)
+        .add("score", AttributeType.DOUBLE)
+        .add("content", AttributeType.STRING)
+        .add("day", AttributeType.STRING)
+        .build()
+    )
+  }
+
+  "The table" should "have several segments and deleted documents" in {
+    val directory = FSDirectory.open(Paths.get(RelationManager.getInstance().getTableDirectory(table)))
+    val reader = DirectoryReader.open(directory)
+    assert(reader.leaves().size() == segmentCount)
+    assert(reader.numDeletedDocs() > 0)
+    reader.close()
+    directory.close()
+  }
+
+  "LuceneSourceOpExec" should "read every live document exactly once across the ranges of the workers" in {
+    val (generation, segmentStarts, maxDoc) = latestCommit(table)
+    val tableDirectory = RelationManager.getInstance().getTableDirectory(table)
+    val liveIds = (0 until segmentCount * segmentSize).filterNot(isDeleted)
+    for (numWorkers <- Seq(1, 2, 3, 5, 16)) {
+      val bounds = LuceneSourceOpDesc.splitDocIds(maxDoc, segmentStarts, numWorkers)
+      val tuples = (0 until numWorkers).flatMap(i =>
+        readAll(new LuceneSourceOpExec(schema(table), tableDirectory, generation, bounds(i), bounds(i + 1)))
+      )
+      val ids = tuples.map(_.getField[Integer]("id").intValue())
+      assert(ids.sorted == liveIds)
+      tuples.foreach { tuple =>
+        val id = tuple.getField[Integer]("id").intValue()
+        assert(tuple.getField[java.lang.Double]("score") == id * 0.5)
+        assert(tuple.getField[String]("name") == "name" + id)
+        assert(tuple.getField[String]("content") == "content of " + id)
+      }
+    }
+  }
+
+  "LuceneSourceOpExec" should "fail clearly when the commit it was given no longer exists" in {
+    val (generation, _, maxDoc) = latestCommit(modifiedTable)
+    val tableDirectory = RelationManager.getInstance().getTableDirectory(modifiedTable)
+    // a later write replaces the commit, only the latest commit of an index is kept
+    writeSegment(modifiedTable, 10 until 20)
+    val exec = new LuceneSourceOpExec(schema(modifiedTable), tableDirectory, generation, 0, maxDoc)
+    val failure = intercept[RuntimeException] {
+      exec.open()
+    }
+    exec.close()
+    assert(failure.getMessage.contains("the table was modified after the workflow started"))
+  }
+
+}
@@ -0,0 +1,151 @@
+package edu.uci.ics.texera.workflow.operators.mysqlsource
+
+import java.sql.{Connection, DriverManager}
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.{AttributeType, Schema}
+import org.scalatest.FlatSpec
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+  * Runs the queries of the MySQL source on an in-memory H2 database in MySQL mode.
+  */
+class MysqlSourceOpSpec extends FlatSpec {
+
+  val url = "jdbc:h2:mem:mysqlsource;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+  val rowCount: Int = 2 * MysqlSourceOpExec.KEYSET_BATCH_SIZE + 500
+
+  val schema: Schema = Schema
+    .newBuilder()
+    .add("id", AttributeType.INTEGER)
+    .add("score", AttributeType.INTEGER)
+    .add("name", AttributeType.STRING)
+    .build()
+
+  // every 10th row has a null score
+  private val setup: Connection = DriverManager.getConnection(url)
+  setup.createStatement().execute("create table t (id int primary key, score int, name varchar(20))")
+  private val insert = setup.prepareStatement("insert into t values (?, ?, ?)")
+  for (id <- 1 to rowCount) {
+    insert.setInt(1, id)
+    insert.setObject(2, if (id % 10 == 0) null else Int.box(id % 97), java.sql.Types.INTEGER)
+    insert.setString(3, "name" + id)
+    insert.addBatch()
+  }
+  insert.executeBatch()
+  setup.close()
+
+  def exec(
+      limit: Integer,
+      offset: Integer,
+      partitionColumn: String,
+      lowerBound: java.lang.Long,
+      upperBound: java.lang.Long,
+      keyColumn: String
+  ): MysqlSourceOpExec =
+    new MysqlSourceOpExec(
+      schema,
+      "localhost",
+      "3306",
+      "texera",
+      "t",
+      "",
+      "",
+      limit,
+      offset,
+      null,
+      null,
+      partitionColumn,
+      lowerBound,
+      upperBound,
+      keyColumn
+    ) {
+      override protected def connect(): Connection = DriverManager.getConnection(url)
+    }
+
+  def readAll(exec: MysqlSourceOpExec): Seq[Tuple] = {
+    exec.open()
+    val iterator = exec.produceTexeraTuple()
+    val tuples = new ArrayBuffer[Tuple]()
+    while (iterator.hasNext) {
+      val tuple = iterator.next()
+      if (tuple != null) {
+        tuples += tuple
+      }
+    }
+    exec.close()
+    tuples
+  }
+
+  def desc(): MysqlSourceOpDesc = {
+    val desc = new MysqlSourceOpDesc() {
+      override protected def connect(): Connection = DriverManager.getConnection(url)
+    }
+    desc.table = "t"
+    desc
+  }
+
+  "MysqlSourceOpDesc.splitRange" should "split a range into ranges of equal width" in {
+    assert(MysqlSourceOpDesc.splitRange(0, 99, 4).toSeq == Seq(0L, 25L, 50L, 75L, 100L))
+    assert(MysqlSourceOpDesc.splitRange(-10, 9, 2).toSeq == Seq(-10L, 0L, 10L))
+  }
+
+  "MysqlSourceOpDesc.splitRange" should "cover a range narrower than the number of workers" in {
+    val bounds = MysqlSourceOpDesc.splitRange(5, 6, 4).toSeq
+    assert(bounds.head == 5 && bounds.last == 7)
+    assert(bounds == bounds.sorted)
+  }
+
+  "MysqlSourceOpDesc.splitRange" should "not overflow on the whole range of long" in {
+    val bounds = MysqlSourceOpDesc.splitRange(Long.MinValue, Long.MaxValue, 3).toSeq
+    assert(bounds.head == Long.MinValue && bounds.last == Long.MaxValue)
+    assert(bounds.sliding(2).forall(pair => pair(0) < pair(1)))
+  }
+
+  "MysqlSourceOpDesc" should "query the range of an integer partition column" in {
+    assert(desc().queryKeyRange("score").toSeq == Seq(0L, 96L))
+  }
+
+  "MysqlSourceOpDesc" should "reject a partition column which isn't an integer column" in {
+    val notInteger = intercept[RuntimeException] {
+      desc().queryKeyRange("name")
+    }
+    assert(notInteger.getMessage.contains("must be an integer column"))
+    val missing = intercept[RuntimeException] {
+      desc().queryKeyRange("missing")
+    }
+    assert(missing.getMessage.contains("does not exist"))
+  }
+
+  "MysqlSourceOpExec" should "read every row once across the partition ranges, with the null keys" in {
+    val numWorkers = 3
+    val bounds = MysqlSourceOpDesc.splitRange(0, 96, numWorkers)
+    val ids = (0 until numWorkers).flatMap(i =>
+      readAll(
+        exec(
+          null,
+          null,
+          "score",
+          if (i == 0) null else Long.box(bounds(i)),
+          if (i == numWorkers - 1) null else Long.box(bounds(i + 1)),
+          null
+        )
+      ).map(t => t.getField[Integer]("id").intValue())
+    )
+    assert(ids.sorted == (1 to rowCount))
+  }
+
+  "MysqlSourceOpExec" should "read the rows of a limit and offset in batches ordered by the key" in {
+    val limit = MysqlSourceOpExec.KEYSET_BATCH_SIZE * 2 + 5
+    val tuples = readAll(exec(limit, 7, null, null, null, "id"))
+    assert(tuples.map(t => t.getField[Integer]("id").intValue()) == (8 until 8 + limit))
+    assert(tuples.head.getField[String]("name") == "name8")
+  }
+
+  "MysqlSourceOpExec" should "read the rows after an offset until the end of the table" in {
+    val tuples = readAll(exec(null, rowCount - 3, null, null, null, "id"))
+    assert(tuples.map(t => t.getField[Integer]("id").intValue()) == (rowCount - 2 to rowCount))
+  }
+
+}
@@ -0,0 +1,79 @@
+package edu.uci.ics.texera.workflow.operators.sink
+
+import edu.uci.ics.amber.engine.common.ambertag.OperatorIdentifier
+import edu.uci.ics.amber.engine.common.tuple.ITuple
+import edu.uci.ics.texera.workflow.common.tuple.{Tuple, TupleSpillFile}
+import edu.uci.ics.texera.workflow.common.tuple.schema.{AttributeType, Schema}
+import org.scalatest.FlatSpec
+
+class SinkResultStoreSpec extends FlatSpec {
+
+  val schema: Schema = Schema.newBuilder().add("id", AttributeType.INTEGER).build()
+
+  // 5 tuples in memory, and more than 2 index intervals of spilled tuples
+  val count: Int = 5 + 2 * TupleSpillFile.INDEX_INTERVAL + 500
+
+  def newStore(): SinkResultStore = {
+    val store = new SinkResultStore(5)
+    for (i <- 0 until count) {
+      store.append(new Tuple(schema, Int.box(i)))
+    }
+    store
+  }
+
+  def ids(page: Array[ITuple]): Seq[Int] = page.map(tuple => tuple.asInstanceOf[Tuple].getField[Int]("id")).toSeq
+
+  "A SinkResultStore" should "read a page across the memory and disk boundary" in {
+    val store = newStore()
+    assert(store.getCount == count)
+    assert(ids(store.getPage(0, 3)) == (0 until 3))
+    assert(ids(store.getPage(2, 10)) == (2 until 12))
+    store.release()
+  }
+
+  "A SinkResultStore" should "read a page across the index intervals of the spill file" in {
+    val store = newStore()
+    val firstIntervalEnd = 5 + TupleSpillFile.INDEX_INTERVAL
+    assert(ids(store.getPage(firstIntervalEnd - 3, 6)) == (firstIntervalEnd - 3 until firstIntervalEnd + 3))
+    val secondIntervalEnd = 5 + 2 * TupleSpillFile.INDEX_INTERVAL
+    assert(ids(store.getPage(secondIntervalEnd - 3, 6)) == (secondIntervalEnd - 3 until secondIntervalEnd + 3))
+    assert(ids(store.getPage(0, count)) == (0 until count))
+    store.release()
+  }
+
+  "A SinkResultStore" should "return the tuples left when a page runs past the end" in {
+    val store = newStore()
+    assert(ids(store.getPage(count - 2, 10)) == (count - 2 until count))
+    assert(store.getPage(count + 10, 10).isEmpty)
+    store.release()
+  }
+
+  "A SinkResultStore" should "clamp a negative offset and limit" in {
+    val store = newStore()
+    assert(ids(store.getPage(-10, 3)) == (0 until 3))
+    assert(store.getPage(3, -1).isEmpty)
+    store.release()
+  }
+
+  "A SinkResultStore" should "be emptied by release, and filled again" in {
+    val store = newStore()
+    store.release()
+    assert(store.getCount == 0)
+    assert(store.getPage(0, 10).isEmpty)
+    for (i <- 0 until 10) {
+      store.append(new Tuple(schema, Int.box(i)))
+    }
+    assert(ids(store.getPage(3, 4)) == (3 until 7))
+    store.release()
+  }
+
+  "A SinkResultStore" should "only be kept for the retained sinks" in {
+    val sinkID = OperatorIdentifier("workflow", "sink")
+    assert(SinkResultStore.get(sinkID).isEmpty)
+    val store = SinkResultStore.retain(sinkID)
+    assert(SinkResultStore.get(sinkID).contains(store))
+    SinkResultStore.release(sinkID)
+    assert(SinkResultStore.get(sinkID).isEmpty)
+  }
+
+}
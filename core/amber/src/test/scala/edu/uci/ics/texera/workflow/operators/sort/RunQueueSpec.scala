@@ -0,0 +1,46 @@
+package edu.uci.ics.texera.workflow.operators.sort
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.{AttributeType, Schema}
+import org.scalatest.FlatSpec
+
+import scala.collection.mutable.ArrayBuffer
+
+class RunQueueSpec extends FlatSpec {
+
+  val schema: Schema = Schema.newBuilder().add("id", AttributeType.INTEGER).build()
+
+  def tuple(id: Int): Tuple = new Tuple(schema, Int.box(id))
+
+  def dequeueAll(queue: RunQueue): Seq[Tuple] = {
+    val tuples = new ArrayBuffer[Tuple]()
+    while (queue.nonEmpty) {
+      tuples += queue.dequeue()
+    }
+    tuples
+  }
+
+  "A RunQueue" should "keep the order of the tuples it spills" in {
+    val queue = new RunQueue(10)
+    (0 until 35).map(tuple).foreach(queue.enqueue)
+    assert(queue.head == tuple(0))
+    assert(dequeueAll(queue) == (0 until 35).map(tuple))
+    assert(queue.isEmpty)
+  }
+
+  "A RunQueue" should "keep the order when tuples arrive while a spill file is read back" in {
+    val queue = new RunQueue(10)
+    var next = 0
+    val dequeued = new ArrayBuffer[Tuple]()
+    for (_ <- 0 until 20) {
+      (0 until 7).foreach(_ => {
+        queue.enqueue(tuple(next))
+        next += 1
+      })
+      (0 until 5).foreach(_ => dequeued += queue.dequeue())
+    }
+    dequeued ++= dequeueAll(queue)
+    assert(dequeued == (0 until next).map(tuple))
+  }
+
+}
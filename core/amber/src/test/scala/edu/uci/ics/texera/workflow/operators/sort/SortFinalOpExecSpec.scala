@@ -0,0 +1,45 @@
+package edu.uci.ics.texera.workflow.operators.sort
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.{AttributeType, Schema}
+import org.scalatest.FlatSpec
+
+import scala.collection.mutable.ArrayBuffer
+
+class SortFinalOpExecSpec extends FlatSpec {
+
+  val schema: Schema = Schema
+    .newBuilder()
+    .add("id", AttributeType.INTEGER)
+    .add(SortPartialOpExec.INTERNAL_SORT_RUN, AttributeType.INTEGER)
+    .build()
+
+  def tuple(id: Int, run: Int): Tuple = new Tuple(schema, Int.box(id), Int.box(run))
+
+  def endMarker(run: Int): Tuple = new Tuple(SortPartialOpExec.endMarkerSchema, Int.box(run))
+
+  "A SortFinalOpExec" should "merge runs larger than its queues" in {
+    val exec = new SortFinalOpExec(2, List("id"), false, None, 10)
+    val output = new ArrayBuffer[Tuple]()
+    // the whole first run arrives before the second one
+    (0 until 100 by 2).foreach(id => output ++= exec.processTexeraTuple(Left(tuple(id, 0)), 0))
+    output ++= exec.processTexeraTuple(Left(endMarker(0)), 0)
+    assert(output.isEmpty)
+    (1 until 100 by 2).foreach(id => output ++= exec.processTexeraTuple(Left(tuple(id, 1)), 0))
+    output ++= exec.processTexeraTuple(Left(endMarker(1)), 0)
+    assert(output.map(t => t.get(0)) == (0 until 100).map(Int.box))
+    assert(output.forall(t => t.length() == 1))
+    exec.close()
+  }
+
+  "A SortFinalOpExec" should "stop the merge after k tuples" in {
+    val exec = new SortFinalOpExec(2, List("id"), false, Some(5), 2)
+    val output = new ArrayBuffer[Tuple]()
+    (0 until 20).foreach(id => output ++= exec.processTexeraTuple(Left(tuple(id, 0)), 0))
+    output ++= exec.processTexeraTuple(Left(endMarker(1)), 0)
+    output ++= exec.processTexeraTuple(Left(endMarker(0)), 0)
+    assert(output.map(t => t.get(0)) == (0 until 5).map(Int.box))
+    exec.close()
+  }
+
+}
@@ -0,0 +1,63 @@
+package edu.uci.ics.texera.workflow.operators.sort
+
+import edu.uci.ics.texera.workflow.common.tuple.Tuple
+import edu.uci.ics.texera.workflow.common.tuple.schema.{AttributeType, Schema}
+import org.scalatest.FlatSpec
+
+class TupleOrderingSpec extends FlatSpec {
+
+  val schema: Schema = Schema
+    .newBuilder()
+    .add("group", AttributeType.STRING)
+    .add("score", AttributeType.INTEGER)
+    .build()
+
+  def tuple(group: String, score: Integer): Tuple = new Tuple(schema, group, score)
+
+  def sortedFields(tuples: Seq[Tuple], ordering: TupleOrdering): Seq[(String, Integer)] =
+    tuples.sorted(ordering).map(t => (t.get(0).asInstanceOf[String], t.get(1).asInstanceOf[Integer]))
+
+  val tuples: Seq[Tuple] = Seq(
+    tuple("b", 2),
+    tuple("a", 3),
+    tuple(null, 1),
+    tuple("b", null),
+    tuple("a", 1),
+    tuple("b", 1)
+  )
+
+  "A TupleOrdering" should "order by the first sort field, then by the next ones" in {
+    assert(
+      sortedFields(tuples, new TupleOrdering(Array(0, 1), false)) == Seq(
+        ("a", 1),
+        ("a", 3),
+        ("b", 1),
+        ("b", 2),
+        ("b", null),
+        (null, 1)
+      )
+    )
+  }
+
+  "A TupleOrdering" should "reverse the order of the fields but keep nulls last when descending" in {
+    assert(
+      sortedFields(tuples, new TupleOrdering(Array(0, 1), true)) == Seq(
+        ("b", 2),
+        ("b", 1),
+        ("b", null),
+        ("a", 3),
+        ("a", 1),
+        (null, 1)
+      )
+    )
+  }
+
+  "A TupleOrdering" should "consider tuples equal when their sort fields are equal" in {
+    val ordering = new TupleOrdering(Array(0), false)
+    assert(ordering.compare(tuple("a", 1), tuple("a", 2)) == 0)
+    assert(ordering.compare(tuple(null, 1), tuple(null, 2)) == 0)
+    // the sort is stable, tuples with equal sort fields keep their input order
+    assert(sortedFields(tuples, ordering).take(2) == Seq(("a", 3), ("a", 1)))
+  }
+
+}
@@ -0,0 +1,56 @@
+package edu.uci.ics.texera.workflow.operators.visualization.wordCloud
+
+import org.scalatest.FlatSpec
+
+import scala.collection.JavaConverters._
+import scala.util.Random
+
+class SpaceSavingSketchSpec extends FlatSpec {
+
+  def top(sketch: SpaceSavingSketch, n: Int): List[(String, Int)] =
+    sketch.getTop(n).asScala.map(entry => (entry.getKey, entry.getValue.intValue())).toList
+
+  "A SpaceSavingSketch" should "count exactly when there are fewer terms than its capacity" in {
+    val sketch = new SpaceSavingSketch(10)
+    Seq("a", "b", "a", "c", "a", "b").foreach(sketch.add)
+    assert(top(sketch, 10) == List(("a", 3), ("b", 2), ("c", 1)))
+    assert(top(sketch, 2) == List(("a", 3), ("b", 2)))
+  }
+
+  "A SpaceSavingSketch" should "overestimate a count by at most total count / capacity" in {
+    // a zipf-like stream: term i appears about 1 / (i + 1) as often as term 0
+    val random = new Random(42)
+    val capacity = 50
+    val stream = (0 until 20000).map(_ => "term" + (1.0 / (random.nextDouble() + 0.0005) - 1).toInt.min(5000))
+    val frequencies = stream.groupBy(identity).mapValues(_.size)
+    val sketch = new SpaceSavingSketch(capacity)
+    stream.foreach(sketch.add)
+
+    val bound = stream.size / capacity
+    val counts = top(sketch, capacity)
+    assert(counts.size == capacity)
+    for ((term, count) <- counts) {
+      assert(count >= frequencies(term))
+      assert(count - frequencies(term) <= bound)
+    }
+    // every term more frequent than the bound is monitored
+    val monitored = counts.map(_._1).toSet
+    for ((term, frequency) <- frequencies if frequency > bound) {
+      assert(monitored.contains(term))
+    }
+  }
+
+  "A SpaceSavingSketch" should "return the heavy hitters in descending order of count" in {
+    // 2500 terms in 10 slots: a rare term's count can't exceed 250, the heavy hitters appear 500 and 1000 times
+    val sketch = new SpaceSavingSketch(10)
+    for (i <- 0 until 1000) {
+      sketch.add("frequent")
+      if (i % 2 == 0) sketch.add("common")
+      sketch.add("rare" + i)
+    }
+    val counts = top(sketch, 2)
+    assert(counts.map(_._1) == List("frequent", "common"))
+    assert(counts.head._2 >= 1000 && counts(1)._2 >= 500 && counts.head._2 > counts(1)._2)
+  }
+
+}
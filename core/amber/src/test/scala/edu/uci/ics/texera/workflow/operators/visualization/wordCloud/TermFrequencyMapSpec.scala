@@ -0,0 +1,46 @@
+package edu.uci.ics.texera.workflow.operators.visualization.wordCloud
+
+import org.scalatest.FlatSpec
+
+import scala.collection.mutable
+
+class TermFrequencyMapSpec extends FlatSpec {
+
+  def toMap(map: TermFrequencyMap): Map[String, Int] =
+    (0 until map.capacity())
+      .filter(slot => map.getTerm(slot) != null)
+      .map(slot => map.getTerm(slot) -> map.getCount(slot))
+      .toMap
+
+  "A TermFrequencyMap" should "add up the counts of the same term" in {
+    val map = new TermFrequencyMap
+    map.add("apple", 1)
+    map.add("banana", 2)
+    map.add("apple", 3)
+    assert(map.size() == 2)
+    assert(toMap(map) == Map("apple" -> 4, "banana" -> 2))
+  }
+
+  "A TermFrequencyMap" should "keep all the counts when it grows" in {
+    val map = new TermFrequencyMap
+    val expected = mutable.Map[String, Int]()
+    for (i <- 0 until 10000) {
+      val term = "term" + (i % 3000)
+      map.add(term, 1)
+      expected(term) = expected.getOrElse(term, 0) + 1
+    }
+    assert(map.size() == 3000)
+    assert(map.capacity() >= 2 * map.size())
+    assert(toMap(map) == expected.toMap)
+  }
+
+  "A TermFrequencyMap" should "count terms with colliding hash codes separately" in {
+    // "Aa" and "BB" have the same hash code
+    val map = new TermFrequencyMap
+    map.add("Aa", 1)
+    map.add("BB", 5)
+    map.add("Aa", 1)
+    assert(toMap(map) == Map("Aa" -> 2, "BB" -> 5))
+  }
+
+}
@@ -23,6 +23,13 @@ public class ListField<T> implements IField {
         this.list = ImmutableList.copyOf(list);
     }
 
+    /**
+     * For the subclasses that create their list lazily in getValue().
+     */
+    protected ListField() {
+        this.list = null;
+    }
+
     @Override
     public List<T> getValue() {
         return list;
@@ -32,7 +39,7 @@ public class ListField<T> implements IField {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((list == null) ? 0 : list.hashCode());
+        result = prime * result + ((getValue() == null) ? 0 : getValue().hashCode());
         return result;
     }
 
@@ -47,10 +54,12 @@ public class ListField<T> implements IField {
         }
 
         ListField<?> other = (ListField<?>) obj;
+        List<T> list = getValue();
+        List<?> otherList = other.getValue();
         if (list == null) {
-            if (other.list != null)
+            if (otherList != null)
                 return false;
-        } else if (!(list.containsAll(other.list) & other.list.containsAll(list)))
+        } else if (!(list.containsAll(otherList) & otherList.containsAll(list)))
             return false;
         return true;
     }
@@ -58,7 +67,7 @@ public class ListField<T> implements IField {
     @Override
     public String toString() {
         String getStringResult = new String();
-        for (T val : list) {
+        for (T val : getValue()) {
             getStringResult = getStringResult.concat(val.toString().concat(" "));
         }
         getStringResult = getStringResult.trim();
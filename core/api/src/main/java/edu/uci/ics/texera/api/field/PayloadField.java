@@ -0,0 +1,54 @@
+package edu.uci.ics.texera.api.field;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.collect.ImmutableList;
+
+import edu.uci.ics.texera.api.span.PackedPayload;
+import edu.uci.ics.texera.api.span.Span;
+import edu.uci.ics.texera.api.span.TermDictionary;
+
+/**
+ * PayloadField is the payload field of a tuple, backed by a PackedPayload.
+ * 
+ * It is still a list of spans for the operators that read the payload with getValue(),
+ *   but the spans are only created the first time getValue() is called.
+ *   Matchers read the packed payload directly with getPackedPayload().
+ *
+ */
+public class PayloadField extends ListField<Span> {
+
+    private final PackedPayload packedPayload;
+    private ImmutableList<Span> spanList = null;
+
+    public PayloadField(PackedPayload packedPayload) {
+        super();
+        this.packedPayload = packedPayload;
+    }
+
+    // serialized as its list of spans, like a ListField
+    @JsonIgnore
+    public PackedPayload getPackedPayload() {
+        return packedPayload;
+    }
+
+    @Override
+    public List<Span> getValue() {
+        if (spanList == null) {
+            spanList = ImmutableList.copyOf(packedPayload.toSpanList());
+        }
+        return spanList;
+    }
+
+    /**
+     * Returns the packed payload of a payload field, packing its spans if it's a plain ListField.
+     */
+    public static PackedPayload getPackedPayload(ListField<Span> payloadField) {
+        if (payloadField instanceof PayloadField) {
+            return ((PayloadField) payloadField).getPackedPayload();
+        }
+        return PackedPayload.fromSpans(payloadField.getValue(), new TermDictionary());
+    }
+
+}
@@ -59,7 +59,7 @@ public enum AttributeType {
             return DATE;
         } else if (fieldClass.equals(IDField.class)) {
             return _ID_TYPE;
-        } else if (fieldClass.equals(ListField.class)) {
+        } else if (ListField.class.isAssignableFrom(fieldClass)) {
             return LIST;
         } else {
             throw new TexeraException("Unkown IField class: " + fieldClass.getName());
@@ -0,0 +1,225 @@
+package edu.uci.ics.texera.api.span;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * PackedPayload is a compact representation of a payload, the analyzed tokens of the TEXT fields of a tuple.
+ * 
+ * Instead of one Span object per token, the tokens are kept in parallel int arrays:
+ *   the attribute, the term, the start and end offsets, and the token position of each token.
+ *   The terms are ids in a TermDictionary shared by the payloads of a batch,
+ *   and the original text of a token is a substring of its field value.
+ * 
+ * Spans are only created for the tokens a matcher asks for, by getSpan() and getSpans().
+ *
+ */
+public class PackedPayload {
+
+    private final TermDictionary dictionary;
+    private final String[] attributeNames;
+    private final String[] fieldValues;
+    private final int size;
+    private final int[] attributeIds;
+    private final int[] termIds;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] positions;
+    // the original text of each token, only kept for the payloads packed from spans
+    private final String[] values;
+
+    private PackedPayload(Builder builder) {
+        this.dictionary = builder.dictionary;
+        this.attributeNames = builder.attributeNames.toArray(new String[0]);
+        this.fieldValues = builder.fieldValues.toArray(new String[0]);
+        this.size = builder.size;
+        this.attributeIds = Arrays.copyOf(builder.attributeIds, size);
+        this.termIds = Arrays.copyOf(builder.termIds, size);
+        this.starts = Arrays.copyOf(builder.starts, size);
+        this.ends = Arrays.copyOf(builder.ends, size);
+        this.positions = Arrays.copyOf(builder.positions, size);
+        this.values = builder.values == null ? null : builder.values.toArray(new String[0]);
+    }
+
+    /**
+     * Packs a list of spans, for the payloads that were not built as a PackedPayload.
+     */
+    public static PackedPayload fromSpans(List<Span> spans, TermDictionary dictionary) {
+        Builder builder = new Builder(dictionary);
+        builder.values = new ArrayList<>(spans.size());
+        for (Span span : spans) {
+            builder.setAttribute(span.getAttributeName(), null);
+            builder.add(span.getKey(), span.getStart(), span.getEnd(), span.getTokenOffset());
+            builder.values.add(span.getValue());
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public TermDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public String getAttributeName(int i) {
+        return attributeNames[attributeIds[i]];
+    }
+
+    public int getTermId(int i) {
+        return termIds[i];
+    }
+
+    public String getTerm(int i) {
+        return dictionary.getTerm(termIds[i]);
+    }
+
+    public int getStart(int i) {
+        return starts[i];
+    }
+
+    public int getEnd(int i) {
+        return ends[i];
+    }
+
+    public int getPosition(int i) {
+        return positions[i];
+    }
+
+    public Span getSpan(int i) {
+        String value = values != null ? values[i] : fieldValues[attributeIds[i]].substring(starts[i], ends[i]);
+        return new Span(getAttributeName(i), starts[i], ends[i], getTerm(i), value, positions[i]);
+    }
+
+    public List<Span> toSpanList() {
+        List<Span> spans = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            spans.add(getSpan(i));
+        }
+        return spans;
+    }
+
+    /**
+     * Returns the spans of the tokens of an attribute whose term is one of the given terms.
+     */
+    public List<Span> getSpans(String attributeName, Collection<String> terms) {
+        List<Span> spans = new ArrayList<>();
+        int attributeId = getAttributeId(attributeName);
+        if (attributeId < 0) {
+            return spans;
+        }
+        BitSet termIdSet = dictionary.getIds(terms);
+        for (int i = 0; i < size; i++) {
+            if (attributeIds[i] == attributeId && termIdSet.get(termIds[i])) {
+                spans.add(getSpan(i));
+            }
+        }
+        return spans;
+    }
+
+    /**
+     * Returns the number of tokens of an attribute whose term is one of the given terms, without creating spans.
+     */
+    public int countTerms(String attributeName, Collection<String> terms) {
+        int attributeId = getAttributeId(attributeName);
+        if (attributeId < 0) {
+            return 0;
+        }
+        BitSet termIdSet = dictionary.getIds(terms);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (attributeIds[i] == attributeId && termIdSet.get(termIds[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int getAttributeId(String attributeName) {
+        for (int i = 0; i < attributeNames.length; i++) {
+            if (attributeNames[i].equals(attributeName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * PackedPayload.Builder appends the tokens of the fields of a tuple, one field after another:
+     *   setAttribute() sets the field of the tokens added next.
+     */
+    public static class Builder {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final TermDictionary dictionary;
+        private final List<String> attributeNames = new ArrayList<>();
+        private final List<String> fieldValues = new ArrayList<>();
+        private int currentAttributeId = -1;
+        private int size = 0;
+        private int[] attributeIds = new int[INITIAL_CAPACITY];
+        private int[] termIds = new int[INITIAL_CAPACITY];
+        private int[] starts = new int[INITIAL_CAPACITY];
+        private int[] ends = new int[INITIAL_CAPACITY];
+        private int[] positions = new int[INITIAL_CAPACITY];
+        private List<String> values = null;
+
+        public Builder(TermDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        public Builder setAttribute(String attributeName, String fieldValue) {
+            currentAttributeId = attributeNames.indexOf(attributeName);
+            if (currentAttributeId < 0) {
+                currentAttributeId = attributeNames.size();
+                attributeNames.add(attributeName);
+                fieldValues.add(fieldValue);
+            }
+            return this;
+        }
+
+        /**
+         * Adds a token, the term is copied only if it's not in the dictionary yet.
+         */
+        public Builder add(CharSequence term, int start, int end, int position) {
+            return add(dictionary.getOrAdd(term), start, end, position);
+        }
+
+        /**
+         * Adds a token whose term is already in the dictionary.
+         */
+        public Builder add(int termId, int start, int end, int position) {
+            if (currentAttributeId < 0) {
+                throw new IllegalStateException("the attribute of the token is not set");
+            }
+            if (size == termIds.length) {
+                int capacity = size * 2;
+                attributeIds = Arrays.copyOf(attributeIds, capacity);
+                termIds = Arrays.copyOf(termIds, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                positions = Arrays.copyOf(positions, capacity);
+            }
+            attributeIds[size] = currentAttributeId;
+            termIds[size] = termId;
+            starts[size] = start;
+            ends[size] = end;
+            positions[size] = position;
+            size++;
+            return this;
+        }
+
+        public TermDictionary getDictionary() {
+            return dictionary;
+        }
+
+        public PackedPayload build() {
+            return new PackedPayload(this);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package edu.uci.ics.texera.api.span;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * TermDictionary assigns an int id to every distinct term of a batch of payloads,
+ *   so that a PackedPayload stores each of its tokens as an id instead of a string.
+ * 
+ * A dictionary only grows, and it is not thread-safe:
+ *   it is meant to be shared by the payloads built by one operator (or one reader).
+ * 
+ * The terms are looked up by their characters, e.g. the CharTermAttribute of a token stream,
+ *   so looking up a term that's already in the dictionary doesn't create a String.
+ *
+ */
+public class TermDictionary {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // an open addressing hash table of term ids, -1 for empty slots
+    private int[] slots = newSlots(INITIAL_CAPACITY);
+    private final ArrayList<String> terms = new ArrayList<>();
+
+    /**
+     * Returns the id of the term, adding the term to the dictionary if it's not there.
+     */
+    public int getOrAdd(CharSequence term) {
+        int slot = findSlot(term, slots);
+        if (slots[slot] < 0) {
+            slots[slot] = terms.size();
+            terms.add(term.toString());
+            if (terms.size() * 2 > slots.length) {
+                rehash();
+            }
+            return terms.size() - 1;
+        }
+        return slots[slot];
+    }
+
+    /**
+     * Returns the id of the term, -1 if the term is not in the dictionary.
+     */
+    public int getId(CharSequence term) {
+        return slots[findSlot(term, slots)];
+    }
+
+    /**
+     * Returns the set of the ids of the terms that are in the dictionary.
+     */
+    public BitSet getIds(Collection<String> terms) {
+        BitSet ids = new BitSet();
+        for (String term : terms) {
+            int termId = getId(term);
+            if (termId >= 0) {
+                ids.set(termId);
+            }
+        }
+        return ids;
+    }
+
+    public String getTerm(int termId) {
+        return terms.get(termId);
+    }
+
+    public int size() {
+        return terms.size();
+    }
+
+    // the slot of the term, or the empty slot where it would be added
+    private int findSlot(CharSequence term, int[] table) {
+        int mask = table.length - 1;
+        int slot = mix(hash(term)) & mask;
+        while (table[slot] >= 0 && ! contentEquals(terms.get(table[slot]), term)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        int[] newSlots = newSlots(slots.length * 2);
+        for (int termId = 0; termId < terms.size(); termId++) {
+            newSlots[findSlot(terms.get(termId), newSlots)] = termId;
+        }
+        slots = newSlots;
+    }
+
+    private static int[] newSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, -1);
+        return slots;
+    }
+
+    // same as String.hashCode()
+    private static int hash(CharSequence term) {
+        int hash = 0;
+        for (int i = 0; i < term.length(); i++) {
+            hash = 31 * hash + term.charAt(i);
+        }
+        return hash;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean contentEquals(String term, CharSequence other) {
+        if (term.length() != other.length()) {
+            return false;
+        }
+        for (int i = 0; i < term.length(); i++) {
+            if (term.charAt(i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
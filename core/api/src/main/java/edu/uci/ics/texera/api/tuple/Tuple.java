@@ -1,5 +1,6 @@
 package edu.uci.ics.texera.api.tuple;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -9,6 +10,7 @@ import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -20,9 +22,15 @@ import com.google.common.collect.Streams;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import edu.uci.ics.texera.api.constants.DataConstants;
 import edu.uci.ics.texera.api.constants.JsonConstants;
 import edu.uci.ics.texera.api.exception.TexeraException;
+import edu.uci.ics.texera.api.field.DoubleField;
+import edu.uci.ics.texera.api.field.IDField;
 import edu.uci.ics.texera.api.field.IField;
+import edu.uci.ics.texera.api.field.IntegerField;
+import edu.uci.ics.texera.api.field.StringField;
+import edu.uci.ics.texera.api.field.TextField;
 import edu.uci.ics.texera.api.schema.Attribute;
 import edu.uci.ics.texera.api.schema.AttributeType;
 import edu.uci.ics.texera.api.schema.Schema;
@@ -138,13 +146,39 @@ public class Tuple {
      * @return
      */
     public ObjectNode getReadableJson() {
-        ObjectNode objectNode = new ObjectMapper().createObjectNode();
+        ObjectMapper objectMapper = DataConstants.defaultObjectMapper;
+        ObjectNode objectNode = objectMapper.createObjectNode();
         for (String attrName : this.schema.getAttributeNames()) {
-            JsonNode valueNode = new ObjectMapper().convertValue(this.getField(attrName), JsonNode.class).get(JsonConstants.FIELD_VALUE);
+            JsonNode valueNode = objectMapper.convertValue(this.getField(attrName), JsonNode.class).get(JsonConstants.FIELD_VALUE);
             objectNode.set(attrName, valueNode);
         }
         return objectNode;
     }
+
+    /**
+     * Writes the human-readable json of this tuple (see getReadableJson()) to a json generator,
+     *   without building a json tree for the string and number fields.
+     */
+    public void writeReadableJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        List<Attribute> attributes = this.schema.getAttributes();
+        for (int i = 0; i < attributes.size(); i++) {
+            IField field = fields.get(i);
+            generator.writeFieldName(attributes.get(i).getName());
+            if (field.getValue() == null) {
+                generator.writeNull();
+            } else if (field instanceof StringField || field instanceof TextField || field instanceof IDField) {
+                generator.writeString((String) field.getValue());
+            } else if (field instanceof IntegerField) {
+                generator.writeNumber(((IntegerField) field).getValue());
+            } else if (field instanceof DoubleField) {
+                generator.writeNumber(((DoubleField) field).getValue());
+            } else {
+                generator.writeTree(DataConstants.defaultObjectMapper.valueToTree(field).get(JsonConstants.FIELD_VALUE));
+            }
+        }
+        generator.writeEndObject();
+    }
     
     /*
      * Checks if the list of attributes matches the list of fields
@@ -170,7 +204,7 @@ public class Tuple {
      * Checks if the attribute's type matches the field object's type
      */
     private static void checkAttributeMatchesField(Attribute attribute, IField field) throws TexeraException {
-        if (! field.getClass().equals(attribute.getType().getFieldClass())) {
+        if (! attribute.getType().getFieldClass().isInstance(field)) {
             throw new TexeraException(String.format(
                     "Attribute %s's type (%s) is different from field's type (%s)", 
                     attribute.getName(), attribute.getType(),
@@ -0,0 +1,72 @@
+package edu.uci.ics.texera.api.span;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.uci.ics.texera.api.field.ListField;
+import edu.uci.ics.texera.api.field.PayloadField;
+
+public class PackedPayloadTest {
+
+    private static PackedPayload buildPayload(TermDictionary dictionary) {
+        String content = "The quick brown fox";
+        String title = "quick fox";
+        return new PackedPayload.Builder(dictionary)
+                .setAttribute("content", content)
+                .add("quick", 4, 9, 1)
+                .add("brown", 10, 15, 2)
+                .add("fox", 16, 19, 3)
+                .setAttribute("title", title)
+                .add("quick", 0, 5, 0)
+                .add("fox", 6, 9, 1)
+                .build();
+    }
+
+    @Test
+    public void testMaterializeSpans() {
+        TermDictionary dictionary = new TermDictionary();
+        PackedPayload payload = buildPayload(dictionary);
+
+        List<Span> expectedSpans = Arrays.asList(
+                new Span("content", 4, 9, "quick", "quick", 1),
+                new Span("content", 10, 15, "brown", "brown", 2),
+                new Span("content", 16, 19, "fox", "fox", 3),
+                new Span("title", 0, 5, "quick", "quick", 0),
+                new Span("title", 6, 9, "fox", "fox", 1));
+
+        Assert.assertEquals(5, payload.size());
+        Assert.assertEquals(3, dictionary.size());
+        Assert.assertEquals(expectedSpans, payload.toSpanList());
+        Assert.assertEquals(new ListField<Span>(expectedSpans), new PayloadField(payload));
+    }
+
+    @Test
+    public void testGetSpans() {
+        PackedPayload payload = buildPayload(new TermDictionary());
+        List<String> terms = Arrays.asList("fox", "quick", "dog");
+
+        Assert.assertEquals(2, payload.countTerms("content", terms));
+        Assert.assertEquals(
+                Arrays.asList(new Span("content", 4, 9, "quick", "quick", 1), new Span("content", 16, 19, "fox", "fox", 3)),
+                payload.getSpans("content", terms));
+        Assert.assertEquals(0, payload.countTerms("content", Arrays.asList("dog")));
+        Assert.assertEquals(0, payload.countTerms("description", terms));
+    }
+
+    @Test
+    public void testFromSpans() {
+        List<Span> spans = Arrays.asList(
+                new Span("content", 4, 9, "quick", "Quick", 1),
+                new Span("title", 0, 5, "quick", "QUICK", 0),
+                new Span("content", 16, 19, "fox", "Fox", 3));
+        PackedPayload payload = PayloadField.getPackedPayload(new ListField<Span>(spans));
+
+        Assert.assertEquals(spans, payload.toSpanList());
+        Assert.assertEquals(Arrays.asList(spans.get(0), spans.get(2)),
+                payload.getSpans("content", Arrays.asList("quick", "fox")));
+    }
+
+}
@@ -0,0 +1,42 @@
+package edu.uci.ics.texera.api.span;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TermDictionaryTest {
+
+    @Test
+    public void testLookupByCharSequence() {
+        TermDictionary dictionary = new TermDictionary();
+        int id = dictionary.getOrAdd("fox");
+
+        Assert.assertEquals(id, dictionary.getOrAdd(new StringBuilder("fox")));
+        Assert.assertEquals(id, dictionary.getId(new StringBuilder("fox")));
+        Assert.assertEquals("fox", dictionary.getTerm(id));
+        Assert.assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    public void testUnknownTerm() {
+        TermDictionary dictionary = new TermDictionary();
+        dictionary.getOrAdd("fox");
+
+        Assert.assertEquals(-1, dictionary.getId("dog"));
+        Assert.assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    public void testManyTerms() {
+        TermDictionary dictionary = new TermDictionary();
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(i, dictionary.getOrAdd("term" + i));
+        }
+
+        Assert.assertEquals(10000, dictionary.size());
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals(i, dictionary.getId("term" + i));
+            Assert.assertEquals("term" + i, dictionary.getTerm(i));
+        }
+    }
+
+}
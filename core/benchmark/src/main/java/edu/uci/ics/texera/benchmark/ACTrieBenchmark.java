@@ -0,0 +1,66 @@
+package edu.uci.ics.texera.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.uci.ics.texera.dataflow.dictionarymatcher.ACTrie;
+
+/**
+ * Measures the time ACTrie takes to build the automaton of a dictionary and to find its entries in one document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ACTrieBenchmark {
+    
+    @Param({"10", "1000", "10000"})
+    public int dictionarySize;
+    
+    private List<String> dictionary;
+    private List<String> documents;
+    private ACTrie trie;
+    
+    @Setup
+    public void setUp() {
+        dictionary = new SyntheticCorpus(BenchmarkUtils.VOCABULARY_SIZE).getDictionary(dictionarySize);
+        documents = BenchmarkUtils.generateDocuments().stream()
+                .map(tuple -> tuple.getField(SyntheticCorpus.CONTENT).getValue().toString())
+                .collect(Collectors.toList());
+        trie = buildTrie();
+    }
+    
+    @Benchmark
+    public ACTrie buildTrie() {
+        ACTrie trie = new ACTrie();
+        trie.addKeywords(dictionary);
+        trie.constructFailureTransactions();
+        return trie;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkUtils.DOCUMENT_COUNT)
+    public void parseDocument(Blackhole blackhole) {
+        for (String document : documents) {
+            blackhole.consume(trie.parseText(document));
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package edu.uci.ics.texera.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.uci.ics.texera.api.dataflow.IOperator;
+import edu.uci.ics.texera.api.tuple.Tuple;
+
+public class BenchmarkUtils {
+    
+    // the size of the synthetic corpus used by the benchmarks
+    public static final int VOCABULARY_SIZE = 20000;
+    public static final int WORDS_PER_DOCUMENT = 200;
+    public static final int DOCUMENT_COUNT = 1000;
+    
+    public static List<Tuple> generateDocuments() {
+        return new SyntheticCorpus(VOCABULARY_SIZE).generateTuples(DOCUMENT_COUNT, WORDS_PER_DOCUMENT);
+    }
+    
+    /**
+     * Reads all the tuples of an opened operator.
+     */
+    public static List<Tuple> readAll(IOperator operator) {
+        List<Tuple> tuples = new ArrayList<>();
+        Tuple tuple;
+        while ((tuple = operator.getNextTuple()) != null) {
+            tuples.add(tuple);
+        }
+        return tuples;
+    }
+
+}
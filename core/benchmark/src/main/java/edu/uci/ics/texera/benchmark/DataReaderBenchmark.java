@@ -0,0 +1,83 @@
+package edu.uci.ics.texera.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.storage.DataReader;
+import edu.uci.ics.texera.storage.DataWriter;
+import edu.uci.ics.texera.storage.RelationManager;
+import edu.uci.ics.texera.storage.constants.LuceneAnalyzerConstants;
+
+/**
+ * Measures the time a DataReader takes to read one tuple when it scans a table, with or without generating payloads.
+ * The table is written to a temporary directory and deleted after the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DataReaderBenchmark {
+    
+    private static final String TABLE_NAME = "data_reader_benchmark";
+    
+    @Param({"false", "true"})
+    public boolean payloadAdded;
+    
+    private RelationManager relationManager;
+    private DataReader dataReader;
+    
+    @Setup
+    public void setUp() throws IOException {
+        relationManager = RelationManager.getInstance();
+        relationManager.deleteTable(TABLE_NAME);
+        relationManager.createTable(TABLE_NAME, Files.createTempDirectory(TABLE_NAME), 
+                SyntheticCorpus.SCHEMA, LuceneAnalyzerConstants.standardAnalyzerString());
+        
+        DataWriter dataWriter = relationManager.getTableDataWriter(TABLE_NAME);
+        dataWriter.open();
+        for (Tuple tuple : BenchmarkUtils.generateDocuments()) {
+            dataWriter.insertTuple(tuple);
+        }
+        dataWriter.close();
+        
+        dataReader = relationManager.getTableDataReader(TABLE_NAME, new MatchAllDocsQuery());
+        dataReader.setPayloadAdded(payloadAdded);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        relationManager.deleteTable(TABLE_NAME);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkUtils.DOCUMENT_COUNT)
+    public void scan(Blackhole blackhole) {
+        dataReader.open();
+        Tuple tuple;
+        while ((tuple = dataReader.getNextTuple()) != null) {
+            blackhole.consume(tuple);
+        }
+        dataReader.close();
+    }
+
+}
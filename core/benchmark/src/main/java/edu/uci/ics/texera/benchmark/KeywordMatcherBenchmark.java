@@ -0,0 +1,71 @@
+package edu.uci.ics.texera.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.dataflow.keywordmatcher.KeywordMatcher;
+import edu.uci.ics.texera.dataflow.keywordmatcher.KeywordMatchingType;
+import edu.uci.ics.texera.dataflow.keywordmatcher.KeywordPredicate;
+import edu.uci.ics.texera.dataflow.source.tuple.TupleSourceOperator;
+
+/**
+ * Measures the time KeywordMatcher takes to match one document, including the generation of its payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class KeywordMatcherBenchmark {
+    
+    @Param({"SUBSTRING_SCANBASED", "CONJUNCTION_INDEXBASED", "PHRASE_INDEXBASED"})
+    public KeywordMatchingType matchingType;
+    
+    private List<Tuple> tuples;
+    private KeywordMatcher keywordMatcher;
+    
+    @Setup
+    public void setUp() {
+        TupleSourceOperator source = new TupleSourceOperator(BenchmarkUtils.generateDocuments(), SyntheticCorpus.SCHEMA);
+        
+        keywordMatcher = new KeywordMatcher(new KeywordPredicate(SyntheticCorpus.PHRASE, 
+                Arrays.asList(SyntheticCorpus.TITLE, SyntheticCorpus.CONTENT), null, matchingType, "results"));
+        keywordMatcher.setInputOperator(source);
+        keywordMatcher.open();
+        
+        // the tuples with the _id added by the source
+        tuples = BenchmarkUtils.readAll(source);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        keywordMatcher.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkUtils.DOCUMENT_COUNT)
+    public void matchDocument(Blackhole blackhole) {
+        for (Tuple tuple : tuples) {
+            blackhole.consume(keywordMatcher.processOneInputTuple(tuple));
+        }
+    }
+
+}
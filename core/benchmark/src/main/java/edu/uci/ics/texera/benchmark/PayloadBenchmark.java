@@ -0,0 +1,58 @@
+package edu.uci.ics.texera.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.uci.ics.texera.dataflow.utils.DataflowUtils;
+import edu.uci.ics.texera.storage.constants.LuceneAnalyzerConstants;
+
+/**
+ * Measures the time DataflowUtils.generatePayload takes to tokenize one document into a list of spans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PayloadBenchmark {
+    
+    @Param({"standard", "3-gram"})
+    public String luceneAnalyzerString;
+    
+    private List<String> documents;
+    private Analyzer luceneAnalyzer;
+    
+    @Setup
+    public void setUp() {
+        documents = BenchmarkUtils.generateDocuments().stream()
+                .map(tuple -> tuple.getField(SyntheticCorpus.CONTENT).getValue().toString())
+                .collect(Collectors.toList());
+        luceneAnalyzer = LuceneAnalyzerConstants.getLuceneAnalyzer(luceneAnalyzerString);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkUtils.DOCUMENT_COUNT)
+    public void generatePayload(Blackhole blackhole) {
+        for (String document : documents) {
+            blackhole.consume(DataflowUtils.generatePayload(SyntheticCorpus.CONTENT, document, luceneAnalyzer));
+        }
+    }
+
+}
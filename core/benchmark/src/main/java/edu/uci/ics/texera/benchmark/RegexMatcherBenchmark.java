@@ -0,0 +1,71 @@
+package edu.uci.ics.texera.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.dataflow.regexmatcher.RegexMatcher;
+import edu.uci.ics.texera.dataflow.regexmatcher.RegexPredicate;
+import edu.uci.ics.texera.dataflow.source.tuple.TupleSourceOperator;
+
+/**
+ * Measures the time RegexMatcher takes to match one document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RegexMatcherBenchmark {
+    
+    // a literal, a phone number, and a regex which matches many words
+    @Param({"lung cancer", "\\(\\d{3}\\)\\d{3}-\\d{4}", "\\bca[a-z]*\\d"})
+    public String regex;
+    
+    private List<Tuple> tuples;
+    private RegexMatcher regexMatcher;
+    
+    @Setup
+    public void setUp() {
+        TupleSourceOperator source = new TupleSourceOperator(BenchmarkUtils.generateDocuments(), SyntheticCorpus.SCHEMA);
+        
+        regexMatcher = new RegexMatcher(new RegexPredicate(regex, 
+                Arrays.asList(SyntheticCorpus.TITLE, SyntheticCorpus.CONTENT), "results"));
+        regexMatcher.setInputOperator(source);
+        regexMatcher.open();
+        
+        // the tuples with the _id added by the source
+        tuples = BenchmarkUtils.readAll(source);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        regexMatcher.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkUtils.DOCUMENT_COUNT)
+    public void matchDocument(Blackhole blackhole) {
+        for (Tuple tuple : tuples) {
+            blackhole.consume(regexMatcher.processOneInputTuple(tuple));
+        }
+    }
+
+}
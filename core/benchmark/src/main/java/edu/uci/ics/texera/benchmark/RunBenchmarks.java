@@ -0,0 +1,60 @@
+package edu.uci.ics.texera.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks, it takes the same arguments as the JMH runner, for example:
+ *   java -jar benchmark/target/benchmarks.jar KeywordMatcher -f 1
+ * 
+ * Unless specified otherwise, the GC profiler is enabled (allocation rate and GC count per operation),
+ *   and the results are written as JSON to ./benchmark-results/jmh-{commit}.json,
+ *   where the commit is given by the "commit" system property (-Dcommit=...), or the current time.
+ * Comparing the result files of two commits shows the regressions between them.
+ */
+public class RunBenchmarks {
+    
+    public static final String RESULT_FOLDER = "benchmark-results";
+    
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        
+        ChainedOptionsBuilder optionsBuilder = new OptionsBuilder().parent(commandLineOptions);
+        if (commandLineOptions.getProfilers().isEmpty()) {
+            optionsBuilder.addProfiler(GCProfiler.class);
+        }
+        if (! commandLineOptions.getResult().hasValue() && ! commandLineOptions.getResultFormat().hasValue()) {
+            String commit = System.getProperty("commit", 
+                    new SimpleDateFormat("yyyy-MM-dd-HH-mm-ss").format(new Date()));
+            Path resultFolder = Paths.get(RESULT_FOLDER);
+            Files.createDirectories(resultFolder);
+            optionsBuilder.resultFormat(ResultFormatType.JSON)
+                .result(resultFolder.resolve("jmh-" + commit + ".json").toString());
+        }
+        
+        Runner runner = new Runner(optionsBuilder.build());
+        if (commandLineOptions.shouldList()) {
+            runner.list();
+        } else {
+            runner.run();
+        }
+    }
+
+}
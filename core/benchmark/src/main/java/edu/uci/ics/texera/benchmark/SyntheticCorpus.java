@@ -0,0 +1,117 @@
+package edu.uci.ics.texera.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import edu.uci.ics.texera.api.field.IntegerField;
+import edu.uci.ics.texera.api.field.StringField;
+import edu.uci.ics.texera.api.field.TextField;
+import edu.uci.ics.texera.api.schema.Attribute;
+import edu.uci.ics.texera.api.schema.AttributeType;
+import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.api.tuple.Tuple;
+
+/**
+ * Generates a deterministic corpus of abstract-like documents for the benchmarks,
+ *   so that they don't depend on external data sets and produce comparable results across commits.
+ * 
+ * The words follow a Zipf distribution over a generated vocabulary,
+ *   a few documents contain the phrase "lung cancer" and phone numbers, which the benchmark queries look for.
+ */
+public class SyntheticCorpus {
+    
+    public static final String ID = "id";
+    public static final String TITLE = "title";
+    public static final String CONTENT = "content";
+    
+    public static final Schema SCHEMA = new Schema(
+            new Attribute(ID, AttributeType.INTEGER),
+            new Attribute(TITLE, AttributeType.STRING),
+            new Attribute(CONTENT, AttributeType.TEXT));
+    
+    public static final String PHRASE = "lung cancer";
+    
+    private static final String[] SYLLABLES = {
+            "ca", "ne", "to", "ri", "mo", "la", "se", "pu", "di", "ko", "ven", "tor", "mi", "sal", "ge", "ba" };
+    
+    private static final long SEED = 20200101L;
+    
+    private final Random random;
+    private final String[] vocabulary;
+    private final double[] cumulativeProbabilities;
+    
+    public SyntheticCorpus(int vocabularySize) {
+        this.random = new Random(SEED);
+        this.vocabulary = generateVocabulary(vocabularySize);
+        this.cumulativeProbabilities = new double[vocabularySize];
+        double sum = 0;
+        for (int i = 0; i < vocabularySize; i++) {
+            sum += 1.0 / (i + 1);
+            cumulativeProbabilities[i] = sum;
+        }
+        for (int i = 0; i < vocabularySize; i++) {
+            cumulativeProbabilities[i] /= sum;
+        }
+    }
+    
+    public List<Tuple> generateTuples(int documentCount, int wordsPerDocument) {
+        List<Tuple> tuples = new ArrayList<>(documentCount);
+        for (int i = 0; i < documentCount; i++) {
+            tuples.add(new Tuple(SCHEMA, 
+                    new IntegerField(i), 
+                    new StringField(generateText(8)), 
+                    new TextField(generateText(wordsPerDocument))));
+        }
+        return tuples;
+    }
+    
+    public String generateText(int wordCount) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            if (i > 0) {
+                text.append(random.nextInt(12) == 0 ? ", " : " ");
+            }
+            int dice = random.nextInt(1000);
+            if (dice == 0) {
+                text.append(PHRASE);
+            } else if (dice == 1) {
+                text.append(String.format("(%03d)%03d-%04d", random.nextInt(1000), random.nextInt(1000), random.nextInt(10000)));
+            } else {
+                text.append(nextWord());
+            }
+        }
+        return text.append('.').toString();
+    }
+    
+    /**
+     * Returns the dictionary entries: the given number of words, from the most frequent to the least frequent.
+     */
+    public List<String> getDictionary(int size) {
+        return Arrays.asList(Arrays.copyOf(vocabulary, Math.min(size, vocabulary.length)));
+    }
+    
+    private String nextWord() {
+        int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        if (index < 0) {
+            index = Math.min(-index - 1, vocabulary.length - 1);
+        }
+        return vocabulary[index];
+    }
+    
+    private String[] generateVocabulary(int size) {
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int syllableCount = 1 + random.nextInt(4);
+            for (int j = 0; j < syllableCount; j++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            // keep the words unique
+            words[i] = word.append(Integer.toString(i, 36)).toString();
+        }
+        return words;
+    }
+
+}
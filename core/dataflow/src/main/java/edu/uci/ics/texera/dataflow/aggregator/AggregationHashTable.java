@@ -0,0 +1,591 @@
+package edu.uci.ics.texera.dataflow.aggregator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import edu.uci.ics.texera.api.exception.DataflowException;
+import edu.uci.ics.texera.api.field.DoubleField;
+import edu.uci.ics.texera.api.field.IField;
+import edu.uci.ics.texera.api.field.IntegerField;
+import edu.uci.ics.texera.api.field.StringField;
+import edu.uci.ics.texera.api.schema.Attribute;
+import edu.uci.ics.texera.api.schema.AttributeType;
+import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.dataflow.utils.TupleSpillFile;
+
+/**
+ * AggregationHashTable computes the aggregations of the Aggregator for each group of tuples.
+ *
+ * Each group gets an integer id from an open addressing hash table on its group-by fields.
+ * A tuple is looked up with the hash of its group-by fields and compared with the fields of the group,
+ *   so probing an existing group doesn't allocate a key.
+ * The aggregated values are kept in one array per aggregation, indexed by the group id:
+ *   long[] for SUM, AVERAGE, MIN and MAX over INTEGER attributes,
+ *   double[] for SUM, AVERAGE, MIN and MAX over DOUBLE attributes,
+ *   IField[] for MIN and MAX over other attributes (the field with the min/max value is kept).
+ * COUNT uses the row count of the group. Updating a group doesn't allocate any field.
+ * The INTEGER results are checked when they are built, a SUM or COUNT that doesn't fit in an integer
+ *   fails the aggregation instead of wrapping around.
+ *
+ * If there are more than maxInMemoryGroups groups, the partial aggregations of all the groups are
+ *   written to a sorted run (a TupleSpillFile sorted by the group-by fields), and the table is cleared.
+ * After all the input tuples are inserted, the sorted runs are merged, combining the partial
+ *   aggregations of the same group.
+ *
+ */
+class AggregationHashTable {
+
+    private enum AccumulatorType {
+        COUNT, LONG_SUM, DOUBLE_SUM, LONG_MIN, LONG_MAX, DOUBLE_MIN, DOUBLE_MAX, FIELD_MIN, FIELD_MAX
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<AggregationAttributeAndResult> aggregationItems;
+    private final Schema outputSchema;
+    private final Schema partialSchema;
+    private final int maxInMemoryGroups;
+
+    private final int[] groupByIndexes;
+    private final int[] inputIndexes;
+    private final AttributeType[] inputTypes;
+    private final AccumulatorType[] accumulatorTypes;
+
+    // slots of the open addressing table, each slot is empty (0) or the id of a group + 1
+    private int[] groupSlots;
+    private int[] groupHashes;
+    private List<IField[]> groupKeys;
+    private int groupCount;
+    private long[] groupRowCounts;
+    private long[][] longAccumulators;
+    private double[][] doubleAccumulators;
+    private IField[][] fieldAccumulators;
+
+    private final List<TupleSpillFile> sortedRuns = new ArrayList<>();
+    private int nextResultGroup = 0;
+    private PriorityQueue<SortedRunReader> runMergeQueue = null;
+
+    AggregationHashTable(Schema inputSchema, List<String> groupByAttributes,
+            List<AggregationAttributeAndResult> aggregationItems, Schema outputSchema, int maxInMemoryGroups) {
+        this.aggregationItems = aggregationItems;
+        this.outputSchema = outputSchema;
+        this.maxInMemoryGroups = maxInMemoryGroups;
+
+        groupByIndexes = new int[groupByAttributes.size()];
+        for (int i = 0; i < groupByAttributes.size(); i++) {
+            groupByIndexes[i] = inputSchema.getIndex(groupByAttributes.get(i));
+        }
+
+        inputIndexes = new int[aggregationItems.size()];
+        inputTypes = new AttributeType[aggregationItems.size()];
+        accumulatorTypes = new AccumulatorType[aggregationItems.size()];
+        for (int i = 0; i < aggregationItems.size(); i++) {
+            String attributeName = aggregationItems.get(i).getAttributeName();
+            inputIndexes[i] = inputSchema.getIndex(attributeName);
+            inputTypes[i] = inputSchema.getAttribute(attributeName).getType();
+            accumulatorTypes[i] = getAccumulatorType(aggregationItems.get(i).getAggregatorType(), inputTypes[i]);
+        }
+
+        partialSchema = getPartialSchema(inputSchema, groupByAttributes);
+        clear();
+    }
+
+    private static AccumulatorType getAccumulatorType(AggregationType aggregationType, AttributeType attributeType) {
+        boolean isInteger = attributeType == AttributeType.INTEGER;
+        boolean isDouble = attributeType == AttributeType.DOUBLE;
+        switch (aggregationType) {
+            case SUM:
+            case AVERAGE:
+                return isInteger ? AccumulatorType.LONG_SUM : AccumulatorType.DOUBLE_SUM;
+            case MIN:
+                return isInteger ? AccumulatorType.LONG_MIN : isDouble ? AccumulatorType.DOUBLE_MIN : AccumulatorType.FIELD_MIN;
+            case MAX:
+                return isInteger ? AccumulatorType.LONG_MAX : isDouble ? AccumulatorType.DOUBLE_MAX : AccumulatorType.FIELD_MAX;
+            default:
+                return AccumulatorType.COUNT;
+        }
+    }
+
+    /*
+     * The schema of the tuples in the sorted runs: the group-by fields, the row count, and one partial
+     *   aggregation per aggregation item. The row count and the LONG_SUM partial sums can exceed an integer,
+     *   they are written as decimal strings.
+     */
+    private Schema getPartialSchema(Schema inputSchema, List<String> groupByAttributes) {
+        Schema.Builder schemaBuilder = new Schema.Builder();
+        for (String groupByAttribute : groupByAttributes) {
+            schemaBuilder.add(inputSchema.getAttribute(groupByAttribute));
+        }
+        schemaBuilder.add(new Attribute("#count", AttributeType.STRING));
+        for (int i = 0; i < aggregationItems.size(); i++) {
+            AttributeType partialType;
+            switch (accumulatorTypes[i]) {
+                case LONG_SUM:
+                    partialType = AttributeType.STRING;
+                    break;
+                case LONG_MIN:
+                case LONG_MAX:
+                case COUNT:
+                    partialType = AttributeType.INTEGER;
+                    break;
+                case DOUBLE_SUM:
+                case DOUBLE_MIN:
+                case DOUBLE_MAX:
+                    partialType = AttributeType.DOUBLE;
+                    break;
+                default:
+                    partialType = inputTypes[i];
+                    break;
+            }
+            schemaBuilder.add(new Attribute("#partial" + i, partialType));
+        }
+        return schemaBuilder.build();
+    }
+
+    private void clear() {
+        groupSlots = new int[INITIAL_CAPACITY * 2];
+        groupHashes = new int[INITIAL_CAPACITY];
+        groupKeys = new ArrayList<>();
+        groupCount = 0;
+        groupRowCounts = new long[INITIAL_CAPACITY];
+        longAccumulators = new long[aggregationItems.size()][];
+        doubleAccumulators = new double[aggregationItems.size()][];
+        fieldAccumulators = new IField[aggregationItems.size()][];
+        for (int i = 0; i < aggregationItems.size(); i++) {
+            switch (accumulatorTypes[i]) {
+                case LONG_SUM:
+                case LONG_MIN:
+                case LONG_MAX:
+                    longAccumulators[i] = new long[INITIAL_CAPACITY];
+                    break;
+                case DOUBLE_SUM:
+                case DOUBLE_MIN:
+                case DOUBLE_MAX:
+                    doubleAccumulators[i] = new double[INITIAL_CAPACITY];
+                    break;
+                case FIELD_MIN:
+                case FIELD_MAX:
+                    fieldAccumulators[i] = new IField[INITIAL_CAPACITY];
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    public void insert(Tuple tuple) throws DataflowException {
+        List<IField> fields = tuple.getFields();
+        int group = getGroupId(fields);
+        boolean isFirstRow = groupRowCounts[group] == 0;
+        groupRowCounts[group]++;
+
+        for (int i = 0; i < accumulatorTypes.length; i++) {
+            IField field = fields.get(inputIndexes[i]);
+            switch (accumulatorTypes[i]) {
+                case LONG_SUM:
+                    longAccumulators[i][group] += ((IntegerField) field).getValue();
+                    break;
+                case DOUBLE_SUM:
+                    doubleAccumulators[i][group] += ((DoubleField) field).getValue();
+                    break;
+                case LONG_MIN: {
+                    long value = ((IntegerField) field).getValue();
+                    if (isFirstRow || value < longAccumulators[i][group]) {
+                        longAccumulators[i][group] = value;
+                    }
+                    break;
+                }
+                case LONG_MAX: {
+                    long value = ((IntegerField) field).getValue();
+                    if (isFirstRow || value > longAccumulators[i][group]) {
+                        longAccumulators[i][group] = value;
+                    }
+                    break;
+                }
+                case DOUBLE_MIN: {
+                    double value = ((DoubleField) field).getValue();
+                    if (isFirstRow || value < doubleAccumulators[i][group]) {
+                        doubleAccumulators[i][group] = value;
+                    }
+                    break;
+                }
+                case DOUBLE_MAX: {
+                    double value = ((DoubleField) field).getValue();
+                    if (isFirstRow || value > doubleAccumulators[i][group]) {
+                        doubleAccumulators[i][group] = value;
+                    }
+                    break;
+                }
+                case FIELD_MIN:
+                    if (isFirstRow || compare(field, fieldAccumulators[i][group]) < 0) {
+                        fieldAccumulators[i][group] = field;
+                    }
+                    break;
+                case FIELD_MAX:
+                    if (isFirstRow || compare(field, fieldAccumulators[i][group]) > 0) {
+                        fieldAccumulators[i][group] = field;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (groupCount > maxInMemoryGroups) {
+            writeSortedRun();
+        }
+    }
+
+    /**
+     * Returns the result tuple of the next group, null if there's no more groups.
+     */
+    public Tuple next() throws DataflowException {
+        if (sortedRuns.isEmpty()) {
+            if (nextResultGroup >= groupCount) {
+                return null;
+            }
+            int group = nextResultGroup++;
+            return buildResultTuple(groupKeys.get(group), group);
+        }
+
+        if (runMergeQueue == null) {
+            if (groupCount > 0) {
+                writeSortedRun();
+            }
+            runMergeQueue = new PriorityQueue<>((a, b) -> compareKeys(a.currentKey, b.currentKey));
+            for (TupleSpillFile sortedRun : sortedRuns) {
+                SortedRunReader runReader = new SortedRunReader(sortedRun.openReader());
+                if (runReader.advance()) {
+                    runMergeQueue.add(runReader);
+                } else {
+                    runReader.close();
+                }
+            }
+        }
+        if (runMergeQueue.isEmpty()) {
+            return null;
+        }
+
+        // combine the partial aggregations of the smallest group in all the runs into group 0
+        SortedRunReader run = runMergeQueue.poll();
+        IField[] keyFields = run.currentKey;
+        clear();
+        allocateGroup();
+        readPartialAggregation(0, run.currentPartialAggregation, true);
+        advanceRun(run);
+        while (! runMergeQueue.isEmpty() && compareKeys(runMergeQueue.peek().currentKey, keyFields) == 0) {
+            run = runMergeQueue.poll();
+            readPartialAggregation(0, run.currentPartialAggregation, false);
+            advanceRun(run);
+        }
+        return buildResultTuple(keyFields, 0);
+    }
+
+    public void close() throws DataflowException {
+        if (runMergeQueue != null) {
+            for (SortedRunReader run : runMergeQueue) {
+                run.close();
+            }
+            runMergeQueue = null;
+        }
+        for (TupleSpillFile sortedRun : sortedRuns) {
+            sortedRun.close();
+        }
+        sortedRuns.clear();
+        clear();
+    }
+
+    private void advanceRun(SortedRunReader run) throws DataflowException {
+        if (run.advance()) {
+            runMergeQueue.add(run);
+        } else {
+            run.close();
+        }
+    }
+
+    private int getGroupId(List<IField> fields) {
+        int hash = hashGroupByFields(fields);
+        int mask = groupSlots.length - 1;
+        int slot = hash & mask;
+        while (groupSlots[slot] != 0) {
+            int group = groupSlots[slot] - 1;
+            if (groupHashes[group] == hash && groupByFieldsEqual(fields, groupKeys.get(group))) {
+                return group;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int group = allocateGroup();
+        groupHashes[group] = hash;
+        IField[] keyFields = new IField[groupByIndexes.length];
+        for (int i = 0; i < groupByIndexes.length; i++) {
+            keyFields[i] = fields.get(groupByIndexes[i]);
+        }
+        groupKeys.add(keyFields);
+        groupSlots[slot] = group + 1;
+        if (groupCount * 2 > groupSlots.length) {
+            rehash();
+        }
+        return group;
+    }
+
+    private int hashGroupByFields(List<IField> fields) {
+        int hash = 1;
+        for (int groupByIndex : groupByIndexes) {
+            IField field = fields.get(groupByIndex);
+            hash = 31 * hash + (field == null ? 0 : field.hashCode());
+        }
+        // spread the high bits, the slot is taken from the low bits
+        return hash ^ (hash >>> 16);
+    }
+
+    private boolean groupByFieldsEqual(List<IField> fields, IField[] keyFields) {
+        for (int i = 0; i < groupByIndexes.length; i++) {
+            IField field = fields.get(groupByIndexes[i]);
+            if (field == null ? keyFields[i] != null : ! field.equals(keyFields[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        groupSlots = new int[groupSlots.length * 2];
+        int mask = groupSlots.length - 1;
+        for (int group = 0; group < groupCount; group++) {
+            int slot = groupHashes[group] & mask;
+            while (groupSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            groupSlots[slot] = group + 1;
+        }
+    }
+
+    private int allocateGroup() {
+        int group = groupCount++;
+        if (group >= groupRowCounts.length) {
+            int capacity = groupRowCounts.length * 2;
+            groupRowCounts = Arrays.copyOf(groupRowCounts, capacity);
+            groupHashes = Arrays.copyOf(groupHashes, capacity);
+            for (int i = 0; i < aggregationItems.size(); i++) {
+                if (longAccumulators[i] != null) {
+                    longAccumulators[i] = Arrays.copyOf(longAccumulators[i], capacity);
+                }
+                if (doubleAccumulators[i] != null) {
+                    doubleAccumulators[i] = Arrays.copyOf(doubleAccumulators[i], capacity);
+                }
+                if (fieldAccumulators[i] != null) {
+                    fieldAccumulators[i] = Arrays.copyOf(fieldAccumulators[i], capacity);
+                }
+            }
+        }
+        return group;
+    }
+
+    private Tuple buildResultTuple(IField[] keyFields, int group) throws DataflowException {
+        IField[] resultFields = new IField[keyFields.length + aggregationItems.size()];
+        System.arraycopy(keyFields, 0, resultFields, 0, keyFields.length);
+        for (int i = 0; i < aggregationItems.size(); i++) {
+            IField resultField;
+            switch (aggregationItems.get(i).getAggregatorType()) {
+                case COUNT:
+                    resultField = new IntegerField(toIntegerResult(i, groupRowCounts[group]));
+                    break;
+                case AVERAGE:
+                    double sum = accumulatorTypes[i] == AccumulatorType.LONG_SUM ?
+                            longAccumulators[i][group] : doubleAccumulators[i][group];
+                    resultField = new DoubleField(sum / groupRowCounts[group]);
+                    break;
+                default:
+                    resultField = getAccumulatorField(i, group);
+                    break;
+            }
+            resultFields[keyFields.length + i] = resultField;
+        }
+        return new Tuple(outputSchema, resultFields);
+    }
+
+    private IField getAccumulatorField(int item, int group) throws DataflowException {
+        switch (accumulatorTypes[item]) {
+            case LONG_SUM:
+            case LONG_MIN:
+            case LONG_MAX:
+                return new IntegerField(toIntegerResult(item, longAccumulators[item][group]));
+            case DOUBLE_SUM:
+            case DOUBLE_MIN:
+            case DOUBLE_MAX:
+                return new DoubleField(doubleAccumulators[item][group]);
+            default:
+                return fieldAccumulators[item][group];
+        }
+    }
+
+    private int toIntegerResult(int item, long value) throws DataflowException {
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            AggregationAttributeAndResult aggregationItem = aggregationItems.get(item);
+            throw new DataflowException(AggregatorErrorMessages.AGGREGATION_RESULT_OVERFLOW(
+                    aggregationItem.getResultAttributeName(), aggregationItem.getAggregatorType().toString(), value));
+        }
+        return (int) value;
+    }
+
+    /*
+     * Writes the partial aggregations of all the groups, sorted by their group-by fields,
+     * to a new sorted run, and clears the table.
+     */
+    private void writeSortedRun() throws DataflowException {
+        Integer[] groups = new Integer[groupCount];
+        for (int group = 0; group < groupCount; group++) {
+            groups[group] = group;
+        }
+        Arrays.sort(groups, Comparator.comparing(group -> groupKeys.get(group), AggregationHashTable::compareKeys));
+
+        TupleSpillFile sortedRun = new TupleSpillFile(partialSchema);
+        sortedRuns.add(sortedRun);
+        for (int group : groups) {
+            sortedRun.write(writePartialAggregation(group));
+        }
+        clear();
+    }
+
+    private Tuple writePartialAggregation(int group) {
+        IField[] keyFields = groupKeys.get(group);
+        IField[] partialFields = new IField[keyFields.length + 1 + aggregationItems.size()];
+        System.arraycopy(keyFields, 0, partialFields, 0, keyFields.length);
+        partialFields[keyFields.length] = new StringField(Long.toString(groupRowCounts[group]));
+        for (int i = 0; i < aggregationItems.size(); i++) {
+            IField partialField;
+            switch (accumulatorTypes[i]) {
+                case LONG_SUM:
+                    partialField = new StringField(Long.toString(longAccumulators[i][group]));
+                    break;
+                case LONG_MIN:
+                case LONG_MAX:
+                    partialField = new IntegerField((int) longAccumulators[i][group]);
+                    break;
+                case DOUBLE_SUM:
+                case DOUBLE_MIN:
+                case DOUBLE_MAX:
+                    partialField = new DoubleField(doubleAccumulators[i][group]);
+                    break;
+                case FIELD_MIN:
+                case FIELD_MAX:
+                    partialField = fieldAccumulators[i][group];
+                    break;
+                default:
+                    partialField = new IntegerField(0);
+                    break;
+            }
+            partialFields[keyFields.length + 1 + i] = partialField;
+        }
+        return new Tuple(partialSchema, partialFields);
+    }
+
+    private void readPartialAggregation(int group, List<IField> partialAggregation, boolean isFirst) {
+        int offset = groupByIndexes.length;
+        groupRowCounts[group] += Long.parseLong((String) partialAggregation.get(offset).getValue());
+        for (int i = 0; i < aggregationItems.size(); i++) {
+            IField partialField = partialAggregation.get(offset + 1 + i);
+            switch (accumulatorTypes[i]) {
+                case LONG_SUM:
+                    longAccumulators[i][group] += Long.parseLong((String) partialField.getValue());
+                    break;
+                case DOUBLE_SUM:
+                    doubleAccumulators[i][group] += (Double) partialField.getValue();
+                    break;
+                case LONG_MIN: {
+                    long value = (Integer) partialField.getValue();
+                    longAccumulators[i][group] = isFirst ? value : Math.min(longAccumulators[i][group], value);
+                    break;
+                }
+                case LONG_MAX: {
+                    long value = (Integer) partialField.getValue();
+                    longAccumulators[i][group] = isFirst ? value : Math.max(longAccumulators[i][group], value);
+                    break;
+                }
+                case DOUBLE_MIN: {
+                    double value = (Double) partialField.getValue();
+                    doubleAccumulators[i][group] = isFirst ? value : Math.min(doubleAccumulators[i][group], value);
+                    break;
+                }
+                case DOUBLE_MAX: {
+                    double value = (Double) partialField.getValue();
+                    doubleAccumulators[i][group] = isFirst ? value : Math.max(doubleAccumulators[i][group], value);
+                    break;
+                }
+                case FIELD_MIN:
+                    if (isFirst || compare(partialField, fieldAccumulators[i][group]) < 0) {
+                        fieldAccumulators[i][group] = partialField;
+                    }
+                    break;
+                case FIELD_MAX:
+                    if (isFirst || compare(partialField, fieldAccumulators[i][group]) > 0) {
+                        fieldAccumulators[i][group] = partialField;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compare(IField a, IField b) {
+        return ((Comparable) a.getValue()).compareTo(b.getValue());
+    }
+
+    /*
+     * Orders the groups of the sorted runs by their group-by fields, the null values first.
+     * Values that aren't comparable are ordered by their string form.
+     */
+    private static int compareKeys(IField[] a, IField[] b) {
+        for (int i = 0; i < a.length; i++) {
+            Object valueA = a[i] == null ? null : a[i].getValue();
+            Object valueB = b[i] == null ? null : b[i].getValue();
+            int result;
+            if (valueA == null || valueB == null) {
+                result = valueA == null ? (valueB == null ? 0 : -1) : 1;
+            } else if (valueA instanceof Comparable && valueA.getClass() == valueB.getClass()) {
+                result = compare(a[i], b[i]);
+            } else {
+                result = valueA.toString().compareTo(valueB.toString());
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private class SortedRunReader {
+        private final TupleSpillFile.Reader reader;
+        private IField[] currentKey;
+        private List<IField> currentPartialAggregation;
+
+        private SortedRunReader(TupleSpillFile.Reader reader) {
+            this.reader = reader;
+        }
+
+        /*
+         * Reads the next group of the run, returns false if there's no more groups.
+         */
+        private boolean advance() throws DataflowException {
+            Tuple partialTuple = reader.next();
+            if (partialTuple == null) {
+                return false;
+            }
+            currentPartialAggregation = partialTuple.getFields();
+            currentKey = currentPartialAggregation.subList(0, groupByIndexes.length).toArray(new IField[0]);
+            return true;
+        }
+
+        private void close() throws DataflowException {
+            reader.close();
+        }
+    }
+
+}
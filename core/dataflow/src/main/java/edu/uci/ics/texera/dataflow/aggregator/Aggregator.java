@@ -3,17 +3,12 @@
  */
 package edu.uci.ics.texera.dataflow.aggregator;
 
-import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 
 import edu.uci.ics.texera.api.constants.ErrorMessages;
-import edu.uci.ics.texera.api.dataflow.IOperator;
 import edu.uci.ics.texera.api.exception.TexeraException;
-import edu.uci.ics.texera.api.field.*;
-import edu.uci.ics.texera.api.schema.Attribute;
 import edu.uci.ics.texera.api.schema.AttributeType;
 import edu.uci.ics.texera.api.schema.Schema;
 import edu.uci.ics.texera.api.schema.Schema.Builder;
@@ -27,27 +22,30 @@ import edu.uci.ics.texera.dataflow.common.AbstractSingleInputOperator;
  * aggregations at a time i.e. MIN on a attribute A and SUM on attribute B. This is supported as AggregatorPredicate accepts a list of aggregations as
  * input.
  *
+ * The tuples can be grouped by one or more attributes, in which case one result tuple is produced for each group,
+ * containing the group-by attributes followed by the aggregation results. Without group-by attributes, all the
+ * tuples form one group, and no result is produced if there's no input tuple.
+ *
+ * The aggregations are computed in an AggregationHashTable, which spills sorted runs of partial aggregations
+ * to disk when there are more than maxInMemoryGroups groups.
+ *
  * @author avinash
  */
 public class Aggregator extends AbstractSingleInputOperator {
     private final AggregatorPredicate predicate;
 
+    public static final int DEFAULT_MAX_IN_MEMORY_GROUPS = 1000000;
+
     private Schema inputSchema;
 
-    private int rowsCount = 0;
+    private int maxInMemoryGroups = DEFAULT_MAX_IN_MEMORY_GROUPS;
+
+    private AggregationHashTable hashTable = null;
 
     public Aggregator(AggregatorPredicate predicate) {
         this.predicate = predicate;
     }
 
-    private int getRowsCount() {
-        return rowsCount;
-    }
-
-    private void incrementRowsProcessed() {
-        rowsCount++;
-    }
-
     /***
      * Not all aggregations are allowed for different attribute types. eg: Average makes no sense for Text. This function checks if the aggregation and attribute type
      * selected are compatible.
@@ -83,6 +81,7 @@ public class Aggregator extends AbstractSingleInputOperator {
     @Override
     protected void setUp() throws TexeraException {
         inputSchema = inputOperator.getOutputSchema();
+        Schema.checkAttributeExists(inputSchema, predicate.getGroupByAttributes());
         List<AggregationAttributeAndResult> aggregationItems = predicate.getAttributeAggregateResultList();
         for (AggregationAttributeAndResult aggregationItem : aggregationItems) {
             Schema.checkAttributeExists(inputSchema, aggregationItem.getAttributeName());
@@ -106,165 +105,39 @@ public class Aggregator extends AbstractSingleInputOperator {
 
         List<AggregationAttributeAndResult> aggregationItems = predicate.getAttributeAggregateResultList();
         Builder schemaBuilder = new Schema.Builder();
+        for (String groupByAttribute : predicate.getGroupByAttributes()) {
+            schemaBuilder = schemaBuilder.add(inputSchema[0].getAttribute(groupByAttribute));
+        }
         for (AggregationAttributeAndResult aggregationItem : aggregationItems) {
-            schemaBuilder = schemaBuilder.add(aggregationItem.getResultAttributeName(), inputSchema[0].getAttribute(aggregationItem.getAttributeName()).getType());
+            schemaBuilder = schemaBuilder.add(aggregationItem.getResultAttributeName(),
+                    getResultAttributeType(inputSchema[0].getAttribute(aggregationItem.getAttributeName()).getType(), aggregationItem.getAggregatorType()));
         }
 
         return schemaBuilder.build();
     }
 
-    @Override
-    protected Tuple computeNextMatchingTuple() throws TexeraException {
-        if (cursor == CLOSED || cursor >= 1) {
-            return null;
-        }
-        Tuple resultTuple = null;
-        List<IField> aggregatedResults = processAllTuples(inputOperator);
-        resultTuple = putResultsIntoTuple(aggregatedResults);
-        cursor++;
-        return resultTuple;
-    }
-
-    /**
-     * Processes all the tuples from input operator and generates the aggregations requested by the user. The aggregations
-     * are put in a list. As the tuples from input operator are processed, the aggregations are updated in the list.
-     * @param inputOperator
-     * @return List<IField>
-     */
-    private List<IField> processAllTuples(IOperator inputOperator) {
-        Tuple inputTuple = inputOperator.getNextTuple();
-        List<IField> aggregatedResults = new ArrayList<IField>();
-        if (inputTuple != null) {
-            aggregatedResults = initializeResultFieldsList(inputTuple);
-            incrementRowsProcessed();
-        }
-
-        List<AggregationAttributeAndResult> aggregationItems = predicate.getAttributeAggregateResultList();
-
-        while ((inputTuple = inputOperator.getNextTuple()) != null) {
-            incrementRowsProcessed();
-
-            for (int i = 0; i < aggregationItems.size(); i++) {
-                IField field = inputTuple.getField(aggregationItems.get(i).getAttributeName());
-                Attribute inputAttr = inputSchema.getAttribute(aggregationItems.get(i).getAttributeName());
-
-                switch (aggregationItems.get(i).getAggregatorType()) {
-                    case MIN: {
-                        if (compare(field, aggregatedResults.get(i), inputAttr.getType()) < 0) {
-                            aggregatedResults.set(i, field);
-                        }
-                        break;
-                    }
-                    case MAX: {
-                        if (compare(field, aggregatedResults.get(i), inputAttr.getType()) > 0) {
-                            aggregatedResults.set(i, field);
-                        }
-                        break;
-                    }
-                    case AVERAGE:
-                    case SUM: {
-                        //We calculate sum and then at last divide it by totalRowsCount
-                        switch (inputAttr.getType()) {
-                            case INTEGER:
-                                aggregatedResults.set(i, new IntegerField((int) aggregatedResults.get(i).getValue() + (int) field.getValue()));
-                                break;
-                            case DOUBLE:
-                                aggregatedResults.set(i, new DoubleField((double) aggregatedResults.get(i).getValue() + (double) field.getValue()));
-                                break;
-                        }
-                        break;
-                    }
-                    case COUNT:
-                        aggregatedResults.set(i, new IntegerField((int) aggregatedResults.get(i).getValue() + 1));
-                        break;
-                }
-            }
-        }
-
-        return aggregatedResults;
-    }
-
-    /**
-     * Takes the aggregates generated after processing all the tuples and puts it into a Tuple which is sent to next operator.
-     * @param aggregatedResults
-     * @return Tuple
-     */
-    private Tuple putResultsIntoTuple(List<IField> aggregatedResults) {
-        Tuple.Builder tupleBuilder = new Tuple.Builder();
-
-        List<AggregationAttributeAndResult> aggregationItems = predicate.getAttributeAggregateResultList();
-        for (int i = 0; i < aggregationItems.size(); i++) {
-            Attribute inputAttr = inputSchema.getAttribute(aggregationItems.get(i).getAttributeName());
-            switch (aggregationItems.get(i).getAggregatorType()) {
-                case MIN:
-                case MAX:
-                case SUM: {
-                    tupleBuilder.add(aggregationItems.get(i).getResultAttributeName(), inputAttr.getType(), aggregatedResults.get(i));
-                    break;
-                }
-
-                case AVERAGE: {
-                    switch (inputAttr.getType()) {
-                        case INTEGER:
-                            tupleBuilder.add(aggregationItems.get(i).getResultAttributeName(), AttributeType.DOUBLE, new DoubleField(((int) aggregatedResults.get(i).getValue()) * 1.0 / getRowsCount() * 1.0));
-                            break;
-                        case DOUBLE:
-                            tupleBuilder.add(aggregationItems.get(i).getResultAttributeName(), AttributeType.DOUBLE, new DoubleField((double) aggregatedResults.get(i).getValue() / getRowsCount() * 1.0));
-                            break;
-                    }
-                    break;
-                }
-                case COUNT: {
-                    tupleBuilder.add(aggregationItems.get(i).getResultAttributeName(), AttributeType.INTEGER, aggregatedResults.get(i));
-                    break;
-                }
-            }
-        }
-
-        return tupleBuilder.build();
-    }
-
-    private int compare(IField a, IField b, AttributeType attrType) {
-        int retVal = 0;
-        switch (attrType) {
-            case INTEGER:
-                retVal = ((IntegerField) a).getValue().compareTo(((IntegerField) b).getValue());
-                break;
-            case DOUBLE:
-                retVal = ((DoubleField) a).getValue().compareTo(((DoubleField) b).getValue());
-                break;
-            case TEXT:
-                retVal = ((TextField) a).getValue().compareTo(((TextField) b).getValue());
-                break;
-            case STRING:
-                retVal = ((StringField) a).getValue().compareTo(((StringField) b).getValue());
-                break;
-            case DATE:
-                retVal = ((DateField) a).getValue().compareTo(((DateField) b).getValue());
-                break;
-            case DATETIME:
-                retVal = ((DateTimeField) a).getValue().compareTo(((DateTimeField) b).getValue());
-                break;
+    private static AttributeType getResultAttributeType(AttributeType inputAttrType, AggregationType aggType) {
+        switch (aggType) {
+            case AVERAGE:
+                return AttributeType.DOUBLE;
+            case COUNT:
+                return AttributeType.INTEGER;
+            default:
+                return inputAttrType;
         }
-
-        return retVal;
     }
 
-    private List<IField> initializeResultFieldsList(Tuple firstTuple) {
-        List<IField> aggregatedResults = new ArrayList<IField>();
-
-        List<AggregationAttributeAndResult> aggregationItems = predicate.getAttributeAggregateResultList();
-
-        for (AggregationAttributeAndResult aggregationItem : aggregationItems) {
-            if (aggregationItem.getAggregatorType() == AggregationType.COUNT) {
-                aggregatedResults.add(new IntegerField(1));
-            } else {
-                IField fieldEntry = firstTuple.getField(aggregationItem.getAttributeName());
-                aggregatedResults.add(fieldEntry);
+    @Override
+    protected Tuple computeNextMatchingTuple() throws TexeraException {
+        if (hashTable == null) {
+            hashTable = new AggregationHashTable(inputSchema, predicate.getGroupByAttributes(),
+                    predicate.getAttributeAggregateResultList(), outputSchema, maxInMemoryGroups);
+            Tuple inputTuple;
+            while ((inputTuple = inputOperator.getNextTuple()) != null) {
+                hashTable.insert(inputTuple);
             }
         }
-
-        return aggregatedResults;
+        return hashTable.next();
     }
 
     @Override
@@ -274,6 +147,22 @@ public class Aggregator extends AbstractSingleInputOperator {
 
     @Override
     protected void cleanUp() throws TexeraException {
+        if (hashTable != null) {
+            hashTable.close();
+            hashTable = null;
+        }
+    }
+
+    /**
+     * Sets the maximum number of groups kept in memory,
+     *   the partial aggregations are written to sorted runs on disk when there are more groups.
+     */
+    public void setMaxInMemoryGroups(int maxInMemoryGroups) {
+        this.maxInMemoryGroups = maxInMemoryGroups;
+    }
+
+    public int getMaxInMemoryGroups() {
+        return maxInMemoryGroups;
     }
 
     public AggregatorPredicate getPredicate() {
@@ -5,4 +5,8 @@ public class AggregatorErrorMessages {
     public static final String ATTRIBUTE_TYPE_NOT_FIT_FOR_AGGREGATION(String attributeName, String aggregationType) {
         return String.format("Attribute %s is not fit for aggregation of type %s", attributeName, aggregationType);
     }
+
+    public static final String AGGREGATION_RESULT_OVERFLOW(String resultAttributeName, String aggregationType, long value) {
+        return String.format("Result %s of aggregation %s is %d, which overflows an integer", resultAttributeName, aggregationType, value);
+    }
 }
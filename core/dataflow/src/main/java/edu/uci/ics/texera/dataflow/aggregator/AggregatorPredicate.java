@@ -3,6 +3,8 @@
  */
 package edu.uci.ics.texera.dataflow.aggregator;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +24,7 @@ import edu.uci.ics.texera.dataflow.common.OperatorGroupConstants;
  * AggregatorPredicate is the predicate for the Aggregator Operator. It accepts a list of aggregation and attribute.
  * eg: If input table contains three attributes A, B and C, the users can use aggregator operator to do MAX(A),
  * MIN(B), SUM(C).
+ * The aggregations can optionally be grouped by a list of attributes, eg: SUM(C) GROUP BY A.
  *
  * @author avinash
  */
@@ -29,13 +32,25 @@ import edu.uci.ics.texera.dataflow.common.OperatorGroupConstants;
 public class AggregatorPredicate extends PredicateBase {
 
     private final List<AggregationAttributeAndResult> attributeAggregateResultList;
+    private final List<String> groupByAttributes;
+
+    public AggregatorPredicate(List<AggregationAttributeAndResult> attributeAggResultList) {
+        this(attributeAggResultList, null);
+    }
 
     @JsonCreator
     public AggregatorPredicate(
             @JsonProperty(value = PropertyNameConstants.ATTRIBUTE_AGGREGATOR_RESULT_LIST, required = true)
-                    List<AggregationAttributeAndResult> attributeAggResultList
+                    List<AggregationAttributeAndResult> attributeAggResultList,
+            @JsonProperty(value = PropertyNameConstants.GROUP_BY_ATTRIBUTE_NAMES, required = false)
+                    List<String> groupByAttributes
     ) {
         this.attributeAggregateResultList = attributeAggResultList;
+        if (groupByAttributes == null) {
+            this.groupByAttributes = Collections.emptyList();
+        } else {
+            this.groupByAttributes = Collections.unmodifiableList(new ArrayList<>(groupByAttributes));
+        }
     }
 
     @JsonProperty(value = PropertyNameConstants.ATTRIBUTE_AGGREGATOR_RESULT_LIST)
@@ -43,6 +58,11 @@ public class AggregatorPredicate extends PredicateBase {
         return attributeAggregateResultList;
     }
 
+    @JsonProperty(value = PropertyNameConstants.GROUP_BY_ATTRIBUTE_NAMES)
+    public List<String> getGroupByAttributes() {
+        return groupByAttributes;
+    }
+
     @Override
     public IOperator newOperator() {
         return new Aggregator(this);
@@ -51,7 +71,7 @@ public class AggregatorPredicate extends PredicateBase {
     public static Map<String, Object> getOperatorMetadata() {
         return ImmutableMap.<String, Object>builder()
                 .put(PropertyNameConstants.USER_FRIENDLY_NAME, "Aggregation")
-                .put(PropertyNameConstants.OPERATOR_DESCRIPTION, "Aggregate one or more columns to find min, max, sum, average, count of the column")
+                .put(PropertyNameConstants.OPERATOR_DESCRIPTION, "Aggregate one or more columns to find min, max, sum, average, count of the column, optionally grouped by other columns")
                 .put(PropertyNameConstants.OPERATOR_GROUP_NAME, OperatorGroupConstants.UTILITY_GROUP)
                 .build();
     }
@@ -45,6 +45,7 @@ public class PropertyNameConstants {
     // related to aggregator operator
     public static final String AGGREGATOR_TYPE = "aggregator";
     public static final String ATTRIBUTE_AGGREGATOR_RESULT_LIST = "listOfAggregations";
+    public static final String GROUP_BY_ATTRIBUTE_NAMES = "groupByAttributes";
     
     // related to keyword matcher
     public static final String KEYWORD_QUERY = "query";
@@ -114,6 +115,7 @@ public class PropertyNameConstants {
     public static final String MYSQL_PASSWORD = "password";
     public static final String MYSQL_LIMIT = "limit";
     public static final String MYSQL_OFFSET = "offset";
+    public static final String MYSQL_BATCH_SIZE = "batchSize";
     
     //related to MysqlSource
     public static final String MYSQL_KEYWORDS = "boolean expression";
@@ -138,6 +140,7 @@ public class PropertyNameConstants {
     public static final String NAME_NOT_MATCH_EXCEPTION = "inner attribute name and outer attribute name are different";
     public static final String INVALID_THRESHOLD_EXCEPTION = "threshold ratio should be between 0.0 and 1.0";
     public static final String INVALID_SAMPLE_SIZE_EXCEPTION = "Sample size should be greater than 0.";
+    public static final String INVALID_BATCH_SIZE_EXCEPTION = "batch size should be greater than 0";
     public static final String INVALID_LIMIT_EXCEPTION = "limit must be greater than or equal to 0";
     public static final String INVALID_OFFSET_EXCEPTION = "offset must be greater than or equal to 0";
 
@@ -1,5 +1,6 @@
 package edu.uci.ics.texera.dataflow.connector;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 
 import edu.uci.ics.texera.api.constants.ErrorMessages;
@@ -9,12 +10,19 @@ import edu.uci.ics.texera.api.exception.DataflowException;
 import edu.uci.ics.texera.api.exception.TexeraException;
 import edu.uci.ics.texera.api.schema.Schema;
 import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.dataflow.utils.TupleSpillFile;
 
 /**
  * OneToNBroadcastConnector connects one input operator with multiple output operators.
  * The tuples from the input operator will be broadcast to every output operator.
  * 
  * It is required that all output operators need to be opened prior to calling getNextTuple().
+ * 
+ * Tuples are buffered from the position of the slowest output operator to the position of the fastest one,
+ * tuples that all opened output operators have passed are discarded.
+ * If more than maxInMemoryTuples tuples are buffered in memory, they are moved to a spill file,
+ * and each output operator reads them back sequentially when it reaches them.
+ * 
  * @author Zuozhi Wang (zuozhiw)
  *
  */
@@ -24,7 +32,11 @@ public class OneToNBroadcastConnector implements IConnector {
     private static final int OPENED = 0;
     private static final int CLOSED = -1;
     
+    public static final int DEFAULT_MAX_IN_MEMORY_TUPLES = 100000;
+    private static final int COMPACT_THRESHOLD = 1024;
+    
     private int outputOperatorNumber;
+    private int maxInMemoryTuples;
     
     // A list of all output operators
     private ArrayList<IOperator> outputOperatorList;
@@ -35,8 +47,15 @@ public class OneToNBroadcastConnector implements IConnector {
     private boolean inputOperatorOpened;
     
     private IOperator inputOperator;
-    // an in-memory list to cache tuples from input tuple, see getNextTuple() for more details
-    private ArrayList<Tuple> inputTupleList;
+    // the number of tuples fetched from the input operator
+    private int inputTupleCount = 0;
+    // buffered tuples that are moved to spill files, ordered by position
+    private ArrayDeque<SpilledTuples> spilledTuplesQueue = new ArrayDeque<>();
+    // an in-memory list to cache the latest tuples from input tuple, see getNextTuple() for more details
+    // the first tuple in the list is at position inMemoryStart, the first inMemoryTrimmed tuples are discarded
+    private ArrayList<Tuple> inMemoryTupleList = new ArrayList<>();
+    private int inMemoryStart = 0;
+    private int inMemoryTrimmed = 0;
     // indicates if the input operator's tuples are all consumed
     boolean inputAllConsumed = false;
     
@@ -45,9 +64,19 @@ public class OneToNBroadcastConnector implements IConnector {
      * @param outputOperatorNumber, the number of output operators this connector has
      */
     public OneToNBroadcastConnector(int outputOperatorNumber) {        
-        this.inputTupleList = new ArrayList<>();
+        this(outputOperatorNumber, DEFAULT_MAX_IN_MEMORY_TUPLES);
+    }
+    
+    /**
+     * Constructs a OneToNBroadcastConnector with n output operators,
+     *   which buffers at most maxInMemoryTuples tuples in memory.
+     * @param outputOperatorNumber, the number of output operators this connector has
+     * @param maxInMemoryTuples, the maximum number of tuples buffered in memory before spilling to disk
+     */
+    public OneToNBroadcastConnector(int outputOperatorNumber, int maxInMemoryTuples) {        
         inputOperatorOpened = false;
         this.outputOperatorNumber = outputOperatorNumber;
+        this.maxInMemoryTuples = maxInMemoryTuples;
         initializeOutputOperators();
     }
     
@@ -90,31 +119,107 @@ public class OneToNBroadcastConnector implements IConnector {
     /*
      * This returns the nextTuple of the operator corresponding to the index.
      * A cursor will be maintained for each operator. 
-     * Tuples from input operators are cached in an in-memory list.
-     * A new tuple will be fetched from input operator whenever a cursor exceeds the list size.
+     * Tuples from input operators are cached in an in-memory list, or in spill files if the list is too large.
+     * A new tuple will be fetched from input operator whenever a cursor reaches the last fetched tuple.
      */
     private Tuple getNextTuple(int outputOperatorIndex) throws TexeraException {
-        int currentPosition = outputCursorList.get(outputOperatorIndex);
+        int nextPosition = outputCursorList.get(outputOperatorIndex) + 1;
         
-        if (currentPosition + 1 < inputTupleList.size()) {
-            int nextPosition = currentPosition + 1;
-            outputCursorList.set(outputOperatorIndex, nextPosition);
-            return inputTupleList.get(nextPosition);
+        Tuple nextTuple;
+        if (nextPosition < inputTupleCount) {
+            nextTuple = getBufferedTuple(outputOperatorIndex, nextPosition);
         } else {
             if (inputAllConsumed) {
                 return null;
             }
-            Tuple nextInputTuple = inputOperator.getNextTuple();
-            if (nextInputTuple == null) {
+            nextTuple = inputOperator.getNextTuple();
+            if (nextTuple == null) {
                 inputAllConsumed = true;
                 return null;
-            } else {
-                inputTupleList.add(nextInputTuple);
-                int nextPosition = currentPosition + 1;
-                outputCursorList.set(outputOperatorIndex, nextPosition);
-                return nextInputTuple;
             }
+            inMemoryTupleList.add(nextTuple);
+            inputTupleCount++;
+        }
+        outputCursorList.set(outputOperatorIndex, nextPosition);
+        
+        trimBuffer();
+        if (inMemoryTupleList.size() - inMemoryTrimmed > maxInMemoryTuples) {
+            spillInMemoryTuples();
+        }
+        return nextTuple;
+    }
+    
+    private Tuple getBufferedTuple(int outputOperatorIndex, int position) throws TexeraException {
+        if (position >= inMemoryStart) {
+            return inMemoryTupleList.get(position - inMemoryStart);
+        }
+        for (SpilledTuples spilledTuples : spilledTuplesQueue) {
+            if (position < spilledTuples.end) {
+                return spilledTuples.read(outputOperatorIndex, position);
+            }
+        }
+        throw new DataflowException("tuple " + position + " is no longer buffered by the connector");
+    }
+    
+    /*
+     * Discards the buffered tuples that all output operators which are not closed have passed.
+     */
+    private void trimBuffer() throws TexeraException {
+        int minNextPosition = inputTupleCount;
+        for (int i = 0; i < outputOperatorNumber; i++) {
+            if (outputStatusList.get(i) != CLOSED) {
+                minNextPosition = Math.min(minNextPosition, outputCursorList.get(i) + 1);
+            }
+        }
+        
+        while (! spilledTuplesQueue.isEmpty() && spilledTuplesQueue.peek().end <= minNextPosition) {
+            spilledTuplesQueue.poll().close();
+        }
+        while (inMemoryStart + inMemoryTrimmed < minNextPosition) {
+            inMemoryTupleList.set(inMemoryTrimmed, null);
+            inMemoryTrimmed++;
+        }
+        // compact the list once all of it, or more than half of a large list, is discarded
+        if (inMemoryTrimmed == inMemoryTupleList.size()
+                || (inMemoryTrimmed >= COMPACT_THRESHOLD && inMemoryTrimmed * 2 >= inMemoryTupleList.size())) {
+            inMemoryTupleList.subList(0, inMemoryTrimmed).clear();
+            inMemoryStart += inMemoryTrimmed;
+            inMemoryTrimmed = 0;
+        }
+    }
+    
+    /*
+     * Moves the tuples in the in-memory list to a spill file.
+     */
+    private void spillInMemoryTuples() throws TexeraException {
+        int start = inMemoryStart + inMemoryTrimmed;
+        TupleSpillFile spillFile = new TupleSpillFile(inMemoryTupleList.get(inMemoryTrimmed).getSchema());
+        for (int i = inMemoryTrimmed; i < inMemoryTupleList.size(); i++) {
+            spillFile.write(inMemoryTupleList.get(i));
         }
+        spilledTuplesQueue.add(new SpilledTuples(spillFile, start, inputTupleCount));
+        
+        inMemoryTupleList = new ArrayList<>();
+        inMemoryStart = inputTupleCount;
+        inMemoryTrimmed = 0;
+    }
+    
+    private void releaseBuffer() throws TexeraException {
+        while (! spilledTuplesQueue.isEmpty()) {
+            spilledTuplesQueue.poll().close();
+        }
+        inMemoryTupleList = new ArrayList<>();
+        inMemoryStart = 0;
+        inMemoryTrimmed = 0;
+        inputTupleCount = 0;
+        inputAllConsumed = false;
+        for (int i = 0; i < outputOperatorNumber; i++) {
+            outputCursorList.set(i, -1);
+        }
+    }
+    
+    public int getMaxInMemoryTuples() {
+        return maxInMemoryTuples;
     }
     
     private void openInputOperator(int outputOperatorIndex) throws TexeraException {
@@ -131,6 +236,9 @@ public class OneToNBroadcastConnector implements IConnector {
         if (isAllClosed) {
             inputOperator.close();
             inputOperatorOpened = false;
+            releaseBuffer();
+        } else {
+            trimBuffer();
         }
     }
     
@@ -147,7 +255,50 @@ public class OneToNBroadcastConnector implements IConnector {
     }
 
     private boolean isAllOutputOperatorClosed() {
-        return outputStatusList.stream().reduce(CLOSED, (a, b) -> (a == b ? CLOSED : OPENED)) == -1;
+        return outputStatusList.stream().allMatch(status -> status == CLOSED);
+    }
+    
+    /*
+     * Tuples at positions [start, end) that are written to a spill file.
+     * Each output operator reads them through its own reader.
+     */
+    private class SpilledTuples {
+        
+        private final TupleSpillFile spillFile;
+        private final int start;
+        private final int end;
+        private final TupleSpillFile.Reader[] readers;
+        
+        private SpilledTuples(TupleSpillFile spillFile, int start, int end) {
+            this.spillFile = spillFile;
+            this.start = start;
+            this.end = end;
+            this.readers = new TupleSpillFile.Reader[outputOperatorNumber];
+        }
+        
+        private Tuple read(int outputOperatorIndex, int position) throws TexeraException {
+            TupleSpillFile.Reader reader = readers[outputOperatorIndex];
+            if (reader == null) {
+                reader = spillFile.openReader();
+                reader.skip(position - start);
+                readers[outputOperatorIndex] = reader;
+            }
+            Tuple tuple = reader.next();
+            if (position + 1 == end) {
+                reader.close();
+                readers[outputOperatorIndex] = null;
+            }
+            return tuple;
+        }
+        
+        private void close() throws TexeraException {
+            for (TupleSpillFile.Reader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+            spillFile.close();
+        }
     }
     
     
@@ -6,9 +6,12 @@ import edu.uci.ics.texera.api.dataflow.IOperator;
 import edu.uci.ics.texera.api.exception.DataflowException;
 import edu.uci.ics.texera.api.exception.TexeraException;
 import edu.uci.ics.texera.api.field.ListField;
+import edu.uci.ics.texera.api.field.PayloadField;
 import edu.uci.ics.texera.api.schema.AttributeType;
 import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.api.span.PackedPayload;
 import edu.uci.ics.texera.api.span.Span;
+import edu.uci.ics.texera.api.span.TermDictionary;
 import edu.uci.ics.texera.api.tuple.Tuple;
 import edu.uci.ics.texera.dataflow.common.AbstractSingleInputOperator;
 import edu.uci.ics.texera.dataflow.keywordmatcher.KeywordMatchingType;
@@ -17,7 +20,6 @@ import edu.uci.ics.texera.dataflow.utils.DataflowUtils;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 
 /**
@@ -28,6 +30,9 @@ public class DictionaryMatcher extends AbstractSingleInputOperator {
     private final DictionaryPredicate predicate;
     
     private boolean addPayload = false;
+    private TermDictionary payloadTermDictionary = new TermDictionary();
+    // the indexes of the dictionary entries containing each token
+    private Map<String, List<Integer>> tokenEntryMap = null;
     private boolean addResultAttribute = false;
 
     public DictionaryMatcher(DictionaryPredicate predicate) {
@@ -40,6 +45,7 @@ public class DictionaryMatcher extends AbstractSingleInputOperator {
     @Override
     protected void setUp() throws TexeraException {
         predicate.getDictionary().resetCursor();
+        tokenEntryMap = null;
 
         if (inputOperator == null) {
             throw new DataflowException(ErrorMessages.INPUT_OPERATOR_NOT_SPECIFIED);
@@ -100,8 +106,9 @@ public class DictionaryMatcher extends AbstractSingleInputOperator {
         // add payload if needed before passing it to the matching functions
         if (addPayload) {
             Tuple.Builder tupleBuilderPayload = new Tuple.Builder(inputTuple);
-            tupleBuilderPayload.add(SchemaConstants.PAYLOAD_ATTRIBUTE, new ListField<Span>(
-                    DataflowUtils.generatePayloadFromTuple(inputTuple, predicate.getAnalyzerString())));
+            tupleBuilderPayload.add(SchemaConstants.PAYLOAD_ATTRIBUTE, new PayloadField(
+                    DataflowUtils.generatePackedPayloadFromTuple(inputTuple, predicate.getAnalyzerString(),
+                            payloadTermDictionary)));
             inputTuple = tupleBuilderPayload.build();
         }
 
@@ -184,8 +191,7 @@ public class DictionaryMatcher extends AbstractSingleInputOperator {
     private List<Span> appendConjunctionMatchingSpans4Dictionary(Tuple inputTuple, List<String> attributeNames, List<Set<String>> queryTokenSetList, List<String> queryList) throws DataflowException {
         List<Span> matchingResults = new ArrayList<>();
         ListField<Span> payloadField = inputTuple.getField(SchemaConstants.PAYLOAD);
-        List<Span> payload = payloadField.getValue();
-        Map<Integer, List<Span>> relevantSpansMap = filterRelevantSpans(payload, queryTokenSetList);
+        PackedPayload payload = PayloadField.getPackedPayload(payloadField);
         for (String attributeName : attributeNames) {
             AttributeType attributeType = inputTuple.getSchema().getAttribute(attributeName).getType();
             String fieldValue = inputTuple.getField(attributeName).getValue().toString();
@@ -205,9 +211,9 @@ public class DictionaryMatcher extends AbstractSingleInputOperator {
 
             // for TEXT type, every token in the query should be present in span
             if (attributeType == AttributeType.TEXT) {
+                Map<Integer, List<Span>> relevantSpansMap = filterRelevantSpans(payload, attributeName, queryTokenSetList);
                 for (int index : relevantSpansMap.keySet()) {
-                    List<Span> fieldSpanList = relevantSpansMap.get(index).stream().filter(span -> span.getAttributeName().equals(attributeName))
-                            .collect(Collectors.toList());
+                    List<Span> fieldSpanList = relevantSpansMap.get(index);
                     if (DataflowUtils.isAllQueryTokensPresent(fieldSpanList, queryTokenSetList.get(index))) {
                         matchingResults.addAll(fieldSpanList);
                     }
@@ -220,8 +226,7 @@ public class DictionaryMatcher extends AbstractSingleInputOperator {
     public List<Span> appendPhraseMatchingSpans4Dictionary(Tuple inputTuple, List<String> attributeNames, List<List<String>> queryTokenList, List<Set<String>> queryTokenSetList, List<List<String>> queryTokenListWithStopwords, List<String> queryList) throws DataflowException {
         List<Span> matchingResults = new ArrayList<>();
         ListField<Span> payloadField = inputTuple.getField(SchemaConstants.PAYLOAD);
-        List<Span> payload = payloadField.getValue();
-        Map<Integer, List<Span>> relevantSpansMap = filterRelevantSpans(payload, queryTokenSetList);
+        PackedPayload payload = PayloadField.getPackedPayload(payloadField);
         for (String attributeName : attributeNames) {
             AttributeType attributeType = inputTuple.getSchema().getAttribute(attributeName).getType();
             String fieldValue = inputTuple.getField(attributeName).getValue().toString();
@@ -241,9 +246,9 @@ public class DictionaryMatcher extends AbstractSingleInputOperator {
 
             // for TEXT type, spans need to be reconstructed according to the phrase query.
             if (attributeType == AttributeType.TEXT) {
+                Map<Integer, List<Span>> relevantSpansMap = filterRelevantSpans(payload, attributeName, queryTokenSetList);
                 for (int index : relevantSpansMap.keySet()) {
-                    List<Span> fieldSpanList = relevantSpansMap.get(index).stream().filter(span -> span.getAttributeName().equals(attributeName))
-                            .collect(Collectors.toList());
+                    List<Span> fieldSpanList = relevantSpansMap.get(index);
                     if (fieldSpanList.isEmpty() || !DataflowUtils.isAllQueryTokensPresent(fieldSpanList, queryTokenSetList.get(index))) {
                         continue;
                     }
@@ -254,29 +259,23 @@ public class DictionaryMatcher extends AbstractSingleInputOperator {
         return matchingResults;
     }
 
-    private Map<Integer, List<Span>> filterRelevantSpans(List<Span> spanList, List<Set<String>> queryTokenSet) {
-        Map<Integer, List<Span>> resultMap = new HashMap<>();
-        Map<String, List<Integer>> tokenMap = new HashMap<>();
-        for (int i = 0; i < queryTokenSet.size(); i++) {
-            for (String s : queryTokenSet.get(i)) {
-                if (!tokenMap.containsKey(s)) {
-                    tokenMap.put(s, new ArrayList<>());
+    /**
+     * Returns the spans of the tokens of an attribute that are in some dictionary entries,
+     *   grouped by the index of the dictionary entry.
+     */
+    private Map<Integer, List<Span>> filterRelevantSpans(PackedPayload payload, String attributeName, List<Set<String>> queryTokenSet) {
+        if (tokenEntryMap == null) {
+            tokenEntryMap = new HashMap<>();
+            for (int i = 0; i < queryTokenSet.size(); i++) {
+                for (String s : queryTokenSet.get(i)) {
+                    tokenEntryMap.computeIfAbsent(s, k -> new ArrayList<>()).add(i);
                 }
-                tokenMap.get(s).add(i);
             }
         }
-        Iterator<Span> iterator = spanList.iterator();
-        while (iterator.hasNext()) {
-            Span span = iterator.next();
-            if (tokenMap.keySet().contains(span.getKey())) {
-                List<Integer> tokensetIndex = tokenMap.get(span.getKey());
-                for (Integer index : tokensetIndex) {
-                    if (!resultMap.containsKey(index)) {
-                        resultMap.put(index, new ArrayList<>());
-                    }
-                    resultMap.get(index).add(span);
-                }
-
+        Map<Integer, List<Span>> resultMap = new HashMap<>();
+        for (Span span : payload.getSpans(attributeName, tokenEntryMap.keySet())) {
+            for (Integer index : tokenEntryMap.get(span.getKey())) {
+                resultMap.computeIfAbsent(index, k -> new ArrayList<>()).add(span);
             }
         }
         return resultMap;
@@ -1,18 +1,19 @@
 package edu.uci.ics.texera.dataflow.fuzzytokenmatcher;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import edu.uci.ics.texera.api.constants.ErrorMessages;
 import edu.uci.ics.texera.api.constants.SchemaConstants;
 import edu.uci.ics.texera.api.exception.DataflowException;
 import edu.uci.ics.texera.api.exception.TexeraException;
 import edu.uci.ics.texera.api.field.ListField;
+import edu.uci.ics.texera.api.field.PayloadField;
 import edu.uci.ics.texera.api.schema.AttributeType;
 import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.api.span.PackedPayload;
 import edu.uci.ics.texera.api.span.Span;
+import edu.uci.ics.texera.api.span.TermDictionary;
 import edu.uci.ics.texera.api.tuple.Tuple;
 import edu.uci.ics.texera.dataflow.common.AbstractSingleInputOperator;
 import edu.uci.ics.texera.dataflow.utils.DataflowUtils;
@@ -31,6 +32,7 @@ public class FuzzyTokenMatcher extends AbstractSingleInputOperator {
     private Schema inputSchema;
     
     private boolean addPayload = false;
+    private TermDictionary payloadTermDictionary = new TermDictionary();
     private boolean addResultAttribute = false;
     
     public FuzzyTokenMatcher(FuzzyTokenPredicate predicate) {
@@ -71,13 +73,14 @@ public class FuzzyTokenMatcher extends AbstractSingleInputOperator {
         // add payload if needed before passing it to the matching functions
         if (addPayload) {
             Tuple.Builder tupleBuilderPayload = new Tuple.Builder(inputTuple);
-            tupleBuilderPayload.add(SchemaConstants.PAYLOAD_ATTRIBUTE, new ListField<Span>(
-                    DataflowUtils.generatePayloadFromTuple(inputTuple, predicate.getLuceneAnalyzerStr())));
+            tupleBuilderPayload.add(SchemaConstants.PAYLOAD_ATTRIBUTE, new PayloadField(
+                    DataflowUtils.generatePackedPayloadFromTuple(inputTuple, predicate.getLuceneAnalyzerStr(),
+                            payloadTermDictionary)));
             inputTuple = tupleBuilderPayload.build();
         }
         
         ListField<Span> payloadField = inputTuple.getField(SchemaConstants.PAYLOAD);
-        List<Span> relevantSpans = filterRelevantSpans(payloadField.getValue());
+        PackedPayload payload = PayloadField.getPackedPayload(payloadField);
         List<Span> matchingResults = new ArrayList<>();
 
         /*
@@ -94,14 +97,9 @@ public class FuzzyTokenMatcher extends AbstractSingleInputOperator {
                 throw new DataflowException("FuzzyTokenMatcher: Fields other than TEXT or STRING are not supported");
             }
             
-            List<Span> fieldSpans = 
-                    relevantSpans.stream()
-                    .filter(span -> span.getAttributeName().equals(attributeName))
-                    .filter(span -> predicate.getQueryTokens().contains(span.getKey()))
-                    .collect(Collectors.toList());
-            
-            if (fieldSpans.size() >= predicate.getThreshold()) {
-                matchingResults.addAll(fieldSpans);
+            // count the matching tokens first, the spans are only created if the field matches
+            if (payload.countTerms(attributeName, predicate.getQueryTokens()) >= predicate.getThreshold()) {
+                matchingResults.addAll(payload.getSpans(attributeName, predicate.getQueryTokens()));
             }
         }
 
@@ -117,18 +115,6 @@ public class FuzzyTokenMatcher extends AbstractSingleInputOperator {
         return tupleBuilder.build();
     }
     
-    private List<Span> filterRelevantSpans(List<Span> spanList) {
-        List<Span> relevantSpans = new ArrayList<>();
-        Iterator<Span> iterator = spanList.iterator();
-        while (iterator.hasNext()) {
-            Span span = iterator.next();
-            if (predicate.getQueryTokens().contains(span.getKey())) {
-                relevantSpans.add(span);
-            }
-        }
-        return relevantSpans;
-    }
-
     public Schema transformToOutputSchema(Schema... inputSchema) {
         if (inputSchema.length != 1)
             throw new TexeraException(String.format(ErrorMessages.NUMBER_OF_ARGUMENTS_DOES_NOT_MATCH, 1, inputSchema.length));
@@ -1,5 +1,7 @@
 package edu.uci.ics.texera.dataflow.join;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import edu.uci.ics.texera.api.dataflow.IPredicate;
 import edu.uci.ics.texera.api.exception.DataflowException;
 import edu.uci.ics.texera.api.schema.Schema;
@@ -21,4 +23,26 @@ public interface IJoinPredicate extends IPredicate {
 	String getInnerAttributeName();
 	
 	String getOuterAttributeName();
+	
+	/**
+	 * Returns the name of an attribute whose values must be equal in the inner tuple
+	 * and the outer tuple for them to be joined, or null if there's no such attribute.
+	 * 
+	 * If it's present, the Join operator hashes the inner tuples on this attribute
+	 * instead of calling joinTuples() on every pair of inner and outer tuples.
+	 */
+	@JsonIgnore
+	default String getEquiJoinAttributeName() {
+	    return null;
+	}
+	
+	/**
+	 * Creates an index over the inner tuples that finds the candidate inner tuples
+	 * for each outer tuple, or returns null if the predicate doesn't support one.
+	 * 
+	 * It's only used if the predicate doesn't have an equi-join attribute.
+	 */
+	default JoinCandidateIndex createCandidateIndex() {
+	    return null;
+	}
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package edu.uci.ics.texera.dataflow.join;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import edu.uci.ics.texera.api.constants.ErrorMessages;
@@ -10,6 +12,7 @@ import edu.uci.ics.texera.api.exception.TexeraException;
 import edu.uci.ics.texera.api.schema.AttributeType;
 import edu.uci.ics.texera.api.schema.Schema;
 import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.dataflow.utils.TupleSpillFile;
 
 
 /**
@@ -37,6 +40,14 @@ import edu.uci.ics.texera.api.tuple.Tuple;
  * join attribute, the tuple is discarded. If the attribute is not join attribute,
  * then one of the values will be chosen to become the output value.
  * 
+ * If the JoinPredicate has an equi-join attribute (for example, _ID for JoinDistancePredicate),
+ * the inner tuples are put into a hash table on that attribute, and each outer tuple is only
+ * compared with the inner tuples with the same value. The hash table is partitioned to disk
+ * when it holds more than maxInMemoryBuildTuples tuples (see JoinHashTable).
+ * Otherwise, if the JoinPredicate provides a JoinCandidateIndex (for example, SimilarityJoinPredicate),
+ * each outer tuple is only compared with the candidate inner tuples from the index.
+ * Otherwise, each outer tuple is compared with all the inner tuples.
+ * 
  * @author Sripad Kowshik Subramanyam (sripadks)
  * @author Zuozhi Wang
  *
@@ -47,10 +58,23 @@ public class Join implements IOperator {
     private IOperator outerOperator;
     private IJoinPredicate joinPredicate;
     
+    public static final int DEFAULT_MAX_IN_MEMORY_BUILD_TUPLES = 1000000;
+    
+    // inner tuples for predicates without an equi-join attribute (nested loop join)
     private List<Tuple> innerTupleList = null;
-    // Cursor to maintain the position of tuple to be obtained from innerTupleList.
-    private Integer innerTupleListCursor = 0;
+    // inner tuples for predicates with an equi-join attribute (hash join)
+    private JoinHashTable innerTupleHashTable = null;
+    // inner tuples for predicates with a candidate index (index nested loop join)
+    private JoinCandidateIndex innerTupleIndex = null;
+    private boolean innerTuplesLoaded = false;
+    private int maxInMemoryBuildTuples = DEFAULT_MAX_IN_MEMORY_BUILD_TUPLES;
+    
+    // the inner tuples to be joined with the current outer tuple
+    private Iterator<Tuple> innerTupleIterator = Collections.emptyIterator();
     private Tuple currentOuterTuple;
+    // the outer tuples of the spilled hash table partition being joined, null if not joining spilled partitions
+    private TupleSpillFile.Reader spilledOuterTupleReader = null;
+    private boolean outerTuplesConsumed = false;
     private Schema outputSchema;
 
     private int cursor = CLOSED;
@@ -107,24 +131,15 @@ public class Join implements IOperator {
             throw new DataflowException(ErrorMessages.OPERATOR_NOT_OPENED);
         }
     	
-        // load all tuples from inner operator into memory in the first time
-    	if (innerTupleList == null) {
-    	    innerTupleList = new ArrayList<>();
-    	    Tuple tuple;
-            while ((tuple = innerOperator.getNextTuple()) != null) {
-                innerTupleList.add(tuple);
-            }
-    	}
-    	
-    	// load the first outer tuple
-    	currentOuterTuple = outerOperator.getNextTuple();
+        // load all tuples from inner operator in the first time
+        if (! innerTuplesLoaded) {
+            loadInnerTuples();
+        }
     	
-    	// return null if either
-    	//   inner tuple list is empty, or
-    	//   all outer tuples have been consumed
-    	if (innerTupleList.isEmpty() || currentOuterTuple == null) {
-    	    return null;
-    	}
+        // return null if inner tuple list is empty
+        if (isInnerEmpty()) {
+            return null;
+        }
 
         if (resultCursor >= limit + offset - 1 || limit == 0){
             return null;
@@ -148,6 +163,41 @@ public class Join implements IOperator {
         }
     }
 
+    private void loadInnerTuples() throws TexeraException {
+        String keyAttributeName = joinPredicate.getEquiJoinAttributeName();
+        Tuple tuple;
+        if (keyAttributeName == null) {
+            innerTupleIndex = joinPredicate.createCandidateIndex();
+        }
+        if (innerTupleIndex != null) {
+            while ((tuple = innerOperator.getNextTuple()) != null) {
+                innerTupleIndex.insert(tuple);
+            }
+        } else if (keyAttributeName == null) {
+            innerTupleList = new ArrayList<>();
+            while ((tuple = innerOperator.getNextTuple()) != null) {
+                innerTupleList.add(tuple);
+            }
+        } else {
+            innerTupleHashTable = new JoinHashTable(keyAttributeName, 
+                    innerOperator.getOutputSchema(), outerOperator.getOutputSchema(), maxInMemoryBuildTuples);
+            while ((tuple = innerOperator.getNextTuple()) != null) {
+                innerTupleHashTable.insert(tuple);
+            }
+        }
+        innerTuplesLoaded = true;
+    }
+    
+    private boolean isInnerEmpty() {
+        if (innerTupleHashTable != null) {
+            return innerTupleHashTable.isEmpty();
+        } else if (innerTupleIndex != null) {
+            return innerTupleIndex.isEmpty();
+        } else {
+            return innerTupleList.isEmpty();
+        }
+    }
+    
     /*
      * Called from getNextTuple() method in order to obtain the next tuple 
      * that satisfies the predicate. 
@@ -155,30 +205,55 @@ public class Join implements IOperator {
      * It returns null if there's no more tuples.
      */
     private Tuple computeNextMatchingTuple() throws Exception {
-        if (innerTupleList.isEmpty()) {
-            return null;
-        }
-        
-        Tuple nextTuple = null;
-        while (nextTuple == null) {
-            // if reach the end of inner tuple list
-            if (innerTupleListCursor >= innerTupleList.size()) {
-                // get next outer tuple
-                currentOuterTuple = outerOperator.getNextTuple();
-                if (currentOuterTuple == null) {
+        while (true) {
+            while (! innerTupleIterator.hasNext()) {
+                if (! advanceOuterTuple()) {
                     return null;
                 }
-                // reset cursor if outerTuple is not null
-                innerTupleListCursor = 0;
             }
-            // compute next tuple
-            nextTuple = joinPredicate.joinTuples(
-                    innerTupleList.get(innerTupleListCursor), currentOuterTuple, outputSchema);
-            // increment cursor
-            innerTupleListCursor++;
+            Tuple nextTuple = joinPredicate.joinTuples(innerTupleIterator.next(), currentOuterTuple, outputSchema);
+            if (nextTuple != null) {
+                return nextTuple;
+            }
         }
-        
-    	return nextTuple;
+    }
+    
+    /*
+     * Moves to the next outer tuple and finds the inner tuples to be joined with it.
+     * After all the outer tuples are consumed, the outer tuples of the spilled
+     * hash table partitions are joined partition by partition.
+     * 
+     * It returns false if there's no more outer tuples.
+     */
+    private boolean advanceOuterTuple() throws TexeraException {
+        if (! outerTuplesConsumed) {
+            currentOuterTuple = outerOperator.getNextTuple();
+            if (currentOuterTuple != null) {
+                if (innerTupleHashTable != null) {
+                    innerTupleIterator = innerTupleHashTable.probe(currentOuterTuple).iterator();
+                } else if (innerTupleIndex != null) {
+                    innerTupleIterator = innerTupleIndex.getCandidates(currentOuterTuple).iterator();
+                } else {
+                    innerTupleIterator = innerTupleList.iterator();
+                }
+                return true;
+            }
+            outerTuplesConsumed = true;
+            if (innerTupleHashTable == null) {
+                return false;
+            }
+            spilledOuterTupleReader = innerTupleHashTable.nextSpilledPartition();
+        }
+        while (spilledOuterTupleReader != null) {
+            currentOuterTuple = spilledOuterTupleReader.next();
+            if (currentOuterTuple != null) {
+                innerTupleIterator = innerTupleHashTable.lookUp(currentOuterTuple).iterator();
+                return true;
+            }
+            spilledOuterTupleReader.close();
+            spilledOuterTupleReader = innerTupleHashTable.nextSpilledPartition();
+        }
+        return false;
     }
 
     @Override
@@ -194,9 +269,22 @@ public class Join implements IOperator {
             throw new DataflowException(e.getMessage(), e);
         }
         
-        // Set the inner tuple list back to null on close.
+        // Release the inner tuples and the spill files on close.
+        if (spilledOuterTupleReader != null) {
+            spilledOuterTupleReader.close();
+            spilledOuterTupleReader = null;
+        }
+        if (innerTupleHashTable != null) {
+            innerTupleHashTable.close();
+            innerTupleHashTable = null;
+        }
         innerTupleList = null;
-        innerTupleListCursor = 0;
+        innerTupleIndex = null;
+        innerTuplesLoaded = false;
+        innerTupleIterator = Collections.emptyIterator();
+        currentOuterTuple = null;
+        outerTuplesConsumed = false;
+        resultCursor = -1;
         cursor = CLOSED;
     }
 
@@ -239,6 +327,18 @@ public class Join implements IOperator {
         return offset;
     }
     
+    /**
+     * Sets the maximum number of inner tuples kept in memory by the hash join
+     *   before the hash table is partitioned to disk.
+     */
+    public void setMaxInMemoryBuildTuples(int maxInMemoryBuildTuples) {
+        this.maxInMemoryBuildTuples = maxInMemoryBuildTuples;
+    }
+    
+    public int getMaxInMemoryBuildTuples() {
+        return maxInMemoryBuildTuples;
+    }
+    
     public IJoinPredicate getPredicate() {
         return this.joinPredicate;
     }
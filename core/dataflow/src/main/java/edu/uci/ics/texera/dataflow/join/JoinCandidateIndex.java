@@ -0,0 +1,28 @@
+package edu.uci.ics.texera.dataflow.join;
+
+import java.util.List;
+
+import edu.uci.ics.texera.api.exception.DataflowException;
+import edu.uci.ics.texera.api.tuple.Tuple;
+
+/**
+ * JoinCandidateIndex is an index over the inner tuples of a Join, created by
+ *   IJoinPredicate.createCandidateIndex().
+ *
+ * For each outer tuple, the index returns the inner tuples that may satisfy the join predicate.
+ * It must never leave out an inner tuple that joinTuples() would join with the outer tuple,
+ *   but it may return tuples that don't, since the Join still calls joinTuples() on every candidate.
+ *
+ */
+public interface JoinCandidateIndex {
+
+    void insert(Tuple innerTuple) throws DataflowException;
+
+    boolean isEmpty();
+
+    /**
+     * Returns the candidate inner tuples for the outer tuple, in the order they were inserted.
+     */
+    List<Tuple> getCandidates(Tuple outerTuple) throws DataflowException;
+
+}
@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -139,6 +140,15 @@ public class JoinDistancePredicate extends PredicateBase implements IJoinPredica
         return this.threshold;
     }
     
+    /**
+     * Only the tuples with the same _ID are joined, see joinTuples().
+     */
+    @JsonIgnore
+    @Override
+    public String getEquiJoinAttributeName() {
+        return SchemaConstants._ID;
+    }
+    
     @Override
     public Schema generateOutputSchema(Schema innerOperatorSchema, Schema outerOperatorSchema) throws DataflowException {
         return generateIntersectionSchema(innerOperatorSchema, outerOperatorSchema);
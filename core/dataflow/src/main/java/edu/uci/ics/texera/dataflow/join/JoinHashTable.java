@@ -0,0 +1,297 @@
+package edu.uci.ics.texera.dataflow.join;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.uci.ics.texera.api.exception.DataflowException;
+import edu.uci.ics.texera.api.field.IField;
+import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.dataflow.utils.TupleSpillFile;
+
+/**
+ * JoinHashTable is the build side of a hash join on one equi-join attribute.
+ *
+ * Inner tuples are hashed on the value of the join key attribute, and each outer tuple
+ *   is only compared with the inner tuples that have the same key.
+ *
+ * If the number of inner tuples exceeds maxInMemoryTuples, the table is partitioned
+ *   (hybrid hash join): the tuples in partition 0 stay in memory,
+ *   the tuples of the other partitions are written to spill files.
+ * Outer tuples that fall into a spilled partition are also written to a spill file of that partition,
+ *   after all the outer tuples are consumed, the spilled partitions are joined one by one
+ *   by loading each inner partition into memory and reading back its outer tuples.
+ * A spilled partition that still has more than maxInMemoryTuples inner tuples is split again
+ *   into PARTITION_NUMBER partitions with a different hash seed (up to MAX_PARTITION_LEVEL times),
+ *   so that a skewed partition doesn't have to fit in memory.
+ * Tuples with the same key are never split, a partition of a single key is loaded whatever its size.
+ *
+ * Tuples whose join key is missing are never joined.
+ *
+ */
+class JoinHashTable {
+
+    private static final int PARTITION_NUMBER = 16;
+    private static final int MAX_PARTITION_LEVEL = 4;
+
+    private final String keyAttributeName;
+    private final Schema innerSchema;
+    private final Schema outerSchema;
+    private final int maxInMemoryTuples;
+
+    private Map<Object, List<Tuple>> hashTable = new HashMap<>();
+    private int inMemoryTupleCount = 0;
+    private int totalTupleCount = 0;
+
+    // spill files of partition 1 to PARTITION_NUMBER - 1, null if the table is not spilled
+    private TupleSpillFile[] innerPartitionFiles = null;
+    private TupleSpillFile[] outerPartitionFiles = null;
+    // the spilled partitions to be loaded by nextSpilledPartition()
+    private final Deque<SpilledPartition> spilledPartitions = new ArrayDeque<>();
+    // the partition loaded by nextSpilledPartition(), its files are deleted when the next one is loaded
+    private SpilledPartition currentPartition = null;
+
+    JoinHashTable(String keyAttributeName, Schema innerSchema, Schema outerSchema, int maxInMemoryTuples) {
+        this.keyAttributeName = keyAttributeName;
+        this.innerSchema = innerSchema;
+        this.outerSchema = outerSchema;
+        this.maxInMemoryTuples = maxInMemoryTuples;
+    }
+
+    public void insert(Tuple innerTuple) throws DataflowException {
+        Object key = getKey(innerTuple);
+        if (key == null) {
+            return;
+        }
+        totalTupleCount++;
+        int partition = getPartition(key, 0);
+        if (isSpilled() && partition != 0) {
+            innerPartitionFiles[partition].write(innerTuple);
+            return;
+        }
+        hashTable.computeIfAbsent(key, k -> new ArrayList<>()).add(innerTuple);
+        inMemoryTupleCount++;
+        if (! isSpilled() && inMemoryTupleCount > maxInMemoryTuples) {
+            spill();
+        }
+    }
+
+    public boolean isEmpty() {
+        return totalTupleCount == 0;
+    }
+
+    public boolean isSpilled() {
+        return innerPartitionFiles != null;
+    }
+
+    /**
+     * Returns the inner tuples that have the same join key as the outer tuple.
+     * If the key belongs to a spilled partition, the outer tuple is written to the spill file
+     *   of the partition, and an empty list is returned.
+     */
+    public List<Tuple> probe(Tuple outerTuple) throws DataflowException {
+        Object key = getKey(outerTuple);
+        if (key == null) {
+            return Collections.emptyList();
+        }
+        int partition = getPartition(key, 0);
+        if (isSpilled() && partition != 0) {
+            outerPartitionFiles[partition].write(outerTuple);
+            return Collections.emptyList();
+        }
+        return lookUp(key);
+    }
+
+    /**
+     * Loads the next spilled inner partition into memory, replacing the previous one,
+     *   and returns a reader over the outer tuples of that partition.
+     * The outer tuples must be joined using lookUp().
+     * A partition with too many inner tuples is split into smaller partitions first.
+     *
+     * Returns null if there's no more spilled partitions.
+     */
+    public TupleSpillFile.Reader nextSpilledPartition() throws DataflowException {
+        hashTable = new HashMap<>();
+        if (currentPartition != null) {
+            currentPartition.close();
+            currentPartition = null;
+        }
+        while (! spilledPartitions.isEmpty()) {
+            SpilledPartition partition = spilledPartitions.pop();
+            if (partition.inner.size() == 0 || partition.outer.size() == 0) {
+                // nothing to join
+                partition.close();
+                continue;
+            }
+            if (partition.inner.size() > maxInMemoryTuples && partition.level < MAX_PARTITION_LEVEL
+                    && repartition(partition)) {
+                continue;
+            }
+
+            TupleSpillFile.Reader innerReader = partition.inner.openReader();
+            Tuple tuple;
+            while ((tuple = innerReader.next()) != null) {
+                hashTable.computeIfAbsent(getKey(tuple), k -> new ArrayList<>()).add(tuple);
+            }
+            innerReader.close();
+            currentPartition = partition;
+            return partition.outer.openReader();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the in-memory inner tuples that have the same join key as the outer tuple.
+     */
+    public List<Tuple> lookUp(Tuple outerTuple) {
+        Object key = getKey(outerTuple);
+        if (key == null) {
+            return Collections.emptyList();
+        }
+        return lookUp(key);
+    }
+
+    public void close() throws DataflowException {
+        hashTable = new HashMap<>();
+        if (currentPartition != null) {
+            currentPartition.close();
+            currentPartition = null;
+        }
+        while (! spilledPartitions.isEmpty()) {
+            spilledPartitions.pop().close();
+        }
+        innerPartitionFiles = null;
+        outerPartitionFiles = null;
+    }
+
+    private List<Tuple> lookUp(Object key) {
+        List<Tuple> innerTuples = hashTable.get(key);
+        return innerTuples == null ? Collections.emptyList() : innerTuples;
+    }
+
+    /*
+     * Moves the in-memory tuples that don't belong to partition 0 to the spill files.
+     */
+    private void spill() throws DataflowException {
+        innerPartitionFiles = new TupleSpillFile[PARTITION_NUMBER];
+        outerPartitionFiles = new TupleSpillFile[PARTITION_NUMBER];
+        for (int i = 1; i < PARTITION_NUMBER; i++) {
+            innerPartitionFiles[i] = new TupleSpillFile(innerSchema);
+            outerPartitionFiles[i] = new TupleSpillFile(outerSchema);
+        }
+
+        for (int i = 1; i < PARTITION_NUMBER; i++) {
+            spilledPartitions.add(new SpilledPartition(innerPartitionFiles[i], outerPartitionFiles[i], 0));
+        }
+
+        Map<Object, List<Tuple>> residentTable = new HashMap<>();
+        inMemoryTupleCount = 0;
+        for (Map.Entry<Object, List<Tuple>> entry : hashTable.entrySet()) {
+            int partition = getPartition(entry.getKey(), 0);
+            if (partition == 0) {
+                residentTable.put(entry.getKey(), entry.getValue());
+                inMemoryTupleCount += entry.getValue().size();
+            } else {
+                for (Tuple tuple : entry.getValue()) {
+                    innerPartitionFiles[partition].write(tuple);
+                }
+            }
+        }
+        hashTable = residentTable;
+    }
+
+    /*
+     * Splits a spilled partition into PARTITION_NUMBER partitions of the next level,
+     *   which are loaded before the other pending partitions.
+     * Returns false, and keeps the partition, if all its inner tuples fall into the same partition,
+     *   as splitting it again wouldn't make it smaller.
+     */
+    private boolean repartition(SpilledPartition partition) throws DataflowException {
+        int level = partition.level + 1;
+        TupleSpillFile[] innerFiles = new TupleSpillFile[PARTITION_NUMBER];
+        TupleSpillFile[] outerFiles = new TupleSpillFile[PARTITION_NUMBER];
+        for (int i = 0; i < PARTITION_NUMBER; i++) {
+            innerFiles[i] = new TupleSpillFile(innerSchema);
+            outerFiles[i] = new TupleSpillFile(outerSchema);
+        }
+
+        int largestPartitionSize = 0;
+        TupleSpillFile.Reader innerReader = partition.inner.openReader();
+        Tuple tuple;
+        while ((tuple = innerReader.next()) != null) {
+            TupleSpillFile innerFile = innerFiles[getPartition(getKey(tuple), level)];
+            innerFile.write(tuple);
+            largestPartitionSize = Math.max(largestPartitionSize, innerFile.size());
+        }
+        innerReader.close();
+
+        if (largestPartitionSize == partition.inner.size()) {
+            for (int i = 0; i < PARTITION_NUMBER; i++) {
+                innerFiles[i].close();
+                outerFiles[i].close();
+            }
+            // the partition can't be split on its keys, load it the next time
+            spilledPartitions.push(new SpilledPartition(partition.inner, partition.outer, MAX_PARTITION_LEVEL));
+            return true;
+        }
+
+        TupleSpillFile.Reader outerReader = partition.outer.openReader();
+        while ((tuple = outerReader.next()) != null) {
+            outerFiles[getPartition(getKey(tuple), level)].write(tuple);
+        }
+        outerReader.close();
+        partition.close();
+
+        for (int i = PARTITION_NUMBER - 1; i >= 0; i--) {
+            spilledPartitions.push(new SpilledPartition(innerFiles[i], outerFiles[i], level));
+        }
+        return true;
+    }
+
+    private Object getKey(Tuple tuple) {
+        IField keyField = tuple.getField(keyAttributeName);
+        return keyField == null ? null : keyField.getValue();
+    }
+
+    /*
+     * The partition of a key at a partition level, each level uses a different hash seed,
+     *   which is also different from the hash of the HashMap of each partition.
+     */
+    static int getPartition(Object key, int level) {
+        int hash = key.hashCode() + level * 0x9E3779B9;
+        // the finalizer of MurmurHash3
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, PARTITION_NUMBER);
+    }
+
+    /*
+     * The inner and outer spill files of a partition.
+     */
+    private static class SpilledPartition {
+
+        private final TupleSpillFile inner;
+        private final TupleSpillFile outer;
+        private final int level;
+
+        private SpilledPartition(TupleSpillFile inner, TupleSpillFile outer, int level) {
+            this.inner = inner;
+            this.outer = outer;
+            this.level = level;
+        }
+
+        private void close() throws DataflowException {
+            inner.close();
+            outer.close();
+        }
+    }
+
+}
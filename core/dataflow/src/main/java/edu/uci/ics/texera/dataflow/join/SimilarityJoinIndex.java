@@ -0,0 +1,222 @@
+package edu.uci.ics.texera.dataflow.join;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.uci.ics.texera.api.constants.SchemaConstants;
+import edu.uci.ics.texera.api.exception.DataflowException;
+import edu.uci.ics.texera.api.field.ListField;
+import edu.uci.ics.texera.api.span.Span;
+import edu.uci.ics.texera.api.tuple.Tuple;
+
+/**
+ * SimilarityJoinIndex is the candidate index of the SimilarityJoinPredicate
+ *   when the similarity is measured by normalized Levenshtein similarity:
+ *   sim(s, r) = 1 - ed(s, r) / max(|s|, |r|)
+ *
+ * Two span values can only be similar within threshold t if they pass:
+ *
+ * Length filter: ed(s, r) >= ||s| - |r||, therefore sim(s, r) <= min(|s|, |r|) / max(|s|, |r|),
+ *   which must be at least t.
+ *
+ * Prefix filter: sim(s, r) >= t means ed(s, r) <= d, with d = (1 - t) * max(|s|, |r|) <= (1 - t) * |s| / t.
+ *   One edit operation destroys at most q of the q-grams of a string, therefore s and r share
+ *   at least max(|s|, |r|) - q + 1 - q * d q-grams. If the q-grams of each string are sorted in
+ *   the same global order, the first q * d + 1 q-grams of s and of r must contain a common q-gram.
+ *
+ * The index keeps an inverted list from each q-gram to the inner span values whose prefix contains it.
+ * The q-grams are ordered by ascending frequency in the inner values, so that prefixes consist of rare q-grams
+ *   and the inverted lists that are probed are short.
+ * Values whose prefix would cover all their q-grams can't be filtered this way, they are checked by length only.
+ *
+ * The index is built on the first call to getCandidates(), after all the inner tuples are inserted.
+ *
+ */
+class SimilarityJoinIndex implements JoinCandidateIndex {
+
+    public static final int Q = 2;
+
+    // tolerance for the floating point comparisons of the filters, which must never drop a similar pair
+    private static final double EPSILON = 1e-9;
+
+    private final double threshold;
+    private final String innerJoinAttrName;
+    private final String outerJoinAttrName;
+
+    private final List<Tuple> innerTupleList = new ArrayList<>();
+
+    // distinct inner span values, the ids of the inner tuples containing each value
+    private final Map<String, Integer> valueIds = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private final List<BitSet> valueTupleIds = new ArrayList<>();
+
+    private boolean built = false;
+    private Map<String, Integer> qgramFrequency;
+    private Map<String, List<Integer>> invertedLists;
+    private List<Integer> unfilteredValueIds;
+
+    SimilarityJoinIndex(double threshold, String innerJoinAttrName, String outerJoinAttrName) {
+        this.threshold = threshold;
+        this.innerJoinAttrName = innerJoinAttrName;
+        this.outerJoinAttrName = outerJoinAttrName;
+    }
+
+    @Override
+    public void insert(Tuple innerTuple) throws DataflowException {
+        if (built) {
+            throw new DataflowException("cannot insert into SimilarityJoinIndex after it's built");
+        }
+        int tupleId = innerTupleList.size();
+        innerTupleList.add(innerTuple);
+        for (String value : getSpanValues(innerTuple, innerJoinAttrName)) {
+            Integer valueId = valueIds.get(value);
+            if (valueId == null) {
+                valueId = values.size();
+                valueIds.put(value, valueId);
+                values.add(value);
+                valueTupleIds.add(new BitSet());
+            }
+            valueTupleIds.get(valueId).set(tupleId);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return innerTupleList.isEmpty();
+    }
+
+    @Override
+    public List<Tuple> getCandidates(Tuple outerTuple) throws DataflowException {
+        // the predicate doesn't join anything with a 0 threshold
+        if (threshold <= 0) {
+            return Collections.emptyList();
+        }
+        if (! built) {
+            build();
+        }
+
+        BitSet candidateTupleIds = new BitSet();
+        for (String outerValue : getSpanValues(outerTuple, outerJoinAttrName)) {
+            List<String> outerPrefix = getPrefix(outerValue);
+            if (outerPrefix == null) {
+                // the outer value can't be filtered by prefix, check all the inner values
+                for (int valueId = 0; valueId < values.size(); valueId++) {
+                    addCandidate(valueId, outerValue, candidateTupleIds);
+                }
+                continue;
+            }
+            for (String qgram : outerPrefix) {
+                List<Integer> invertedList = invertedLists.get(qgram);
+                if (invertedList != null) {
+                    for (int valueId : invertedList) {
+                        addCandidate(valueId, outerValue, candidateTupleIds);
+                    }
+                }
+            }
+            for (int valueId : unfilteredValueIds) {
+                addCandidate(valueId, outerValue, candidateTupleIds);
+            }
+        }
+
+        List<Tuple> candidates = new ArrayList<>(candidateTupleIds.cardinality());
+        for (int i = candidateTupleIds.nextSetBit(0); i >= 0; i = candidateTupleIds.nextSetBit(i + 1)) {
+            candidates.add(innerTupleList.get(i));
+        }
+        return candidates;
+    }
+
+    private void addCandidate(int valueId, String outerValue, BitSet candidateTupleIds) {
+        if (passLengthFilter(values.get(valueId), outerValue, threshold)) {
+            candidateTupleIds.or(valueTupleIds.get(valueId));
+        }
+    }
+
+    private void build() {
+        qgramFrequency = new HashMap<>();
+        List<List<String>> valueQgrams = new ArrayList<>(values.size());
+        for (String value : values) {
+            List<String> qgrams = getQgrams(value);
+            valueQgrams.add(qgrams);
+            for (String qgram : qgrams) {
+                qgramFrequency.merge(qgram, 1, Integer::sum);
+            }
+        }
+
+        invertedLists = new HashMap<>();
+        unfilteredValueIds = new ArrayList<>();
+        for (int valueId = 0; valueId < values.size(); valueId++) {
+            List<String> prefix = getPrefix(values.get(valueId), valueQgrams.get(valueId));
+            if (prefix == null) {
+                unfilteredValueIds.add(valueId);
+                continue;
+            }
+            for (String qgram : prefix) {
+                invertedLists.computeIfAbsent(qgram, k -> new ArrayList<>()).add(valueId);
+            }
+        }
+        built = true;
+    }
+
+    private List<String> getPrefix(String value) {
+        return getPrefix(value, getQgrams(value));
+    }
+
+    /*
+     * Returns the first q * d + 1 q-grams of the value in the global order,
+     * or null if the prefix covers all the q-grams of the value.
+     */
+    private List<String> getPrefix(String value, List<String> qgrams) {
+        int maxEditDistance = (int) Math.floor((1 - threshold) * value.length() / threshold + EPSILON);
+        long prefixLength = (long) Q * maxEditDistance + 1;
+        if (prefixLength >= qgrams.size()) {
+            return null;
+        }
+        List<String> sortedQgrams = new ArrayList<>(qgrams);
+        sortedQgrams.sort(Comparator.<String>comparingInt(qgram -> qgramFrequency.getOrDefault(qgram, 0))
+                .thenComparing(Comparator.naturalOrder()));
+        return sortedQgrams.subList(0, (int) prefixLength);
+    }
+
+    /*
+     * Returns the q-grams of the value. Repeated q-grams are numbered by their occurrence
+     * ("ab", "ab#1", ...) so that the q-gram multiset can be treated as a set.
+     */
+    private static List<String> getQgrams(String value) {
+        List<String> qgrams = new ArrayList<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (int i = 0; i + Q <= value.length(); i++) {
+            String qgram = value.substring(i, i + Q);
+            int occurrence = occurrences.merge(qgram, 1, Integer::sum) - 1;
+            qgrams.add(occurrence == 0 ? qgram : qgram + "#" + occurrence);
+        }
+        return qgrams;
+    }
+
+    /**
+     * Returns false if the normalized Levenshtein similarity of two strings is certainly below the threshold.
+     */
+    static boolean passLengthFilter(String str1, String str2, double threshold) {
+        int minLength = Math.min(str1.length(), str2.length());
+        int maxLength = Math.max(str1.length(), str2.length());
+        return maxLength == 0 || minLength >= threshold * maxLength - EPSILON;
+    }
+
+    static Set<String> getSpanValues(Tuple tuple, String attributeName) {
+        ListField<Span> spanListField = tuple.getField(SchemaConstants.SPAN_LIST);
+        Set<String> spanValues = new LinkedHashSet<>();
+        for (Span span : spanListField.getValue()) {
+            if (span.getAttributeName().equals(attributeName)) {
+                spanValues.add(span.getValue());
+            }
+        }
+        return spanValues;
+    }
+
+}
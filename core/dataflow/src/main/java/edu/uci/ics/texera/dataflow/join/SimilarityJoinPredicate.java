@@ -67,6 +67,10 @@ public class SimilarityJoinPredicate extends PredicateBase implements IJoinPredi
     String outerJoinAttrName;
     
     private SimilarityFunc similarityFunc;
+    // the filters in SimilarityJoinIndex are only valid for the default similarity function
+    private boolean isDefaultSimilarityFunc;
+    
+    private static final NormalizedLevenshtein normalizedLevenshtein = new NormalizedLevenshtein();
     
     @FunctionalInterface
     public static interface SimilarityFunc {
@@ -97,7 +101,8 @@ public class SimilarityJoinPredicate extends PredicateBase implements IJoinPredi
         
         // initialize default similarity function to NormalizedLevenshtein
         // which is Levenshtein distance / length of longest string
-        this.similarityFunc = ((str1, str2) -> (1.0 - new NormalizedLevenshtein().distance(str1, str2)));
+        this.similarityFunc = ((str1, str2) -> (1.0 - normalizedLevenshtein.distance(str1, str2)));
+        this.isDefaultSimilarityFunc = true;
     }
     
     @JsonProperty(value = PropertyNameConstants.INNER_ATTRIBUTE_NAME)
@@ -183,6 +188,10 @@ public class SimilarityJoinPredicate extends PredicateBase implements IJoinPredi
         Set<String> resultValueSet = new HashSet<>();
         for (String innerString : innerSpanValueSet) {
             for (String outerString : outerSpanValueSet) {
+                if (isDefaultSimilarityFunc && 
+                        ! SimilarityJoinIndex.passLengthFilter(innerString, outerString, this.similarityThreshold)) {
+                    continue;
+                }
                 if (this.similarityFunc.calculateSimilarity(innerString, outerString) >= this.similarityThreshold ) {
                     resultValueSet.add(innerString);
                     resultValueSet.add(outerString);
@@ -254,6 +263,20 @@ public class SimilarityJoinPredicate extends PredicateBase implements IJoinPredi
     @JsonIgnore
     public void setSimilarityFunction(SimilarityFunc similarityFunc) {
         this.similarityFunc = similarityFunc;
+        this.isDefaultSimilarityFunc = false;
+    }
+    
+    /**
+     * With the default normalized Levenshtein similarity, the Join uses a SimilarityJoinIndex
+     *   to only compare the tuples whose span values pass the length and prefix filters.
+     * A custom similarity function compares every pair of tuples.
+     */
+    @Override
+    public JoinCandidateIndex createCandidateIndex() {
+        if (! isDefaultSimilarityFunc) {
+            return null;
+        }
+        return new SimilarityJoinIndex(similarityThreshold, innerJoinAttrName, outerJoinAttrName);
     }
     
     @Override
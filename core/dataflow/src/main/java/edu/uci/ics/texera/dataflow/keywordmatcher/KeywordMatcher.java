@@ -1,16 +1,18 @@
 package edu.uci.ics.texera.dataflow.keywordmatcher;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import edu.uci.ics.texera.api.constants.ErrorMessages;
 import edu.uci.ics.texera.api.constants.SchemaConstants;
 import edu.uci.ics.texera.api.exception.DataflowException;
 import edu.uci.ics.texera.api.exception.TexeraException;
 import edu.uci.ics.texera.api.field.ListField;
+import edu.uci.ics.texera.api.field.PayloadField;
 import edu.uci.ics.texera.api.schema.AttributeType;
 import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.api.span.PackedPayload;
 import edu.uci.ics.texera.api.span.Span;
+import edu.uci.ics.texera.api.span.TermDictionary;
 import edu.uci.ics.texera.api.tuple.Tuple;
 import edu.uci.ics.texera.dataflow.common.AbstractSingleInputOperator;
 import edu.uci.ics.texera.dataflow.utils.DataflowUtils;
@@ -25,6 +27,7 @@ public class KeywordMatcher extends AbstractSingleInputOperator {
     private ArrayList<String> queryTokenWithStopwordsList;
     
     private boolean addPayload = false;
+    private TermDictionary payloadTermDictionary = new TermDictionary();
     private boolean addResultAttribute = false;
 
     public KeywordMatcher(KeywordPredicate predicate) {
@@ -86,8 +89,9 @@ public class KeywordMatcher extends AbstractSingleInputOperator {
         // add payload if needed before passing it to the matching functions
         if (addPayload) {
             Tuple.Builder tupleBuilderPayload = new Tuple.Builder(inputTuple);
-            tupleBuilderPayload.add(SchemaConstants.PAYLOAD_ATTRIBUTE, new ListField<Span>(
-                    DataflowUtils.generatePayloadFromTuple(inputTuple, predicate.getLuceneAnalyzerString())));
+            tupleBuilderPayload.add(SchemaConstants.PAYLOAD_ATTRIBUTE, new PayloadField(
+                    DataflowUtils.generatePackedPayloadFromTuple(inputTuple, predicate.getLuceneAnalyzerString(),
+                            payloadTermDictionary)));
             inputTuple = tupleBuilderPayload.build();
         }
         
@@ -120,7 +124,7 @@ public class KeywordMatcher extends AbstractSingleInputOperator {
 
     private List<Span> appendPhraseMatchingSpans(Tuple inputTuple, List<String> attributeNames, List<String> queryTokenList, List<String> queryTokenListWithStopwords, String queryKeyword) throws DataflowException {
         ListField<Span> payloadField = inputTuple.getField(SchemaConstants.PAYLOAD);
-        List<Span> payload = payloadField.getValue();
+        PackedPayload payload = PayloadField.getPackedPayload(payloadField);
         List<Span> matchingResults = new ArrayList<>();
         for (String attributeName : attributeNames) {
             AttributeType attributeType = inputTuple.getSchema().getAttribute(attributeName).getType();
@@ -143,9 +147,7 @@ public class KeywordMatcher extends AbstractSingleInputOperator {
             // phrase query
             if (attributeType == AttributeType.TEXT) {
                 Set<String> queryTokenSet = new HashSet<>(queryTokenList);
-                List<Span> relevantSpans = filterRelevantSpans(payload, queryTokenSet);
-                List<Span> fieldSpanList = relevantSpans.stream().filter(span -> span.getAttributeName().equals(attributeName))
-                        .collect(Collectors.toList());
+                List<Span> fieldSpanList = payload.getSpans(attributeName, queryTokenSet);
 
                 if (!DataflowUtils.isAllQueryTokensPresent(fieldSpanList, queryTokenSet)) {
                     // move on to next field if not all query tokens are present
@@ -160,7 +162,7 @@ public class KeywordMatcher extends AbstractSingleInputOperator {
 
     private List<Span> appendConjunctionMatchingSpans(Tuple inputTuple, List<String> attributeNames, Set<String> queryTokenSet, String queryKeyword) throws DataflowException {
         ListField<Span> payloadField = inputTuple.getField(SchemaConstants.PAYLOAD);
-        List<Span> payload = payloadField.getValue();
+        PackedPayload payload = PayloadField.getPackedPayload(payloadField);
         List<Span> matchingResults = new ArrayList<>();
         for (String attributeName : attributeNames) {
             AttributeType attributeType = inputTuple.getSchema().getAttribute(attributeName).getType();
@@ -182,9 +184,7 @@ public class KeywordMatcher extends AbstractSingleInputOperator {
             // for TEXT type, every token in the query should be present in span
             // list for this field
             if (attributeType == AttributeType.TEXT) {
-                List<Span> relevantSpans = filterRelevantSpans(payload, queryTokenSet);
-                List<Span> fieldSpanList = relevantSpans.stream().filter(span -> span.getAttributeName().equals(attributeName))
-                        .collect(Collectors.toList());
+                List<Span> fieldSpanList = payload.getSpans(attributeName, queryTokenSet);
                 if (DataflowUtils.isAllQueryTokensPresent(fieldSpanList, queryTokenSet)) {
                     matchingResults.addAll(fieldSpanList);
                 }
@@ -232,18 +232,6 @@ public class KeywordMatcher extends AbstractSingleInputOperator {
         return matchingResults;
     }
     
-    private List<Span> filterRelevantSpans(List<Span> spanList, Set<String> queryTokenSet) {
-        List<Span> relevantSpans = new ArrayList<>();
-        Iterator<Span> iterator = spanList.iterator();
-        while (iterator.hasNext()) {
-            Span span = iterator.next();
-            if (queryTokenSet.contains(span.getKey())) {
-                relevantSpans.add(span);
-            }
-        }
-        return relevantSpans;
-    }
-
     public KeywordPredicate getPredicate() {
         return this.predicate;
     }
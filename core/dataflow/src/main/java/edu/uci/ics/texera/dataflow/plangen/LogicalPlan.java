@@ -137,7 +137,7 @@ public class LogicalPlan {
     public Optional<Schema> getOperatorOutputSchema(String operatorID, Map<String, List<Schema>> operatorInputSchemaMap)
             throws PlanGenException, DataflowException {
 
-        IOperator currentOperator = operatorObjectMap.get(operatorID);
+        IOperator currentOperator = getOperatorObject(operatorID);
         Optional<Schema> outputSchema = Optional.empty();
         if (currentOperator instanceof ISourceOperator) {
             outputSchema = Optional.ofNullable(currentOperator.transformToOutputSchema());
@@ -153,14 +153,46 @@ public class LogicalPlan {
         return outputSchema;
     }
 
+    /**
+     * Fetches the schema from an operator, using the output schemas memoized in the cache.
+     * The operator is only built if its output schema is not in the cache.
+     * @param operatorID, the ID of an operator
+     * @param operatorInputSchemaMap Map of operators to their input schemas
+     * @param schemaCache the cache of output schemas
+     * @return Schema, which includes the attributes setting of the operator
+     */
+    public Optional<Schema> getOperatorOutputSchema(String operatorID, Map<String, List<Schema>> operatorInputSchemaMap,
+            SchemaPropagationCache schemaCache) throws PlanGenException, DataflowException {
+        return schemaCache.getOutputSchema(operatorPredicateMap.get(operatorID),
+                operatorInputSchemaMap.getOrDefault(operatorID, Collections.emptyList()),
+                () -> getOperatorOutputSchema(operatorID, operatorInputSchemaMap));
+    }
+
     /**
      * For each operator, get its input schema based on the topological order of the graph
      * @return Map where id of the operator as the key and input schema as the value
      * @throws PlanGenException
      */
     public Map<String, List<Schema>> retrieveAllOperatorInputSchema() throws PlanGenException {
-
         buildOperators();
+        return retrieveAllOperatorInputSchema(null);
+    }
+
+    /**
+     * For each operator, get its input schema based on the topological order of the graph.
+     * The output schemas of the operators are memoized in the cache, so only the operators
+     *   whose predicate or input schemas changed since the last propagation are built and recomputed.
+     * @param schemaCache the cache of output schemas, null to recompute all the output schemas
+     * @return Map where id of the operator as the key and input schema as the value
+     * @throws PlanGenException
+     */
+    public Map<String, List<Schema>> retrieveAllOperatorInputSchema(SchemaPropagationCache schemaCache)
+            throws PlanGenException {
+
+        if (schemaCache != null) {
+            // operators are built lazily, when their output schema is not in the cache
+            operatorObjectMap = new HashMap<>();
+        }
         checkGraphCyclicity();
 
         // Calculate the in-edge count of each operator
@@ -174,9 +206,13 @@ public class LogicalPlan {
 
         // This queue will contain all operators for which input schemas have been completely found. At start, it has all the source operator
         Queue<String> operatorQueue = new LinkedList<>();
-        for (Map.Entry<String, IOperator> entry: operatorObjectMap.entrySet()) {
-            if (entry.getValue() instanceof ISourceOperator) {
-                operatorQueue.add(entry.getKey());
+        for (String operatorID : operatorPredicateMap.keySet()) {
+            boolean isSource = schemaCache == null
+                    ? operatorObjectMap.get(operatorID) instanceof ISourceOperator
+                    : SchemaPropagationCache.isSourcePredicate(operatorPredicateMap.get(operatorID),
+                            () -> getOperatorObject(operatorID));
+            if (isSource) {
+                operatorQueue.add(operatorID);
             }
         }
 
@@ -187,7 +223,9 @@ public class LogicalPlan {
         Map<String, List<Schema>> inputSchemas = new HashMap<>();
         while (!operatorQueue.isEmpty()) {
             String origin = operatorQueue.poll();
-            Optional<Schema> currentOutputSchema = getOperatorOutputSchema(origin, inputSchemas);
+            Optional<Schema> currentOutputSchema = schemaCache == null
+                    ? getOperatorOutputSchema(origin, inputSchemas)
+                    : getOperatorOutputSchema(origin, inputSchemas, schemaCache);
 
             if(!currentOutputSchema.isPresent()) {
                 continue;
@@ -276,6 +314,17 @@ public class LogicalPlan {
         }
     }
 
+    /*
+     * Gets the operator object of an operator, building it if it's not built yet.
+     */
+    private IOperator getOperatorObject(String operatorID) throws PlanGenException {
+        if (operatorObjectMap == null) {
+            operatorObjectMap = new HashMap<>();
+        }
+        return operatorObjectMap.computeIfAbsent(operatorID,
+                id -> operatorPredicateMap.get(id).newOperator(context));
+    }
+
     /*
      * Validates the operator graph.
      * The operator graph must meet all of the following requirements:
@@ -0,0 +1,203 @@
+package edu.uci.ics.texera.dataflow.plangen;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.hash.Hashing;
+
+import edu.uci.ics.texera.api.exception.StorageException;
+import edu.uci.ics.texera.dataflow.common.PredicateBase;
+import edu.uci.ics.texera.dataflow.common.PropertyNameConstants;
+import edu.uci.ics.texera.dataflow.sampler.SamplerPredicate;
+import edu.uci.ics.texera.storage.RelationManager;
+
+/**
+ * PlanFingerprint is a canonical identifier of a logical plan and of the data it reads,
+ *   used as the key of the QueryResultCache.
+ *
+ * The signature of an operator is a hash of its predicate (without the operator ID)
+ *   and of the signatures of its input operators in link order.
+ * Two plans built by the frontend with different operator IDs, or with the operators listed in a different order,
+ *   therefore have the same sink signatures.
+ *
+ * The key of a plan combines the signatures of all its sinks, the project owner,
+ *   and the versions of all the tables read by the plan.
+ *
+ * Only plans whose sources all read Texera tables, and which don't sample randomly, have a fingerprint.
+ *
+ */
+public class PlanFingerprint {
+
+    private static final ObjectMapper canonicalMapper = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final String key;
+    // a map from a sink operator ID to the signature of the sink
+    private final Map<String, String> sinkSignatureMap;
+    // a map from the name of a table read by the plan to its version
+    private final Map<String, Long> tableVersionMap;
+
+    private PlanFingerprint(String key, Map<String, String> sinkSignatureMap, Map<String, Long> tableVersionMap) {
+        this.key = key;
+        this.sinkSignatureMap = sinkSignatureMap;
+        this.tableVersionMap = tableVersionMap;
+    }
+
+    /**
+     * Computes the fingerprint of a logical plan.
+     * The plan must be valid (e.g. after buildQueryPlan() succeeded).
+     *
+     * @param logicalPlan
+     * @return the fingerprint, or an empty Optional if the results of the plan can't be cached
+     * @throws StorageException
+     */
+    public static Optional<PlanFingerprint> of(LogicalPlan logicalPlan) throws StorageException {
+        Map<String, PredicateBase> predicateMap = new HashMap<>();
+        for (PredicateBase predicate : logicalPlan.getPredicateList()) {
+            predicateMap.put(predicate.getID(), predicate);
+        }
+        Map<String, List<String>> inputMap = new HashMap<>();
+        Set<String> nonSinkOperators = new HashSet<>();
+        for (OperatorLink link : logicalPlan.getOperatorLinkList()) {
+            inputMap.computeIfAbsent(link.getDestination(), k -> new ArrayList<>()).add(link.getOrigin());
+            nonSinkOperators.add(link.getOrigin());
+        }
+
+        Set<String> tableNames = new TreeSet<>();
+        Map<String, String> operatorSignatureMap = new HashMap<>();
+        for (String operatorID : predicateMap.keySet()) {
+            if (getSignature(operatorID, predicateMap, inputMap, tableNames, operatorSignatureMap) == null) {
+                return Optional.empty();
+            }
+        }
+
+        Map<String, String> sinkSignatureMap = new HashMap<>();
+        for (String operatorID : predicateMap.keySet()) {
+            if (! nonSinkOperators.contains(operatorID)) {
+                sinkSignatureMap.put(operatorID, operatorSignatureMap.get(operatorID));
+            }
+        }
+
+        StringBuilder keyBuilder = new StringBuilder();
+        List<String> sinkSignatures = new ArrayList<>(sinkSignatureMap.values());
+        Collections.sort(sinkSignatures);
+        keyBuilder.append(sinkSignatures);
+        QueryContext context = logicalPlan.getContext();
+        keyBuilder.append(context == null ? null : context.getProjectOwnerID());
+        RelationManager relationManager = RelationManager.getInstance();
+        Map<String, Long> tableVersionMap = new TreeMap<>();
+        for (String tableName : tableNames) {
+            tableVersionMap.put(tableName, relationManager.getTableVersion(tableName));
+        }
+        keyBuilder.append(tableVersionMap);
+
+        return Optional.of(new PlanFingerprint(hash(keyBuilder.toString()), sinkSignatureMap, tableVersionMap));
+    }
+
+    /*
+     * Gets the signature of an operator, computing the signatures of its inputs recursively.
+     * Returns null if the operator (or one of its inputs) makes the plan not cacheable.
+     */
+    private static String getSignature(String operatorID, Map<String, PredicateBase> predicateMap,
+            Map<String, List<String>> inputMap, Set<String> tableNames, Map<String, String> operatorSignatureMap) {
+        if (operatorSignatureMap.containsKey(operatorID)) {
+            return operatorSignatureMap.get(operatorID);
+        }
+        PredicateBase predicate = predicateMap.get(operatorID);
+        if (predicate instanceof SamplerPredicate
+                && ((SamplerPredicate) predicate).getSampleType() == SamplerPredicate.SampleType.RANDOM_SAMPLE) {
+            return null;
+        }
+
+        ObjectNode predicateNode = getCanonicalPredicateNode(predicate);
+
+        List<String> inputs = inputMap.getOrDefault(operatorID, Collections.emptyList());
+        if (inputs.isEmpty()) {
+            // a source must read a Texera table, other sources (files, databases, twitter) can change at any time
+            if (! predicateNode.hasNonNull(PropertyNameConstants.TABLE_NAME)) {
+                return null;
+            }
+            tableNames.add(predicateNode.get(PropertyNameConstants.TABLE_NAME).asText().toLowerCase());
+        }
+
+        StringBuilder signature = new StringBuilder(predicateNode.toString());
+        signature.append('[');
+        for (String input : inputs) {
+            String inputSignature = getSignature(input, predicateMap, inputMap, tableNames, operatorSignatureMap);
+            if (inputSignature == null) {
+                return null;
+            }
+            signature.append(inputSignature).append(',');
+        }
+        signature.append(']');
+
+        // hash the signature, so that an operator shared by several paths doesn't make the signatures grow
+        String signatureHash = hash(signature.toString());
+        operatorSignatureMap.put(operatorID, signatureHash);
+        return signatureHash;
+    }
+
+    /*
+     * Gets the JSON representation of a predicate without its operator ID,
+     *  with the properties sorted, so that equal predicates have the same representation.
+     */
+    static ObjectNode getCanonicalPredicateNode(PredicateBase predicate) {
+        ObjectNode predicateNode = canonicalMapper.valueToTree(predicate);
+        predicateNode.remove(PropertyNameConstants.OPERATOR_ID);
+        return predicateNode;
+    }
+
+    static String hash(String value) {
+        return Hashing.sha256().hashString(value, StandardCharsets.UTF_8).toString();
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the signature of a sink operator of the plan.
+     * Sinks with the same signature produce the same results.
+     *
+     * @param sinkOperatorID
+     * @return
+     */
+    public String getSinkSignature(String sinkOperatorID) {
+        return sinkSignatureMap.get(sinkOperatorID);
+    }
+
+    public Set<String> getSinkOperatorIDs() {
+        return Collections.unmodifiableSet(sinkSignatureMap.keySet());
+    }
+
+    public Set<String> getTableNames() {
+        return Collections.unmodifiableSet(tableVersionMap.keySet());
+    }
+
+    /**
+     * Checks if a table read by the plan has been modified since the fingerprint was computed.
+     *
+     * @return
+     * @throws StorageException
+     */
+    public boolean isStale() throws StorageException {
+        RelationManager relationManager = RelationManager.getInstance();
+        return tableVersionMap.entrySet().stream()
+                .anyMatch(entry -> relationManager.getTableVersion(entry.getKey()) != entry.getValue());
+    }
+
+}
@@ -0,0 +1,181 @@
+package edu.uci.ics.texera.dataflow.plangen;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import edu.uci.ics.texera.api.constants.DataConstants;
+import edu.uci.ics.texera.api.exception.DataflowException;
+import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.storage.RelationManager;
+
+/**
+ * QueryResultCache keeps the results of the tuple sinks of recently executed plans,
+ *   so that re-executing the same plan on the same data doesn't scan the tables again.
+ *
+ * Entries are keyed by the PlanFingerprint of the plan, which includes the versions of the tables it reads.
+ * The results of each sink are stored as a gzipped JSON array of the readable tuples,
+ *   the same JSON that is sent to the client.
+ * When the total size of the entries exceeds the capacity, the least recently used entries are evicted.
+ * Entries reading a table are removed as soon as a DataWriter modifies the table.
+ *
+ */
+public class QueryResultCache {
+
+    public static final long DEFAULT_CAPACITY_BYTES = 64L * 1024 * 1024;
+
+    private static class Entry {
+        // a map from a sink signature to the compressed results of the sink
+        private final Map<String, byte[]> sinkResultMap;
+        private final Set<String> tableNames;
+        private final long sizeBytes;
+
+        private Entry(Map<String, byte[]> sinkResultMap, Set<String> tableNames) {
+            this.sinkResultMap = sinkResultMap;
+            this.tableNames = tableNames;
+            this.sizeBytes = sinkResultMap.values().stream().mapToLong(result -> result.length).sum();
+        }
+    }
+
+    private final long capacityBytes;
+    // the entries in access order, the first entry is the least recently used one
+    private final LinkedHashMap<String, Entry> entryMap = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes = 0;
+
+    public QueryResultCache() {
+        this(DEFAULT_CAPACITY_BYTES);
+    }
+
+    public QueryResultCache(long capacityBytes) {
+        this.capacityBytes = capacityBytes;
+        RelationManager.getInstance().addTableModificationListener(this::invalidateTable);
+    }
+
+    /**
+     * Gets the cached results of a plan.
+     *
+     * @param fingerprint
+     * @return a map from each sink operator ID of the plan to its results,
+     *   or an empty Optional if the results of the plan are not in the cache
+     * @throws DataflowException
+     */
+    public Optional<Map<String, ArrayNode>> get(PlanFingerprint fingerprint) throws DataflowException {
+        Entry entry;
+        synchronized (this) {
+            entry = entryMap.get(fingerprint.getKey());
+        }
+        if (entry == null) {
+            return Optional.empty();
+        }
+        Map<String, ArrayNode> results = new HashMap<>();
+        for (String sinkOperatorID : fingerprint.getSinkOperatorIDs()) {
+            results.put(sinkOperatorID, decode(entry.sinkResultMap.get(fingerprint.getSinkSignature(sinkOperatorID))));
+        }
+        return Optional.of(results);
+    }
+
+    /**
+     * Puts the results of a plan into the cache.
+     *
+     * @param fingerprint, the fingerprint of the plan, computed before the plan is executed
+     * @param results, a map from each sink operator ID of the plan to its results
+     * @throws DataflowException
+     */
+    public void put(PlanFingerprint fingerprint, Map<String, List<Tuple>> results) throws DataflowException {
+        Map<String, byte[]> sinkResultMap = new HashMap<>();
+        for (String sinkOperatorID : fingerprint.getSinkOperatorIDs()) {
+            if (! results.containsKey(sinkOperatorID)) {
+                return;
+            }
+            sinkResultMap.put(fingerprint.getSinkSignature(sinkOperatorID), encode(results.get(sinkOperatorID)));
+        }
+        Entry entry = new Entry(sinkResultMap, fingerprint.getTableNames());
+        if (entry.sizeBytes > capacityBytes) {
+            return;
+        }
+
+        synchronized (this) {
+            // the plan read a table while it was modified, the results may be out of date
+            if (fingerprint.isStale()) {
+                return;
+            }
+            Entry previousEntry = entryMap.put(fingerprint.getKey(), entry);
+            if (previousEntry != null) {
+                sizeBytes -= previousEntry.sizeBytes;
+            }
+            sizeBytes += entry.sizeBytes;
+            Iterator<Entry> iterator = entryMap.values().iterator();
+            while (sizeBytes > capacityBytes && iterator.hasNext()) {
+                sizeBytes -= iterator.next().sizeBytes;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all the entries of plans reading a table.
+     *
+     * @param tableName, the name of the table, case insensitive
+     */
+    public synchronized void invalidateTable(String tableName) {
+        String lowerCaseTableName = tableName.toLowerCase();
+        Iterator<Entry> iterator = entryMap.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.tableNames.contains(lowerCaseTableName)) {
+                sizeBytes -= entry.sizeBytes;
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entryMap.clear();
+        sizeBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entryMap.size();
+    }
+
+    public synchronized long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    private static byte[] encode(List<Tuple> tuples) throws DataflowException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = DataConstants.defaultObjectMapper.getFactory()
+                .createGenerator(new GZIPOutputStream(outputStream))) {
+            generator.writeStartArray();
+            for (Tuple tuple : tuples) {
+                tuple.writeReadableJson(generator);
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new DataflowException(e.getMessage(), e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static ArrayNode decode(byte[] result) throws DataflowException {
+        try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(result))) {
+            return (ArrayNode) DataConstants.defaultObjectMapper.readTree(inputStream);
+        } catch (IOException e) {
+            throw new DataflowException(e.getMessage(), e);
+        }
+    }
+
+}
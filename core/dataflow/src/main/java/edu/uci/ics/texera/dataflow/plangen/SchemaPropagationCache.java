@@ -0,0 +1,108 @@
+package edu.uci.ics.texera.dataflow.plangen;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import edu.uci.ics.texera.api.dataflow.IOperator;
+import edu.uci.ics.texera.api.dataflow.ISourceOperator;
+import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.dataflow.common.PredicateBase;
+import edu.uci.ics.texera.dataflow.common.PropertyNameConstants;
+import edu.uci.ics.texera.storage.RelationManager;
+
+/**
+ * SchemaPropagationCache memoizes the output schemas of operators during schema propagation,
+ *   so that propagating the schemas of a plan which is edited one operator at a time
+ *   only recomputes the operators whose predicate or input schemas changed.
+ *
+ * An output schema is keyed by the predicate of the operator (without the operator ID) and its input schemas.
+ * The key of an operator reading a Texera table also includes the version of the table.
+ * The least recently used schemas are evicted when the cache holds more than its maximum number of entries.
+ *
+ */
+public class SchemaPropagationCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    // whether the operators of a predicate class are source operators
+    private static final Map<Class<?>, Boolean> sourcePredicateClassMap = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Optional<Schema>> outputSchemaMap;
+
+    public SchemaPropagationCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public SchemaPropagationCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.outputSchemaMap = new LinkedHashMap<String, Optional<Schema>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<Schema>> eldest) {
+                return size() > SchemaPropagationCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets the output schema of an operator, computing it only if it's not in the cache.
+     *
+     * @param predicate, the predicate of the operator
+     * @param inputSchemas, the input schemas of the operator
+     * @param outputSchemaSupplier, computes the output schema
+     * @return
+     */
+    public Optional<Schema> getOutputSchema(PredicateBase predicate, List<Schema> inputSchemas,
+            Supplier<Optional<Schema>> outputSchemaSupplier) {
+        ObjectNode predicateNode = PlanFingerprint.getCanonicalPredicateNode(predicate);
+        StringBuilder key = new StringBuilder(predicateNode.toString());
+        if (predicateNode.hasNonNull(PropertyNameConstants.TABLE_NAME)) {
+            key.append('@').append(RelationManager.getInstance().getTableVersion(
+                    predicateNode.get(PropertyNameConstants.TABLE_NAME).asText()));
+        }
+        key.append(inputSchemas);
+        String keyHash = PlanFingerprint.hash(key.toString());
+
+        synchronized (this) {
+            Optional<Schema> outputSchema = outputSchemaMap.get(keyHash);
+            if (outputSchema != null) {
+                return outputSchema;
+            }
+        }
+        Optional<Schema> outputSchema = outputSchemaSupplier.get();
+        synchronized (this) {
+            outputSchemaMap.put(keyHash, outputSchema);
+        }
+        return outputSchema;
+    }
+
+    /**
+     * Checks if the operator of a predicate is a source operator.
+     * The result is remembered for each predicate class, the operator is only built the first time.
+     *
+     * @param predicate
+     * @param operatorSupplier, builds the operator of the predicate
+     * @return
+     */
+    public static boolean isSourcePredicate(PredicateBase predicate, Supplier<IOperator> operatorSupplier) {
+        return sourcePredicateClassMap.computeIfAbsent(predicate.getClass(),
+                predicateClass -> operatorSupplier.get() instanceof ISourceOperator);
+    }
+
+    public synchronized int size() {
+        return outputSchemaMap.size();
+    }
+
+    public synchronized void clear() {
+        outputSchemaMap.clear();
+    }
+
+}
@@ -3,10 +3,19 @@ package edu.uci.ics.texera.dataflow.sink;
 import edu.uci.ics.texera.api.dataflow.ISink;
 import edu.uci.ics.texera.api.tuple.Tuple;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ITupleSink extends ISink {
 
     List<Tuple> collectAllTuples();
 
+    /**
+     * Passes the result tuples to the consumer one by one.
+     * By default the tuples are collected first, sinks that produce their results incrementally
+     *   pass each tuple as soon as it's produced.
+     */
+    default void consumeAllTuples(Consumer<Tuple> consumer) {
+        collectAllTuples().forEach(consumer);
+    }
 
 }
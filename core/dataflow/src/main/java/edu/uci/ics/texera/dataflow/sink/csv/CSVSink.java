@@ -3,6 +3,9 @@ package edu.uci.ics.texera.dataflow.sink.csv;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.DateFormat;
@@ -39,6 +42,7 @@ public class CSVSink implements ISink {
     
     private Path csvIndexDirectory = Utils.getDefaultIndexDirectory().resolve("csv");
     private String fileName;
+    private OutputStream outputStream;
 
     
     public CSVSink(CSVSinkPredicate predicate) {
@@ -52,6 +56,16 @@ public class CSVSink implements ISink {
     public IOperator getInputOperator() {
         return this.inputOperator;
     }
+    
+    /**
+     * Writes the csv to the given stream instead of a new file in the csv directory.
+     * The stream is closed when the sink is closed.
+     * 
+     * @param outputStream
+     */
+    public void setOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
 
     @Override
     public Schema getOutputSchema() {
@@ -71,15 +85,18 @@ public class CSVSink implements ISink {
                 .filter(attr -> ! attr.getType().equals(AttributeType.LIST))
                 .toArray(Attribute[]::new));
         
-        DateFormat df = new SimpleDateFormat("yyyyMMdd-HHmmss");
-        fileName = df.format(new Date()) + ".csv";
-        File file = new File(csvIndexDirectory.resolve(fileName).toString()); 
-
     	try {
-    	    if (Files.notExists(csvIndexDirectory)) {
-    	        Files.createDirectories(csvIndexDirectory);
+    	    if (outputStream != null) {
+    	        csvWriter = new CSVWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    	    } else {
+    	        DateFormat df = new SimpleDateFormat("yyyyMMdd-HHmmss");
+    	        fileName = df.format(new Date()) + ".csv";
+    	        File file = new File(csvIndexDirectory.resolve(fileName).toString()); 
+    	        if (Files.notExists(csvIndexDirectory)) {
+    	            Files.createDirectories(csvIndexDirectory);
+    	        }
+    	        csvWriter = new CSVWriter(new FileWriter(file));
     	    }
-    	    csvWriter = new CSVWriter(new FileWriter(file));
     	} catch (IOException e) {
 			throw new DataflowException(e);
 		}
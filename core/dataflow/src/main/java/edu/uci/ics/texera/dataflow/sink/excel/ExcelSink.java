@@ -2,6 +2,7 @@ package edu.uci.ics.texera.dataflow.sink.excel;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.DateFormat;
@@ -14,8 +15,7 @@ import edu.uci.ics.texera.api.constants.ErrorMessages;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import edu.uci.ics.texera.api.constants.SchemaConstants;
 import edu.uci.ics.texera.api.dataflow.IOperator;
@@ -35,24 +35,32 @@ import edu.uci.ics.texera.api.utils.Utils;
 /**
  * ExcelSink is a sink that can write a list of tuples into an excel file
  * The path of saved files is "texera/texera/perftest/src/main/resources/index/excel/"
+ * 
+ * Rows are written through a streaming workbook: only the most recent
+ * ROW_ACCESS_WINDOW_SIZE rows are kept in memory, older rows are flushed
+ * to a (compressed) temporary file and merged into the xlsx file on close.
  * @author Jinggang Diao
  *
  */
 public class ExcelSink implements ISink {
     
+    // number of rows kept in memory before they are flushed to the temporary file
+    public static final int ROW_ACCESS_WINDOW_SIZE = 100;
+    
     private ExcelSinkPredicate predicate;
     private IOperator inputOperator;
     
     private Schema inputSchema;
     private Schema outputSchema;
         
-    private Workbook wb;
-    private FileOutputStream fileOut;
+    private SXSSFWorkbook wb;
+    private OutputStream fileOut;
     private Sheet sheet;
     private int cursor = CLOSED;
     
     private Path excelIndexDirectory = Utils.getDefaultIndexDirectory().resolve("excel");
     private String fileName;
+    private OutputStream outputStream;
 
     
     public ExcelSink(ExcelSinkPredicate predicate) {
@@ -66,6 +74,16 @@ public class ExcelSink implements ISink {
     public IOperator getInputOperator() {
         return this.inputOperator;
     }
+    
+    /**
+     * Writes the xlsx file to the given stream instead of a new file in the excel directory.
+     * The rows are still buffered in the temporary files of the workbook, the stream is written and closed on close.
+     * 
+     * @param outputStream
+     */
+    public void setOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
 
     @Override
     public Schema getOutputSchema() {
@@ -85,14 +103,19 @@ public class ExcelSink implements ISink {
                 .filter(attr -> ! attr.getType().equals(AttributeType.LIST))
                 .toArray(Attribute[]::new));
         
-        wb = new XSSFWorkbook();
-        DateFormat df = new SimpleDateFormat("yyyyMMdd-HHmmss");
-        fileName = df.format(new Date()) + ".xlsx";
+        wb = new SXSSFWorkbook(ROW_ACCESS_WINDOW_SIZE);
+        wb.setCompressTempFiles(true);
     	try {
-    	    if (Files.notExists(excelIndexDirectory)) {
-    	        Files.createDirectories(excelIndexDirectory);
+    	    if (outputStream != null) {
+    	        fileOut = outputStream;
+    	    } else {
+    	        DateFormat df = new SimpleDateFormat("yyyyMMdd-HHmmss");
+    	        fileName = df.format(new Date()) + ".xlsx";
+    	        if (Files.notExists(excelIndexDirectory)) {
+    	            Files.createDirectories(excelIndexDirectory);
+    	        }
+    	        fileOut = new FileOutputStream(excelIndexDirectory.resolve(fileName).toString());
     	    }
-			fileOut = new FileOutputStream(excelIndexDirectory.resolve(fileName).toString());
 		} catch (IOException e) {
 			throw new DataflowException(e);
 		}
@@ -137,12 +160,13 @@ public class ExcelSink implements ISink {
         }
         
         Tuple resultTuple = new Tuple.Builder(inputTuple).removeIfExists(SchemaConstants._ID, SchemaConstants.PAYLOAD).build();
-        	Row row = sheet.createRow(cursor-predicate.getOffset());
-        	
-        	for (int i = 0; i < outputSchema.getAttributeNames().size(); i++) {    	    
-        	    writeCell(row.createCell(i), resultTuple.getField(outputSchema.getAttributeNames().get(i)));
-        	}
-    	
+        Row row = sheet.createRow(cursor - predicate.getOffset());
+        
+        List<String> attributeNames = outputSchema.getAttributeNames();
+        for (int i = 0; i < attributeNames.size(); i++) {
+            writeCell(row.createCell(i), resultTuple.getField(attributeNames.get(i)));
+        }
+        
         return resultTuple;
     }
 
@@ -158,6 +182,9 @@ public class ExcelSink implements ISink {
             cursor = CLOSED; 
 		} catch (IOException e) {
 		    throw new DataflowException(e);
+		} finally {
+		    // delete the temporary files backing the flushed rows
+		    wb.dispose();
 		}
     }
 
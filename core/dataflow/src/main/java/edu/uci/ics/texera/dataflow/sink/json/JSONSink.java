@@ -2,6 +2,7 @@ package edu.uci.ics.texera.dataflow.sink.json;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.DateFormat;
@@ -47,6 +48,7 @@ public class JSONSink implements ISink {
     
     private Path jsonIndexDirectory = Utils.getDefaultIndexDirectory().resolve("json");
     private String fileName;
+    private OutputStream outputStream;
 
     
     public JSONSink(JSONSinkPredicate predicate) {
@@ -60,6 +62,16 @@ public class JSONSink implements ISink {
     public IOperator getInputOperator() {
         return this.inputOperator;
     }
+    
+    /**
+     * Writes the json to the given stream instead of a new file in the json directory.
+     * The stream is closed when the sink is closed.
+     * 
+     * @param outputStream
+     */
+    public void setOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
 
     @Override
     public Schema getOutputSchema() {
@@ -78,18 +90,21 @@ public class JSONSink implements ISink {
                 .filter(attr -> ! attr.getName().equalsIgnoreCase(SchemaConstants.PAYLOAD))
                 .toArray(Attribute[]::new));
         
-        DateFormat df = new SimpleDateFormat("yyyyMMdd-HHmmss");
-        fileName = df.format(new Date()) + ".json";
-        
         mapper = new ObjectMapper();
-        File file = new File(jsonIndexDirectory.resolve(fileName).toString()); 
 
     	try {
-    	    if (Files.notExists(jsonIndexDirectory)) {
-    	        Files.createDirectories(jsonIndexDirectory);
+    	    if (outputStream != null) {
+    	        jsonGenerator = mapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+    	    } else {
+    	        DateFormat df = new SimpleDateFormat("yyyyMMdd-HHmmss");
+    	        fileName = df.format(new Date()) + ".json";
+    	        File file = new File(jsonIndexDirectory.resolve(fileName).toString()); 
+    	        if (Files.notExists(jsonIndexDirectory)) {
+    	            Files.createDirectories(jsonIndexDirectory);
+    	        }
+    	        // creates json generator factory for writing to file
+    	        jsonGenerator = mapper.getFactory().createGenerator(file, JsonEncoding.UTF8);
     	    }
-    	    // creates json generator factory for writing to file
-    	    jsonGenerator = mapper.getFactory().createGenerator(file, JsonEncoding.UTF8);
         	jsonGenerator.writeStartArray();
 
     	} catch (IOException e) {
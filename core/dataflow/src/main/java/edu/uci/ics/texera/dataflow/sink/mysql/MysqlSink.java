@@ -5,7 +5,7 @@ import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
+import java.sql.Types;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -67,11 +67,13 @@ public class MysqlSink implements ISink {
         try {
             Class.forName("com.mysql.jdbc.Driver").newInstance();
             String url = "jdbc:mysql://" + predicate.getHost() + ":" + predicate.getPort() + "/"
-                    + predicate.getDatabase() + "?autoReconnect=true&useSSL=true";
+                    + predicate.getDatabase() + "?autoReconnect=true&useSSL=true&rewriteBatchedStatements=true";
             this.connection = DriverManager.getConnection(url, predicate.getUsername(), predicate.getPassword());
             statement = connection.createStatement();
             mysqlDropTable();
             mysqlCreateTable();
+            // inserts are committed explicitly once per batch in processTuples()
+            connection.setAutoCommit(false);
             cursor = OPENED;
         } catch (SQLException | InstantiationException | IllegalAccessException | ClassNotFoundException e) {
             throw new DataflowException("MysqlSink failed to connect to mysql database." + e.getMessage());
@@ -103,30 +105,51 @@ public class MysqlSink implements ISink {
     }
 
     /**
-     * Insert tuples into mysql database using prepared statement. No output
+     * Insert tuples into mysql database using a batched prepared statement. No output.
+     * 
+     * Rows are sent to the server in JDBC batches of predicate.getBatchSize() rows,
+     * each batch is committed in its own transaction. Together with the
+     * rewriteBatchedStatements connection option, the driver sends one multi-row
+     * INSERT per batch instead of one round trip per tuple.
      */
     @Override
     public void processTuples() throws TexeraException {
+        List<String> attributeNames = outputSchema.getAttributeNames();
         String sqlStatemnt = "INSERT INTO " + predicate.getTable() + " VALUES(" + Stream.generate(() -> "?")
-                .limit(outputSchema.getAttributeNames().size()).collect(Collectors.joining(",")) + ");";
+                .limit(attributeNames.size()).collect(Collectors.joining(",")) + ");";
         try {
             prepStatement = connection.prepareStatement(sqlStatemnt);
+            int batchCount = 0;
             Tuple tuple;
             while ((tuple = this.getNextTuple()) != null) {
-                List<IField> fieldList = new ArrayList<>();
-                for (int i = 0; i < outputSchema.getAttributeNames().size(); i++) {
-                    fieldList.add(tuple.getField(outputSchema.getAttributeNames().get(i)));
+                for (int i = 0; i < attributeNames.size(); i++) {
+                    prepareField(i, tuple.getField(attributeNames.get(i)));
                 }
-                for (int i = 0; i < fieldList.size(); i++) {
-                    prepareField(i, fieldList.get(i));
+                prepStatement.addBatch();
+                batchCount++;
+                if (batchCount >= predicate.getBatchSize()) {
+                    executeBatch();
+                    batchCount = 0;
                 }
-                prepStatement.executeUpdate();
+            }
+            if (batchCount > 0) {
+                executeBatch();
             }
         } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackException) {
+                e.addSuppressed(rollbackException);
+            }
             throw new DataflowException(
                     "MysqlSink processTuples fails to execute prepared statement. " + e.getMessage());
         }
     }
+    
+    private void executeBatch() throws SQLException {
+        prepStatement.executeBatch();
+        connection.commit();
+    }
 
     @Override
     public void close() throws TexeraException {
@@ -212,7 +235,8 @@ public class MysqlSink implements ISink {
 
     private void prepareField(int idx, IField field) throws SQLException {
         if (field == null) {
-            return;
+            // a batched statement keeps the parameters of the previous row, so they must be cleared
+            prepStatement.setNull(idx + 1, Types.NULL);
         } else if (field instanceof DoubleField) {
             prepStatement.setDouble(idx + 1, (double) field.getValue());
         } else if (field instanceof IntegerField) {
@@ -6,11 +6,15 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.google.common.collect.ImmutableMap;
 
+import edu.uci.ics.texera.api.exception.TexeraException;
+import edu.uci.ics.texera.dataflow.annotation.AdvancedOption;
 import edu.uci.ics.texera.dataflow.common.OperatorGroupConstants;
 import edu.uci.ics.texera.dataflow.common.PredicateBase;
 import edu.uci.ics.texera.dataflow.common.PropertyNameConstants;
 
 public class MysqlSinkPredicate extends PredicateBase{
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    
     private final String host;
     private final Integer port;
     private final String database;
@@ -19,6 +23,7 @@ public class MysqlSinkPredicate extends PredicateBase{
     private final String password;
     private final Integer limit;
     private final Integer offset;
+    private final Integer batchSize;
     
     @JsonCreator
     public MysqlSinkPredicate(
@@ -37,7 +42,11 @@ public class MysqlSinkPredicate extends PredicateBase{
             @JsonProperty(value = PropertyNameConstants.MYSQL_LIMIT, required = false)
             Integer limit,
             @JsonProperty(value = PropertyNameConstants.MYSQL_OFFSET, required = false)
-            Integer offset
+            Integer offset,
+            @AdvancedOption
+            @JsonProperty(value = PropertyNameConstants.MYSQL_BATCH_SIZE, required = false,
+                    defaultValue = "" + DEFAULT_BATCH_SIZE)
+            Integer batchSize
             ) {
         this.host = host.trim();
         this.port = port;
@@ -48,6 +57,10 @@ public class MysqlSinkPredicate extends PredicateBase{
         
         this.limit = limit == null ? Integer.MAX_VALUE : limit;
         this.offset = offset == null ? 0 : offset;
+        this.batchSize = batchSize == null ? DEFAULT_BATCH_SIZE : batchSize;
+        if (this.batchSize < 1) {
+            throw new TexeraException(PropertyNameConstants.INVALID_BATCH_SIZE_EXCEPTION);
+        }
     }
     
     @JsonProperty(value = PropertyNameConstants.MYSQL_HOST)
@@ -90,6 +103,11 @@ public class MysqlSinkPredicate extends PredicateBase{
         return offset;
     }
     
+    @JsonProperty(value = PropertyNameConstants.MYSQL_BATCH_SIZE)
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+    
     @Override
     public MysqlSink newOperator() {
         return new MysqlSink(this);
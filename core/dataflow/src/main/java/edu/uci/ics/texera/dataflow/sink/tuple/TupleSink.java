@@ -3,6 +3,7 @@ package edu.uci.ics.texera.dataflow.sink.tuple;
 import edu.uci.ics.texera.dataflow.sink.ITupleSink;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import edu.uci.ics.texera.api.constants.ErrorMessages;
 import edu.uci.ics.texera.api.constants.SchemaConstants;
@@ -129,6 +130,25 @@ public class TupleSink implements ITupleSink {
         return results;
     }
 
+    /**
+     * Passes the tuples to the consumer as soon as they are produced, without keeping them.
+     *
+     * @param consumer
+     * @throws TexeraException
+     */
+    @Override
+    public void consumeAllTuples(Consumer<Tuple> consumer) throws TexeraException {
+        this.open();
+        try {
+            Tuple tuple;
+            while ((tuple = this.getNextTuple()) != null) {
+                consumer.accept(tuple);
+            }
+        } finally {
+            this.close();
+        }
+    }
+
 
 
     @Override
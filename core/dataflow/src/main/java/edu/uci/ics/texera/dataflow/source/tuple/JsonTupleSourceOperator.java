@@ -0,0 +1,112 @@
+package edu.uci.ics.texera.dataflow.source.tuple;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import edu.uci.ics.texera.api.constants.DataConstants;
+import edu.uci.ics.texera.api.constants.ErrorMessages;
+import edu.uci.ics.texera.api.dataflow.ISourceOperator;
+import edu.uci.ics.texera.api.exception.DataflowException;
+import edu.uci.ics.texera.api.exception.TexeraException;
+import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.api.tuple.Tuple;
+
+/*
+ * This operator reads a json file containing an array of serialized tuples and serves them as a source operator.
+ *
+ * The tuples are parsed one at a time while they are consumed, so the file is never held in memory as a whole.
+ * The output schema is the schema of the first tuple, it is null if the file has no tuples.
+ * The schema is known after the operator is opened.
+ *
+ * This operator is intended for internal use, e.g. to convert a stored result to a downloaded file.
+ * It will NOT be exposed to the web API, therefore it doesn't have a corresponding predicate.
+ *
+ */
+public class JsonTupleSourceOperator implements ISourceOperator {
+
+    private final Path jsonFile;
+    private JsonParser parser;
+    private Schema outputSchema;
+    // the first tuple is read in open() to get the schema
+    private Tuple nextTuple;
+
+    private int cursor = CLOSED;
+
+    public JsonTupleSourceOperator(Path jsonFile) {
+        this.jsonFile = jsonFile;
+    }
+
+    @Override
+    public void open() throws TexeraException {
+        if (cursor != CLOSED) {
+            return;
+        }
+        try {
+            parser = DataConstants.defaultObjectMapper.getFactory().createParser(jsonFile.toFile());
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new DataflowException(jsonFile + " is not an array of tuples");
+            }
+            nextTuple = readTuple();
+        } catch (IOException e) {
+            throw new DataflowException(e.getMessage(), e);
+        }
+        outputSchema = nextTuple == null ? null : nextTuple.getSchema();
+        cursor = OPENED;
+    }
+
+    /*
+     * Reads the next tuple of the array, returns null at the end of the array.
+     */
+    private Tuple readTuple() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        return DataConstants.defaultObjectMapper.readValue(parser, Tuple.class);
+    }
+
+    @Override
+    public Tuple getNextTuple() throws TexeraException {
+        if (cursor == CLOSED || nextTuple == null) {
+            return null;
+        }
+        Tuple tuple = nextTuple;
+        try {
+            nextTuple = readTuple();
+        } catch (IOException e) {
+            throw new DataflowException(e.getMessage(), e);
+        }
+        cursor++;
+        return tuple;
+    }
+
+    @Override
+    public void close() throws TexeraException {
+        if (cursor == CLOSED) {
+            return;
+        }
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new DataflowException(e.getMessage(), e);
+        } finally {
+            parser = null;
+            nextTuple = null;
+            cursor = CLOSED;
+        }
+    }
+
+    @Override
+    public Schema getOutputSchema() {
+        return outputSchema;
+    }
+
+    public Schema transformToOutputSchema(Schema... inputSchema) throws DataflowException {
+        if (inputSchema == null || inputSchema.length == 0)
+            return getOutputSchema();
+        throw new TexeraException(ErrorMessages.INVALID_INPUT_SCHEMA_FOR_SOURCE);
+    }
+}
@@ -1,13 +1,11 @@
 package edu.uci.ics.texera.dataflow.sqlServerInfo;
 
 import java.nio.file.Path;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
 
-import com.mysql.cj.jdbc.MysqlDataSource;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import edu.uci.ics.texera.api.utils.Utils;
 import org.jooq.DSLContext;
 import org.jooq.SQLDialect;
@@ -15,21 +13,77 @@ import org.jooq.impl.DSL;
 
 public final class UserSqlServer {
 
+    public static final SQLDialect SQL_DIALECT = SQLDialect.MYSQL;
+
+    public static final String POOL_NAME = "userSqlServer";
+    public static final int DEFAULT_POOL_MAX_SIZE = 10;
+    public static final long DEFAULT_POOL_MAX_WAIT_MILLIS = 5000;
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 250;
+
     public static Config jdbcConfig;
-    private static MysqlDataSource dataSource;
+    private static HikariDataSource dataSource;
+    // jOOQ contexts are thread safe, all the queries share one context over the connection pool
+    private static DSLContext dslContext;
 
     static {
         Path jdbcConfPath = Utils.getTexeraHomePath().resolve("conf").resolve("jdbc.conf");
         jdbcConfig = ConfigFactory.parseFile(jdbcConfPath.toFile());
-        
-        dataSource = new MysqlDataSource();
-        dataSource.setUrl(jdbcConfig.getString("jdbc.url"));
-        dataSource.setUser(jdbcConfig.getString("jdbc.username"));
-        dataSource.setPassword(jdbcConfig.getString("jdbc.password"));
+        dataSource = createDataSource(jdbcConfig);
+        dslContext = DSL.using(dataSource, SQL_DIALECT);
     }
-    public static final SQLDialect SQL_DIALECT = SQLDialect.MYSQL;
 
     public static DSLContext createDSLContext() {
-        return DSL.using(dataSource, SQL_DIALECT);
+        return dslContext;
+    }
+
+    /**
+     * Gets the connection pool, e.g. to report its usage.
+     */
+    public static HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Creates the connection pool of the database described by the "jdbc" section of a config.
+     *
+     * At most jdbc.pool.maxSize connections are open at the same time,
+     *   getConnection() waits up to jdbc.pool.maxWaitMillis for a connection to be returned before it fails.
+     * Connections are opened on demand, so the pool can be created while the database is unavailable.
+     * A connection returned to the pool is rolled back if it is in a transaction,
+     *   and its auto commit, read only, transaction isolation and catalog are reset.
+     */
+    public static HikariDataSource createDataSource(Config config) {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName(POOL_NAME);
+        if (config.hasPath("jdbc.driver")) {
+            hikariConfig.setDriverClassName(config.getString("jdbc.driver"));
+        }
+        hikariConfig.setJdbcUrl(config.getString("jdbc.url"));
+        hikariConfig.setUsername(config.getString("jdbc.username"));
+        hikariConfig.setPassword(config.getString("jdbc.password"));
+
+        hikariConfig.setMaximumPoolSize(getInt(config, "jdbc.pool.maxSize", DEFAULT_POOL_MAX_SIZE));
+        hikariConfig.setConnectionTimeout(getLong(config, "jdbc.pool.maxWaitMillis", DEFAULT_POOL_MAX_WAIT_MILLIS));
+        hikariConfig.setMinimumIdle(0);
+        hikariConfig.setInitializationFailTimeout(-1);
+
+        // each pooled connection keeps the prepared statements of the queries it has run (MySQL Connector/J properties)
+        int statementCacheSize = getInt(config, "jdbc.statementCacheSize", DEFAULT_STATEMENT_CACHE_SIZE);
+        if (statementCacheSize > 0) {
+            hikariConfig.addDataSourceProperty("cachePrepStmts", "true");
+            hikariConfig.addDataSourceProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+            hikariConfig.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            hikariConfig.addDataSourceProperty("useServerPrepStmts", "true");
+        }
+
+        return new HikariDataSource(hikariConfig);
+    }
+
+    private static int getInt(Config config, String path, int defaultValue) {
+        return config.hasPath(path) ? config.getInt(path) : defaultValue;
+    }
+
+    private static long getLong(Config config, String path, long defaultValue) {
+        return config.hasPath(path) ? config.getLong(path) : defaultValue;
     }
 }
@@ -1,7 +1,6 @@
 package edu.uci.ics.texera.dataflow.utils;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -10,13 +9,14 @@ import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
 import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
 import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
-import org.apache.lucene.analysis.util.CharArraySet;
-import org.apache.lucene.analysis.standard.StandardAnalyzer;
 
 import edu.uci.ics.texera.api.exception.DataflowException;
 import edu.uci.ics.texera.api.exception.TexeraException;
+import edu.uci.ics.texera.api.schema.Attribute;
 import edu.uci.ics.texera.api.schema.AttributeType;
+import edu.uci.ics.texera.api.span.PackedPayload;
 import edu.uci.ics.texera.api.span.Span;
+import edu.uci.ics.texera.api.span.TermDictionary;
 import edu.uci.ics.texera.api.tuple.*;
 import edu.uci.ics.texera.storage.constants.LuceneAnalyzerConstants;
 
@@ -37,14 +37,13 @@ public class DataflowUtils {
      */
     public static ArrayList<String> tokenizeQuery(Analyzer luceneAnalyzer, String query) {
         ArrayList<String> result = new ArrayList<String>();
-        TokenStream tokenStream = luceneAnalyzer.tokenStream(null, new StringReader(query));
-        CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
-        try {
+        try (TokenStream tokenStream = luceneAnalyzer.tokenStream(null, query)) {
+            CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
             tokenStream.reset();
             while (tokenStream.incrementToken()) {
                 result.add(term.toString());
             }
-            tokenStream.close();
+            tokenStream.end();
         } catch (IOException e) {
             throw new DataflowException(e);
         }
@@ -56,8 +55,7 @@ public class DataflowUtils {
         
         if (luceneAnalyzerStr.equals(LuceneAnalyzerConstants.standardAnalyzerString())) {
             // use an empty stop word list for standard analyzer
-            CharArraySet emptyStopwords = new CharArraySet(1, true);
-            luceneAnalyzer = new StandardAnalyzer(emptyStopwords);
+            luceneAnalyzer = LuceneAnalyzerConstants.getStandardAnalyzerWithStopwords();
         } else if (luceneAnalyzerStr.equals(LuceneAnalyzerConstants.chineseAnalyzerString())) {
             // use the default smart chinese analyzer
             // because the smart chinese analyzer's default stopword list is simply a list of punctuations
@@ -68,24 +66,22 @@ public class DataflowUtils {
         }
 
         ArrayList<String> result = new ArrayList<String>();
-        TokenStream tokenStream = luceneAnalyzer.tokenStream(null, new StringReader(query));
-        CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
+        String lowerCaseQuery = query.toLowerCase();
 
-        try {
+        try (TokenStream tokenStream = luceneAnalyzer.tokenStream(null, query)) {
+            CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
             tokenStream.reset();
             while (tokenStream.incrementToken()) {
                 String token = term.toString();
-                int tokenIndex = query.toLowerCase().indexOf(token);
+                int tokenIndex = lowerCaseQuery.indexOf(token);
                 // Since tokens are converted to lower case,
                 // get the exact token from the query string.
                 String actualQueryToken = query.substring(tokenIndex, tokenIndex + token.length());
                 result.add(actualQueryToken);
             }
-            tokenStream.close();
+            tokenStream.end();
         } catch (IOException e) {
             throw new DataflowException(e);
-        } finally {
-            luceneAnalyzer.close();
         }
         
         return result;
@@ -96,22 +92,38 @@ public class DataflowUtils {
     }
 
     public static List<Span> generatePayloadFromTuple(Tuple tuple, Analyzer luceneAnalyzer) {
-        List<Span> tuplePayload = tuple.getSchema().getAttributes().stream()
-                .filter(attr -> (attr.getType() == AttributeType.TEXT)) // generate payload only for TEXT field
-                .map(attr -> attr.getName())
-                .map(attributeName -> generatePayload(attributeName, tuple.getField(attributeName).getValue().toString(),
-                        luceneAnalyzer))
-                .flatMap(payload -> payload.stream()) // flatten a list of lists to a list
-                .collect(Collectors.toList());
-
-        return tuplePayload;
+        return generatePackedPayloadFromTuple(tuple, luceneAnalyzer, new TermDictionary()).toSpanList();
     }
 
-    public static List<Span> generatePayload(String attributeName, String fieldValue, Analyzer luceneAnalyzer) {
-        List<Span> payload = new ArrayList<>();
+    public static PackedPayload generatePackedPayloadFromTuple(Tuple tuple, String luceneAnalyzer,
+            TermDictionary dictionary) throws DataflowException {
+        return generatePackedPayloadFromTuple(tuple, LuceneAnalyzerConstants.getLuceneAnalyzer(luceneAnalyzer),
+                dictionary);
+    }
+
+    /**
+     * Generates the payload of the TEXT fields of a tuple as a PackedPayload,
+     *   whose terms are added to the given dictionary.
+     */
+    public static PackedPayload generatePackedPayloadFromTuple(Tuple tuple, Analyzer luceneAnalyzer,
+            TermDictionary dictionary) {
+        PackedPayload.Builder payloadBuilder = new PackedPayload.Builder(dictionary);
+        for (Attribute attribute : tuple.getSchema().getAttributes()) {
+            // generate payload only for TEXT field
+            if (attribute.getType() == AttributeType.TEXT) {
+                generatePayload(attribute.getName(), tuple.getField(attribute.getName()).getValue().toString(),
+                        luceneAnalyzer, payloadBuilder);
+            }
+        }
+        return payloadBuilder.build();
+    }
 
-        try {
-            TokenStream tokenStream = luceneAnalyzer.tokenStream(null, new StringReader(fieldValue));
+    public static void generatePayload(String attributeName, String fieldValue, Analyzer luceneAnalyzer,
+            PackedPayload.Builder payloadBuilder) {
+        payloadBuilder.setAttribute(attributeName, fieldValue);
+        // the token stream and its attributes are reused by the analyzer,
+        //   and the terms are added by their characters, so only new terms and the payload are allocated
+        try (TokenStream tokenStream = luceneAnalyzer.tokenStream(null, fieldValue)) {
             OffsetAttribute offsetAttribute = tokenStream.addAttribute(OffsetAttribute.class);
             CharTermAttribute charTermAttribute = tokenStream.addAttribute(CharTermAttribute.class);
             PositionIncrementAttribute positionIncrementAttribute =
@@ -121,21 +133,19 @@ public class DataflowUtils {
             tokenStream.reset();
             while (tokenStream.incrementToken()) {
                 tokenPositionCounter += positionIncrementAttribute.getPositionIncrement();
-
-                int tokenPosition = tokenPositionCounter;
-                int charStart = offsetAttribute.startOffset();
-                int charEnd = offsetAttribute.endOffset();
-                String analyzedTermStr = charTermAttribute.toString();
-                String originalTermStr = fieldValue.substring(charStart, charEnd);
-
-                payload.add(new Span(attributeName, charStart, charEnd, analyzedTermStr, originalTermStr, tokenPosition));
+                payloadBuilder.add(charTermAttribute, offsetAttribute.startOffset(),
+                        offsetAttribute.endOffset(), tokenPositionCounter);
             }
-            tokenStream.close();
+            tokenStream.end();
         } catch (IOException e) {
             throw new DataflowException(e);
         }
+    }
 
-        return payload;
+    public static List<Span> generatePayload(String attributeName, String fieldValue, Analyzer luceneAnalyzer) {
+        PackedPayload.Builder payloadBuilder = new PackedPayload.Builder(new TermDictionary());
+        generatePayload(attributeName, fieldValue, luceneAnalyzer, payloadBuilder);
+        return payloadBuilder.build().toSpanList();
     }
 
 
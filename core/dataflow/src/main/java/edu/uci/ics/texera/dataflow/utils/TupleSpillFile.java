@@ -0,0 +1,309 @@
+package edu.uci.ics.texera.dataflow.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.uci.ics.texera.api.constants.SchemaConstants;
+import edu.uci.ics.texera.api.exception.DataflowException;
+import edu.uci.ics.texera.api.field.DateField;
+import edu.uci.ics.texera.api.field.DateTimeField;
+import edu.uci.ics.texera.api.field.DoubleField;
+import edu.uci.ics.texera.api.field.IDField;
+import edu.uci.ics.texera.api.field.IField;
+import edu.uci.ics.texera.api.field.IntegerField;
+import edu.uci.ics.texera.api.field.ListField;
+import edu.uci.ics.texera.api.field.PayloadField;
+import edu.uci.ics.texera.api.field.StringField;
+import edu.uci.ics.texera.api.field.TextField;
+import edu.uci.ics.texera.api.schema.AttributeType;
+import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.api.span.PackedPayload;
+import edu.uci.ics.texera.api.span.Span;
+import edu.uci.ics.texera.api.span.TermDictionary;
+import edu.uci.ics.texera.api.tuple.Tuple;
+
+/**
+ * TupleSpillFile is a temporary file that operators use to move tuples out of the heap
+ *   when their in-memory state exceeds a memory budget.
+ *
+ * All tuples in a spill file share the same schema, so the schema is kept in memory
+ *   and only the fields of each tuple are written, in binary through a DataOutputStream.
+ * Each tuple is prefixed with its length in bytes, so that a reader can skip it without decoding it.
+ * A field is written as a tag (null field, null value, or value) followed by its value,
+ *   the encoding of the value is decided by the attribute type of the schema:
+ *   strings are a length and UTF-8 bytes, numbers are fixed size, dates are epoch days,
+ *   and lists are a count followed by the spans.
+ * The payload is read back as a PayloadField, packed with a TermDictionary shared by the tuples of the file,
+ *   so the matchers after a spilling operator read the packed payload instead of packing its spans for every tuple.
+ *
+ * Tuples are appended with write() and read back in the same order through a Reader.
+ * Readers only see the tuples written before they were opened.
+ * The file is deleted when the spill file is closed.
+ *
+ */
+public class TupleSpillFile implements Closeable {
+
+    private static final byte NULL_FIELD = 0;
+    private static final byte NULL_VALUE = 1;
+    private static final byte VALUE = 2;
+
+    private final Schema schema;
+    private final AttributeType[] attributeTypes;
+    private final boolean[] payloadAttributes;
+    private final TermDictionary payloadDictionary = new TermDictionary();
+    private final Path filePath;
+    private DataOutputStream output;
+    // the fields of a tuple are encoded here first, to write the length of the tuple in front of them
+    private final ByteArrayOutputStream tupleBytes = new ByteArrayOutputStream();
+    private final DataOutputStream tupleOutput = new DataOutputStream(tupleBytes);
+    private int tupleCount = 0;
+
+    public TupleSpillFile(Schema schema) throws DataflowException {
+        this.schema = schema;
+        this.attributeTypes = schema.getAttributes().stream().map(attr -> attr.getType())
+                .toArray(AttributeType[]::new);
+        this.payloadAttributes = new boolean[attributeTypes.length];
+        for (int i = 0; i < attributeTypes.length; i++) {
+            payloadAttributes[i] = attributeTypes[i] == AttributeType.LIST
+                    && schema.getAttributes().get(i).getName().equalsIgnoreCase(SchemaConstants.PAYLOAD);
+        }
+        try {
+            this.filePath = Files.createTempFile("texera-spill-", ".bin");
+            this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(filePath)));
+        } catch (IOException e) {
+            throw new DataflowException("failed to create spill file: " + e.getMessage(), e);
+        }
+    }
+
+    public void write(Tuple tuple) throws DataflowException {
+        try {
+            tupleBytes.reset();
+            List<IField> fields = tuple.getFields();
+            for (int i = 0; i < attributeTypes.length; i++) {
+                writeField(tupleOutput, attributeTypes[i], fields.get(i));
+            }
+            tupleOutput.flush();
+            output.writeInt(tupleBytes.size());
+            tupleBytes.writeTo(output);
+            tupleCount++;
+        } catch (IOException e) {
+            throw new DataflowException("failed to write to spill file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens a reader over all the tuples written so far.
+     */
+    public Reader openReader() throws DataflowException {
+        try {
+            output.flush();
+            return new Reader(new DataInputStream(new BufferedInputStream(Files.newInputStream(filePath))),
+                    tupleCount);
+        } catch (IOException e) {
+            throw new DataflowException("failed to read spill file: " + e.getMessage(), e);
+        }
+    }
+
+    public int size() {
+        return tupleCount;
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public void close() throws DataflowException {
+        try {
+            output.close();
+            Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            throw new DataflowException("failed to delete spill file: " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeField(DataOutputStream out, AttributeType type, IField field) throws IOException {
+        if (field == null) {
+            out.writeByte(NULL_FIELD);
+            return;
+        }
+        Object value = field.getValue();
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+            return;
+        }
+        out.writeByte(VALUE);
+        switch (type) {
+        case INTEGER:
+            out.writeInt((Integer) value);
+            break;
+        case DOUBLE:
+            out.writeDouble((Double) value);
+            break;
+        case DATE:
+            out.writeLong(((LocalDate) value).toEpochDay());
+            break;
+        case DATETIME:
+            LocalDateTime dateTime = (LocalDateTime) value;
+            out.writeLong(dateTime.toLocalDate().toEpochDay());
+            out.writeLong(dateTime.toLocalTime().toNanoOfDay());
+            break;
+        case LIST:
+            List<?> spans = (List<?>) value;
+            out.writeInt(spans.size());
+            for (Object element : spans) {
+                Span span = (Span) element;
+                writeString(out, span.getAttributeName());
+                out.writeInt(span.getStart());
+                out.writeInt(span.getEnd());
+                writeString(out, span.getKey());
+                writeString(out, span.getValue());
+                out.writeInt(span.getTokenOffset());
+            }
+            break;
+        default:
+            // STRING, TEXT, BOOLEAN and _ID_TYPE fields are strings
+            writeString(out, value.toString());
+        }
+    }
+
+    private static IField readField(DataInputStream in, AttributeType type) throws IOException {
+        byte tag = in.readByte();
+        if (tag == NULL_FIELD) {
+            return null;
+        }
+        boolean isNull = tag == NULL_VALUE;
+        switch (type) {
+        case INTEGER:
+            return new IntegerField(isNull ? null : in.readInt());
+        case DOUBLE:
+            return new DoubleField(isNull ? null : in.readDouble());
+        case DATE:
+            return new DateField(isNull ? null : LocalDate.ofEpochDay(in.readLong()));
+        case DATETIME:
+            if (isNull) {
+                return new DateTimeField((LocalDateTime) null);
+            }
+            LocalDate date = LocalDate.ofEpochDay(in.readLong());
+            return new DateTimeField(LocalDateTime.of(date, LocalTime.ofNanoOfDay(in.readLong())));
+        case LIST:
+            if (isNull) {
+                return new ListField<Span>(new ArrayList<>());
+            }
+            int spanCount = in.readInt();
+            List<Span> spans = new ArrayList<>(spanCount);
+            for (int i = 0; i < spanCount; i++) {
+                spans.add(new Span(readString(in), in.readInt(), in.readInt(), readString(in), readString(in),
+                        in.readInt()));
+            }
+            return new ListField<Span>(spans);
+        case TEXT:
+            return new TextField(isNull ? null : readString(in));
+        case _ID_TYPE:
+            return new IDField(isNull ? null : readString(in));
+        default:
+            return new StringField(isNull ? null : readString(in));
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public class Reader implements Closeable {
+
+        private final DataInputStream input;
+        private int remaining;
+
+        private Reader(DataInputStream input, int tupleCount) {
+            this.input = input;
+            this.remaining = tupleCount;
+        }
+
+        /**
+         * Returns the next tuple in the spill file, null if there's no more tuples.
+         */
+        @SuppressWarnings("unchecked")
+        public Tuple next() throws DataflowException {
+            if (remaining == 0) {
+                return null;
+            }
+            try {
+                input.readInt();
+                List<IField> fields = new ArrayList<>(attributeTypes.length);
+                for (int i = 0; i < attributeTypes.length; i++) {
+                    IField field = readField(input, attributeTypes[i]);
+                    if (payloadAttributes[i] && field != null) {
+                        field = new PayloadField(
+                                PackedPayload.fromSpans(((ListField<Span>) field).getValue(), payloadDictionary));
+                    }
+                    fields.add(field);
+                }
+                remaining--;
+                return new Tuple(schema, fields);
+            } catch (IOException e) {
+                throw new DataflowException("failed to read spill file: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Skips the next n tuples without deserializing them.
+         */
+        public void skip(int n) throws DataflowException {
+            try {
+                for (; n > 0 && remaining > 0; n--, remaining--) {
+                    int length = input.readInt();
+                    int skipped = 0;
+                    while (skipped < length) {
+                        int bytes = input.skipBytes(length - skipped);
+                        if (bytes <= 0) {
+                            throw new IOException("unexpected end of spill file");
+                        }
+                        skipped += bytes;
+                    }
+                }
+            } catch (IOException e) {
+                throw new DataflowException("failed to read spill file: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() throws DataflowException {
+            try {
+                input.close();
+            } catch (IOException e) {
+                throw new DataflowException("failed to close spill file: " + e.getMessage(), e);
+            }
+        }
+    }
+
+}
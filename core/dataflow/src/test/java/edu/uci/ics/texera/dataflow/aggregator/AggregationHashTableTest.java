@@ -0,0 +1,102 @@
+package edu.uci.ics.texera.dataflow.aggregator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.uci.ics.texera.api.exception.DataflowException;
+import edu.uci.ics.texera.api.field.IntegerField;
+import edu.uci.ics.texera.api.field.StringField;
+import edu.uci.ics.texera.api.schema.Attribute;
+import edu.uci.ics.texera.api.schema.AttributeType;
+import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.api.tuple.Tuple;
+
+public class AggregationHashTableTest {
+
+    private static final Schema INPUT_SCHEMA = new Schema(
+            new Attribute("group", AttributeType.STRING), new Attribute("value", AttributeType.INTEGER));
+    private static final Schema OUTPUT_SCHEMA = new Schema(
+            new Attribute("group", AttributeType.STRING), new Attribute("count", AttributeType.INTEGER),
+            new Attribute("sum", AttributeType.INTEGER), new Attribute("min", AttributeType.INTEGER));
+    private static final List<AggregationAttributeAndResult> AGGREGATION_ITEMS = Arrays.asList(
+            new AggregationAttributeAndResult("value", AggregationType.COUNT, "count"),
+            new AggregationAttributeAndResult("value", AggregationType.SUM, "sum"),
+            new AggregationAttributeAndResult("value", AggregationType.MIN, "min"));
+
+    private static AggregationHashTable createHashTable(int maxInMemoryGroups) {
+        return new AggregationHashTable(INPUT_SCHEMA, Arrays.asList("group"), AGGREGATION_ITEMS, OUTPUT_SCHEMA,
+                maxInMemoryGroups);
+    }
+
+    private static Tuple createTuple(String group, int value) {
+        return new Tuple(INPUT_SCHEMA, new StringField(group), new IntegerField(value));
+    }
+
+    private static Map<String, Tuple> getResults(AggregationHashTable hashTable) throws DataflowException {
+        Map<String, Tuple> results = new HashMap<>();
+        Tuple result;
+        while ((result = hashTable.next()) != null) {
+            Assert.assertNull(results.put((String) result.getField("group").getValue(), result));
+        }
+        hashTable.close();
+        return results;
+    }
+
+    private static void testGroups(int maxInMemoryGroups) throws DataflowException {
+        AggregationHashTable hashTable = createHashTable(maxInMemoryGroups);
+        for (int value = 0; value < 10; value++) {
+            for (int group = 0; group < 1000; group++) {
+                hashTable.insert(createTuple("group" + group, group + value));
+            }
+        }
+
+        Map<String, Tuple> results = getResults(hashTable);
+        Assert.assertEquals(1000, results.size());
+        for (int group = 0; group < 1000; group++) {
+            Tuple result = results.get("group" + group);
+            Assert.assertEquals(10, result.getField("count").getValue());
+            Assert.assertEquals(group * 10 + 45, result.getField("sum").getValue());
+            Assert.assertEquals(group, result.getField("min").getValue());
+        }
+    }
+
+    @Test
+    public void testInMemoryGroups() throws Exception {
+        testGroups(Aggregator.DEFAULT_MAX_IN_MEMORY_GROUPS);
+    }
+
+    @Test
+    public void testSpilledGroups() throws Exception {
+        testGroups(100);
+    }
+
+    @Test
+    public void testSpilledPartialSumsLargerThanInteger() throws Exception {
+        // the partial sums of the runs overflow an integer, but the final sum doesn't
+        AggregationHashTable hashTable = createHashTable(1);
+        hashTable.insert(createTuple("a", Integer.MAX_VALUE));
+        hashTable.insert(createTuple("a", Integer.MAX_VALUE));
+        hashTable.insert(createTuple("b", 0));
+        hashTable.insert(createTuple("a", Integer.MIN_VALUE));
+        hashTable.insert(createTuple("a", Integer.MIN_VALUE));
+        hashTable.insert(createTuple("b", 0));
+
+        Map<String, Tuple> results = getResults(hashTable);
+        Assert.assertEquals(-2, results.get("a").getField("sum").getValue());
+        Assert.assertEquals(Integer.MIN_VALUE, results.get("a").getField("min").getValue());
+    }
+
+    @Test(expected = DataflowException.class)
+    public void testSumOverflow() throws Exception {
+        AggregationHashTable hashTable = createHashTable(Aggregator.DEFAULT_MAX_IN_MEMORY_GROUPS);
+        hashTable.insert(createTuple("a", Integer.MAX_VALUE));
+        hashTable.insert(createTuple("a", 1));
+        hashTable.next();
+    }
+
+}
@@ -5,6 +5,7 @@ package edu.uci.ics.texera.dataflow.aggregator;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.AfterClass;
@@ -395,6 +396,77 @@ public class AggregatorTest {
         Assert.assertTrue(TestUtils.equals(expectedResults, returnedResults));
     }
 
+    //TEST 13: Count and sum height grouped by age
+    @Test
+    public void testCountSumHeightGroupByAge() throws Exception {
+        List<Tuple> returnedResults = getQueryResults(getCountSumHeightAggregations(),
+                Arrays.asList(TestConstants.AGE), Aggregator.DEFAULT_MAX_IN_MEMORY_GROUPS);
+        Assert.assertEquals(5, returnedResults.size());
+        Assert.assertTrue(TestUtils.equals(getCountSumHeightGroupByAgeResults(), returnedResults));
+    }
+
+    //TEST 14: Count and sum height grouped by age, with the groups spilled to sorted runs
+    @Test
+    public void testCountSumHeightGroupByAgeSpilled() throws Exception {
+        List<Tuple> returnedResults = getQueryResults(getCountSumHeightAggregations(),
+                Arrays.asList(TestConstants.AGE), 1);
+        Assert.assertEquals(5, returnedResults.size());
+        Assert.assertTrue(TestUtils.equals(getCountSumHeightGroupByAgeResults(), returnedResults));
+    }
+
+    //TEST 15: Min first name and average height grouped by age and date of birth, with the groups spilled to sorted runs
+    @Test
+    public void testMinNameAvgHeightGroupByAgeAndDOBSpilled() throws Exception {
+        List<AggregationAttributeAndResult> aggEntitiesList = new ArrayList<>();
+        aggEntitiesList.add(new AggregationAttributeAndResult(TestConstants.FIRST_NAME, AggregationType.MIN,
+                AggregatorTestConstants.MIN_FIRST_NAME_RESULT_ATTR_NAME));
+        aggEntitiesList.add(new AggregationAttributeAndResult(TestConstants.HEIGHT, AggregationType.AVERAGE,
+                AggregatorTestConstants.AVG_HEIGHT_RESULT_ATTR_NAME));
+
+        Schema schema = new Schema(TestConstants.AGE_ATTR, TestConstants.DATE_OF_BIRTH_ATTR,
+                new Attribute(AggregatorTestConstants.MIN_FIRST_NAME_RESULT_ATTR_NAME, AttributeType.STRING),
+                new Attribute(AggregatorTestConstants.AVG_HEIGHT_RESULT_ATTR_NAME, AttributeType.DOUBLE));
+        SimpleDateFormat dateFormat = new SimpleDateFormat("MM-dd-yyyy");
+        List<Tuple> expectedResults = new ArrayList<>();
+        expectedResults.add(new Tuple(schema, new IntegerField(46), new DateField(dateFormat.parse("01-14-1970")),
+                new StringField("bruce"), new DoubleField(5.50)));
+        expectedResults.add(new Tuple(schema, new IntegerField(45), new DateField(dateFormat.parse("01-13-1971")),
+                new StringField("tom hanks"), new DoubleField(5.95)));
+        expectedResults.add(new Tuple(schema, new IntegerField(44), new DateField(dateFormat.parse("01-12-1972")),
+                new StringField("brad lie angelina"), new DoubleField(6.10)));
+        expectedResults.add(new Tuple(schema, new IntegerField(43), new DateField(dateFormat.parse("01-13-1973")),
+                new StringField("george lin lin"), new DoubleField(6.06)));
+        expectedResults.add(new Tuple(schema, new IntegerField(42), new DateField(dateFormat.parse("01-13-1974")),
+                new StringField("Mary brown"), new DoubleField((5.99 + 5.99) / 2)));
+
+        List<Tuple> returnedResults = getQueryResults(aggEntitiesList,
+                Arrays.asList(TestConstants.AGE, TestConstants.DATE_OF_BIRTH), 2);
+        Assert.assertEquals(5, returnedResults.size());
+        Assert.assertTrue(TestUtils.equals(expectedResults, returnedResults));
+    }
+
+    private static List<AggregationAttributeAndResult> getCountSumHeightAggregations() {
+        List<AggregationAttributeAndResult> aggEntitiesList = new ArrayList<>();
+        aggEntitiesList.add(new AggregationAttributeAndResult(TestConstants.HEIGHT, AggregationType.COUNT,
+                AggregatorTestConstants.COUNT_HEIGHT_RESULT_ATTR_NAME));
+        aggEntitiesList.add(new AggregationAttributeAndResult(TestConstants.HEIGHT, AggregationType.SUM,
+                AggregatorTestConstants.SUM_HEIGHT_RESULT_ATTR_NAME));
+        return aggEntitiesList;
+    }
+
+    private static List<Tuple> getCountSumHeightGroupByAgeResults() {
+        Schema schema = new Schema(TestConstants.AGE_ATTR,
+                new Attribute(AggregatorTestConstants.COUNT_HEIGHT_RESULT_ATTR_NAME, AttributeType.INTEGER),
+                new Attribute(AggregatorTestConstants.SUM_HEIGHT_RESULT_ATTR_NAME, AttributeType.DOUBLE));
+        List<Tuple> expectedResults = new ArrayList<>();
+        expectedResults.add(new Tuple(schema, new IntegerField(46), new IntegerField(1), new DoubleField(5.50)));
+        expectedResults.add(new Tuple(schema, new IntegerField(45), new IntegerField(1), new DoubleField(5.95)));
+        expectedResults.add(new Tuple(schema, new IntegerField(44), new IntegerField(1), new DoubleField(6.10)));
+        expectedResults.add(new Tuple(schema, new IntegerField(43), new IntegerField(1), new DoubleField(6.06)));
+        expectedResults.add(new Tuple(schema, new IntegerField(42), new IntegerField(2), new DoubleField(5.99 + 5.99)));
+        return expectedResults;
+    }
+
     @AfterClass
     public static void cleanUp() throws TexeraException {
         RelationManager relationManager = RelationManager.getInstance();
@@ -402,8 +474,14 @@ public class AggregatorTest {
     }
 
     private List<Tuple> getQueryResults(List<AggregationAttributeAndResult> aggregationItems) {
-        AggregatorPredicate aggPredicate = new AggregatorPredicate(aggregationItems);
+        return getQueryResults(aggregationItems, null, Aggregator.DEFAULT_MAX_IN_MEMORY_GROUPS);
+    }
+
+    private List<Tuple> getQueryResults(List<AggregationAttributeAndResult> aggregationItems,
+            List<String> groupByAttributes, int maxInMemoryGroups) {
+        AggregatorPredicate aggPredicate = new AggregatorPredicate(aggregationItems, groupByAttributes);
         Aggregator aggOperator = new Aggregator(aggPredicate);
+        aggOperator.setMaxInMemoryGroups(maxInMemoryGroups);
 
         setPreExecConfigs(aggOperator);
 
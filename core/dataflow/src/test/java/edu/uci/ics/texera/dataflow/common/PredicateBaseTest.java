@@ -107,7 +107,7 @@ public class  PredicateBaseTest {
         List<AggregationAttributeAndResult> aggEntitiesList = new ArrayList<>();
         aggEntitiesList.add(aggEntity);
         
-        AggregatorPredicate aggPredicate = new AggregatorPredicate(aggEntitiesList);
+        AggregatorPredicate aggPredicate = new AggregatorPredicate(aggEntitiesList, attributeNames);
         testPredicate(aggPredicate);
     }
 
@@ -302,7 +302,7 @@ public class  PredicateBaseTest {
     
     @Test
     public void testMysqlSink() throws Exception {
-        testPredicate(new MysqlSinkPredicate("host", 1234, "db", "table", "user", "pass", null, null)) ;
+        testPredicate(new MysqlSinkPredicate("host", 1234, "db", "table", "user", "pass", null, null, null)) ;
     }
 
 }
@@ -164,5 +164,56 @@ public class OneToNBroadcastConnectorTest {
    
     }
 
+    /*
+     * This test tests if the connector's outputs are the same when the buffered tuples are spilled to disk,
+     * and the outputs consume the tuples at different paces.
+     */
+    @Test
+    public void testThreeOutputsSpilled() throws Exception {
+        IOperator sourceOperator = new ScanBasedSourceOperator(
+                new ScanSourcePredicate(PEOPLE_TABLE));
+              
+        OneToNBroadcastConnector connector = new OneToNBroadcastConnector(3, 1);       
+        connector.setInputOperator(sourceOperator);
+        IOperator output1 = connector.getOutputOperator(0);
+        IOperator output2 = connector.getOutputOperator(1);
+        IOperator output3 = connector.getOutputOperator(2);
+
+        output1.open();
+        output2.open();
+        output3.open();
+ 
+        List<Tuple> output1Results = new ArrayList<>();
+        List<Tuple> output2Results = new ArrayList<>();
+        List<Tuple> output3Results = new ArrayList<>();
+        
+        output2Results.add(output2.getNextTuple());
+        for (int i = 0; i < 4; i++) {
+            output1Results.add(output1.getNextTuple());
+        }
+        
+        Tuple nextTuple = null;
+        while ((nextTuple = output3.getNextTuple()) != null) {
+            output3Results.add(nextTuple);
+        }
+        while ((nextTuple = output1.getNextTuple()) != null) {
+            output1Results.add(nextTuple);
+        }
+        while ((nextTuple = output2.getNextTuple()) != null) {
+            output2Results.add(nextTuple);
+        }
+        
+        output1.close();
+        output2.close();
+        output3.close();
+        
+        List<Tuple> expectedResults = TestConstants.getSamplePeopleTuples();
+
+        Assert.assertTrue(TestUtils.equals(expectedResults, output1Results));
+        Assert.assertTrue(TestUtils.equals(expectedResults, output2Results));
+        Assert.assertTrue(TestUtils.equals(expectedResults, output3Results));
+        Assert.assertEquals(output1Results, output2Results);
+        Assert.assertEquals(output1Results, output3Results);
+    }
 
 }
@@ -477,6 +477,34 @@ public class JoinDistanceTest {
     }
     
     
+    /*
+     * This case tests for the scenario when the inner tuples don't fit in the
+     * memory budget of the join and its hash table is partitioned to disk.
+     * 
+     * Test result: Join should return the same tuples as the in-memory join.
+     */
+    @Test
+    public void testBothOperatorsMultipleTuplesBuildSideSpilled() throws Exception {
+        List<Tuple> tuples = new ArrayList<>();
+        tuples.addAll(JoinTestConstants.bookGroup1);
+        tuples.addAll(JoinTestConstants.bookGroup2);
+        
+        JoinTestHelper.insertToTable(BOOK_TABLE, tuples);
+        
+        List<Tuple> expectedResult = JoinTestHelper.getJoinDistanceResults(
+                JoinTestHelper.getKeywordSource(BOOK_TABLE, "book", conjunction), 
+                JoinTestHelper.getKeywordSource(BOOK_TABLE, "review", conjunction), 
+                new JoinDistancePredicate(JoinTestConstants.REVIEW, 12), Integer.MAX_VALUE, 0);
+        
+        List<Tuple> resultList = JoinTestHelper.getJoinDistanceResults(
+                JoinTestHelper.getKeywordSource(BOOK_TABLE, "book", conjunction), 
+                JoinTestHelper.getKeywordSource(BOOK_TABLE, "review", conjunction), 
+                new JoinDistancePredicate(JoinTestConstants.REVIEW, 12), Integer.MAX_VALUE, 0, 1);
+        
+        Assert.assertFalse(expectedResult.isEmpty());
+        Assert.assertTrue(TestUtils.equals(expectedResult, resultList));
+    }
+    
     /*
      * This case tests for the scenario when both the operators' have multiple
      * tuples and none of spans are within threshold.
@@ -0,0 +1,131 @@
+package edu.uci.ics.texera.dataflow.join;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.uci.ics.texera.api.field.IntegerField;
+import edu.uci.ics.texera.api.field.StringField;
+import edu.uci.ics.texera.api.schema.Attribute;
+import edu.uci.ics.texera.api.schema.AttributeType;
+import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.dataflow.utils.TupleSpillFile;
+
+public class JoinHashTableTest {
+
+    private static final Schema INNER_SCHEMA = new Schema(
+            new Attribute("id", AttributeType.INTEGER), new Attribute("inner", AttributeType.STRING));
+    private static final Schema OUTER_SCHEMA = new Schema(
+            new Attribute("id", AttributeType.INTEGER), new Attribute("outer", AttributeType.STRING));
+
+    private static Tuple innerTuple(int id, int i) {
+        return new Tuple(INNER_SCHEMA, new IntegerField(id), new StringField("inner" + id + "-" + i));
+    }
+
+    private static Tuple outerTuple(int id) {
+        return new Tuple(OUTER_SCHEMA, new IntegerField(id), new StringField("outer" + id));
+    }
+
+    /*
+     * Probes the outer tuples then joins the spilled partitions,
+     *   returns the number of inner tuples joined with each outer key.
+     */
+    private static Map<Integer, Integer> join(JoinHashTable hashTable, int outerCount) throws Exception {
+        Map<Integer, Integer> matches = new HashMap<>();
+        for (int id = 0; id < outerCount; id++) {
+            addMatches(matches, outerTuple(id), hashTable.probe(outerTuple(id)));
+        }
+        TupleSpillFile.Reader outerReader;
+        while ((outerReader = hashTable.nextSpilledPartition()) != null) {
+            Tuple outerTuple;
+            while ((outerTuple = outerReader.next()) != null) {
+                addMatches(matches, outerTuple, hashTable.lookUp(outerTuple));
+            }
+            outerReader.close();
+        }
+        hashTable.close();
+        return matches;
+    }
+
+    private static void addMatches(Map<Integer, Integer> matches, Tuple outerTuple, List<Tuple> innerTuples) {
+        int id = (int) outerTuple.getField("id").getValue();
+        for (Tuple innerTuple : innerTuples) {
+            Assert.assertEquals(id, (int) innerTuple.getField("id").getValue());
+        }
+        if (! innerTuples.isEmpty()) {
+            matches.merge(id, innerTuples.size(), Integer::sum);
+        }
+    }
+
+    @Test
+    public void testInMemory() throws Exception {
+        JoinHashTable hashTable = new JoinHashTable("id", INNER_SCHEMA, OUTER_SCHEMA, 1000);
+        for (int id = 0; id < 100; id++) {
+            hashTable.insert(innerTuple(id, 0));
+            hashTable.insert(innerTuple(id, 1));
+        }
+        Assert.assertFalse(hashTable.isSpilled());
+
+        Map<Integer, Integer> matches = join(hashTable, 200);
+        Assert.assertEquals(100, matches.size());
+        for (int id = 0; id < 100; id++) {
+            Assert.assertEquals(2, (int) matches.get(id));
+        }
+    }
+
+    @Test
+    public void testSpillThenProbe() throws Exception {
+        // the spilled partitions are also larger than the budget, and are split again
+        JoinHashTable hashTable = new JoinHashTable("id", INNER_SCHEMA, OUTER_SCHEMA, 10);
+        for (int i = 0; i < 5; i++) {
+            for (int id = 0; id < 200; id++) {
+                hashTable.insert(innerTuple(id, i));
+            }
+        }
+        Assert.assertTrue(hashTable.isSpilled());
+
+        Map<Integer, Integer> matches = join(hashTable, 300);
+        Assert.assertEquals(200, matches.size());
+        for (int id = 0; id < 200; id++) {
+            Assert.assertEquals(5, (int) matches.get(id));
+        }
+    }
+
+    @Test
+    public void testSkewedKey() throws Exception {
+        // a single key with more tuples than the budget can't be split, it's loaded as a whole
+        JoinHashTable hashTable = new JoinHashTable("id", INNER_SCHEMA, OUTER_SCHEMA, 10);
+        for (int i = 0; i < 500; i++) {
+            hashTable.insert(innerTuple(7, i));
+        }
+        for (int id = 0; id < 50; id++) {
+            hashTable.insert(innerTuple(id, 0));
+        }
+
+        Map<Integer, Integer> matches = join(hashTable, 50);
+        Assert.assertEquals(50, matches.size());
+        Assert.assertEquals(501, (int) matches.get(7));
+        Assert.assertEquals(1, (int) matches.get(8));
+    }
+
+    @Test
+    public void testPartitionLevelsUseDifferentSeeds() {
+        // the keys of one partition are spread over several partitions of the next level
+        boolean[] nextLevelPartitions = new boolean[16];
+        int keyCount = 0;
+        for (int id = 0; keyCount < 200; id++) {
+            if (JoinHashTable.getPartition(id, 0) == 3) {
+                nextLevelPartitions[JoinHashTable.getPartition(id, 1)] = true;
+                keyCount++;
+            }
+        }
+        for (boolean partitionUsed : nextLevelPartitions) {
+            Assert.assertTrue(partitionUsed);
+        }
+    }
+
+}
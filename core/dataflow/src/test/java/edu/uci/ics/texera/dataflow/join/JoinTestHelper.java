@@ -156,11 +156,22 @@ public class JoinTestHelper {
      */
     public static List<Tuple> getJoinDistanceResults(IOperator innerOp, IOperator outerOp,
             IJoinPredicate joinPredicate, int limit, int offset) throws TexeraException {
+        return getJoinDistanceResults(innerOp, outerOp, joinPredicate, limit, offset, 
+                Join.DEFAULT_MAX_IN_MEMORY_BUILD_TUPLES);
+    }
+    
+    /**
+     * Same as getJoinDistanceResults(innerOp, outerOp, joinPredicate, limit, offset),
+     *   with a custom limit on the number of inner tuples the Join keeps in memory.
+     */
+    public static List<Tuple> getJoinDistanceResults(IOperator innerOp, IOperator outerOp,
+            IJoinPredicate joinPredicate, int limit, int offset, int maxInMemoryBuildTuples) throws TexeraException {
         Join join = new Join(joinPredicate);
         join.setInnerInputOperator(innerOp);
         join.setOuterInputOperator(outerOp);
         join.setLimit(limit);
         join.setOffset(offset);
+        join.setMaxInMemoryBuildTuples(maxInMemoryBuildTuples);
         
         Tuple tuple;
         List<Tuple> results = new ArrayList<>();
@@ -18,6 +18,7 @@ import edu.uci.ics.texera.api.utils.TestUtils;
 import edu.uci.ics.texera.dataflow.join.SimilarityJoinPredicate;
 import edu.uci.ics.texera.dataflow.keywordmatcher.KeywordMatchingType;
 import edu.uci.ics.texera.dataflow.regexmatcher.RegexMatcher;
+import info.debatty.java.stringsimilarity.NormalizedLevenshtein;
 
 import org.junit.Test;
 
@@ -228,5 +229,37 @@ public class SimilarityJoinTest {
         Assert.assertTrue(results.isEmpty());
     }
 
+    /*
+     * Tests that the Join only comparing the candidates from the SimilarityJoinIndex
+     *   returns the same results as comparing every pair of tuples,
+     *   on all the words that are at least 8 characters long in the news tuples.
+     *
+     */
+    @Test
+    public void test5() throws TexeraException {
+        JoinTestHelper.insertToTable(NEWS_TABLE_OUTER, JoinTestConstants.getNewsTuples());
+        JoinTestHelper.insertToTable(NEWS_TABLE_INNER, JoinTestConstants.getNewsTuples());
+
+        String wordRegex = "[A-Za-z]{8,}";
+
+        SimilarityJoinPredicate indexedPredicate = new SimilarityJoinPredicate(JoinTestConstants.NEWS_BODY, 0.8);
+        List<Tuple> results = JoinTestHelper.getJoinDistanceResults(
+                JoinTestHelper.getRegexMatcher(NEWS_TABLE_INNER, wordRegex, JoinTestConstants.NEWS_BODY),
+                JoinTestHelper.getRegexMatcher(NEWS_TABLE_OUTER, wordRegex, JoinTestConstants.NEWS_BODY),
+                indexedPredicate, Integer.MAX_VALUE, 0);
+
+        // a custom similarity function disables the index
+        SimilarityJoinPredicate nestedLoopPredicate = new SimilarityJoinPredicate(JoinTestConstants.NEWS_BODY, 0.8);
+        nestedLoopPredicate.setSimilarityFunction(
+                (str1, str2) -> 1.0 - new NormalizedLevenshtein().distance(str1, str2));
+        Assert.assertNull(nestedLoopPredicate.createCandidateIndex());
+        List<Tuple> expectedResults = JoinTestHelper.getJoinDistanceResults(
+                JoinTestHelper.getRegexMatcher(NEWS_TABLE_INNER, wordRegex, JoinTestConstants.NEWS_BODY),
+                JoinTestHelper.getRegexMatcher(NEWS_TABLE_OUTER, wordRegex, JoinTestConstants.NEWS_BODY),
+                nestedLoopPredicate, Integer.MAX_VALUE, 0);
+
+        Assert.assertFalse(expectedResults.isEmpty());
+        Assert.assertTrue(TestUtils.equals(expectedResults, results));
+    }
 
 }
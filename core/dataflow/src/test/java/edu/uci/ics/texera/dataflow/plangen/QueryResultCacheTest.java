@@ -0,0 +1,158 @@
+package edu.uci.ics.texera.dataflow.plangen;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import edu.uci.ics.texera.api.constants.test.TestConstants;
+import edu.uci.ics.texera.api.exception.TexeraException;
+import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.api.utils.TestUtils;
+import edu.uci.ics.texera.dataflow.sink.tuple.TupleSink;
+import edu.uci.ics.texera.dataflow.sink.tuple.TupleSinkPredicate;
+import edu.uci.ics.texera.dataflow.source.file.FileSourcePredicate;
+import edu.uci.ics.texera.dataflow.source.scan.ScanSourcePredicate;
+import edu.uci.ics.texera.storage.DataWriter;
+import edu.uci.ics.texera.storage.RelationManager;
+import edu.uci.ics.texera.storage.constants.LuceneAnalyzerConstants;
+
+public class QueryResultCacheTest {
+
+    public static final String PEOPLE_TABLE = "query_result_cache_test_people";
+
+    @BeforeClass
+    public static void setUp() throws TexeraException {
+        RelationManager relationManager = RelationManager.getInstance();
+        relationManager.deleteTable(PEOPLE_TABLE);
+        relationManager.createTable(PEOPLE_TABLE, TestUtils.getDefaultTestIndex().resolve(PEOPLE_TABLE),
+                TestConstants.SCHEMA_PEOPLE, LuceneAnalyzerConstants.standardAnalyzerString());
+        insertPeopleTuples();
+    }
+
+    @AfterClass
+    public static void cleanUp() throws TexeraException {
+        RelationManager.getInstance().deleteTable(PEOPLE_TABLE);
+    }
+
+    private static void insertPeopleTuples() throws TexeraException {
+        DataWriter peopleDataWriter = RelationManager.getInstance().getTableDataWriter(PEOPLE_TABLE);
+        peopleDataWriter.open();
+        for (Tuple tuple : TestConstants.getSamplePeopleTuples()) {
+            peopleDataWriter.insertTuple(tuple);
+        }
+        peopleDataWriter.close();
+    }
+
+    /*
+     * ScanSource --> TupleSink
+     */
+    private static LogicalPlan getScanPlan(String sourceID, String sinkID, int limit) {
+        ScanSourcePredicate scanSourcePredicate = new ScanSourcePredicate(PEOPLE_TABLE);
+        scanSourcePredicate.setID(sourceID);
+        TupleSinkPredicate tupleSinkPredicate = new TupleSinkPredicate(limit, 0);
+        tupleSinkPredicate.setID(sinkID);
+
+        LogicalPlan logicalPlan = new LogicalPlan();
+        logicalPlan.addOperator(scanSourcePredicate);
+        logicalPlan.addOperator(tupleSinkPredicate);
+        logicalPlan.addLink(new OperatorLink(sourceID, sinkID));
+        return logicalPlan;
+    }
+
+    private static Map<String, List<Tuple>> execute(LogicalPlan logicalPlan, String sinkID) throws TexeraException {
+        TupleSink tupleSink = (TupleSink) logicalPlan.buildQueryPlan().getSinkMap().get(sinkID);
+        Map<String, List<Tuple>> results = new HashMap<>();
+        results.put(sinkID, tupleSink.collectAllTuples());
+        return results;
+    }
+
+    @Test
+    public void testFingerprintIgnoresOperatorIDs() throws TexeraException {
+        PlanFingerprint fingerprint1 = PlanFingerprint.of(getScanPlan("source1", "sink1", 10)).get();
+        PlanFingerprint fingerprint2 = PlanFingerprint.of(getScanPlan("source2", "sink2", 10)).get();
+        PlanFingerprint fingerprint3 = PlanFingerprint.of(getScanPlan("source1", "sink1", 5)).get();
+
+        Assert.assertEquals(fingerprint1.getKey(), fingerprint2.getKey());
+        Assert.assertEquals(fingerprint1.getSinkSignature("sink1"), fingerprint2.getSinkSignature("sink2"));
+        Assert.assertFalse(fingerprint1.getKey().equals(fingerprint3.getKey()));
+    }
+
+    @Test
+    public void testFingerprintOfNonTableSource() throws TexeraException {
+        FileSourcePredicate fileSourcePredicate = FileSourcePredicate.createWithFilePath("/tmp/people.txt");
+        fileSourcePredicate.setID("source");
+        TupleSinkPredicate tupleSinkPredicate = new TupleSinkPredicate();
+        tupleSinkPredicate.setID("sink");
+
+        LogicalPlan logicalPlan = new LogicalPlan();
+        logicalPlan.addOperator(fileSourcePredicate);
+        logicalPlan.addOperator(tupleSinkPredicate);
+        logicalPlan.addLink(new OperatorLink("source", "sink"));
+
+        Assert.assertFalse(PlanFingerprint.of(logicalPlan).isPresent());
+    }
+
+    @Test
+    public void testCacheHitAndInvalidation() throws TexeraException {
+        QueryResultCache cache = new QueryResultCache();
+
+        LogicalPlan logicalPlan = getScanPlan("source1", "sink1", 100);
+        PlanFingerprint fingerprint = PlanFingerprint.of(logicalPlan).get();
+        Assert.assertFalse(cache.get(fingerprint).isPresent());
+        cache.put(fingerprint, execute(logicalPlan, "sink1"));
+
+        // the same plan with other operator IDs is served from the cache
+        PlanFingerprint otherFingerprint = PlanFingerprint.of(getScanPlan("source2", "sink2", 100)).get();
+        Optional<Map<String, ArrayNode>> cachedResult = cache.get(otherFingerprint);
+        Assert.assertTrue(cachedResult.isPresent());
+        Assert.assertEquals(TestConstants.getSamplePeopleTuples().size(), cachedResult.get().get("sink2").size());
+
+        // modifying the table removes the entry and changes the fingerprint
+        insertPeopleTuples();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertTrue(fingerprint.isStale());
+        PlanFingerprint newFingerprint = PlanFingerprint.of(logicalPlan).get();
+        Assert.assertFalse(fingerprint.getKey().equals(newFingerprint.getKey()));
+
+        // results of a plan which read a modified table are not cached
+        cache.put(fingerprint, execute(logicalPlan, "sink1"));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() throws TexeraException {
+        LogicalPlan logicalPlan1 = getScanPlan("source", "sink", 1);
+        LogicalPlan logicalPlan2 = getScanPlan("source", "sink", 2);
+        LogicalPlan logicalPlan3 = getScanPlan("source", "sink", 3);
+        Map<String, List<Tuple>> results1 = execute(logicalPlan1, "sink");
+        PlanFingerprint fingerprint1 = PlanFingerprint.of(logicalPlan1).get();
+        PlanFingerprint fingerprint2 = PlanFingerprint.of(logicalPlan2).get();
+        PlanFingerprint fingerprint3 = PlanFingerprint.of(logicalPlan3).get();
+
+        // measure the size of one entry
+        QueryResultCache cache = new QueryResultCache();
+        cache.put(fingerprint1, results1);
+        long entrySize = cache.getSizeBytes();
+
+        // a cache holding two entries of the same results
+        cache = new QueryResultCache(entrySize * 2);
+        cache.put(fingerprint1, results1);
+        cache.put(fingerprint2, results1);
+        Assert.assertTrue(cache.get(fingerprint1).isPresent());
+        cache.put(fingerprint3, results1);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertTrue(cache.get(fingerprint1).isPresent());
+        Assert.assertFalse(cache.get(fingerprint2).isPresent());
+        Assert.assertTrue(cache.get(fingerprint3).isPresent());
+    }
+
+}
@@ -0,0 +1,94 @@
+package edu.uci.ics.texera.dataflow.plangen;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import edu.uci.ics.texera.api.exception.TexeraException;
+import edu.uci.ics.texera.api.schema.Attribute;
+import edu.uci.ics.texera.api.schema.AttributeType;
+import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.dataflow.regexmatcher.RegexPredicate;
+
+public class SchemaPropagationCacheTest {
+
+    @BeforeClass
+    public static void setUp() throws TexeraException {
+        LogicalPlanTest.setUp();
+    }
+
+    @AfterClass
+    public static void cleanUp() throws TexeraException {
+        LogicalPlanTest.cleanUp();
+    }
+
+    @Test
+    public void testCachedPropagationIsSameAsPropagation() throws TexeraException {
+        SchemaPropagationCache schemaCache = new SchemaPropagationCache();
+        for (LogicalPlan logicalPlan : Arrays.asList(LogicalPlanTest.getLogicalPlan1(),
+                LogicalPlanTest.getLogicalPlan2(), LogicalPlanTest.getLogicalPlan3())) {
+            Map<String, List<Schema>> expectedInputSchemas = logicalPlan.retrieveAllOperatorInputSchema();
+            // the first propagation fills the cache, the second one reads from it
+            Assert.assertEquals(expectedInputSchemas, logicalPlan.retrieveAllOperatorInputSchema(schemaCache));
+            Assert.assertEquals(expectedInputSchemas, logicalPlan.retrieveAllOperatorInputSchema(schemaCache));
+        }
+    }
+
+    @Test
+    public void testOnlyChangedOperatorsAreRecomputed() throws TexeraException {
+        SchemaPropagationCache schemaCache = new SchemaPropagationCache();
+        LogicalPlan logicalPlan = LogicalPlanTest.getLogicalPlan1();
+        logicalPlan.retrieveAllOperatorInputSchema(schemaCache);
+        int cachedSchemas = schemaCache.size();
+
+        // the same plan with other operator IDs is fully cached
+        LogicalPlanTest.keywordSourcePredicate.setID("other keyword source");
+        LogicalPlanTest.regexPredicate.setID("other regex");
+        LogicalPlanTest.tupleSinkPredicate.setID("other tuple sink");
+        LogicalPlan otherPlan = new LogicalPlan();
+        otherPlan.addOperator(LogicalPlanTest.keywordSourcePredicate);
+        otherPlan.addOperator(LogicalPlanTest.regexPredicate);
+        otherPlan.addOperator(LogicalPlanTest.tupleSinkPredicate);
+        otherPlan.addLink(new OperatorLink("other keyword source", "other regex"));
+        otherPlan.addLink(new OperatorLink("other regex", "other tuple sink"));
+        LogicalPlanTest.setDefaultID();
+        otherPlan.retrieveAllOperatorInputSchema(schemaCache);
+        Assert.assertEquals(cachedSchemas, schemaCache.size());
+
+        // changing the regex only recomputes the regex, its output schema (and the sink input) is the same
+        LogicalPlan changedPlan = new LogicalPlan();
+        RegexPredicate changedRegexPredicate = new RegexPredicate("irvine", Arrays.asList("location", "content"),
+                "regexResults");
+        changedRegexPredicate.setID(LogicalPlanTest.REGEX_ID);
+        changedPlan.addOperator(LogicalPlanTest.keywordSourcePredicate);
+        changedPlan.addOperator(changedRegexPredicate);
+        changedPlan.addOperator(LogicalPlanTest.tupleSinkPredicate);
+        changedPlan.addLink(new OperatorLink(LogicalPlanTest.KEYWORD_SOURCE_ID, LogicalPlanTest.REGEX_ID));
+        changedPlan.addLink(new OperatorLink(LogicalPlanTest.REGEX_ID, LogicalPlanTest.TUPLE_SINK_ID));
+        changedPlan.retrieveAllOperatorInputSchema(schemaCache);
+        Assert.assertEquals(cachedSchemas + 1, schemaCache.size());
+    }
+
+    @Test
+    public void testCachedSchemaIsNotRecomputed() {
+        SchemaPropagationCache schemaCache = new SchemaPropagationCache();
+        List<Schema> inputSchemas = Collections.singletonList(
+                new Schema(new Attribute("content", AttributeType.TEXT)));
+        Optional<Schema> outputSchema = Optional.of(new Schema(new Attribute("city", AttributeType.STRING)));
+
+        Assert.assertEquals(outputSchema,
+                schemaCache.getOutputSchema(LogicalPlanTest.regexPredicate, inputSchemas, () -> outputSchema));
+        Assert.assertEquals(outputSchema,
+                schemaCache.getOutputSchema(LogicalPlanTest.regexPredicate, inputSchemas, () -> {
+                    throw new AssertionError("the output schema is recomputed");
+                }));
+    }
+
+}
@@ -84,7 +84,7 @@ public class MysqlSinkTest {
     public void setUp(){
     	inputOperator = Mockito.mock(IOperator.class);
         Mockito.when(inputOperator.getOutputSchema()).thenReturn(inputSchema);
-		predicate = new MysqlSinkPredicate("localhost", 3306, "testDB", "testTable", "testUser", "testPassword", Integer.MAX_VALUE, 0);
+		predicate = new MysqlSinkPredicate("localhost", 3306, "testDB", "testTable", "testUser", "testPassword", Integer.MAX_VALUE, 0, null);
 		mysqlSink = new MysqlSink(predicate);
 		mysqlSink.setInputOperator(inputOperator);
     }
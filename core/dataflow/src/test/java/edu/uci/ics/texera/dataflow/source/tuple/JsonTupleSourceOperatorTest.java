@@ -0,0 +1,90 @@
+package edu.uci.ics.texera.dataflow.source.tuple;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.uci.ics.texera.api.constants.DataConstants;
+import edu.uci.ics.texera.api.constants.test.TestConstants;
+import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.api.utils.TestUtils;
+import edu.uci.ics.texera.dataflow.sink.csv.CSVSink;
+import edu.uci.ics.texera.dataflow.sink.csv.CSVSinkPredicate;
+
+public class JsonTupleSourceOperatorTest {
+
+    @Test
+    public void testReadTuples() throws Exception {
+        Path jsonFile = Files.createTempFile("tuples", ".json");
+        try {
+            DataConstants.defaultObjectMapper.writeValue(jsonFile.toFile(), TestConstants.getSamplePeopleTuples());
+
+            JsonTupleSourceOperator tupleSource = new JsonTupleSourceOperator(jsonFile);
+            tupleSource.open();
+            Assert.assertEquals(TestConstants.SCHEMA_PEOPLE, tupleSource.getOutputSchema());
+
+            Tuple tuple;
+            List<Tuple> results = new ArrayList<>();
+            while ((tuple = tupleSource.getNextTuple()) != null) {
+                results.add(tuple);
+            }
+            tupleSource.close();
+
+            Assert.assertTrue(TestUtils.equals(TestConstants.getSamplePeopleTuples(), results));
+        } finally {
+            Files.deleteIfExists(jsonFile);
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws Exception {
+        Path jsonFile = Files.createTempFile("tuples", ".json");
+        try {
+            Files.write(jsonFile, "[]".getBytes(StandardCharsets.UTF_8));
+
+            JsonTupleSourceOperator tupleSource = new JsonTupleSourceOperator(jsonFile);
+            tupleSource.open();
+            Assert.assertNull(tupleSource.getOutputSchema());
+            Assert.assertNull(tupleSource.getNextTuple());
+            tupleSource.close();
+        } finally {
+            Files.deleteIfExists(jsonFile);
+        }
+    }
+
+    /*
+     * Converts the tuples of the file to csv without collecting them.
+     */
+    @Test
+    public void testConvertToStream() throws Exception {
+        Path jsonFile = Files.createTempFile("tuples", ".json");
+        try {
+            DataConstants.defaultObjectMapper.writeValue(jsonFile.toFile(), TestConstants.getSamplePeopleTuples());
+
+            CSVSink csvSink = new CSVSinkPredicate().newOperator();
+            csvSink.setInputOperator(new JsonTupleSourceOperator(jsonFile));
+            ByteArrayOutputStream csvStream = new ByteArrayOutputStream();
+            csvSink.setOutputStream(csvStream);
+            csvSink.open();
+            int tupleCount = 0;
+            while (csvSink.getNextTuple() != null) {
+                tupleCount++;
+            }
+            csvSink.close();
+
+            String[] csvLines = new String(csvStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+            Assert.assertEquals(TestConstants.getSamplePeopleTuples().size(), tupleCount);
+            Assert.assertEquals(tupleCount + 1, csvLines.length);
+            Assert.assertTrue(csvLines[0].contains(TestConstants.FIRST_NAME));
+        } finally {
+            Files.deleteIfExists(jsonFile);
+        }
+    }
+
+}
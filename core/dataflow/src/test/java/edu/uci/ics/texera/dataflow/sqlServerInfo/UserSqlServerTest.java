@@ -0,0 +1,94 @@
+package edu.uci.ics.texera.dataflow.sqlServerInfo;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbc.JdbcConnection;
+import org.junit.Assert;
+import org.junit.Test;
+
+/*
+ * Runs the connection pool of the user database on an in-memory H2 database.
+ */
+public class UserSqlServerTest {
+
+    private static HikariDataSource createDataSource(String databaseName, int maxSize, long maxWaitMillis) {
+        Map<String, Object> jdbc = new HashMap<>();
+        jdbc.put("driver", "org.h2.Driver");
+        jdbc.put("url", "jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1");
+        jdbc.put("username", "sa");
+        jdbc.put("password", "");
+        jdbc.put("pool.maxSize", maxSize);
+        jdbc.put("pool.maxWaitMillis", maxWaitMillis);
+        jdbc.put("statementCacheSize", 0);
+        Config config = ConfigFactory.parseMap(jdbc).atPath("jdbc");
+        return UserSqlServer.createDataSource(config);
+    }
+
+    @Test
+    public void testConnectionsAreReused() throws SQLException {
+        try (HikariDataSource dataSource = createDataSource("reuse", 2, 1000)) {
+            JdbcConnection physicalConnection;
+            try (Connection connection = dataSource.getConnection()) {
+                physicalConnection = connection.unwrap(JdbcConnection.class);
+            }
+            for (int i = 0; i < 10; i++) {
+                try (Connection connection = dataSource.getConnection()) {
+                    Assert.assertSame(physicalConnection, connection.unwrap(JdbcConnection.class));
+                }
+            }
+            Assert.assertEquals(1, dataSource.getHikariPoolMXBean().getTotalConnections());
+        }
+    }
+
+    @Test
+    public void testReturnedConnectionIsReset() throws SQLException {
+        try (HikariDataSource dataSource = createDataSource("reset", 1, 1000)) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE workflow (wid INT)");
+            }
+
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(false);
+                connection.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+                statement.execute("INSERT INTO workflow VALUES (1)");
+                connection.setReadOnly(true);
+            }
+
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM workflow")) {
+                Assert.assertTrue(connection.getAutoCommit());
+                Assert.assertFalse(connection.isReadOnly());
+                Assert.assertEquals(Connection.TRANSACTION_READ_COMMITTED, connection.getTransactionIsolation());
+                // the transaction left open is rolled back
+                resultSet.next();
+                Assert.assertEquals(0, resultSet.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    public void testWaitTimeout() throws SQLException {
+        try (HikariDataSource dataSource = createDataSource("timeout", 1, 250);
+             Connection connection = dataSource.getConnection()) {
+            try {
+                dataSource.getConnection();
+                Assert.fail("the pool should be exhausted");
+            } catch (SQLException e) {
+                // expected
+            }
+            Assert.assertFalse(connection.isClosed());
+        }
+    }
+
+}
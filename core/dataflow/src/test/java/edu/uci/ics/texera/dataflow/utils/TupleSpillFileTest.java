@@ -0,0 +1,140 @@
+package edu.uci.ics.texera.dataflow.utils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.uci.ics.texera.api.field.DateField;
+import edu.uci.ics.texera.api.field.DateTimeField;
+import edu.uci.ics.texera.api.field.DoubleField;
+import edu.uci.ics.texera.api.field.IDField;
+import edu.uci.ics.texera.api.field.IntegerField;
+import edu.uci.ics.texera.api.field.ListField;
+import edu.uci.ics.texera.api.field.PayloadField;
+import edu.uci.ics.texera.api.field.StringField;
+import edu.uci.ics.texera.api.field.TextField;
+import edu.uci.ics.texera.api.constants.SchemaConstants;
+import edu.uci.ics.texera.api.schema.Attribute;
+import edu.uci.ics.texera.api.schema.AttributeType;
+import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.api.span.Span;
+import edu.uci.ics.texera.api.tuple.Tuple;
+
+public class TupleSpillFileTest {
+
+    private static final Schema SCHEMA = new Schema(
+            new Attribute("_id", AttributeType._ID_TYPE),
+            new Attribute("name", AttributeType.STRING),
+            new Attribute("description", AttributeType.TEXT),
+            new Attribute("age", AttributeType.INTEGER),
+            new Attribute("height", AttributeType.DOUBLE),
+            new Attribute("birthDate", AttributeType.DATE),
+            new Attribute("lastLogin", AttributeType.DATETIME),
+            new Attribute("spans", AttributeType.LIST));
+
+    private static Tuple createTuple(int i) {
+        List<Span> spans = Arrays.asList(
+                new Span("description", 0, 5, "key" + i, "value" + i, 0),
+                new Span("description", 6, 11, "kéy", null));
+        return new Tuple(SCHEMA,
+                IDField.newRandomID(),
+                new StringField("name" + i),
+                new TextField("文本 description " + i),
+                new IntegerField(i),
+                new DoubleField(i + 0.5),
+                new DateField(LocalDate.of(1990, 1, 1).plusDays(i)),
+                new DateTimeField(LocalDateTime.of(2020, 3, 4, 5, 6, 7, 89).plusMinutes(i)),
+                new ListField<>(spans));
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        List<Tuple> tuples = new ArrayList<>();
+        try (TupleSpillFile spillFile = new TupleSpillFile(SCHEMA)) {
+            for (int i = 0; i < 100; i++) {
+                Tuple tuple = createTuple(i);
+                tuples.add(tuple);
+                spillFile.write(tuple);
+            }
+            Assert.assertEquals(100, spillFile.size());
+
+            TupleSpillFile.Reader reader = spillFile.openReader();
+            for (Tuple tuple : tuples) {
+                Assert.assertEquals(tuple, reader.next());
+            }
+            Assert.assertNull(reader.next());
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testNullValues() throws Exception {
+        Tuple tuple = new Tuple(SCHEMA,
+                IDField.newRandomID(), new StringField(null), new TextField(null), new IntegerField(null),
+                new DoubleField(null), new DateField((LocalDate) null), new DateTimeField((LocalDateTime) null),
+                new ListField<>(new ArrayList<Span>()));
+        try (TupleSpillFile spillFile = new TupleSpillFile(SCHEMA)) {
+            spillFile.write(tuple);
+            TupleSpillFile.Reader reader = spillFile.openReader();
+            Assert.assertEquals(tuple, reader.next());
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testSkip() throws Exception {
+        try (TupleSpillFile spillFile = new TupleSpillFile(SCHEMA)) {
+            for (int i = 0; i < 10; i++) {
+                spillFile.write(createTuple(i));
+            }
+            TupleSpillFile.Reader reader = spillFile.openReader();
+            reader.skip(7);
+            Assert.assertEquals(7, reader.next().getField("age").getValue());
+            reader.skip(5);
+            Assert.assertNull(reader.next());
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testReaderOnlySeesEarlierTuples() throws Exception {
+        try (TupleSpillFile spillFile = new TupleSpillFile(SCHEMA)) {
+            spillFile.write(createTuple(0));
+            TupleSpillFile.Reader reader = spillFile.openReader();
+            spillFile.write(createTuple(1));
+
+            Assert.assertEquals(0, reader.next().getField("age").getValue());
+            Assert.assertNull(reader.next());
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testPayloadIsReadBackPacked() throws Exception {
+        Schema schema = new Schema(new Attribute("description", AttributeType.TEXT), SchemaConstants.PAYLOAD_ATTRIBUTE);
+        List<Span> payload = Arrays.asList(
+                new Span("description", 0, 4, "text", "Text", 0),
+                new Span("description", 5, 9, "text", "text", 1));
+        Tuple tuple = new Tuple(schema, new TextField("Text text"), new ListField<>(payload));
+        try (TupleSpillFile spillFile = new TupleSpillFile(schema)) {
+            spillFile.write(tuple);
+            spillFile.write(tuple);
+            TupleSpillFile.Reader reader = spillFile.openReader();
+            PayloadField first = (PayloadField) reader.next().getField(SchemaConstants.PAYLOAD);
+            PayloadField second = (PayloadField) reader.next().getField(SchemaConstants.PAYLOAD);
+            reader.close();
+
+            Assert.assertEquals(payload, first.getValue());
+            Assert.assertSame(first.getPackedPayload(), PayloadField.getPackedPayload(first));
+            // the payloads of a spill file share their terms
+            Assert.assertSame(first.getPackedPayload().getDictionary(), second.getPackedPayload().getDictionary());
+            Assert.assertEquals(first.getPackedPayload().getTermId(0), second.getPackedPayload().getTermId(1));
+        }
+    }
+
+}
@@ -61,6 +61,15 @@ export class ResultPanelComponent {
   private currentPageSize: number = 0;
   private currentPageIndex: number = 0;
 
+  // result pages, used when the result of a sink operator has more rows than the table sent with the result,
+  //  the pages after the table are requested from the backend
+  public readonly pageSize: number = 10;
+  public pageIndex: number = 1;
+  public frontPagination: boolean = true;
+  public totalRowCount: number = 0;
+  private pagedOperatorID: string | undefined;
+  private pagedResultTable: ReadonlyArray<object> = [];
+
   constructor(
     private executeWorkflowService: ExecuteWorkflowService,
     private modalService: NzModalService,
@@ -97,6 +106,13 @@ export class ResultPanelComponent {
         this.resultPanelToggleService.openResultPanel();
       }
     });
+
+    this.executeWorkflowService.getResultPageStream().subscribe(page => {
+      // ignore the pages of a result or a page index that is no longer displayed
+      if (page.operatorID === this.pagedOperatorID && page.pageIndex === this.pageIndex - 1) {
+        this.currentResult = page.table.slice();
+      }
+    });
   }
 
   public displayResultPanel(): void {
@@ -137,6 +153,13 @@ export class ResultPanelComponent {
         if (result) {
           this.chartType = result.chartType;
           this.setupResultTable(result.table);
+          if (!result.chartType && result.totalRowCount !== undefined && result.totalRowCount > result.table.length) {
+            this.pagedOperatorID = result.operatorID;
+            this.pagedResultTable = result.table;
+            this.totalRowCount = result.totalRowCount;
+            this.frontPagination = false;
+            this.onPageIndexChange(1);
+          }
         }
       }
     } else if (executionState.state === ExecutionState.Paused) {
@@ -170,6 +193,33 @@ export class ResultPanelComponent {
     this.currentMaxPageSize = 0;
     this.currentPageIndex = 0;
     this.currentPageSize = 0;
+
+    this.pageIndex = 1;
+    this.frontPagination = true;
+    this.totalRowCount = 0;
+    this.pagedOperatorID = undefined;
+    this.pagedResultTable = [];
+  }
+
+  /**
+   * Displays a page of the result table. When the result is paged by the backend,
+   *  the rows of the page are taken from the table sent with the result if it has them,
+   *  otherwise the page is requested, and displayed when it's received.
+   *
+   * @param pageIndex the index of the page, starting from 1
+   */
+  public onPageIndexChange(pageIndex: number): void {
+    this.pageIndex = pageIndex;
+    if (this.pagedOperatorID === undefined) {
+      return;
+    }
+    const start = (pageIndex - 1) * this.pageSize;
+    const end = start + this.pageSize;
+    if (end <= this.pagedResultTable.length) {
+      this.currentResult = this.pagedResultTable.slice(start, end);
+    } else {
+      this.executeWorkflowService.requestResultPage(this.pagedOperatorID, pageIndex - 1, this.pageSize);
+    }
   }
 
 
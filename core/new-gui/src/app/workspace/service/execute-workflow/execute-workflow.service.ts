@@ -17,7 +17,7 @@ import { v4 as uuid } from 'uuid';
 import { environment } from '../../../../environments/environment';
 import { WorkflowWebsocketService } from '../workflow-websocket/workflow-websocket.service';
 import { OperatorPredicate, BreakpointTriggerInfo, BreakpointRequest, Breakpoint } from '../../types/workflow-common.interface';
-import { TexeraWebsocketEvent, WorkerTuples, OperatorCurrentTuples } from '../../types/workflow-websocket.interface';
+import { TexeraWebsocketEvent, WorkerTuples, OperatorCurrentTuples, PaginatedResultEvent } from '../../types/workflow-websocket.interface';
 import { isEqual } from 'lodash';
 
 export const FORM_DEBOUNCE_TIME_MS = 150;
@@ -53,6 +53,7 @@ export class ExecuteWorkflowService {
 
   private currentState: ExecutionStateInfo = { state: ExecutionState.Uninitialized };
   private executionStateStream = new Subject<{ previous: ExecutionStateInfo, current: ExecutionStateInfo }>();
+  private resultPageStream = new Subject<PaginatedResultEvent>();
 
   private executionTimeoutID: number | undefined;
   private clearTimeoutState: ExecutionState[] | undefined;
@@ -64,6 +65,10 @@ export class ExecuteWorkflowService {
   ) {
     if (environment.amberEngineEnabled) {
       workflowWebsocketService.websocketEvent().subscribe(event => {
+        if (event.type === 'PaginatedResultEvent') {
+          this.resultPageStream.next(event);
+          return;
+        }
         if (event.type !== 'WorkflowStatusUpdateEvent') {
           console.log(event);
         }
@@ -145,6 +150,21 @@ export class ExecuteWorkflowService {
     return undefined;
   }
 
+  /**
+   * Requests a page of the results of a sink operator, the page index starts from 0.
+   * The page is sent to the result page stream.
+   */
+  public requestResultPage(operatorID: string, pageIndex: number, pageSize: number): void {
+    if (!environment.amberEngineEnabled) {
+      return;
+    }
+    this.workflowWebsocketService.send('ResultPaginationRequest', { operatorID, pageIndex, pageSize });
+  }
+
+  public getResultPageStream(): Observable<PaginatedResultEvent> {
+    return this.resultPageStream.asObservable();
+  }
+
   public getBreakpointTriggerInfo(): BreakpointTriggerInfo | undefined {
     if (this.currentState?.state === ExecutionState.BreakpointTriggered) {
       return this.currentState.breakpoint;
@@ -373,7 +393,8 @@ export class ExecuteWorkflowService {
    *  the properties of the operator.
    *
    * All the links in the workflowGraph will be tranformed to LogicalLink objects,
-   *  where each link will store its source id as its origin and target id as its destination.
+   *  where each link will store its source id as its origin and target id as its destination,
+   *  along with the index of the target input port as its destination port.
    *
    * @param workflowGraph
    */
@@ -390,6 +411,7 @@ export class ExecuteWorkflowService {
       .getAllLinks().map(link => ({
         origin: link.source.operatorID,
         destination: link.target.operatorID,
+        destinationPort: workflowGraph.getOperator(link.target.operatorID).inputPorts.indexOf(link.target.portID)
       }));
 
     const breakpoints: BreakpointInfo[] = Array.from(workflowGraph.getAllLinkBreakpoints().entries())
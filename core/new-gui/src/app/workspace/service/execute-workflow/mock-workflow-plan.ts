@@ -34,6 +34,7 @@ export const mockLogicalPlan_scan_result: LogicalPlan = {
     {
       origin: mockScanPredicate.operatorID,
       destination: mockResultPredicate.operatorID,
+      destinationPort: 0
     }
   ],
   breakpoints : []
@@ -73,10 +74,12 @@ export const mockLogicalPlan_scan_sentiment_result: LogicalPlan = {
     {
       origin: mockScanPredicate.operatorID,
       destination: mockSentimentPredicate.operatorID,
+      destinationPort: 0
     },
     {
       origin: mockSentimentPredicate.operatorID,
       destination: mockResultPredicate.operatorID,
+      destinationPort: 0
     }
   ],
   breakpoints : []
@@ -10,6 +10,7 @@ import { OperatorCurrentTuples } from './workflow-websocket.interface';
 export interface LogicalLink extends Readonly<{
   origin: string,
   destination: string,
+  destinationPort: number,
 }> { }
 
 export interface LogicalOperator extends Readonly<{
@@ -42,7 +43,9 @@ export interface LogicalPlan extends Readonly<{
 export interface ResultObject extends Readonly<{
   operatorID: string,
   table: ReadonlyArray<object | string[]>,
-  chartType: string | undefined
+  chartType: string | undefined,
+  // the number of result rows of the operator, the rows after the table are requested by page
+  totalRowCount?: number
 }> {
 
 }
@@ -46,6 +46,20 @@ export type OperatorCurrentTuples = Readonly<{
   tuples: ReadonlyArray<WorkerTuples>
 }>;
 
+export type ResultPaginationRequest = Readonly<{
+  operatorID: string,
+  pageIndex: number,
+  pageSize: number
+}>;
+
+export type PaginatedResultEvent = Readonly<{
+  operatorID: string,
+  pageIndex: number,
+  pageSize: number,
+  totalRowCount: number,
+  table: ReadonlyArray<object>
+}>;
+
 export type TexeraWebsocketRequestTypeMap = {
   'HelloWorldRequest': WebSocketHelloWorld,
   'ExecuteWorkflowRequest': LogicalPlan,
@@ -54,7 +68,8 @@ export type TexeraWebsocketRequestTypeMap = {
   'KillWorkflowRequest': {},
   'ModifyLogicRequest': ModifyOperatorLogic,
   'SkipTupleRequest': SkipTuple,
-  'AddBreakpointRequest': BreakpointInfo
+  'AddBreakpointRequest': BreakpointInfo,
+  'ResultPaginationRequest': ResultPaginationRequest
 };
 
 export type TexeraWebsocketEventTypeMap = {
@@ -68,7 +83,8 @@ export type TexeraWebsocketEventTypeMap = {
   'RecoveryStartedEvent': {},
   'BreakpointTriggeredEvent': BreakpointTriggerInfo,
   'ModifyLogicCompletedEvent': {},
-  'OperatorCurrentTuplesUpdateEvent': OperatorCurrentTuples
+  'OperatorCurrentTuplesUpdateEvent': OperatorCurrentTuples,
+  'PaginatedResultEvent': PaginatedResultEvent
 };
 
 // helper type definitions to generate the request and event types
@@ -1,3 +1,5 @@
+# the amber engine reads the Lucene tables through the storage module
+mvn install -DskipTests -pl storage -am
 cd amber
 sbt clean
 sbt compile
@@ -14,9 +14,15 @@ import os
 texera_workspace = "/home/bot/texeraworkspace/"
 maven_repo_home = "/home/bot/.m2/repository/"
 java8_bin = "/usr/bin/java"
+sbt_bin = "/usr/bin/sbt"
 
 texera_home = "texera/texera/"
 result_path = "perftest/perftest-files/results/"
+# JMH benchmarks, see benchmark/README.md
+benchmark_jar = "benchmark/target/benchmarks.jar"
+# JMH benchmarks of the amber engine, in the benchmark sbt subproject of amber, which mvn doesn't build
+amber_home = "amber/"
+amber_result_path = "amber/benchmark-results/"
 branch = "master"
 main_class = "edu.uci.ics.texera.perftest.runme.RunTests"
 # Refer to the codebase to understand what arguments the main class takes in.
@@ -85,3 +91,16 @@ if __name__ == "__main__":
                     num_of_columns = len(lines[0].split(","))
                     lines = [line+","+"c_"+git_log_str if len(line.split(",")) < num_of_columns else line for line in lines]
                     result_file.write("\n".join(lines))
+
+        # run the JMH benchmarks, the results are written to benchmark/benchmark-results/jmh-c_{commit}.json
+        os.chdir(texera_path + "benchmark/")
+        call([java8_bin, "-Dcommit=c_" + git_log_str, "-jar", texera_path + benchmark_jar])
+
+        # run the JMH benchmarks of the amber engine, the results are written to
+        #   amber/benchmark-results/jmh-c_{commit}.json, amber reads the storage module installed by mvn above
+        amber_result_folder = texera_path + amber_result_path
+        if not os.path.exists(amber_result_folder):
+            os.makedirs(amber_result_folder)
+        os.chdir(texera_path + amber_home)
+        call([sbt_bin, "benchmark/runMain org.openjdk.jmh.Main -prof gc -rf json -rff " +
+              amber_result_folder + "jmh-c_" + git_log_str + ".json"])
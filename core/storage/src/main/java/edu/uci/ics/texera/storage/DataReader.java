@@ -27,11 +27,12 @@ import edu.uci.ics.texera.api.constants.SchemaConstants;
 import edu.uci.ics.texera.api.dataflow.IOperator;
 import edu.uci.ics.texera.api.exception.StorageException;
 import edu.uci.ics.texera.api.field.IField;
-import edu.uci.ics.texera.api.field.ListField;
+import edu.uci.ics.texera.api.field.PayloadField;
 import edu.uci.ics.texera.api.schema.Attribute;
 import edu.uci.ics.texera.api.schema.AttributeType;
 import edu.uci.ics.texera.api.schema.Schema;
-import edu.uci.ics.texera.api.span.Span;
+import edu.uci.ics.texera.api.span.PackedPayload;
+import edu.uci.ics.texera.api.span.TermDictionary;
 import edu.uci.ics.texera.api.tuple.*;
 import edu.uci.ics.texera.storage.utils.StorageUtils;
 
@@ -45,6 +46,8 @@ import edu.uci.ics.texera.storage.utils.StorageUtils;
  * DataReader currently has the option to append a "payload" field to a tuple, the "payload" field is a list of spans. 
  * Each span contains the start, end, and token offset position of a token in the original document.
  * The "payload" contains spans for EVERY token in tuple.
+ * It is kept packed (see PackedPayload), with the terms in a dictionary shared by all the tuples of the reader,
+ *   and the spans are only created when an operator asks for them.
  * 
  * The purpose of the "payload" field is to make subsequent keyword match, fuzzy token match, and dictionary match faster,
  * because they don't need to tokenize the tuple every time.
@@ -71,6 +74,8 @@ public class DataReader implements IOperator {
     private int cursor = CLOSED;
 
     private boolean payloadAdded;
+    // the terms of the payloads of all the tuples read by this reader
+    private TermDictionary payloadTermDictionary = new TermDictionary();
 
     /*
      * The package-only level constructor is only accessible inside the storage package.
@@ -154,9 +159,7 @@ public class DataReader implements IOperator {
         ArrayList<IField> docFields = documentToFields(luceneDocument);
 
         if (payloadAdded) {
-            ArrayList<Span> payloadSpanList = buildPayloadFromTermVector(docFields, docID);
-            ListField<Span> payloadField = new ListField<Span>(payloadSpanList);
-            docFields.add(payloadField);
+            docFields.add(new PayloadField(buildPayloadFromTermVector(docFields, docID)));
         }
 
         Tuple resultTuple = new Tuple(outputSchema, docFields.stream().toArray(IField[]::new));
@@ -173,8 +176,8 @@ public class DataReader implements IOperator {
         return fields;
     }
 
-    private ArrayList<Span> buildPayloadFromTermVector(List<IField> fields, int docID) throws IOException {
-        ArrayList<Span> payloadSpanList = new ArrayList<>();
+    private PackedPayload buildPayloadFromTermVector(List<IField> fields, int docID) throws IOException {
+        PackedPayload.Builder payloadBuilder = new PackedPayload.Builder(payloadTermDictionary);
 
         for (Attribute attr : inputSchema.getAttributes()) {
             String attributeName = attr.getName();
@@ -193,6 +196,7 @@ public class DataReader implements IOperator {
                 continue;
             }
 
+            payloadBuilder.setAttribute(attributeName, fieldValue);
             TermsEnum termsEnum = termVector.iterator();
             PostingsEnum termPostings = null;
             // go through document terms
@@ -201,22 +205,18 @@ public class DataReader implements IOperator {
                 if (termPostings.nextDoc() == DocIdSetIterator.NO_MORE_DOCS) {
                     continue;
                 }
+                int termId = payloadTermDictionary.getOrAdd(termsEnum.term().utf8ToString());
                 // for each term, go through its postings
                 for (int i = 0; i < termPostings.freq(); i++) {
                     int tokenPosition = termPostings.nextPosition(); // nextPosition needs to be called first
                     int charStart = termPostings.startOffset();
                     int charEnd = termPostings.endOffset();
-                    String analyzedTermStr = termsEnum.term().utf8ToString();
-                    String originalTermStr = fieldValue.substring(charStart, charEnd);
-
-                    Span span = new Span(attributeName, charStart, charEnd, analyzedTermStr, originalTermStr,
-                            tokenPosition);
-                    payloadSpanList.add(span);
+                    payloadBuilder.add(termId, charStart, charEnd, tokenPosition);
                 }
             }
         }
 
-        return payloadSpanList;
+        return payloadBuilder.build();
     }
     
     public boolean isPayloadAdded() {
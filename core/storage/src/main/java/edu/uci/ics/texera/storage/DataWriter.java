@@ -60,6 +60,11 @@ public class DataWriter {
     private IndexWriter luceneIndexWriter;
     
     private boolean isOpen = false;
+    
+    // the name of the table, null if the DataWriter writes to a system catalog
+    private String tableName;
+    // whether the table is modified since the DataWriter is opened
+    private boolean isModified = false;
 
     /*
      * The package-only level constructor is only accessible inside the storage package.
@@ -77,6 +82,15 @@ public class DataWriter {
         this.analyzer = analyzer;
     }
     
+    /*
+     * A DataWriter constructed with a table name notifies the RelationManager
+     *  when it closes after modifying the table, which increases the table version.
+     */
+    DataWriter(DataStore dataStore, Analyzer analyzer, String tableName) {
+        this(dataStore, analyzer);
+        this.tableName = tableName;
+    }
+    
     public DataStore getDataStore() {
         return this.dataStore;
     }
@@ -101,6 +115,11 @@ public class DataWriter {
                 this.isOpen = false;
             } catch (IOException e) {
                 throw new StorageException(e.getMessage(), e);
+            } finally {
+                if (this.isModified && this.tableName != null) {
+                    this.isModified = false;
+                    RelationManager.getInstance().notifyTableModified(this.tableName);
+                }
             }
         }
     }
@@ -110,6 +129,7 @@ public class DataWriter {
             throw new StorageException(ErrorMessages.OPERATOR_NOT_OPENED);
         }
         try {
+            this.isModified = true;
             this.luceneIndexWriter.deleteAll();
         } catch (IOException e) {
             close();
@@ -137,6 +157,7 @@ public class DataWriter {
             }
             
             Document document = getLuceneDocument(tupleWithID);
+            this.isModified = true;
             this.luceneIndexWriter.addDocument(document);
             this.dataStore.incrementNumDocuments(1);
             
@@ -158,6 +179,7 @@ public class DataWriter {
             throw new StorageException(ErrorMessages.OPERATOR_NOT_OPENED);
         }
         try {
+            this.isModified = true;
             this.luceneIndexWriter.deleteDocuments(new Term(SchemaConstants._ID, idField.getValue().toString()));
         } catch (IOException e) {
             close();
@@ -173,6 +195,7 @@ public class DataWriter {
      */
     public void deleteTuple(Query... deletionQuery) throws StorageException {
         try {
+            this.isModified = true;
             this.luceneIndexWriter.deleteDocuments(deletionQuery);
         } catch (IOException e) {
             close();
@@ -201,6 +224,7 @@ public class DataWriter {
                 newTuple = getTupleWithID(newTuple, idField);
             }
             
+            this.isModified = true;
             this.luceneIndexWriter.updateDocument(
                     new Term(SchemaConstants._ID, idField.getValue().toString()),
                     getLuceneDocument(newTuple)); 
@@ -5,6 +5,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -30,6 +33,11 @@ public class RelationManager {
     
     private static volatile RelationManager singletonInstance = null;
     
+    // a map from a table name to the number of times the table has been modified by a DataWriter
+    private final ConcurrentHashMap<String, Long> tableVersionMap = new ConcurrentHashMap<>();
+    // the listeners called with the table name after a table is modified
+    private final List<Consumer<String>> tableModificationListeners = new CopyOnWriteArrayList<>();
+    
     private RelationManager() throws StorageException {
         if (! checkCatalogExistence()) {
             initializeCatalog();
@@ -129,7 +137,9 @@ public class RelationManager {
         
         // write table info to catalog
         writeTableInfoToCatalog(tableName, indexDirectory, schema, luceneAnalyzerString);
-
+        
+        // a table re-created with the same name is a new version of the table
+        notifyTableModified(tableName);
     }
 
     /**
@@ -213,7 +223,41 @@ public class RelationManager {
         if (isSystemCatalog(tableName)) {
             throw new StorageException("modify system catalog is not allowed");
         }
-        return new DataWriter(getTableDataStore(tableName), getTableAnalyzer(tableName));
+        return new DataWriter(getTableDataStore(tableName), getTableAnalyzer(tableName), tableName.toLowerCase());
+    }
+    
+    /**
+     * Gets the version of a table.
+     * The version is increased every time a DataWriter of the table commits a modification,
+     *   so two reads of a table with the same version see the same data.
+     * 
+     * Versions are kept in memory, they only reflect the modifications made in this process.
+     * 
+     * @param tableName, the name of the table, case insensitive
+     * @return
+     */
+    public long getTableVersion(String tableName) {
+        return tableVersionMap.getOrDefault(tableName.toLowerCase(), 0L);
+    }
+    
+    /**
+     * Adds a listener which is called with the (lower case) table name
+     *   every time a table is modified by a DataWriter.
+     * 
+     * @param listener
+     */
+    public void addTableModificationListener(Consumer<String> listener) {
+        tableModificationListeners.add(listener);
+    }
+    
+    /*
+     * Called by a DataWriter after it commits modifications to a table.
+     */
+    void notifyTableModified(String tableName) {
+        tableVersionMap.merge(tableName, 1L, Long::sum);
+        for (Consumer<String> listener : tableModificationListeners) {
+            listener.accept(tableName);
+        }
     }
     
     /**
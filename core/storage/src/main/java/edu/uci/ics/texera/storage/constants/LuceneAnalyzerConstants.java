@@ -1,6 +1,7 @@
 package edu.uci.ics.texera.storage.constants;
 
 import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.cn.smart.SmartChineseAnalyzer;
@@ -8,6 +9,7 @@ import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
 import org.apache.lucene.analysis.custom.CustomAnalyzer;
 import org.apache.lucene.analysis.ngram.NGramTokenizerFactory;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.util.CharArraySet;
 
 import edu.uci.ics.texera.api.exception.DataflowException;
 
@@ -15,6 +17,11 @@ import edu.uci.ics.texera.api.exception.DataflowException;
  * LuceneAnalyzerConstants contains helper functions specifically
  *   used when dealing with different Lucene analyzers.
  * 
+ * The analyzers are created once per analyzer string and shared:
+ *   an analyzer is thread-safe, and it reuses the token stream of each thread
+ *   (Lucene's GLOBAL_REUSE_STRATEGY), so tokenizing a text doesn't create a new token stream.
+ * A shared analyzer must not be closed by its users.
+ * 
  * @author Zuozhi Wang
  *
  */
@@ -24,6 +31,11 @@ public class LuceneAnalyzerConstants {
     
     public static final String CHINESE_ANALYZER = "chinese";
     
+    // the key of the standard analyzer without stop words, which is not exposed as an analyzer string
+    private static final String STANDARD_ANALYZER_WITH_STOPWORDS = "standard-with-stopwords";
+    
+    private static final ConcurrentHashMap<String, Analyzer> analyzers = new ConcurrentHashMap<>();
+    
     
     public static String standardAnalyzerString() {
         return STANDARD_ANALYZER;
@@ -53,14 +65,27 @@ public class LuceneAnalyzerConstants {
      * @throws DataflowException, if the luceneAnalyzerString is invalid
      */
     public static Analyzer getLuceneAnalyzer(String luceneAnalyzerString) throws DataflowException {
+        Analyzer luceneAnalyzer = analyzers.get(luceneAnalyzerString);
+        if (luceneAnalyzer == null) {
+            // an invalid analyzer string throws an exception and isn't added
+            luceneAnalyzer = analyzers.computeIfAbsent(luceneAnalyzerString, 
+                    key -> createLuceneAnalyzer(key));
+        }
+        return luceneAnalyzer;
+    }
+    
+    private static Analyzer createLuceneAnalyzer(String luceneAnalyzerString) throws DataflowException {
         if (luceneAnalyzerString.equals("standard")) {
-            return LuceneAnalyzerConstants.getStandardAnalyzer();
+            return new StandardAnalyzer();
+        } else if (luceneAnalyzerString.equals(STANDARD_ANALYZER_WITH_STOPWORDS)) {
+            // with an empty stop word list
+            return new StandardAnalyzer(new CharArraySet(1, true));
         }
         else if (luceneAnalyzerString.endsWith("-gram")) {
             try {
                 Integer gramNum = Integer.parseInt(
                         luceneAnalyzerString.substring(0, luceneAnalyzerString.indexOf('-')));
-                return getNGramAnalyzer(gramNum);
+                return createNGramAnalyzer(gramNum);
             } catch (NumberFormatException e) {
                 throw new DataflowException(luceneAnalyzerString + " is not a valid lucene analyzer");
             }
@@ -72,7 +97,14 @@ public class LuceneAnalyzerConstants {
 
 
     public static Analyzer getStandardAnalyzer() {
-        return new StandardAnalyzer();
+        return getLuceneAnalyzer(STANDARD_ANALYZER);
+    }
+    
+    /**
+     * @return a standard analyzer which keeps the stop words.
+     */
+    public static Analyzer getStandardAnalyzerWithStopwords() {
+        return getLuceneAnalyzer(STANDARD_ANALYZER_WITH_STOPWORDS);
     }
 
     /**
@@ -80,6 +112,10 @@ public class LuceneAnalyzerConstants {
      * @throws DataflowException
      */
     public static Analyzer getNGramAnalyzer(int gramNum) throws DataflowException {
+        return getLuceneAnalyzer(nGramAnalyzerString(gramNum));
+    }
+    
+    private static Analyzer createNGramAnalyzer(int gramNum) throws DataflowException {
         try {
             return CustomAnalyzer.builder()
                     .withTokenizer(NGramTokenizerFactory.class, 
@@ -0,0 +1,57 @@
+package edu.uci.ics.texera.storage.constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.junit.Assert;
+import org.junit.Test;
+
+import edu.uci.ics.texera.api.exception.DataflowException;
+
+public class LuceneAnalyzerConstantsTest {
+
+    private static List<String> tokenize(Analyzer luceneAnalyzer, String text) throws Exception {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream tokenStream = luceneAnalyzer.tokenStream(null, text)) {
+            CharTermAttribute charTermAttribute = tokenStream.addAttribute(CharTermAttribute.class);
+            tokenStream.reset();
+            while (tokenStream.incrementToken()) {
+                tokens.add(charTermAttribute.toString());
+            }
+            tokenStream.end();
+        }
+        return tokens;
+    }
+
+    @Test
+    public void testAnalyzersAreShared() throws Exception {
+        Assert.assertSame(LuceneAnalyzerConstants.getStandardAnalyzer(),
+                LuceneAnalyzerConstants.getLuceneAnalyzer(LuceneAnalyzerConstants.standardAnalyzerString()));
+        Assert.assertSame(LuceneAnalyzerConstants.getNGramAnalyzer(3),
+                LuceneAnalyzerConstants.getLuceneAnalyzer(LuceneAnalyzerConstants.nGramAnalyzerString(3)));
+    }
+
+    @Test
+    public void testSharedAnalyzerIsReused() throws Exception {
+        Analyzer luceneAnalyzer = LuceneAnalyzerConstants.getStandardAnalyzer();
+
+        Assert.assertEquals(Arrays.asList("quick", "fox"), tokenize(luceneAnalyzer, "The Quick fox"));
+        Assert.assertEquals(Arrays.asList("lazy", "dog"), tokenize(luceneAnalyzer, "a lazy dog"));
+    }
+
+    @Test
+    public void testStopwordsAreKept() throws Exception {
+        Assert.assertEquals(Arrays.asList("the", "quick", "fox"),
+                tokenize(LuceneAnalyzerConstants.getStandardAnalyzerWithStopwords(), "The Quick fox"));
+    }
+
+    @Test(expected = DataflowException.class)
+    public void testInvalidAnalyzer() throws Exception {
+        LuceneAnalyzerConstants.getLuceneAnalyzer("invalid-analyzer");
+    }
+
+}
@@ -6,6 +6,7 @@ import com.github.dirkraft.dropwizard.fileassets.FileAssetsBundle;
 
 import edu.uci.ics.texera.api.constants.DataConstants;
 import edu.uci.ics.texera.api.utils.Utils;
+import edu.uci.ics.texera.dataflow.sqlServerInfo.UserSqlServer;
 import edu.uci.ics.texera.perftest.sample.SampleExtraction;
 import edu.uci.ics.texera.perftest.twitter.TwitterSample;
 import edu.uci.ics.texera.web.healthcheck.SampleHealthCheck;
@@ -78,6 +79,9 @@ public class TexeraWebApplication extends Application<TexeraWebConfiguration> {
         final UserWorkflowResource userWorkflowResource = new UserWorkflowResource();
         environment.jersey().register(userWorkflowResource);
 
+        // Reports the usage of the user database connection pool in the admin metrics
+        UserSqlServer.getDataSource().setMetricRegistry(environment.metrics());
+
         // Registers MultiPartFeature to support file upload
         environment.jersey().register(MultiPartFeature.class);
 
@@ -2,135 +2,284 @@ package edu.uci.ics.texera.web.resource;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
-import java.util.ArrayList;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
-import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.StreamingOutput;
 
-import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
-
-import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.api.dataflow.ISink;
+import edu.uci.ics.texera.api.exception.TexeraException;
+import edu.uci.ics.texera.api.utils.Utils;
 import edu.uci.ics.texera.dataflow.sink.csv.CSVSink;
 import edu.uci.ics.texera.dataflow.sink.csv.CSVSinkPredicate;
 import edu.uci.ics.texera.dataflow.sink.excel.ExcelSink;
 import edu.uci.ics.texera.dataflow.sink.excel.ExcelSinkPredicate;
 import edu.uci.ics.texera.dataflow.sink.json.JSONSink;
 import edu.uci.ics.texera.dataflow.sink.json.JSONSinkPredicate;
-import edu.uci.ics.texera.dataflow.source.tuple.TupleSourceOperator;
+import edu.uci.ics.texera.dataflow.source.tuple.JsonTupleSourceOperator;
+import edu.uci.ics.texera.web.TexeraWebException;
 
+/**
+ * Downloads a stored query result as a json, csv or xlsx file.
+ *
+ * A download is converted from the stored result while it's written to the response,
+ *   the tuples are read from the result file one at a time.
+ * A range request converts the result to a file in the download directory first,
+ *   the converted files are then served with FileChannel.transferTo.
+ */
 @Path("/download")
 @Produces("application/vnd.ms-excel")
 @Consumes(MediaType.APPLICATION_JSON)
 public class DownloadFileResource {
-    
+
+    public static java.nio.file.Path downloadDirectory = Utils.getTexeraHomePath().resolve("query-result-downloads");
+
+    private static final Pattern RESULT_ID_PATTERN = Pattern.compile("[\\w-]+");
+    private static final Pattern RANGE_PATTERN = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    /**
+     * A range of bytes of a file, both ends are inclusive.
+     */
+    static class ByteRange {
+        // a range which can't be served, e.g. it starts after the end of the file
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        final long start;
+        final long end;
+
+        ByteRange(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+
     @GET
     @Path("/result")
-    public Response downloadFile(@QueryParam("resultID") String resultID, @QueryParam("downloadType") String downloadType) 
-    		throws JsonParseException, JsonMappingException, IOException {        
-        java.nio.file.Path resultFile = QueryPlanResource.resultDirectory.resolve(resultID + ".json");        
+    public Response downloadFile(@QueryParam("resultID") String resultID, @QueryParam("downloadType") String downloadType,
+            @HeaderParam("Range") String rangeHeader) throws IOException {
+        if (resultID == null || ! RESULT_ID_PATTERN.matcher(resultID).matches()) {
+            return Response.status(Status.NOT_FOUND).build();
+        }
+        java.nio.file.Path resultFile = QueryPlanResource.resultDirectory.resolve(resultID + ".json");
 
         if (Files.notExists(resultFile)) {
             System.out.println(resultFile + " file does not found");
             return Response.status(Status.NOT_FOUND).build();
         }
-        
-        
-        ArrayList<Tuple> result = new ObjectMapper().readValue(Files.readAllBytes(resultFile), 
-                TypeFactory.defaultInstance().constructCollectionLikeType(ArrayList.class, Tuple.class));
-        
-        if (result.size() == 0) {
+        if (! "json".equals(downloadType) && ! "csv".equals(downloadType) && ! "xlsx".equals(downloadType)) {
+            System.out.println("Download type " + downloadType + " is unavailable");
+            return Response.status(Status.NOT_FOUND).build();
+        }
+
+        java.nio.file.Path downloadFile = downloadDirectory.resolve(resultID + "." + downloadType);
+        if (Files.exists(downloadFile)) {
+            return serveFile(downloadFile, downloadType, rangeHeader);
+        }
+
+        JsonTupleSourceOperator tupleSource = new JsonTupleSourceOperator(resultFile);
+        tupleSource.open();
+        if (tupleSource.getOutputSchema() == null) {
+            tupleSource.close();
             System.out.println(resultFile + " file is empty");
             return Response.status(Status.NOT_FOUND).build();
         }
-        
-        
-        TupleSourceOperator tupleSource = new TupleSourceOperator(result, result.get(0).getSchema());
+
+        if (rangeHeader != null) {
+            // a range of the converted file can only be served from the whole file
+            materialize(tupleSource, downloadType, downloadFile);
+            return serveFile(downloadFile, downloadType, rangeHeader);
+        }
+
+        StreamingOutput fileStream = output -> convert(tupleSource, downloadType, output);
+        return Response.ok(fileStream, MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=result." + downloadType)
+                .header("Accept-Ranges", "bytes")
+                .build();
+    }
+
+    /*
+     * Writes the tuples of an opened source to the output stream in the download format.
+     * Both the source and the stream are closed afterwards.
+     */
+    private static void convert(JsonTupleSourceOperator tupleSource, String downloadType, OutputStream output) {
+        ISink sink;
         if (downloadType.equals("json")) {
-        	return downloadJSONFile(tupleSource);
+            JSONSink jsonSink = new JSONSinkPredicate().newOperator();
+            jsonSink.setInputOperator(tupleSource);
+            jsonSink.setOutputStream(output);
+            sink = jsonSink;
         } else if (downloadType.equals("csv")) {
-        	return downloadCSVFile(tupleSource);
-        } else if (downloadType.equals("xlsx")) {
-        	return downloadExcelFile(tupleSource);
-        }
-        
-        System.out.println("Download type " + downloadType + " is unavailable");
-        return Response.status(Status.NOT_FOUND).build();
-        
+            CSVSink csvSink = new CSVSinkPredicate().newOperator();
+            csvSink.setInputOperator(tupleSource);
+            csvSink.setOutputStream(output);
+            sink = csvSink;
+        } else {
+            ExcelSink excelSink = new ExcelSinkPredicate().newOperator();
+            excelSink.setInputOperator(tupleSource);
+            excelSink.setOutputStream(output);
+            sink = excelSink;
+        }
+
+        try {
+            sink.open();
+            // the tuples are not collected, each one is dropped once it's written
+            while (sink.getNextTuple() != null) {
+            }
+        } finally {
+            sink.close();
+            tupleSource.close();
+        }
     }
-    
-    
-    private Response downloadExcelFile(TupleSourceOperator tupleSource) {
-      ExcelSink excelSink = new ExcelSinkPredicate().newOperator();
-      excelSink.setInputOperator(tupleSource);
-      excelSink.open();
-      excelSink.collectAllTuples();
-      excelSink.close();  
-      
-      StreamingOutput fileStream = new StreamingOutput() {
-          @Override
-          public void write(OutputStream output) throws IOException, WebApplicationException {
-              byte[] data = Files.readAllBytes(excelSink.getFilePath());
-              output.write(data);
-              output.flush();
-          }
-      };
-      return Response.ok(fileStream, MediaType.APPLICATION_OCTET_STREAM)
-              .header("content-disposition", "attachment; filename=result.xlsx")
-              .build();
+
+    /*
+     * Converts the result to a file in the download directory.
+     * The file is written under a temporary name and then renamed, so that a partially written file is never served.
+     */
+    private static void materialize(JsonTupleSourceOperator tupleSource, String downloadType,
+            java.nio.file.Path downloadFile) throws IOException {
+        if (Files.notExists(downloadDirectory)) {
+            Files.createDirectories(downloadDirectory);
+        }
+        cleanupOldDownloads();
+
+        java.nio.file.Path tempFile = Files.createTempFile(downloadDirectory, downloadFile.getFileName().toString(), ".tmp");
+        try {
+            convert(tupleSource, downloadType, Files.newOutputStream(tempFile));
+            Files.move(tempFile, downloadFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | TexeraException e) {
+            Files.deleteIfExists(tempFile);
+            throw new TexeraWebException(e.getMessage());
+        }
     }
-    
-    
-    private Response downloadCSVFile(TupleSourceOperator tupleSource) {
-        CSVSink csvSink = new CSVSinkPredicate().newOperator();
-        csvSink.setInputOperator(tupleSource);
-        csvSink.open();
-        csvSink.collectAllTuples();
-        csvSink.close();  
-        
-        StreamingOutput fileStream = new StreamingOutput() {
-            @Override
-            public void write(OutputStream output) throws IOException, WebApplicationException {
-                byte[] data = Files.readAllBytes(csvSink.getFilePath());
-                output.write(data);
-                output.flush();
+
+    /*
+     * Deletes the converted files whose results have been cleaned up by QueryPlanResource.cleanupOldResults().
+     */
+    private static void cleanupOldDownloads() throws IOException {
+        List<java.nio.file.Path> downloadFiles;
+        try (Stream<java.nio.file.Path> files = Files.list(downloadDirectory)) {
+            downloadFiles = files.collect(Collectors.toList());
+        }
+        for (java.nio.file.Path downloadFile : downloadFiles) {
+            String fileName = downloadFile.getFileName().toString();
+            String resultID = fileName.substring(0, Math.max(fileName.indexOf('.'), 0));
+            if (Files.notExists(QueryPlanResource.resultDirectory.resolve(resultID + ".json"))) {
+                Files.deleteIfExists(downloadFile);
             }
-        };
-        return Response.ok(fileStream, MediaType.APPLICATION_OCTET_STREAM)
-                .header("content-disposition", "attachment; filename=result.csv")
-                .build();
+        }
     }
-    
-    
-    private Response downloadJSONFile(TupleSourceOperator tupleSource) {
-        JSONSink jsonSink = new JSONSinkPredicate().newOperator();
-        jsonSink.setInputOperator(tupleSource);
-        jsonSink.open();
-        jsonSink.collectAllTuples();
-        jsonSink.close();  
-        
-        StreamingOutput fileStream = new StreamingOutput() {
-            @Override
-            public void write(OutputStream output) throws IOException, WebApplicationException {
-                byte[] data = Files.readAllBytes(jsonSink.getFilePath());
-                output.write(data);
-                output.flush();
+
+    /*
+     * Serves a converted file, or the requested range of it, without reading the file into memory.
+     */
+    private static Response serveFile(java.nio.file.Path file, String downloadType, String rangeHeader)
+            throws IOException {
+        long fileLength = Files.size(file);
+        ByteRange range = parseRange(rangeHeader, fileLength);
+        if (range == ByteRange.UNSATISFIABLE) {
+            return Response.status(Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header("Content-Range", "bytes */" + fileLength)
+                    .build();
+        }
+
+        ByteRange servedRange = range == null ? new ByteRange(0, fileLength - 1) : range;
+        StreamingOutput fileStream = output -> {
+            try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+                transfer(fileChannel, servedRange.start, servedRange.length(), Channels.newChannel(output));
             }
+            output.flush();
         };
-        return Response.ok(fileStream, MediaType.APPLICATION_OCTET_STREAM)
-                .header("content-disposition", "attachment; filename=result.json")
+        Response.ResponseBuilder response = range == null ? Response.ok() : Response.status(Status.PARTIAL_CONTENT)
+                .header("Content-Range", "bytes " + range.start + "-" + range.end + "/" + fileLength);
+        return response.entity(fileStream)
+                .type(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=result." + downloadType)
+                .header(HttpHeaders.CONTENT_LENGTH, servedRange.length())
+                .header("Accept-Ranges", "bytes")
                 .build();
     }
 
+    /*
+     * Copies count bytes starting at position, transferTo may copy fewer bytes than requested at a time.
+     */
+    private static void transfer(FileChannel fileChannel, long position, long count, WritableByteChannel target)
+            throws IOException {
+        long transferred = 0;
+        while (transferred < count) {
+            long bytes = fileChannel.transferTo(position + transferred, count - transferred, target);
+            if (bytes <= 0) {
+                break;
+            }
+            transferred += bytes;
+        }
+    }
+
+    /**
+     * Parses a Range header with a single byte range, e.g. "bytes=0-499", "bytes=500-" or "bytes=-500".
+     *
+     * @param rangeHeader, the value of the Range header, can be null
+     * @param fileLength
+     * @return the requested range, null if the whole file should be served
+     *   (there's no Range header, or it can't be parsed or has multiple ranges),
+     *   ByteRange.UNSATISFIABLE if the range is outside of the file
+     */
+    static ByteRange parseRange(String rangeHeader, long fileLength) {
+        if (rangeHeader == null) {
+            return null;
+        }
+        Matcher matcher = RANGE_PATTERN.matcher(rangeHeader.trim());
+        if (! matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+        try {
+            long start;
+            long end;
+            if (matcher.group(1).isEmpty()) {
+                // the last n bytes
+                long suffixLength = Long.parseLong(matcher.group(2));
+                if (suffixLength == 0) {
+                    return ByteRange.UNSATISFIABLE;
+                }
+                start = Math.max(fileLength - suffixLength, 0);
+                end = fileLength - 1;
+            } else {
+                start = Long.parseLong(matcher.group(1));
+                if (! matcher.group(2).isEmpty() && Long.parseLong(matcher.group(2)) < start) {
+                    // an invalid range is ignored
+                    return null;
+                }
+                end = matcher.group(2).isEmpty() ? fileLength - 1 : Math.min(Long.parseLong(matcher.group(2)), fileLength - 1);
+            }
+            if (start >= fileLength) {
+                return ByteRange.UNSATISFIABLE;
+            }
+            return new ByteRange(start, end);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
 }
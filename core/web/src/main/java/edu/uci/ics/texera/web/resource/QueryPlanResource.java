@@ -3,6 +3,8 @@ package edu.uci.ics.texera.web.resource;
 
 import edu.uci.ics.texera.dataflow.sink.ITupleSink;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
@@ -14,7 +16,10 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -22,6 +27,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import edu.uci.ics.texera.api.constants.DataConstants;
 import edu.uci.ics.texera.api.dataflow.ISink;
 import edu.uci.ics.texera.api.engine.Plan;
 import edu.uci.ics.texera.api.exception.TexeraException;
@@ -31,7 +37,11 @@ import edu.uci.ics.texera.api.utils.Utils;
 import edu.uci.ics.texera.dataflow.common.PredicateBase;
 import edu.uci.ics.texera.dataflow.common.PropertyNameConstants;
 import edu.uci.ics.texera.dataflow.plangen.LogicalPlan;
+import edu.uci.ics.texera.dataflow.plangen.OperatorLink;
+import edu.uci.ics.texera.dataflow.plangen.PlanFingerprint;
 import edu.uci.ics.texera.dataflow.plangen.QueryContext;
+import edu.uci.ics.texera.dataflow.plangen.QueryResultCache;
+import edu.uci.ics.texera.dataflow.plangen.SchemaPropagationCache;
 import edu.uci.ics.texera.web.TexeraWebException;
 import edu.uci.ics.texera.dataflow.sink.VisualizationOperator;
 
@@ -52,13 +62,24 @@ public class QueryPlanResource {
     
     public static java.nio.file.Path resultDirectory = Utils.getTexeraHomePath().resolve("query-results");
 
+    /**
+     * The number of tuples written to the response stream between two flushes
+     *   when the results are streamed by /execute-stream.
+     */
+    public static final int STREAMING_FLUSH_INTERVAL = 100;
+
+    // the results of recently executed plans, shared by all the requests
+    private static final QueryResultCache resultCache = new QueryResultCache();
+
+    // the output schemas of the operators of recently edited plans, used by /autocomplete
+    private static final SchemaPropagationCache schemaCache = new SchemaPropagationCache();
+
     /**
      * @param plan Logical plan to be executed
-     * @return Generic GenericWebResponse object
+     * @return a map from the ID of each tuple sink to its results
      */
-    private JsonNode executeMutipleSinkPlan(Plan plan)  {
+    private HashMap<String, List<Tuple>> executeMutipleSinkPlan(Plan plan)  {
         HashMap<String, ISink> sinkMap = plan.getSinkMap();
-        ObjectNode response = new ObjectMapper().createObjectNode();
         HashMap<String, List<Tuple>> executionResult = new HashMap<>();
         // execute the query plan from all sink operators and collect result
         for (HashMap.Entry<String, ISink> sinkEntry: sinkMap.entrySet()) {
@@ -78,23 +99,29 @@ public class QueryPlanResource {
                 sinkOperator.close();
             }
         }
+        return executionResult;
+    }
+
+    /**
+     * @param plan the executed plan
+     * @param resultTables a map from the ID of each tuple sink to its results
+     * @param cached whether the results come from the result cache
+     * @return the response of an execution
+     */
+    private JsonNode createExecutionResponse(Plan plan, Map<String, ArrayNode> resultTables, boolean cached) {
+        ObjectNode response = DataConstants.defaultObjectMapper.createObjectNode();
 
         // put all results in the array node.
         // each result has three fields : table, operatorID, chartType (if the sink operator is a visualization operator).
-        ArrayNode arrayNode = new ObjectMapper().createArrayNode();
+        ArrayNode arrayNode = DataConstants.defaultObjectMapper.createArrayNode();
 
-        for (HashMap.Entry<String, List<Tuple>> result: executionResult.entrySet()) {
-            ObjectNode operatorMap = new ObjectMapper().createObjectNode();
+        for (Map.Entry<String, ArrayNode> result: resultTables.entrySet()) {
+            ObjectNode operatorMap = DataConstants.defaultObjectMapper.createObjectNode();
             operatorMap.put("operatorID", result.getKey());
-
-            ArrayNode resultNode = new ObjectMapper().createArrayNode();
-            for (Tuple tuple : result.getValue()) {
-                resultNode.add(tuple.getReadableJson());
-            }
-            operatorMap.set("table", resultNode);
+            operatorMap.set("table", result.getValue());
 
             String operatorID = result.getKey();
-            ISink operator = sinkMap.get(operatorID);
+            ISink operator = plan.getSinkMap().get(operatorID);
             if (operator instanceof VisualizationOperator) {
                 operatorMap.put("chartType", ((VisualizationOperator) operator).getChartType());
             }
@@ -102,14 +129,19 @@ public class QueryPlanResource {
         }
 
         String resultID = UUID.randomUUID().toString();
-        response.put("code", executionResult.isEmpty() ? 1 : 0);
+        response.put("code", resultTables.isEmpty() ? 1 : 0);
         response.put("resultID", resultID);
+        response.put("cached", cached);
         response.set("result", arrayNode);
         return response;
     }
 
     /**
      * This is the edu.uci.ics.texera.web.request handler for the execution of a Query Plan.
+     * 
+     * If the same plan has been executed on the same table versions recently, the results are served
+     *   from the result cache, and the "cached" field of the response is true.
+     * 
      * @param logicalPlanJson, the json representation of the logical plan
      * @return - Generic GenericWebResponse object
      */
@@ -117,6 +149,68 @@ public class QueryPlanResource {
     @Path("/execute")
     // TODO: investigate how to use LogicalPlan directly
     public JsonNode executeQueryPlan(@Session HttpSession session, String logicalPlanJson) {
+        try {
+            LogicalPlan logicalPlan = readLogicalPlan(session, logicalPlanJson);
+            Plan plan = logicalPlan.buildQueryPlan();
+
+            // only plans without side effects are cached, the fingerprint is computed before the execution
+            Optional<PlanFingerprint> fingerprint = Optional.empty();
+            if (plan.getSinkMap().values().stream().allMatch(sink -> sink instanceof ITupleSink)) {
+                fingerprint = PlanFingerprint.of(logicalPlan);
+            }
+            if (fingerprint.isPresent()) {
+                Optional<Map<String, ArrayNode>> cachedResult = resultCache.get(fingerprint.get());
+                if (cachedResult.isPresent()) {
+                    return createExecutionResponse(plan, cachedResult.get(), true);
+                }
+            }
+
+            HashMap<String, List<Tuple>> executionResult = executeMutipleSinkPlan(plan);
+            if (fingerprint.isPresent()) {
+                resultCache.put(fingerprint.get(), executionResult);
+            }
+
+            Map<String, ArrayNode> resultTables = new HashMap<>();
+            for (HashMap.Entry<String, List<Tuple>> result: executionResult.entrySet()) {
+                ArrayNode resultNode = DataConstants.defaultObjectMapper.createArrayNode();
+                for (Tuple tuple : result.getValue()) {
+                    resultNode.add(tuple.getReadableJson());
+                }
+                resultTables.put(result.getKey(), resultNode);
+            }
+            return createExecutionResponse(plan, resultTables, false);
+        } catch (TexeraException e) {
+            throw new TexeraWebException(e.getMessage());
+        }
+    }
+
+    /**
+     * This is the edu.uci.ics.texera.web.request handler for the streaming execution of a Query Plan.
+     * 
+     * The response has the same format as /execute, but the tuples are written to the response
+     *   while the sinks are producing them, and the stream is flushed every STREAMING_FLUSH_INTERVAL tuples,
+     *   so the client receives the first results before the whole plan finishes.
+     * The "code" field is written after the results: 0 once the plan succeeds,
+     *   1 with a "message" field if the execution fails after the response has started.
+     * 
+     * @param logicalPlanJson, the json representation of the logical plan
+     * @return - a streaming response of the results
+     */
+    @POST
+    @Path("/execute-stream")
+    public Response executeQueryPlanStreaming(@Session HttpSession session, String logicalPlanJson) {
+        // the plan is built before the response starts, so that invalid plans still get an error response
+        Plan plan;
+        try {
+            plan = readLogicalPlan(session, logicalPlanJson).buildQueryPlan();
+        } catch (TexeraException e) {
+            throw new TexeraWebException(e.getMessage());
+        }
+        StreamingOutput stream = outputStream -> streamMultipleSinkPlan(plan, outputStream);
+        return Response.ok(stream, MediaType.APPLICATION_JSON).build();
+    }
+
+    private LogicalPlan readLogicalPlan(HttpSession session, String logicalPlanJson) {
         try {
             UserResource.User user = UserResource.getUser(session);
             QueryContext ctx = new QueryContext();
@@ -124,16 +218,101 @@ public class QueryPlanResource {
                 ctx.setProjectOwnerID(user.userID.toString());
             }
 
-            LogicalPlan logicalPlan = new ObjectMapper().readValue(logicalPlanJson, LogicalPlan.class);
+            LogicalPlan logicalPlan = DataConstants.defaultObjectMapper.readValue(logicalPlanJson, LogicalPlan.class);
             logicalPlan.setContext(ctx);
-            Plan plan = logicalPlan.buildQueryPlan();
-
-            return executeMutipleSinkPlan(plan);
+            return logicalPlan;
         } catch (IOException | TexeraException e) {
             throw new TexeraWebException(e.getMessage());
         }
     }
 
+    /**
+     * Executes the plan and writes the results of all the tuple sinks to the output stream
+     *   with a single JsonGenerator, without collecting them in memory first.
+     * 
+     * The status code is written after the results, once the plan has finished.
+     * If the execution fails, the results written so far are closed,
+     *   and the code is 1 with the error in the "message" field.
+     * 
+     * @param plan Logical plan to be executed
+     * @param outputStream the response stream
+     * @throws IOException
+     */
+    private void streamMultipleSinkPlan(Plan plan, OutputStream outputStream) throws IOException {
+        HashMap<String, ISink> sinkMap = plan.getSinkMap();
+        boolean hasTupleSink = sinkMap.values().stream().anyMatch(sink -> sink instanceof ITupleSink);
+
+        try (JsonGenerator generator = DataConstants.defaultObjectMapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeStringField("resultID", UUID.randomUUID().toString());
+            generator.writeArrayFieldStart("result");
+            generator.flush();
+
+            try {
+                for (HashMap.Entry<String, ISink> sinkEntry: sinkMap.entrySet()) {
+                    ISink sinkOperator = sinkEntry.getValue();
+
+                    if (sinkOperator instanceof ITupleSink) {
+                        generator.writeStartObject();
+                        generator.writeStringField("operatorID", sinkEntry.getKey());
+                        if (sinkOperator instanceof VisualizationOperator) {
+                            generator.writeStringField("chartType", ((VisualizationOperator) sinkOperator).getChartType());
+                        }
+                        generator.writeArrayFieldStart("table");
+                        streamTuples((ITupleSink) sinkOperator, generator);
+                        generator.writeEndArray();
+                        generator.writeEndObject();
+                        generator.flush();
+
+                    } else {
+                        sinkOperator.open();
+                        sinkOperator.processTuples();
+                        sinkOperator.close();
+                    }
+                }
+            } catch (RuntimeException e) {
+                // close the results written so far, so that the response is still a complete json object
+                while (! generator.getOutputContext().getParent().inRoot()) {
+                    if (generator.getOutputContext().inArray()) {
+                        generator.writeEndArray();
+                    } else {
+                        generator.writeEndObject();
+                    }
+                }
+                generator.writeNumberField("code", 1);
+                generator.writeStringField("message", e.getMessage());
+                generator.writeEndObject();
+                return;
+            }
+
+            generator.writeEndArray();
+            generator.writeNumberField("code", hasTupleSink ? 0 : 1);
+            generator.writeEndObject();
+        }
+    }
+
+    private void streamTuples(ITupleSink tupleSink, JsonGenerator generator) throws IOException {
+        int[] tupleCount = {0};
+        tupleSink.open();
+        try {
+            tupleSink.consumeAllTuples(tuple -> {
+                try {
+                    tuple.writeReadableJson(generator);
+                    if (++tupleCount[0] % STREAMING_FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // the client is gone, stop pulling tuples from the plan
+            throw e.getCause();
+        } finally {
+            tupleSink.close();
+        }
+    }
+
     /**
      * This is the edu.uci.ics.texera.web.request handler for the execution of a Query Plan.
      * @param logicalPlanJson, the json representation of the logical plan
@@ -263,33 +442,31 @@ public class QueryPlanResource {
                 ctx.setProjectOwnerID(user.userID.toString());
             }
 
-            JsonNode logicalPlanNode = new ObjectMapper().readTree(logicalPlanJson);
+            ObjectMapper objectMapper = DataConstants.defaultObjectMapper;
+            JsonNode logicalPlanNode = objectMapper.readTree(logicalPlanJson);
             ArrayNode operators = (ArrayNode) logicalPlanNode.get(PropertyNameConstants.OPERATOR_LIST);
             ArrayNode links = (ArrayNode) logicalPlanNode.get(PropertyNameConstants.OPERATOR_LINK_LIST);
 
-            ArrayNode validOperators = new ObjectMapper().createArrayNode();
-            ArrayNode validLinks = new ObjectMapper().createArrayNode();
-            ArrayNode linksEndWithInvalidDest = new ObjectMapper().createArrayNode();
+            List<PredicateBase> validOperators = new ArrayList<>();
+            List<OperatorLink> validLinks = new ArrayList<>();
+            ArrayNode linksEndWithInvalidDest = objectMapper.createArrayNode();
 
             Set<String> validOperatorsId = new HashSet<>();
             getValidOperatorsAndLinks(operators, links, validOperators, validLinks,
                                       linksEndWithInvalidDest, validOperatorsId);
 
-            ObjectNode validLogicalPlanNode = new ObjectMapper().createObjectNode();
-            (validLogicalPlanNode).putArray(PropertyNameConstants.OPERATOR_LIST).addAll(validOperators);
-            (validLogicalPlanNode).putArray(PropertyNameConstants.OPERATOR_LINK_LIST).addAll(validLinks);
-
-            LogicalPlan logicalPlan = new ObjectMapper().treeToValue(validLogicalPlanNode, LogicalPlan.class);
+            LogicalPlan logicalPlan = new LogicalPlan(validOperators, validLinks);
             logicalPlan.setContext(ctx);
 
-            // Get all input schema for valid operator with valid links
-            Map<String, List<Schema>> inputSchema = logicalPlan.retrieveAllOperatorInputSchema();
+            // Get all input schema for valid operator with valid links,
+            // only the operators changed since the last call are recomputed
+            Map<String, List<Schema>> inputSchema = logicalPlan.retrieveAllOperatorInputSchema(schemaCache);
             // Get all input schema for invalid operator with valid input operator
             for (JsonNode linkNode: linksEndWithInvalidDest) {
                 String origin = linkNode.get(PropertyNameConstants.ORIGIN_OPERATOR_ID).textValue();
                 String dest = linkNode.get(PropertyNameConstants.DESTINATION_OPERATOR_ID).textValue();
 
-                Optional<Schema> schema = logicalPlan.getOperatorOutputSchema(origin, inputSchema);
+                Optional<Schema> schema = logicalPlan.getOperatorOutputSchema(origin, inputSchema, schemaCache);
                 if(schema.isPresent()) {
                     if (inputSchema.containsKey(dest)) {
                         inputSchema.get(dest).add(schema.get());
@@ -299,7 +476,7 @@ public class QueryPlanResource {
                 }
             }
 
-            ObjectNode result = new ObjectMapper().createObjectNode();
+            ObjectNode result = objectMapper.createObjectNode();
             for (Map.Entry<String, List<Schema>> entry: inputSchema.entrySet()) {
                 Set<String> attributes = new HashSet<>();
                 for (Schema schema: entry.getValue()) {
@@ -313,20 +490,20 @@ public class QueryPlanResource {
 
             }
 
-            ObjectNode response = new ObjectMapper().createObjectNode();
+            ObjectNode response = objectMapper.createObjectNode();
             response.put("code", 0);
             response.set("result", result);
             return response;
 
         } catch (JsonMappingException je) {
-            ObjectNode response = new ObjectMapper().createObjectNode();
+            ObjectNode response = DataConstants.defaultObjectMapper.createObjectNode();
             response.put("code", -1);
             response.put("message", "Json Mapping Exception would not be handled for auto plan. " + je.getMessage());
             return response;
 
         } catch (IOException | TexeraException e) {
             if (e.getMessage().contains("does not exist in the schema:")) {
-                ObjectNode response = new ObjectMapper().createObjectNode();
+                ObjectNode response = DataConstants.defaultObjectMapper.createObjectNode();
                 response.put("code", -1);
                 response.put("message", "Attribute Not Exist Exception would not be handled for auto plan. " + e.getMessage());
                 return response;
@@ -373,7 +550,7 @@ public class QueryPlanResource {
     /**
      * Used for automatic schema propagation as user is building the graph.
      *
-     * Retrieve all the valid operator and links and store into node validOperators and validLinks
+     * Retrieve all the valid operator and links and store into validOperators and validLinks
      *
      * A operator is valid if the json representation of the operator can pass all the test in the specific
      * operator predicate constructor and can successfully be casted into a PredicateBase object (without throwing any error).
@@ -390,14 +567,14 @@ public class QueryPlanResource {
      * @param validOperatorsId
      */
     private void getValidOperatorsAndLinks(ArrayNode operators, ArrayNode links,
-                                           ArrayNode validOperators, ArrayNode validLinks,
+                                           List<PredicateBase> validOperators, List<OperatorLink> validLinks,
                                            ArrayNode linksEndWithInvalidDest, Set<String> validOperatorsId) {
         // Try to convert to valid operator
         for (JsonNode operatorNode: operators) {
             try {
-                new ObjectMapper().treeToValue(operatorNode, PredicateBase.class);
-                validOperators.add(operatorNode);
-                validOperatorsId.add(operatorNode.get(PropertyNameConstants.OPERATOR_ID).textValue());
+                PredicateBase predicate = DataConstants.defaultObjectMapper.treeToValue(operatorNode, PredicateBase.class);
+                validOperators.add(predicate);
+                validOperatorsId.add(predicate.getID());
                 // Json Parsing Exception will mean that the user hasn't provided all input parameters for the operator till now.
                 // As this function is just used for input suggestion to the user it is fine to skip this exception here.
             } catch (JsonProcessingException e) {
@@ -411,7 +588,7 @@ public class QueryPlanResource {
             String dest = linkNode.get(PropertyNameConstants.DESTINATION_OPERATOR_ID).textValue();
 
             if (validOperatorsId.contains(origin) && validOperatorsId.contains(dest)) {
-                validLinks.add(linkNode);
+                validLinks.add(new OperatorLink(origin, dest));
             } else if (validOperatorsId.contains(origin) && !validOperatorsId.contains(dest)) {
                 linksEndWithInvalidDest.add(linkNode);
             }
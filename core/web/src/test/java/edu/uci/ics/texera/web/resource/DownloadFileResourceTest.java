@@ -0,0 +1,173 @@
+package edu.uci.ics.texera.web.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.uci.ics.texera.api.constants.DataConstants;
+import edu.uci.ics.texera.api.field.IntegerField;
+import edu.uci.ics.texera.api.field.StringField;
+import edu.uci.ics.texera.api.schema.Attribute;
+import edu.uci.ics.texera.api.schema.AttributeType;
+import edu.uci.ics.texera.api.schema.Schema;
+import edu.uci.ics.texera.api.tuple.Tuple;
+import edu.uci.ics.texera.web.TexeraWebApplication;
+import edu.uci.ics.texera.web.TexeraWebConfiguration;
+import edu.uci.ics.texera.web.resource.DownloadFileResource.ByteRange;
+import io.dropwizard.client.JerseyClientBuilder;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+
+public class DownloadFileResourceTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TexeraWebConfiguration> RULE =
+            new DropwizardAppRule<>(TexeraWebApplication.class, ResourceHelpers.resourceFilePath("test-config.yml"));
+
+    public static String downloadEndpoint = "http://localhost:%d/api/download/result?resultID=%s&downloadType=%s";
+
+    // each test downloads its own result, so that no test is served a file converted by another one
+    public static final List<String> RESULT_IDS = Arrays.asList(
+            "download-test-csv", "download-test-json", "download-test-range");
+
+    public static final Schema SCHEMA = new Schema(
+            new Attribute("city", AttributeType.STRING), new Attribute("population", AttributeType.INTEGER));
+
+    public static final List<Tuple> TUPLES = Arrays.asList(
+            new Tuple(SCHEMA, new StringField("irvine"), new IntegerField(280000)),
+            new Tuple(SCHEMA, new StringField("tustin"), new IntegerField(80000)),
+            new Tuple(SCHEMA, new StringField("orange"), new IntegerField(140000)));
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        Files.createDirectories(QueryPlanResource.resultDirectory);
+        for (String resultID : RESULT_IDS) {
+            DataConstants.defaultObjectMapper.writeValue(
+                    QueryPlanResource.resultDirectory.resolve(resultID + ".json").toFile(), TUPLES);
+        }
+    }
+
+    @AfterClass
+    public static void cleanUp() throws Exception {
+        for (String resultID : RESULT_IDS) {
+            Files.deleteIfExists(QueryPlanResource.resultDirectory.resolve(resultID + ".json"));
+            for (String downloadType : Arrays.asList("csv", "json")) {
+                Files.deleteIfExists(DownloadFileResource.downloadDirectory.resolve(resultID + "." + downloadType));
+            }
+        }
+    }
+
+    private static Client client(String name) {
+        Client client = new JerseyClientBuilder(RULE.getEnvironment()).build(name);
+        client.property(ClientProperties.CONNECT_TIMEOUT, 5000);
+        client.property(ClientProperties.READ_TIMEOUT, 5000);
+        return client;
+    }
+
+    /**
+     * Tests that a download without a Range header streams the whole result converted to csv.
+     */
+    @Test
+    public void testDownloadCsv() {
+        Response response = client("download csv client")
+                .target(String.format(downloadEndpoint, RULE.getLocalPort(), "download-test-csv", "csv"))
+                .request()
+                .get();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeaderString("Accept-Ranges")).isEqualTo("bytes");
+        String[] lines = response.readEntity(String.class).trim().split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0].replace("\"", "")).isEqualTo("city,population");
+        assertThat(lines[1].replace("\"", "")).isEqualTo("irvine,280000");
+        assertThat(lines[3].replace("\"", "")).isEqualTo("orange,140000");
+    }
+
+    /**
+     * Tests that a download without a Range header streams the whole result converted to json.
+     */
+    @Test
+    public void testDownloadJson() throws Exception {
+        Response response = client("download json client")
+                .target(String.format(downloadEndpoint, RULE.getLocalPort(), "download-test-json", "json"))
+                .request()
+                .get();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        JsonNode result = new ObjectMapper().readTree(response.readEntity(String.class));
+        assertThat(result.isArray()).isTrue();
+        assertThat(result.size()).isEqualTo(3);
+        assertThat(result.get(1).get("city").asText()).isEqualTo("tustin");
+        assertThat(result.get(1).get("population").asInt()).isEqualTo(80000);
+    }
+
+    /**
+     * Tests that a Range request is served from the converted file, with the range of its bytes.
+     */
+    @Test
+    public void testDownloadRange() throws Exception {
+        Response response = client("download range client")
+                .target(String.format(downloadEndpoint, RULE.getLocalPort(), "download-test-range", "csv"))
+                .request()
+                .header("Range", "bytes=5-14")
+                .get();
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        byte[] body = response.readEntity(byte[].class);
+
+        Path downloadFile = DownloadFileResource.downloadDirectory.resolve("download-test-range.csv");
+        byte[] fileBytes = Files.readAllBytes(downloadFile);
+        assertThat(response.getHeaderString("Content-Range")).isEqualTo("bytes 5-14/" + fileBytes.length);
+        assertThat(response.getHeaderString("Content-Length")).isEqualTo("10");
+        assertThat(body).isEqualTo(Arrays.copyOfRange(fileBytes, 5, 15));
+        assertThat(new String(fileBytes, StandardCharsets.UTF_8)).contains("irvine");
+    }
+
+    @Test
+    public void testParseRange() {
+        assertRange(0, 99, DownloadFileResource.parseRange("bytes=0-99", 100));
+        assertRange(50, 99, DownloadFileResource.parseRange("bytes=50-", 100));
+        assertRange(90, 99, DownloadFileResource.parseRange("bytes=-10", 100));
+        assertRange(0, 99, DownloadFileResource.parseRange("bytes=-500", 100));
+        // the end is capped at the end of the file
+        assertRange(90, 99, DownloadFileResource.parseRange("bytes=90-200", 100));
+    }
+
+    @Test
+    public void testWholeFileIsServed() {
+        Assert.assertNull(DownloadFileResource.parseRange(null, 100));
+        Assert.assertNull(DownloadFileResource.parseRange("bytes=0-5,7-9", 100));
+        Assert.assertNull(DownloadFileResource.parseRange("bytes=5-2", 100));
+        Assert.assertNull(DownloadFileResource.parseRange("lines=0-5", 100));
+    }
+
+    @Test
+    public void testUnsatisfiableRange() {
+        Assert.assertSame(ByteRange.UNSATISFIABLE, DownloadFileResource.parseRange("bytes=100-", 100));
+        Assert.assertSame(ByteRange.UNSATISFIABLE, DownloadFileResource.parseRange("bytes=-0", 100));
+    }
+
+    private static void assertRange(long start, long end, ByteRange range) {
+        Assert.assertNotNull(range);
+        Assert.assertEquals(start, range.start);
+        Assert.assertEquals(end, range.end);
+    }
+
+}
@@ -15,6 +15,7 @@ import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import edu.uci.ics.texera.api.exception.TexeraException;
@@ -44,6 +45,7 @@ public class QueryPlanResourceTest {
             new DropwizardAppRule<>(TexeraWebApplication.class, ResourceHelpers.resourceFilePath("test-config.yml"));
     
     public static String queryPlanEndpoint = "http://localhost:%d/api/queryplan/execute";
+    public static String queryPlanStreamEndpoint = "http://localhost:%d/api/queryplan/execute-stream";
     
     public static final String TEST_TABLE = "query_plan_test_table";
     
@@ -129,4 +131,26 @@ public class QueryPlanResourceTest {
         
 
     }
+
+    /**
+     * Tests the streaming query plan execution endpoint, the code is written once the plan succeeds.
+     */
+    @Test
+    public void checkStreamEndpoint() throws Exception {
+        Client client = new JerseyClientBuilder(RULE.getEnvironment()).build("test stream client");
+        client.property(ClientProperties.CONNECT_TIMEOUT, 5000);
+        client.property(ClientProperties.READ_TIMEOUT,    5000);
+        Response response = client.target(
+                String.format(queryPlanStreamEndpoint, RULE.getLocalPort()))
+                .request()
+                .post(Entity.entity(
+                        new ObjectMapper().writeValueAsString(getLogicalPlan1()),
+                        MediaType.APPLICATION_JSON));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        JsonNode result = new ObjectMapper().readTree(response.readEntity(String.class));
+        assertThat(result.get("code").asInt()).isEqualTo(0);
+        assertThat(result.get("result").get(0).get("operatorID").asText()).isEqualTo(TUPLE_SINK_ID);
+        assertThat(result.has("message")).isFalse();
+    }
 }